@@ -88,6 +88,7 @@ dependencies {
     testImplementation(testlib.junit.test.ktx)
 
     testImplementation(testlib.bundles.unit.test)
+    testImplementation(lib.bundles.unit.test)
 
     testImplementation(testlib.compose.junit)
     testImplementation(testlib.mockito)
@@ -0,0 +1,59 @@
+package mega.privacy.android.analytics
+
+import mega.privacy.android.analytics.queue.AnalyticsEvent
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Tells screen view events apart from the rest of the events of a view.
+ *
+ * A view id is only generated for a screen view, so the first event sent with a generated view id
+ * is the screen view. The other events of the view, like button presses, are sent with the same
+ * view id but with another event id.
+ */
+@Singleton
+internal class ScreenViewEvents @Inject constructor() {
+
+    /**
+     * Event id of the screen view of every generated view id, null until the screen view is sent
+     */
+    private val screenViewEventIds = object : LinkedHashMap<String, Int?>() {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Int?>) =
+            size > MAX_VIEW_IDS
+    }
+
+    /**
+     * Record a view id generated for a screen view
+     *
+     * @param viewId
+     */
+    fun onViewIdGenerated(viewId: String) = synchronized(screenViewEventIds) {
+        screenViewEventIds[viewId] = null
+    }
+
+    /**
+     * Record an event about to be sent
+     *
+     * @param event
+     */
+    fun onEventSent(event: AnalyticsEvent) = synchronized(screenViewEventIds) {
+        val viewId = event.viewId ?: return@synchronized
+        if (screenViewEventIds.containsKey(viewId) && screenViewEventIds[viewId] == null) {
+            screenViewEventIds[viewId] = event.eventId
+        }
+    }
+
+    /**
+     * Check if an event is a screen view
+     *
+     * @param event
+     * @return true if the event is the screen view of its view id
+     */
+    fun isScreenView(event: AnalyticsEvent): Boolean = synchronized(screenViewEventIds) {
+        event.viewId?.let { screenViewEventIds[it] } == event.eventId
+    }
+
+    companion object {
+        private const val MAX_VIEW_IDS = 100
+    }
+}
@@ -6,8 +6,9 @@ import javax.inject.Inject
 
 internal class ViewIdProviderImpl @Inject constructor(
     private val getViewIdUseCase: GetViewIdUseCase,
+    private val screenViewEvents: ScreenViewEvents,
 ) : ViewIdProvider {
     override suspend fun getViewIdentifier(): String {
-        return getViewIdUseCase()
+        return getViewIdUseCase().also { screenViewEvents.onViewIdGenerated(it) }
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,27 @@
 package mega.privacy.android.analytics.di
 
+import android.content.Context
 import dagger.Binds
 import dagger.Module
 import dagger.Provides
 import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
 import mega.privacy.android.analytics.EventSenderImpl
+import mega.privacy.android.analytics.ScreenViewEvents
 import mega.privacy.android.analytics.ViewIdProviderImpl
+import mega.privacy.android.analytics.queue.AnalyticsEventJournal
+import mega.privacy.android.analytics.queue.AnalyticsEventQueue
 import mega.privacy.android.analytics.tracker.AnalyticsTracker
 import mega.privacy.android.analytics.tracker.AnalyticsTrackerImpl
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import mega.privacy.android.domain.qualifier.IoDispatcher
+import mega.privacy.android.domain.usecase.analytics.SendUserJourneyEventUseCase
 import mega.privacy.mobile.analytics.event.tracking.Tracker
+import java.io.File
+import javax.inject.Singleton
 
 @Module
 @InstallIn(SingletonComponent::class)
@@ -18,10 +30,40 @@ internal abstract class AnalyticsModule {
     abstract fun bindAnalyticsTracker(implementation: AnalyticsTrackerImpl): AnalyticsTracker
 
     companion object {
+        private const val EVENT_JOURNAL_FILE_NAME = "analytics_event_journal"
+        private const val MAX_EVENT_BATCH_SIZE = 20
+        private const val EVENT_FLUSH_INTERVAL_MILLIS = 2000L
+
         @Provides
         fun provideTracker(
             viewIdProvider: ViewIdProviderImpl,
             eventSender: EventSenderImpl,
         ): Tracker = Tracker(viewIdProvider, eventSender)
+
+        @Provides
+        @Singleton
+        fun provideAnalyticsEventQueue(
+            @ApplicationContext context: Context,
+            sendUserJourneyEventUseCase: SendUserJourneyEventUseCase,
+            @ApplicationScope scope: CoroutineScope,
+            @IoDispatcher ioDispatcher: CoroutineDispatcher,
+            screenViewEvents: ScreenViewEvents,
+        ): AnalyticsEventQueue = AnalyticsEventQueue(
+            journal = AnalyticsEventJournal(File(context.filesDir, EVENT_JOURNAL_FILE_NAME)),
+            sendBatch = { events ->
+                events.forEach {
+                    sendUserJourneyEventUseCase(
+                        eventId = it.eventId,
+                        message = it.message,
+                        viewId = it.viewId,
+                    )
+                }
+            },
+            isScreenView = screenViewEvents::isScreenView,
+            scope = scope,
+            dispatcher = ioDispatcher,
+            maxBatchSize = MAX_EVENT_BATCH_SIZE,
+            flushIntervalMillis = EVENT_FLUSH_INTERVAL_MILLIS,
+        )
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package mega.privacy.android.analytics.queue
+
+/**
+ * Analytics event waiting to be sent
+ *
+ * @property eventId
+ * @property message
+ * @property viewId the view the event happened in, null if it is not a view event
+ */
+internal data class AnalyticsEvent(
+    val eventId: Int,
+    val message: String,
+    val viewId: String?,
+)
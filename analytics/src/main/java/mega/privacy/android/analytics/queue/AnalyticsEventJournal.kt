@@ -0,0 +1,133 @@
+package mega.privacy.android.analytics.queue
+
+import timber.log.Timber
+import java.io.File
+import java.io.FileOutputStream
+
+/**
+ * Journal of the analytics events not sent yet, one event per line.
+ *
+ * A line is only valid once its line break is written, so a line cut by the process dying is
+ * ignored when the journal is read. It is not thread safe.
+ *
+ * @property file
+ */
+internal class AnalyticsEventJournal(private val file: File) {
+
+    /**
+     * Read the events in the journal
+     *
+     * @return the events, in the order they were written
+     */
+    fun readAll(): List<AnalyticsEvent> = runCatching {
+        if (!file.exists()) return emptyList()
+        file.readText().split(LINE_BREAK).dropLast(1).mapNotNull { decode(it) }
+    }.onFailure {
+        Timber.e(it, "Analytics event journal not read")
+    }.getOrDefault(emptyList())
+
+    /**
+     * Add events at the end of the journal
+     *
+     * @param events
+     */
+    fun append(events: List<AnalyticsEvent>) {
+        if (events.isEmpty()) return
+        runCatching { write(file, events, append = true) }
+            .onFailure { Timber.e(it, "Analytics events not written to the journal") }
+    }
+
+    /**
+     * Replace all the events of the journal
+     *
+     * @param events
+     */
+    fun replace(events: List<AnalyticsEvent>) {
+        runCatching {
+            if (events.isEmpty()) {
+                file.delete()
+            } else {
+                val temporaryFile = File(file.path + TEMPORARY_SUFFIX)
+                write(temporaryFile, events, append = false)
+                if (!temporaryFile.renameTo(file)) {
+                    temporaryFile.delete()
+                    write(file, events, append = false)
+                }
+            }
+        }.onFailure { Timber.e(it, "Analytics event journal not replaced") }
+    }
+
+    private fun write(target: File, events: List<AnalyticsEvent>, append: Boolean) {
+        FileOutputStream(target, append).bufferedWriter().use { writer ->
+            events.forEach {
+                writer.write(encode(it))
+                writer.write(LINE_BREAK.code)
+            }
+        }
+    }
+
+    private fun encode(event: AnalyticsEvent) = buildString {
+        append(event.eventId)
+        append(SEPARATOR)
+        event.viewId?.let {
+            append(VIEW_ID_PREFIX)
+            appendEscaped(it)
+        } ?: append(NO_VIEW_ID)
+        append(SEPARATOR)
+        appendEscaped(event.message)
+    }
+
+    private fun decode(line: String): AnalyticsEvent? {
+        val fields = line.split(SEPARATOR)
+        if (fields.size != 3) return null
+        val eventId = fields[0].toIntOrNull() ?: return null
+        val viewId = when {
+            fields[1] == NO_VIEW_ID -> null
+            fields[1].startsWith(VIEW_ID_PREFIX) ->
+                fields[1].substring(VIEW_ID_PREFIX.length).unescape() ?: return null
+            else -> return null
+        }
+        val message = fields[2].unescape() ?: return null
+        return AnalyticsEvent(eventId = eventId, message = message, viewId = viewId)
+    }
+
+    private fun StringBuilder.appendEscaped(value: String) {
+        value.forEach {
+            when (it) {
+                ESCAPE -> append(ESCAPE).append(ESCAPE)
+                LINE_BREAK -> append(ESCAPE).append('n')
+                SEPARATOR -> append(ESCAPE).append('t')
+                else -> append(it)
+            }
+        }
+    }
+
+    private fun String.unescape(): String? {
+        val value = this
+        return buildString {
+            var index = 0
+            while (index < value.length) {
+                val char = value[index++]
+                if (char != ESCAPE) {
+                    append(char)
+                    continue
+                }
+                when (value.getOrNull(index++)) {
+                    ESCAPE -> append(ESCAPE)
+                    'n' -> append(LINE_BREAK)
+                    't' -> append(SEPARATOR)
+                    else -> return null
+                }
+            }
+        }
+    }
+
+    companion object {
+        private const val LINE_BREAK = '\n'
+        private const val SEPARATOR = '\t'
+        private const val ESCAPE = '\\'
+        private const val VIEW_ID_PREFIX = "+"
+        private const val NO_VIEW_ID = "-"
+        private const val TEMPORARY_SUFFIX = ".tmp"
+    }
+}
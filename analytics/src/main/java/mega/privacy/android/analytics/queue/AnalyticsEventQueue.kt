@@ -0,0 +1,114 @@
+package mega.privacy.android.analytics.queue
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+import timber.log.Timber
+
+/**
+ * Queue of analytics events, sent in batches.
+ *
+ * Adding an event doesn't start a coroutine nor touch the disk: the events are written to the
+ * [journal] in the background, so the ones not sent yet are sent the next time the queue starts
+ * if the process dies. A batch is sent when it has [maxBatchSize] events or [flushIntervalMillis]
+ * after the queue stopped being empty. A screen view event identical to another one not sent yet
+ * is not added, as the same screen view is often tracked more than once while it is shown. The
+ * other events, like repeated button presses, are all sent.
+ *
+ * @param journal the journal of the events not sent yet
+ * @param sendBatch sends a batch of events, in order
+ * @param isScreenView checks if an event is a screen view
+ * @param scope the queue runs until this scope is cancelled
+ * @param dispatcher the dispatcher to write the journal and send the events
+ * @param maxBatchSize the maximum number of events sent together
+ * @param flushIntervalMillis the maximum time the events wait to be sent
+ */
+internal class AnalyticsEventQueue(
+    private val journal: AnalyticsEventJournal,
+    private val sendBatch: suspend (List<AnalyticsEvent>) -> Unit,
+    private val isScreenView: (AnalyticsEvent) -> Boolean,
+    scope: CoroutineScope,
+    dispatcher: CoroutineDispatcher,
+    private val maxBatchSize: Int,
+    private val flushIntervalMillis: Long,
+) {
+    private val incoming = Channel<AnalyticsEvent>(Channel.UNLIMITED)
+
+    /**
+     * Guards [pending], [pendingScreenViews] and [journal]
+     */
+    private val lock = Any()
+    private val pending = ArrayDeque<AnalyticsEvent>()
+    private val pendingScreenViews = HashSet<AnalyticsEvent>()
+    private val pendingCount = MutableStateFlow(0)
+
+    init {
+        scope.launch(dispatcher) {
+            synchronized(lock) { addPending(journal.readAll()) }
+            launch { journalIncomingEvents() }
+            sendBatches()
+        }
+    }
+
+    /**
+     * Add an event to the queue
+     *
+     * @param event
+     */
+    fun add(event: AnalyticsEvent) {
+        incoming.trySend(event)
+    }
+
+    private suspend fun journalIncomingEvents() {
+        val received = ArrayList<AnalyticsEvent>()
+        for (event in incoming) {
+            received.add(event)
+            while (true) {
+                received.add(incoming.tryReceive().getOrNull() ?: break)
+            }
+            synchronized(lock) {
+                val accepted = received.filter { !isScreenView(it) || pendingScreenViews.add(it) }
+                journal.append(accepted)
+                addPending(accepted)
+            }
+            received.clear()
+        }
+    }
+
+    private suspend fun sendBatches() {
+        while (true) {
+            pendingCount.first { it > 0 }
+            withTimeoutOrNull(flushIntervalMillis) { pendingCount.first { it >= maxBatchSize } }
+
+            val batch = synchronized(lock) { pending.take(maxBatchSize) }
+            try {
+                sendBatch(batch)
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Timber.e(e, "Analytics events not sent")
+                delay(flushIntervalMillis)
+                continue
+            }
+            synchronized(lock) {
+                repeat(batch.size) { pendingScreenViews.remove(pending.removeFirst()) }
+                journal.replace(pending.toList())
+                pendingCount.value = pending.size
+            }
+        }
+    }
+
+    private fun addPending(events: List<AnalyticsEvent>) {
+        events.forEach {
+            pending.addLast(it)
+            if (isScreenView(it)) pendingScreenViews.add(it)
+        }
+        pendingCount.value = pending.size
+    }
+}
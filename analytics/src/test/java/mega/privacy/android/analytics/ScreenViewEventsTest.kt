@@ -0,0 +1,44 @@
+package mega.privacy.android.analytics
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.analytics.queue.AnalyticsEvent
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ScreenViewEventsTest {
+
+    private lateinit var underTest: ScreenViewEvents
+
+    @BeforeEach
+    fun setUp() {
+        underTest = ScreenViewEvents()
+    }
+
+    @Test
+    fun `test that the first event of a generated view id is the screen view`() {
+        val screenView = AnalyticsEvent(eventId = 1, message = "screen", viewId = "view")
+        val tap = AnalyticsEvent(eventId = 2, message = "tap", viewId = "view")
+
+        underTest.onViewIdGenerated("view")
+        underTest.onEventSent(screenView)
+        underTest.onEventSent(tap)
+
+        assertThat(underTest.isScreenView(screenView)).isTrue()
+        assertThat(underTest.isScreenView(screenView.copy())).isTrue()
+        assertThat(underTest.isScreenView(tap)).isFalse()
+    }
+
+    @Test
+    fun `test that events without a generated view id are not screen views`() {
+        val event = AnalyticsEvent(eventId = 1, message = "message", viewId = "unknown")
+        val eventWithoutView = AnalyticsEvent(eventId = 1, message = "message", viewId = null)
+
+        underTest.onEventSent(event)
+        underTest.onEventSent(eventWithoutView)
+
+        assertThat(underTest.isScreenView(event)).isFalse()
+        assertThat(underTest.isScreenView(eventWithoutView)).isFalse()
+    }
+}
@@ -0,0 +1,68 @@
+package mega.privacy.android.analytics.queue
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.io.File
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AnalyticsEventJournalTest {
+
+    private lateinit var file: File
+    private lateinit var underTest: AnalyticsEventJournal
+
+    @BeforeEach
+    fun setUp() {
+        file = File.createTempFile("analytics_event_journal", null).apply { delete() }
+        underTest = AnalyticsEventJournal(file)
+    }
+
+    @AfterEach
+    fun tearDown() {
+        file.delete()
+    }
+
+    @Test
+    fun `test that an empty journal has no events`() {
+        assertThat(underTest.readAll()).isEmpty()
+    }
+
+    @Test
+    fun `test that the events are read in the order they were appended`() {
+        val events = listOf(
+            AnalyticsEvent(1, "message", null),
+            AnalyticsEvent(2, "line\nbreak\ttab\\backslash", "view\n-\t+"),
+            AnalyticsEvent(3, "", ""),
+        )
+
+        underTest.append(events.subList(0, 2))
+        underTest.append(events.subList(2, 3))
+
+        assertThat(AnalyticsEventJournal(file).readAll()).containsExactlyElementsIn(events)
+            .inOrder()
+    }
+
+    @Test
+    fun `test that a line cut by the process dying is ignored`() {
+        val event = AnalyticsEvent(1, "message", "view")
+        underTest.append(listOf(event))
+        file.appendText("2\t+view\tcut mess")
+
+        assertThat(underTest.readAll()).containsExactly(event)
+    }
+
+    @Test
+    fun `test that replace keeps only the new events`() {
+        val remaining = AnalyticsEvent(2, "remaining", null)
+        underTest.append(listOf(AnalyticsEvent(1, "sent", null), remaining))
+
+        underTest.replace(listOf(remaining))
+        assertThat(underTest.readAll()).containsExactly(remaining)
+
+        underTest.replace(emptyList())
+        assertThat(underTest.readAll()).isEmpty()
+        assertThat(file.exists()).isFalse()
+    }
+}
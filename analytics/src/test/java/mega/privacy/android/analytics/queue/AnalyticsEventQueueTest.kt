@@ -0,0 +1,152 @@
+package mega.privacy.android.analytics.queue
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.io.File
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AnalyticsEventQueueTest {
+
+    private lateinit var journalFile: File
+    private lateinit var queueScope: CoroutineScope
+    private val sentBatches = mutableListOf<List<AnalyticsEvent>>()
+
+    @BeforeEach
+    fun setUp() {
+        journalFile = File.createTempFile("analytics_event_journal", null).apply { delete() }
+        queueScope = CoroutineScope(Job())
+        sentBatches.clear()
+    }
+
+    @AfterEach
+    fun tearDown() {
+        queueScope.cancel()
+        journalFile.delete()
+    }
+
+    private fun TestScope.createQueue(
+        scope: CoroutineScope = queueScope,
+        sendBatch: suspend (List<AnalyticsEvent>) -> Unit = { sentBatches.add(it) },
+    ) = AnalyticsEventQueue(
+        journal = AnalyticsEventJournal(journalFile),
+        sendBatch = sendBatch,
+        isScreenView = { it.eventId == SCREEN_VIEW_EVENT_ID },
+        scope = scope,
+        dispatcher = StandardTestDispatcher(testScheduler),
+        maxBatchSize = MAX_BATCH_SIZE,
+        flushIntervalMillis = FLUSH_INTERVAL_MILLIS,
+    )
+
+    private fun event(id: Int, viewId: String? = null) =
+        AnalyticsEvent(eventId = id, message = "message $id", viewId = viewId)
+
+    @Test
+    fun `test that the events are sent in order when the flush interval elapses`() = runTest {
+        val underTest = createQueue()
+        val events = listOf(event(1), event(2, "view"))
+
+        events.forEach { underTest.add(it) }
+        advanceTimeBy(FLUSH_INTERVAL_MILLIS - 1)
+        assertThat(sentBatches).isEmpty()
+
+        advanceTimeBy(1)
+        runCurrent()
+        assertThat(sentBatches).containsExactly(events)
+    }
+
+    @Test
+    fun `test that a batch is sent as soon as it is full`() = runTest {
+        val underTest = createQueue()
+        val events = (1..7).map { event(it) }
+
+        events.forEach { underTest.add(it) }
+        runCurrent()
+        assertThat(sentBatches).containsExactly(events.subList(0, 3), events.subList(3, 6))
+            .inOrder()
+
+        advanceTimeBy(FLUSH_INTERVAL_MILLIS)
+        runCurrent()
+        assertThat(sentBatches).containsExactly(
+            events.subList(0, 3),
+            events.subList(3, 6),
+            events.subList(6, 7),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that only identical screen views not sent yet are discarded`() = runTest {
+        val underTest = createQueue()
+        val screenView = event(SCREEN_VIEW_EVENT_ID, "view")
+        val otherScreenView = event(SCREEN_VIEW_EVENT_ID, "other view")
+        val tap = event(2, "view")
+
+        listOf(screenView, tap, screenView, tap, otherScreenView).forEach { underTest.add(it) }
+        advanceTimeBy(FLUSH_INTERVAL_MILLIS)
+        runCurrent()
+        underTest.add(screenView)
+        advanceUntilIdle()
+
+        assertThat(sentBatches).containsExactly(
+            listOf(screenView, tap, tap),
+            listOf(otherScreenView),
+            listOf(screenView),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that the events not sent are sent in order after the process dies`() = runTest {
+        val crashedScope = CoroutineScope(Job())
+        val crashedQueue = createQueue(scope = crashedScope, sendBatch = { awaitCancellation() })
+        val unsentEvents = (1..4).map { event(it, "view $it") }
+        unsentEvents.forEach { crashedQueue.add(it) }
+        runCurrent()
+        crashedScope.cancel()
+
+        val underTest = createQueue()
+        val newEvent = event(5)
+        underTest.add(newEvent)
+        advanceUntilIdle()
+
+        assertThat(sentBatches.first()).isEqualTo(unsentEvents.subList(0, 3))
+        assertThat(sentBatches.flatten()).containsExactlyElementsIn(unsentEvents + newEvent)
+            .inOrder()
+        assertThat(AnalyticsEventJournal(journalFile).readAll()).isEmpty()
+    }
+
+    @Test
+    fun `test that a batch that fails to be sent is sent again`() = runTest {
+        var attempts = 0
+        val underTest = createQueue(sendBatch = {
+            if (attempts++ == 0) throw IllegalStateException("Not sent")
+            sentBatches.add(it)
+        })
+        val events = listOf(event(1), event(2))
+
+        events.forEach { underTest.add(it) }
+        advanceUntilIdle()
+
+        assertThat(attempts).isEqualTo(2)
+        assertThat(sentBatches).containsExactly(events)
+    }
+
+    companion object {
+        private const val MAX_BATCH_SIZE = 3
+        private const val FLUSH_INTERVAL_MILLIS = 1000L
+        private const val SCREEN_VIEW_EVENT_ID = 100
+    }
+}
@@ -0,0 +1,229 @@
+package test.mega.privacy.android.app
+
+import android.content.Context
+import android.content.ContextWrapper
+import android.database.DatabaseErrorHandler
+import android.database.sqlite.SQLiteDatabase
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import mega.privacy.android.app.SqliteDatabaseHandler
+import mega.privacy.android.data.mapper.camerauploads.SyncRecordTypeIntMapper
+import mega.privacy.android.data.mapper.camerauploads.SyncRecordTypeMapper
+import mega.privacy.android.domain.entity.SyncRecord
+import mega.privacy.android.domain.entity.SyncRecordType
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.kotlin.mock
+import java.io.File
+
+@RunWith(AndroidJUnit4::class)
+class SqliteDatabaseHandlerSyncRecordsTest {
+
+    private lateinit var context: Context
+    private lateinit var underTest: SqliteDatabaseHandler
+
+    private val photo = syncRecord(
+        localPath = "/DCIM/Camera/photo.jpg",
+        fileName = "photo.jpg",
+        timestamp = 1_690_000_000_000L,
+        type = SyncRecordType.TYPE_PHOTO,
+    )
+    private val video = syncRecord(
+        localPath = "/DCIM/Camera/video.mp4",
+        fileName = "video.mp4",
+        timestamp = 1_690_000_500_000L,
+        type = SyncRecordType.TYPE_VIDEO,
+    )
+    private val secondaryPhoto = syncRecord(
+        localPath = "/Pictures/secondary.jpg",
+        fileName = "secondary.jpg",
+        timestamp = 1_690_001_000_000L,
+        type = SyncRecordType.TYPE_PHOTO,
+        isSecondary = true,
+    )
+
+    @Before
+    fun setUp() {
+        context = TestDatabaseContext(InstrumentationRegistry.getInstrumentation().targetContext)
+        context.deleteDatabase(DATABASE_NAME)
+        underTest = createHandler()
+    }
+
+    @After
+    fun tearDown() {
+        underTest.close()
+        context.deleteDatabase(DATABASE_NAME)
+    }
+
+    @Test
+    fun test_findSyncRecordByLocalPath_returnsTheMatchingRecordOfTheSameFolder() {
+        underTest.saveSyncRecords(listOf(photo, video, secondaryPhoto))
+
+        assertThat(underTest.findSyncRecordByLocalPath(photo.localPath, false)?.fileName)
+            .isEqualTo(photo.fileName)
+        assertThat(underTest.findSyncRecordByLocalPath(secondaryPhoto.localPath, false))
+            .isNull()
+        assertThat(underTest.findSyncRecordByLocalPath(secondaryPhoto.localPath, true)?.fileName)
+            .isEqualTo(secondaryPhoto.fileName)
+    }
+
+    @Test
+    fun test_findSyncRecordByNewPath_returnsTheMatchingRecord() {
+        underTest.saveSyncRecords(listOf(photo, video))
+
+        assertThat(underTest.findSyncRecordByNewPath(video.newPath)?.localPath)
+            .isEqualTo(video.localPath)
+        assertThat(underTest.findSyncRecordByNewPath("/unknown")).isNull()
+        assertThat(underTest.findSyncRecordByNewPath(null)).isNull()
+    }
+
+    @Test
+    fun test_existenceLookups_matchOnlyTheIndexedValues() {
+        underTest.saveSyncRecords(listOf(photo, video))
+        val photoType = SyncRecordTypeIntMapper()(SyncRecordType.TYPE_PHOTO)
+
+        assertThat(underTest.fileNameExists(photo.fileName, false, photoType)).isTrue()
+        assertThat(underTest.fileNameExists(video.fileName, false, photoType)).isFalse()
+        assertThat(underTest.fileNameExists(photo.fileName, true, photoType)).isFalse()
+        assertThat(underTest.localPathExists(photo.localPath, false, photoType)).isTrue()
+        assertThat(underTest.localPathExists("/DCIM/Camera/PHOTO.jpg", false, photoType))
+            .isFalse()
+    }
+
+    @Test
+    fun test_findMaxTimestamp_returnsTheLatestCaptureTimeOfTheTypeAndFolder() {
+        underTest.saveSyncRecords(listOf(photo, video, secondaryPhoto))
+        val photoType = SyncRecordTypeIntMapper()(SyncRecordType.TYPE_PHOTO)
+        val videoType = SyncRecordTypeIntMapper()(SyncRecordType.TYPE_VIDEO)
+
+        assertThat(underTest.findMaxTimestamp(false, photoType)).isEqualTo(photo.timestamp)
+        assertThat(underTest.findMaxTimestamp(false, videoType)).isEqualTo(video.timestamp)
+        assertThat(underTest.findMaxTimestamp(true, photoType))
+            .isEqualTo(secondaryPhoto.timestamp)
+        assertThat(underTest.findMaxTimestamp(true, videoType)).isNull()
+    }
+
+    @Test
+    fun test_upgradeFromVersion68_fillsTheSearchColumnsOfTheExistingRecords() {
+        underTest.saveSyncRecords(listOf(photo, video, secondaryPhoto))
+        underTest.close()
+        downgradeSyncRecordsToVersion68()
+
+        underTest = createHandler()
+        val photoType = SyncRecordTypeIntMapper()(SyncRecordType.TYPE_PHOTO)
+
+        assertThat(underTest.findSyncRecordByLocalPath(photo.localPath, false)?.fileName)
+            .isEqualTo(photo.fileName)
+        assertThat(underTest.findSyncRecordByNewPath(video.newPath)?.localPath)
+            .isEqualTo(video.localPath)
+        assertThat(underTest.fileNameExists(secondaryPhoto.fileName, true, photoType)).isTrue()
+        assertThat(underTest.findMaxTimestamp(false, photoType)).isEqualTo(photo.timestamp)
+        assertThat(indexNames()).containsAtLeast(
+            "syncrecords_filepath_origin_idx",
+            "syncrecords_filename_idx",
+            "syncrecords_timestamp_idx",
+        )
+    }
+
+    private fun createHandler() = SqliteDatabaseHandler(
+        context = context,
+        applicationScope = CoroutineScope(Dispatchers.IO),
+        legacyLoggingSettings = mock(),
+        storageStateMapper = mock(),
+        storageStateIntMapper = mock(),
+        megaLocalRoomGateway = mock(),
+        syncRecordTypeMapper = SyncRecordTypeMapper(),
+        syncRecordTypeIntMapper = SyncRecordTypeIntMapper(),
+    )
+
+    /**
+     * Rebuilds the sync records table with the columns it had before DB v69,
+     * keeping the encrypted values of the saved records
+     */
+    private fun downgradeSyncRecordsToVersion68() {
+        SQLiteDatabase.openDatabase(
+            context.getDatabasePath(DATABASE_NAME).path,
+            null,
+            SQLiteDatabase.OPEN_READWRITE
+        ).use { db ->
+            db.execSQL(
+                "CREATE TABLE syncrecords_v68 AS SELECT id, sync_filepath_origin, " +
+                        "sync_filepath_new, sync_fingerprint_origin, sync_fingerprint_new, " +
+                        "sync_timestamp, sync_filename, sync_longitude, sync_latitude, " +
+                        "sync_state, sync_type, sync_handle, sync_copyonly, sync_secondary " +
+                        "FROM syncrecords"
+            )
+            db.execSQL("DROP TABLE syncrecords")
+            db.execSQL("ALTER TABLE syncrecords_v68 RENAME TO syncrecords")
+            db.version = 68
+        }
+    }
+
+    private fun indexNames(): List<String> = SQLiteDatabase.openDatabase(
+        context.getDatabasePath(DATABASE_NAME).path,
+        null,
+        SQLiteDatabase.OPEN_READONLY
+    ).use { db ->
+        db.rawQuery(
+            "SELECT name FROM sqlite_master WHERE type = 'index' AND tbl_name = 'syncrecords'",
+            null
+        ).use { cursor ->
+            buildList {
+                while (cursor.moveToNext()) {
+                    add(cursor.getString(0))
+                }
+            }
+        }
+    }
+
+    private fun syncRecord(
+        localPath: String,
+        fileName: String,
+        timestamp: Long,
+        type: SyncRecordType,
+        isSecondary: Boolean = false,
+    ) = SyncRecord(
+        localPath = localPath,
+        newPath = "/cache/$fileName",
+        originFingerprint = "fingerprint-$fileName",
+        newFingerprint = null,
+        timestamp = timestamp,
+        fileName = fileName,
+        longitude = null,
+        latitude = null,
+        status = 0,
+        type = type,
+        nodeHandle = null,
+        isCopyOnly = false,
+        isSecondary = isSecondary,
+    )
+
+    /**
+     * Keeps the handler away from the app DB, whatever the name it opens
+     */
+    private class TestDatabaseContext(base: Context) : ContextWrapper(base) {
+
+        override fun getDatabasePath(name: String): File =
+            super.getDatabasePath(DATABASE_NAME)
+
+        override fun openOrCreateDatabase(
+            name: String,
+            mode: Int,
+            factory: SQLiteDatabase.CursorFactory?,
+            errorHandler: DatabaseErrorHandler?,
+        ): SQLiteDatabase =
+            super.openOrCreateDatabase(DATABASE_NAME, mode, factory, errorHandler)
+
+        override fun deleteDatabase(name: String): Boolean =
+            super.deleteDatabase(DATABASE_NAME)
+    }
+
+    companion object {
+        private const val DATABASE_NAME = "sqlite_database_handler_test"
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.barteksc.pdfviewer;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of rendered part bitmaps, bucketed by width, height and config, so tiles of the same size
+ * reuse the bitmaps of evicted tiles instead of allocating new ones while scrolling.
+ * The pool is bounded in bytes; bitmaps released once it is full are recycled.
+ */
+class BitmapPool {
+
+    private final long maxBytes;
+
+    private final Map<Long, ArrayDeque<Bitmap>> buckets = new HashMap<>();
+
+    private final RenderingStats stats;
+
+    private long pooledBytes;
+
+    BitmapPool(long maxBytes, RenderingStats stats) {
+        this.maxBytes = maxBytes;
+        this.stats = stats;
+    }
+
+    /**
+     * Get a cleared bitmap of the given size and config, from the pool if possible
+     *
+     * @throws IllegalArgumentException if a new bitmap cannot be created with these values
+     */
+    Bitmap acquire(int width, int height, Bitmap.Config config) {
+        Bitmap pooled = poll(width, height, config);
+        if (pooled != null) {
+            pooled.eraseColor(Color.TRANSPARENT);
+            stats.onBitmapReused();
+            return pooled;
+        }
+        Bitmap bitmap = Bitmap.createBitmap(width, height, config);
+        stats.onBitmapAllocated(bitmap.getAllocationByteCount());
+        return bitmap;
+    }
+
+    /**
+     * Return a bitmap that is no longer displayed to the pool
+     */
+    void release(@Nullable Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        int bytes = bitmap.getAllocationByteCount();
+        synchronized (buckets) {
+            if (bitmap.isMutable() && pooledBytes + bytes <= maxBytes) {
+                Long key = keyOf(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+                ArrayDeque<Bitmap> bucket = buckets.get(key);
+                if (bucket == null) {
+                    bucket = new ArrayDeque<>();
+                    buckets.put(key, bucket);
+                }
+                bucket.push(bitmap);
+                pooledBytes += bytes;
+                return;
+            }
+        }
+        bitmap.recycle();
+    }
+
+    /**
+     * Recycle all the pooled bitmaps
+     */
+    void clear() {
+        synchronized (buckets) {
+            for (ArrayDeque<Bitmap> bucket : buckets.values()) {
+                for (Bitmap bitmap : bucket) {
+                    bitmap.recycle();
+                }
+            }
+            buckets.clear();
+            pooledBytes = 0;
+        }
+    }
+
+    @Nullable
+    private Bitmap poll(int width, int height, Bitmap.Config config) {
+        synchronized (buckets) {
+            ArrayDeque<Bitmap> bucket = buckets.get(keyOf(width, height, config));
+            Bitmap bitmap = bucket == null ? null : bucket.poll();
+            if (bitmap != null) {
+                pooledBytes -= bitmap.getAllocationByteCount();
+            }
+            return bitmap;
+        }
+    }
+
+    private static long keyOf(int width, int height, Bitmap.Config config) {
+        return ((long) width << 32) | ((long) height << 8) | (config == null ? 0 : config.ordinal() + 1);
+    }
+}
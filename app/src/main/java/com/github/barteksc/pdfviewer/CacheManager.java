@@ -15,19 +15,24 @@
  */
 package com.github.barteksc.pdfviewer;
 
+import android.graphics.Bitmap;
 import android.graphics.RectF;
-import androidx.annotation.Nullable;
 
 import com.github.barteksc.pdfviewer.model.PagePart;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
+import java.util.Set;
 
+import static com.github.barteksc.pdfviewer.util.Constants.Cache.BITMAP_POOL_SIZE_BYTES;
 import static com.github.barteksc.pdfviewer.util.Constants.Cache.CACHE_SIZE;
-import static com.github.barteksc.pdfviewer.util.Constants.Cache.THUMBNAILS_CACHE_SIZE;
+import static com.github.barteksc.pdfviewer.util.Constants.Cache.CACHE_SIZE_BYTES;
+import static com.github.barteksc.pdfviewer.util.Constants.Cache.THUMBNAILS_CACHE_SIZE_BYTES;
 
 class CacheManager {
 
@@ -35,76 +40,151 @@ class CacheManager {
 
     private final PriorityQueue<PagePart> activeCache;
 
+    /**
+     * Index of the parts of both caches, by page and page relative bounds. Both caches together
+     * never hold two equal parts, so a part found in an index is the one in its cache
+     */
+    private final Map<PagePart, PagePart> passiveIndex = new HashMap<>();
+
+    /**
+     * Number of parts left in {@link #passiveCache} after being moved to the active cache or
+     * evicted, as removing them from the queue is a linear search. They are no longer the part
+     * of their index, so they are skipped when polled, and the queue is rebuilt from the index
+     * when they outnumber the live parts
+     */
+    private int stalePassiveParts;
+
+    private final Set<PagePart> activeIndex = new HashSet<>();
+
     private final List<PagePart> thumbnails;
 
+    private final Set<PagePart> thumbnailsIndex = new HashSet<>();
+
     private final Object passiveActiveLock = new Object();
 
     private final PagePartComparator orderComparator = new PagePartComparator();
 
+    private final RenderingStats renderingStats = new RenderingStats();
+
+    private final BitmapPool bitmapPool = new BitmapPool(BITMAP_POOL_SIZE_BYTES, renderingStats);
+
+    private long partsBytes;
+
+    private long thumbnailsBytes;
+
     public CacheManager() {
         activeCache = new PriorityQueue<>(CACHE_SIZE, orderComparator);
         passiveCache = new PriorityQueue<>(CACHE_SIZE, orderComparator);
         thumbnails = new ArrayList<>();
     }
 
+    BitmapPool getBitmapPool() {
+        return bitmapPool;
+    }
+
+    RenderingStats getRenderingStats() {
+        return renderingStats;
+    }
+
     public void cachePart(PagePart part) {
         synchronized (passiveActiveLock) {
-            // If cache too big, remove and recycle
-            makeAFreeSpace();
+            // Keep a single copy of a part rendered more than once
+            if (activeIndex.contains(part)) {
+                bitmapPool.release(part.getRenderedBitmap());
+                return;
+            }
+            PagePart stale = passiveIndex.remove(part);
+            if (stale != null) {
+                onPassivePartRemoved();
+                evictPart(stale);
+            }
+
+            // If cache too big, remove and return bitmaps to the pool
+            makeAFreeSpace(bytesOf(part));
 
             // Then add part
             activeCache.offer(part);
+            activeIndex.add(part);
+            partsBytes += bytesOf(part);
         }
     }
 
     public void makeANewSet() {
         synchronized (passiveActiveLock) {
             passiveCache.addAll(activeCache);
+            for (PagePart part : activeCache) {
+                passiveIndex.put(part, part);
+            }
             activeCache.clear();
+            activeIndex.clear();
         }
     }
 
-    private void makeAFreeSpace() {
+    private void makeAFreeSpace(long neededBytes) {
         synchronized (passiveActiveLock) {
-            while ((activeCache.size() + passiveCache.size()) >= CACHE_SIZE &&
-                    !passiveCache.isEmpty()) {
+            while (partsBytes + neededBytes > CACHE_SIZE_BYTES && !passiveCache.isEmpty()) {
                 PagePart part = passiveCache.poll();
-                part.getRenderedBitmap().recycle();
+                if (passiveIndex.get(part) != part) {
+                    stalePassiveParts--;
+                    continue;
+                }
+                passiveIndex.remove(part);
+                evictPart(part);
             }
 
-            while ((activeCache.size() + passiveCache.size()) >= CACHE_SIZE &&
-                    !activeCache.isEmpty()) {
-                activeCache.poll().getRenderedBitmap().recycle();
+            while (partsBytes + neededBytes > CACHE_SIZE_BYTES && !activeCache.isEmpty()) {
+                PagePart part = activeCache.poll();
+                activeIndex.remove(part);
+                evictPart(part);
             }
         }
     }
 
+    private void evictPart(PagePart part) {
+        partsBytes -= bytesOf(part);
+        bitmapPool.release(part.getRenderedBitmap());
+    }
+
     public void cacheThumbnail(PagePart part) {
         synchronized (thumbnails) {
-            // If cache too big, remove and recycle
-            while (thumbnails.size() >= THUMBNAILS_CACHE_SIZE) {
-                thumbnails.remove(0).getRenderedBitmap().recycle();
+            // Add thumbnail if it doesn't exist, return its bitmap to the pool otherwise
+            if (thumbnailsIndex.contains(part)) {
+                bitmapPool.release(part.getRenderedBitmap());
+                return;
+            }
+
+            // If cache too big, remove and return bitmaps to the pool
+            long bytes = bytesOf(part);
+            while (thumbnailsBytes + bytes > THUMBNAILS_CACHE_SIZE_BYTES && !thumbnails.isEmpty()) {
+                PagePart oldest = thumbnails.remove(0);
+                thumbnailsIndex.remove(oldest);
+                thumbnailsBytes -= bytesOf(oldest);
+                bitmapPool.release(oldest.getRenderedBitmap());
             }
 
             // Then add thumbnail
-            addWithoutDuplicates(thumbnails, part);
+            thumbnails.add(part);
+            thumbnailsIndex.add(part);
+            thumbnailsBytes += bytes;
         }
-
     }
 
     public boolean upPartIfContained(int page, RectF pageRelativeBounds, int toOrder) {
         PagePart fakePart = new PagePart(page, null, pageRelativeBounds, false, 0);
 
-        PagePart found;
         synchronized (passiveActiveLock) {
-            if ((found = find(passiveCache, fakePart)) != null) {
-                passiveCache.remove(found);
-                found.setCacheOrder(toOrder);
-                activeCache.offer(found);
+            PagePart found = passiveIndex.remove(fakePart);
+            if (found != null) {
+                // The found part stays in the passive queue, where its order cannot change
+                onPassivePartRemoved();
+                PagePart upped = new PagePart(found.getPage(), found.getRenderedBitmap(),
+                        found.getPageRelativeBounds(), found.isThumbnail(), toOrder);
+                activeCache.offer(upped);
+                activeIndex.add(upped);
                 return true;
             }
 
-            return find(activeCache, fakePart) != null;
+            return activeIndex.contains(fakePart);
         }
     }
 
@@ -114,41 +194,13 @@ class CacheManager {
     public boolean containsThumbnail(int page, RectF pageRelativeBounds) {
         PagePart fakePart = new PagePart(page, null, pageRelativeBounds, true, 0);
         synchronized (thumbnails) {
-            for (PagePart part : thumbnails) {
-                if (part.equals(fakePart)) {
-                    return true;
-                }
-            }
-            return false;
-        }
-    }
-
-    /**
-     * Add part if it doesn't exist, recycle bitmap otherwise
-     */
-    private void addWithoutDuplicates(Collection<PagePart> collection, PagePart newPart) {
-        for (PagePart part : collection) {
-            if (part.equals(newPart)) {
-                newPart.getRenderedBitmap().recycle();
-                return;
-            }
+            return thumbnailsIndex.contains(fakePart);
         }
-        collection.add(newPart);
-    }
-
-    @Nullable
-    private static PagePart find(PriorityQueue<PagePart> vector, PagePart fakePart) {
-        for (PagePart part : vector) {
-            if (part.equals(fakePart)) {
-                return part;
-            }
-        }
-        return null;
     }
 
     public List<PagePart> getPageParts() {
         synchronized (passiveActiveLock) {
-            List<PagePart> parts = new ArrayList<>(passiveCache);
+            List<PagePart> parts = new ArrayList<>(passiveIndex.values());
             parts.addAll(activeCache);
             return parts;
         }
@@ -162,21 +214,45 @@ class CacheManager {
 
     public void recycle() {
         synchronized (passiveActiveLock) {
-            for (PagePart part : passiveCache) {
+            for (PagePart part : passiveIndex.values()) {
                 part.getRenderedBitmap().recycle();
             }
             passiveCache.clear();
+            passiveIndex.clear();
+            stalePassiveParts = 0;
             for (PagePart part : activeCache) {
                 part.getRenderedBitmap().recycle();
             }
             activeCache.clear();
+            activeIndex.clear();
+            partsBytes = 0;
         }
         synchronized (thumbnails) {
             for (PagePart part : thumbnails) {
                 part.getRenderedBitmap().recycle();
             }
             thumbnails.clear();
+            thumbnailsIndex.clear();
+            thumbnailsBytes = 0;
         }
+        bitmapPool.clear();
+    }
+
+    /**
+     * Count a part removed from the passive index but left in the passive queue
+     */
+    private void onPassivePartRemoved() {
+        stalePassiveParts++;
+        if (stalePassiveParts > passiveIndex.size()) {
+            passiveCache.clear();
+            passiveCache.addAll(passiveIndex.values());
+            stalePassiveParts = 0;
+        }
+    }
+
+    private static long bytesOf(PagePart part) {
+        Bitmap bitmap = part.getRenderedBitmap();
+        return bitmap == null || bitmap.isRecycled() ? 0 : bitmap.getAllocationByteCount();
     }
 
     class PagePartComparator implements Comparator<PagePart> {
@@ -31,6 +31,7 @@ import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.os.AsyncTask;
 import android.os.HandlerThread;
+import android.os.SystemClock;
 import com.google.android.material.textfield.TextInputLayout;
 import androidx.core.content.ContextCompat;
 import androidx.appcompat.widget.AppCompatEditText;
@@ -405,7 +406,11 @@ public class PDFView extends RelativeLayout {
         }
 
         // Clear caches
+        if (Constants.DEBUG_MODE) {
+            Log.d(TAG, cacheManager.getRenderingStats().toString());
+        }
         cacheManager.recycle();
+        cacheManager.getRenderingStats().reset();
 
         if (scrollHandle != null && isScrollHandleInit) {
             scrollHandle.destroyLayout();
@@ -552,6 +557,8 @@ public class PDFView extends RelativeLayout {
             return;
         }
 
+        long frameStart = SystemClock.elapsedRealtimeNanos();
+
         // Moves the canvas before drawing any element
         float currentXOffset = this.currentXOffset;
         float currentYOffset = this.currentYOffset;
@@ -581,6 +588,15 @@ public class PDFView extends RelativeLayout {
 
         // Restores the canvas position
         canvas.translate(-currentXOffset, -currentYOffset);
+
+        cacheManager.getRenderingStats().onFrameDrawn(SystemClock.elapsedRealtimeNanos() - frameStart);
+    }
+
+    /**
+     * Frame time, part rendering time and bitmap allocation counters of the current document
+     */
+    public RenderingStats getRenderingStats() {
+        return cacheManager.getRenderingStats();
     }
 
     private void drawWithListener(Canvas canvas, int page, OnDrawListener listener) {
@@ -23,6 +23,7 @@ import android.graphics.RectF;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 import android.util.Log;
 
 import com.github.barteksc.pdfviewer.exception.PageRenderingException;
@@ -73,7 +74,7 @@ class RenderingHandler extends Handler {
                         }
                     });
                 } else {
-                    part.getRenderedBitmap().recycle();
+                    pdfView.cacheManager.getBitmapPool().release(part.getRenderedBitmap());
                 }
             }
         } catch (final PageRenderingException ex) {
@@ -97,9 +98,11 @@ class RenderingHandler extends Handler {
             return null;
         }
 
+        long renderStart = SystemClock.elapsedRealtimeNanos();
+        CacheManager cacheManager = pdfView.cacheManager;
         Bitmap render;
         try {
-            render = Bitmap.createBitmap(w, h, renderingTask.bestQuality ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565);
+            render = cacheManager.getBitmapPool().acquire(w, h, renderingTask.bestQuality ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGB_565);
         } catch (IllegalArgumentException e) {
             Log.e(TAG, "Cannot create bitmap", e);
             return null;
@@ -107,6 +110,7 @@ class RenderingHandler extends Handler {
         calculateBounds(w, h, renderingTask.bounds);
 
         pdfFile.renderPageBitmap(render, renderingTask.page, roundedRenderBounds, renderingTask.annotationRendering);
+        cacheManager.getRenderingStats().onPartRendered(SystemClock.elapsedRealtimeNanos() - renderStart);
 
         return new PagePart(renderingTask.page, render,
                 renderingTask.bounds, renderingTask.thumbnail,
@@ -0,0 +1,106 @@
+package com.github.barteksc.pdfviewer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Counters of the rendering of a document: time spent drawing frames and rendering parts, and
+ * how many part bitmaps were allocated or taken from the {@link BitmapPool}.
+ * Rendering and drawing happen on different threads, so all the counters are synchronized.
+ */
+public class RenderingStats {
+
+    private long frameCount;
+    private long totalFrameNanos;
+    private long maxFrameNanos;
+
+    private long renderedPartCount;
+    private long totalRenderNanos;
+
+    private long allocatedBitmapCount;
+    private long allocatedBytes;
+    private long reusedBitmapCount;
+
+    private long startNanos = System.nanoTime();
+
+    synchronized void onFrameDrawn(long nanos) {
+        frameCount++;
+        totalFrameNanos += nanos;
+        maxFrameNanos = Math.max(maxFrameNanos, nanos);
+    }
+
+    synchronized void onPartRendered(long nanos) {
+        renderedPartCount++;
+        totalRenderNanos += nanos;
+    }
+
+    synchronized void onBitmapAllocated(int bytes) {
+        allocatedBitmapCount++;
+        allocatedBytes += bytes;
+    }
+
+    synchronized void onBitmapReused() {
+        reusedBitmapCount++;
+    }
+
+    synchronized void reset() {
+        frameCount = totalFrameNanos = maxFrameNanos = 0;
+        renderedPartCount = totalRenderNanos = 0;
+        allocatedBitmapCount = allocatedBytes = reusedBitmapCount = 0;
+        startNanos = System.nanoTime();
+    }
+
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Average time to draw a frame, in milliseconds
+     */
+    public synchronized float getAverageFrameMillis() {
+        return frameCount == 0 ? 0 : totalFrameNanos / (frameCount * 1_000_000f);
+    }
+
+    /**
+     * Longest time to draw a frame, in milliseconds
+     */
+    public synchronized float getMaxFrameMillis() {
+        return maxFrameNanos / 1_000_000f;
+    }
+
+    /**
+     * Average time to render a part, in milliseconds
+     */
+    public synchronized float getAverageRenderMillis() {
+        return renderedPartCount == 0 ? 0 : totalRenderNanos / (renderedPartCount * 1_000_000f);
+    }
+
+    public synchronized long getAllocatedBitmapCount() {
+        return allocatedBitmapCount;
+    }
+
+    public synchronized long getReusedBitmapCount() {
+        return reusedBitmapCount;
+    }
+
+    /**
+     * Bytes of new part bitmaps allocated per second since the stats were reset
+     */
+    public synchronized float getAllocatedBytesPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : allocatedBytes * 1_000_000_000f / elapsed;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String toString() {
+        return "RenderingStats{frames=" + frameCount
+                + ", avgFrameMs=" + getAverageFrameMillis()
+                + ", maxFrameMs=" + getMaxFrameMillis()
+                + ", renderedParts=" + renderedPartCount
+                + ", avgRenderMs=" + getAverageRenderMillis()
+                + ", allocatedBitmaps=" + allocatedBitmapCount
+                + ", reusedBitmaps=" + reusedBitmapCount
+                + ", allocatedBytesPerSecond=" + getAllocatedBytesPerSecond()
+                + "}";
+    }
+}
@@ -77,4 +77,22 @@ public class PagePart {
                 && part.getPageRelativeBounds().bottom == pageRelativeBounds.bottom;
     }
 
+    @Override
+    public int hashCode() {
+        int result = page;
+        result = 31 * result + hashOf(pageRelativeBounds.left);
+        result = 31 * result + hashOf(pageRelativeBounds.top);
+        result = 31 * result + hashOf(pageRelativeBounds.right);
+        result = 31 * result + hashOf(pageRelativeBounds.bottom);
+        return result;
+    }
+
+    /**
+     * Hash of a bound consistent with the == comparison of {@link #equals(Object)}, where
+     * 0.0f and -0.0f are equal
+     */
+    private static int hashOf(float bound) {
+        return bound == 0f ? 0 : Float.floatToIntBits(bound);
+    }
+
 }
@@ -34,10 +34,17 @@ public class Constants {
 
     public static class Cache {
 
-        /** The size of the cache (number of bitmaps kept) */
+        /** The number of parts requested for the visible area */
         public static int CACHE_SIZE = 120;
 
-        public static int THUMBNAILS_CACHE_SIZE = 8;
+        /** The size of the parts cache, in bytes (default: CACHE_SIZE ARGB parts of PART_SIZE) */
+        public static long CACHE_SIZE_BYTES = CACHE_SIZE * 256L * 256L * 4L;
+
+        /** The size of the thumbnails cache, in bytes */
+        public static long THUMBNAILS_CACHE_SIZE_BYTES = 16L * 1024L * 1024L;
+
+        /** The size of the pool of bitmaps reused for new parts, in bytes */
+        public static long BITMAP_POOL_SIZE_BYTES = 8L * 1024L * 1024L;
     }
 
     public static class Pinch {
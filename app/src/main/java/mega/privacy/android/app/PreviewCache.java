@@ -1,40 +1,50 @@
 package mega.privacy.android.app;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import android.graphics.Bitmap;
-import androidx.collection.LruCache;
+
+import mega.privacy.android.app.utils.cache.BitmapCacheSize;
+import mega.privacy.android.app.utils.cache.LongLruCache;
+import mega.privacy.android.app.utils.cache.LongLruCacheMetrics;
 
 /*
- * LRU thumbnails cache to display in list
+ * LRU previews cache
+ *
+ * The cache is bounded by the size in bytes of the bitmaps, as a fraction of the memory class of
+ * the app. Evicted bitmaps are not recycled, as a view may still be showing them.
  */
 public class PreviewCache {
-	
-	List<Long>nulls;
-	LruPreviewCache cache;
-	
+
+	/**
+	 * The previews cache takes 1/8 of the memory class
+	 */
+	private static final int MEMORY_CLASS_DIVISOR = 8;
+
+	/**
+	 * Maximum number of handles remembered as having no bitmap
+	 */
+	private static final int MAX_MISSING_KEYS = 1024;
+
+	LongLruCache<Bitmap> cache;
+
 	public PreviewCache() {
-		cache = new LruPreviewCache(50);
-		nulls = new ArrayList<Long>();
+		cache = new LongLruCache<>(
+				BitmapCacheSize.fractionOfMemoryClass(MEMORY_CLASS_DIVISOR),
+				MAX_MISSING_KEYS,
+				BitmapCacheSize::sizeOf
+		);
 	}
 	
 	/*
 	 * Put new item into cache
 	 */
 	public void put(Long key, Bitmap value) {
-		if (value == null) {
-			nulls.add(key);
-		} else {
-			cache.put(key, value);
-		}
+		cache.put(key, value);
 	}
 	
 	/*
 	 * Remove item from the cache
 	 */
 	public void remove(Long key) {
-		nulls.remove(key);
 		cache.remove(key);
 	}
 	
@@ -49,26 +59,13 @@ public class PreviewCache {
 	 * Check is cache contains key
 	 */
 	public boolean containsKey(Long key) {
-		if (cache.get(key) != null) {
-			return true;
-		}
-		if (nulls.contains(key)) {
-			return true;
-		}
-		return false;
+		return cache.containsKey(key);
 	}
-	
-	private static class LruPreviewCache extends LruCache<Long, Bitmap> {
 
-		public LruPreviewCache(int maxSize) {
-			super(maxSize);
-		}
-	
-		protected void entryRemoved (boolean evicted, String key, Bitmap oldValue, Bitmap newValue)
-		{
-			try {
-				oldValue.recycle();
-			}catch(Exception e) {}
-		}
+	/*
+	 * Hit, miss and eviction metrics of the cache
+	 */
+	public LongLruCacheMetrics getMetrics() {
+		return cache.metrics();
 	}
 }
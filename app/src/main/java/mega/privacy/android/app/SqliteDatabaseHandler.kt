@@ -12,6 +12,7 @@ import android.text.TextUtils
 import android.util.Base64
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import mega.privacy.android.app.logging.LegacyLoggingSettings
@@ -30,11 +31,12 @@ import mega.privacy.android.app.utils.FileUtil
 import mega.privacy.android.app.utils.OfflineUtils
 import mega.privacy.android.app.utils.PasscodeUtil
 import mega.privacy.android.app.utils.TextUtil
-import mega.privacy.android.app.utils.Util
 import mega.privacy.android.app.utils.contacts.MegaContactGetter.MegaContact
 import mega.privacy.android.data.database.DatabaseHandler.Companion.MAX_TRANSFERS
 import mega.privacy.android.data.database.MegaDatabaseConstant.DATABASE_NAME
 import mega.privacy.android.data.database.MegaDatabaseConstant.TABLE_CONTACTS
+import mega.privacy.android.data.database.SnapshotCache
+import mega.privacy.android.data.database.SnapshotCacheMetrics
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.mapper.StorageStateIntMapper
 import mega.privacy.android.data.mapper.StorageStateMapper
@@ -61,8 +63,10 @@ import nz.mega.sdk.MegaApiJava
 import nz.mega.sdk.MegaTransfer
 import timber.log.Timber
 import java.io.File
-import java.util.Collections
 import java.util.Locale
+import javax.crypto.Cipher
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
 import javax.inject.Inject
 
 /**
@@ -79,6 +83,13 @@ class SqliteDatabaseHandler @Inject constructor(
     private val syncRecordTypeIntMapper: SyncRecordTypeIntMapper,
 ) : SQLiteOpenHelper(context, DATABASE_NAME, null, DATABASE_VERSION), LegacyDatabaseHandler {
     private var db: SQLiteDatabase
+
+    private val preferencesCache = SnapshotCache("preferences") { getPreferences(db) }
+
+    private val attributesCache = SnapshotCache("attributes") { getAttributes(db) }
+
+    private val chatSettingsCache = SnapshotCache("chatSettings") { getChatSettings(db) }
+
     override fun onCreate(db: SQLiteDatabase) {
         Timber.d("onCreate")
         val CREATE_OFFLINE_TABLE = "CREATE TABLE IF NOT EXISTS $TABLE_OFFLINE(" +
@@ -249,6 +260,7 @@ class SqliteDatabaseHandler @Inject constructor(
         db.execSQL(CREATE_NEW_PENDING_MSG_TABLE)
 
         db.execSQL(CREATE_SYNC_RECORDS_TABLE)
+        CREATE_SYNC_RECORDS_INDEXES.forEach { db.execSQL(it) }
         db.execSQL(CREATE_MEGA_CONTACTS_TABLE)
         db.execSQL(CREATE_SD_TRANSFERS_TABLE)
         db.execSQL(CREATE_BACKUP_TABLE)
@@ -659,9 +671,68 @@ class SqliteDatabaseHandler @Inject constructor(
             //KEY_FILE_LOGGER_SDK and KEY_FILE_LOGGER_KARERE have been removed in DB v67
             recreateAttributes(db, getAttributes(db))
         }
+        if (oldVersion <= 68) {
+            //Blind index and timestamp value columns have been added to sync records in DB v69
+            addSyncRecordsSearchColumns(db)
+        }
         this.db = db
     }
 
+    /**
+     * Adds the blind index and timestamp value columns to the sync records table,
+     * fills them from the encrypted values of the existing records and creates their indexes.
+     * Any failure is thrown, so the whole upgrade is rolled back and retried the next time
+     * the DB is opened, instead of leaving the new columns empty.
+     *
+     * @param db Current DB.
+     */
+    private fun addSyncRecordsSearchColumns(db: SQLiteDatabase) {
+        val existingColumns = mutableSetOf<String>()
+        db.rawQuery("PRAGMA table_info($TABLE_SYNC_RECORDS)", null).use { cursor ->
+            val nameIndex = cursor.getColumnIndex("name")
+            while (cursor.moveToNext()) {
+                existingColumns.add(cursor.getString(nameIndex))
+            }
+        }
+        SYNC_RECORDS_SEARCH_COLUMNS
+            .filterKeys { it !in existingColumns }
+            .forEach { (column, type) ->
+                db.execSQL("ALTER TABLE $TABLE_SYNC_RECORDS ADD COLUMN $column $type")
+            }
+
+        val selectQuery = "SELECT $KEY_ID, $KEY_SYNC_FILEPATH_ORI, $KEY_SYNC_FILEPATH_NEW, " +
+                "$KEY_SYNC_FP_ORI, $KEY_SYNC_FP_NEW, $KEY_SYNC_FILENAME, $KEY_SYNC_TIMESTAMP " +
+                "FROM $TABLE_SYNC_RECORDS"
+        db.beginTransaction()
+        try {
+            db.rawQuery(selectQuery, null).use { cursor ->
+                while (cursor.moveToNext()) {
+                    val values = ContentValues().apply {
+                        put(KEY_SYNC_FILEPATH_ORI_INDEX, blindIndex(decrypt(cursor.getString(1))))
+                        put(KEY_SYNC_FILEPATH_NEW_INDEX, blindIndex(decrypt(cursor.getString(2))))
+                        put(KEY_SYNC_FP_ORI_INDEX, blindIndex(decrypt(cursor.getString(3))))
+                        put(KEY_SYNC_FP_NEW_INDEX, blindIndex(decrypt(cursor.getString(4))))
+                        put(KEY_SYNC_FILENAME_INDEX, blindIndex(decrypt(cursor.getString(5))))
+                        put(
+                            KEY_SYNC_TIMESTAMP_VALUE,
+                            decrypt(cursor.getString(6))?.toLongOrNull()
+                        )
+                    }
+                    db.update(
+                        TABLE_SYNC_RECORDS,
+                        values,
+                        "$KEY_ID = ?",
+                        arrayOf(cursor.getInt(0).toString())
+                    )
+                }
+            }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
+        }
+        CREATE_SYNC_RECORDS_INDEXES.forEach { db.execSQL(it) }
+    }
+
     /**
      * Drops the chat settings table if exists, creates the new one,
      * and then sets the updated chat settings.
@@ -723,24 +794,68 @@ class SqliteDatabaseHandler @Inject constructor(
     }
 
     override fun saveSyncRecord(record: SyncRecord) {
-        val values = ContentValues().apply {
-            with(record) {
-                localPath?.let { put(KEY_SYNC_FILEPATH_ORI, encrypt(it)) }
-                newPath?.let { put(KEY_SYNC_FILEPATH_NEW, encrypt(it)) }
-                originFingerprint?.let { put(KEY_SYNC_FP_ORI, encrypt(it)) }
-                newFingerprint?.let { put(KEY_SYNC_FP_NEW, encrypt(it)) }
-                fileName?.let { put(KEY_SYNC_FILENAME, encrypt(it)) }
-                nodeHandle?.let { put(KEY_SYNC_HANDLE, encrypt(it.toString())) }
-                timestamp?.let { put(KEY_SYNC_TIMESTAMP, encrypt(it.toString())) }
-                put(KEY_SYNC_COPYONLY, encrypt(record.isCopyOnly.toString()))
-                put(KEY_SYNC_SECONDARY, encrypt(record.isSecondary.toString()))
-                longitude?.let { put(KEY_SYNC_LONGITUDE, encrypt(it.toString())) }
-                latitude?.let { put(KEY_SYNC_LATITUDE, encrypt(it.toString())) }
-                put(KEY_SYNC_STATE, record.status)
-                put(KEY_SYNC_TYPE, syncRecordTypeIntMapper(record.type))
+        saveSyncRecords(listOf(record))
+    }
+
+    override fun saveSyncRecords(records: List<SyncRecord>) {
+        if (records.isEmpty()) return
+        // All the rows are inserted in a single transaction. A row that fails is logged and
+        // skipped, so it doesn't discard the rest of them.
+        db.beginTransaction()
+        try {
+            db.compileStatement(INSERT_SYNC_RECORD).use { statement ->
+                records.forEach { record ->
+                    try {
+                        statement.clearBindings()
+                        syncRecordRow(record).forEachIndexed { index, value ->
+                            val position = index + 1
+                            when (value) {
+                                null -> statement.bindNull(position)
+                                is Long -> statement.bindLong(position, value)
+                                is Int -> statement.bindLong(position, value.toLong())
+                                else -> statement.bindString(position, value.toString())
+                            }
+                        }
+                        statement.executeInsert()
+                    } catch (e: Exception) {
+                        Timber.e(e, "Exception saving sync record")
+                    }
+                }
             }
+            db.setTransactionSuccessful()
+        } finally {
+            db.endTransaction()
         }
-        db.insert(TABLE_SYNC_RECORDS, null, values)
+    }
+
+    /**
+     * Values of a sync record in the order of [SYNC_RECORD_INSERT_COLUMNS].
+     *
+     * @param record Sync record.
+     * @return The encrypted and indexed values of the record.
+     */
+    private fun syncRecordRow(record: SyncRecord): Array<Any?> = with(record) {
+        arrayOf(
+            encrypt(localPath),
+            encrypt(newPath),
+            encrypt(originFingerprint),
+            encrypt(newFingerprint),
+            encrypt(fileName),
+            blindIndex(localPath),
+            blindIndex(newPath),
+            blindIndex(originFingerprint),
+            blindIndex(newFingerprint),
+            blindIndex(fileName),
+            encrypt(nodeHandle?.toString()),
+            encrypt(timestamp?.toString()),
+            timestamp,
+            encrypt(isCopyOnly.toString()),
+            encrypt(isSecondary.toString()),
+            encrypt(longitude?.toString()),
+            encrypt(latitude?.toString()),
+            status,
+            syncRecordTypeIntMapper(type),
+        )
     }
 
     override fun updateVideoState(state: Int) {
@@ -752,37 +867,67 @@ class SqliteDatabaseHandler @Inject constructor(
 
     override fun fileNameExists(name: String?, isSecondary: Boolean, fileType: Int): Boolean {
         var selectQuery = "SELECT * FROM $TABLE_SYNC_RECORDS " +
-                "WHERE $KEY_SYNC_FILENAME ='${encrypt(name)}' " +
+                "WHERE $KEY_SYNC_FILENAME_INDEX = ? " +
                 "AND $KEY_SYNC_SECONDARY = '${encrypt(isSecondary.toString())}'"
         if (fileType != SYNC_RECORD_TYPE_ANY) {
             selectQuery += " AND $KEY_SYNC_TYPE = $fileType"
         }
-        db.rawQuery(selectQuery, null).use { cursor -> return cursor != null && cursor.count == 1 }
+        db.rawQuery(selectQuery, arrayOf(searchIndex(name))).use { cursor ->
+            return cursor != null && cursor.count == 1
+        }
     }
 
     override fun localPathExists(localPath: String?, isSecondary: Boolean, fileType: Int): Boolean {
         var selectQuery = ("SELECT * FROM $TABLE_SYNC_RECORDS " +
-                "WHERE $KEY_SYNC_FILEPATH_ORI ='${encrypt(localPath)}' " +
+                "WHERE $KEY_SYNC_FILEPATH_ORI_INDEX = ? " +
                 "AND $KEY_SYNC_SECONDARY = '${encrypt(isSecondary.toString())}'")
         if (fileType != SYNC_RECORD_TYPE_ANY) {
             selectQuery += " AND $KEY_SYNC_TYPE = $fileType"
         }
-        db.rawQuery(selectQuery, null).use { cursor ->
+        db.rawQuery(selectQuery, arrayOf(searchIndex(localPath))).use { cursor ->
             return cursor != null && cursor.count == 1
         }
     }
 
+    override fun existingLocalPaths(
+        localPaths: List<String>,
+        isSecondary: Boolean,
+        fileType: Int,
+    ): Set<String> {
+        val existingPaths = mutableSetOf<String>()
+        val encryptedSecondary = encrypt(isSecondary.toString())
+        localPaths.chunked(MAX_SQL_VARIABLES).forEach { chunk ->
+            val indexedPaths =
+                chunk.mapNotNull { path -> blindIndex(path)?.let { it to path } }.toMap()
+            var selectQuery = "SELECT $KEY_SYNC_FILEPATH_ORI_INDEX FROM $TABLE_SYNC_RECORDS " +
+                    "WHERE $KEY_SYNC_FILEPATH_ORI_INDEX IN " +
+                    indexedPaths.keys.joinToString(prefix = "(", postfix = ")") { "?" } +
+                    " AND $KEY_SYNC_SECONDARY = '$encryptedSecondary'"
+            if (fileType != SYNC_RECORD_TYPE_ANY) {
+                selectQuery += " AND $KEY_SYNC_TYPE = $fileType"
+            }
+            // Same semantics as localPathExists: a path exists only if it matches a single row
+            selectQuery += " GROUP BY $KEY_SYNC_FILEPATH_ORI_INDEX HAVING COUNT(*) = 1"
+            db.rawQuery(selectQuery, indexedPaths.keys.toTypedArray()).use { cursor ->
+                while (cursor.moveToNext()) {
+                    indexedPaths[cursor.getString(0)]?.let { existingPaths.add(it) }
+                }
+            }
+        }
+        return existingPaths
+    }
+
     override fun recordExists(
         originalFingerprint: String?,
         isSecondary: Boolean,
         isCopyOnly: Boolean,
     ): SyncRecord? {
         val selectQuery = ("SELECT * FROM $TABLE_SYNC_RECORDS " +
-                "WHERE $KEY_SYNC_FP_ORI ='${encrypt(originalFingerprint)}' " +
+                "WHERE $KEY_SYNC_FP_ORI_INDEX = ? " +
                 "AND $KEY_SYNC_SECONDARY = '${encrypt(isSecondary.toString())}' " +
                 "AND $KEY_SYNC_COPYONLY = '${encrypt(isCopyOnly.toString())}'")
         try {
-            db.rawQuery(selectQuery, null)?.use { cursor ->
+            db.rawQuery(selectQuery, arrayOf(searchIndex(originalFingerprint)))?.use { cursor ->
                 if (cursor.moveToFirst()) {
                     return extractSyncRecord(cursor)
                 }
@@ -899,10 +1044,10 @@ class SqliteDatabaseHandler @Inject constructor(
 
     override fun findSyncRecordByLocalPath(localPath: String?, isSecondary: Boolean): SyncRecord? {
         val selectQuery = "SELECT * FROM $TABLE_SYNC_RECORDS " +
-                "WHERE $KEY_SYNC_FILEPATH_ORI ='${encrypt(localPath)}' " +
+                "WHERE $KEY_SYNC_FILEPATH_ORI_INDEX = ? " +
                 "AND $KEY_SYNC_SECONDARY ='${encrypt(isSecondary.toString())}'"
         try {
-            db.rawQuery(selectQuery, null)?.use { cursor ->
+            db.rawQuery(selectQuery, arrayOf(searchIndex(localPath)))?.use { cursor ->
                 if (cursor.moveToFirst()) {
                     return extractSyncRecord(cursor)
                 }
@@ -915,30 +1060,31 @@ class SqliteDatabaseHandler @Inject constructor(
 
     override fun deleteSyncRecordByPath(path: String?, isSecondary: Boolean) {
         val sql = "DELETE FROM $TABLE_SYNC_RECORDS  " +
-                "WHERE ($KEY_SYNC_FILEPATH_ORI ='${encrypt(path)}' " +
-                "OR $KEY_SYNC_FILEPATH_NEW ='${encrypt(path)}') " +
+                "WHERE ($KEY_SYNC_FILEPATH_ORI_INDEX = ? " +
+                "OR $KEY_SYNC_FILEPATH_NEW_INDEX = ?) " +
                 "AND $KEY_SYNC_SECONDARY ='${encrypt(isSecondary.toString())}'"
-        db.execSQL(sql)
+        val index = searchIndex(path)
+        db.execSQL(sql, arrayOf(index, index))
     }
 
     override fun deleteSyncRecordByLocalPath(localPath: String?, isSecondary: Boolean) {
         val sql = "DELETE FROM $TABLE_SYNC_RECORDS  " +
-                "WHERE $KEY_SYNC_FILEPATH_ORI ='${encrypt(localPath)}' " +
+                "WHERE $KEY_SYNC_FILEPATH_ORI_INDEX = ? " +
                 "AND $KEY_SYNC_SECONDARY ='${encrypt(isSecondary.toString())}'"
-        db.execSQL(sql)
+        db.execSQL(sql, arrayOf(searchIndex(localPath)))
     }
 
     override fun deleteSyncRecordByNewPath(newPath: String?) {
         val sql =
-            "DELETE FROM $TABLE_SYNC_RECORDS WHERE $KEY_SYNC_FILEPATH_NEW ='${encrypt(newPath)}'"
-        db.execSQL(sql)
+            "DELETE FROM $TABLE_SYNC_RECORDS WHERE $KEY_SYNC_FILEPATH_NEW_INDEX = ?"
+        db.execSQL(sql, arrayOf(searchIndex(newPath)))
     }
 
     override fun deleteSyncRecordByFileName(fileName: String?) {
         val sql = "DELETE FROM $TABLE_SYNC_RECORDS  " +
-                "WHERE $KEY_SYNC_FILENAME = '${encrypt(fileName)}' " +
+                "WHERE $KEY_SYNC_FILENAME_INDEX = ? " +
                 "OR $KEY_SYNC_FILEPATH_ORI LIKE '%${encrypt(fileName)}'"
-        db.execSQL(sql)
+        db.execSQL(sql, arrayOf(searchIndex(fileName)))
     }
 
     override fun deleteSyncRecordByFingerprint(
@@ -947,10 +1093,10 @@ class SqliteDatabaseHandler @Inject constructor(
         isSecondary: Boolean,
     ) {
         val sql = ("DELETE FROM $TABLE_SYNC_RECORDS  " +
-                "WHERE $KEY_SYNC_FP_ORI = '${encrypt(oriFingerprint)}' " +
-                "OR $KEY_SYNC_FP_NEW = '${encrypt(newFingerprint)}' " +
+                "WHERE $KEY_SYNC_FP_ORI_INDEX = ? " +
+                "OR $KEY_SYNC_FP_NEW_INDEX = ? " +
                 "AND $KEY_SYNC_SECONDARY ='${encrypt(isSecondary.toString())}'")
-        db.execSQL(sql)
+        db.execSQL(sql, arrayOf(searchIndex(oriFingerprint), searchIndex(newFingerprint)))
     }
 
     override fun updateSyncRecordStatusByLocalPath(
@@ -959,16 +1105,16 @@ class SqliteDatabaseHandler @Inject constructor(
         isSecondary: Boolean,
     ) {
         val sql = "UPDATE $TABLE_SYNC_RECORDS SET $KEY_SYNC_STATE = $status  " +
-                "WHERE $KEY_SYNC_FILEPATH_ORI = '${encrypt(localPath)}' " +
+                "WHERE $KEY_SYNC_FILEPATH_ORI_INDEX = ? " +
                 "AND $KEY_SYNC_SECONDARY ='${encrypt(isSecondary.toString())}'"
-        db.execSQL(sql)
+        db.execSQL(sql, arrayOf(searchIndex(localPath)))
     }
 
     override fun findSyncRecordByNewPath(newPath: String?): SyncRecord? {
         val selectQuery = ("SELECT * FROM $TABLE_SYNC_RECORDS " +
-                "WHERE $KEY_SYNC_FILEPATH_NEW ='${encrypt(newPath)}'")
+                "WHERE $KEY_SYNC_FILEPATH_NEW_INDEX = ?")
         try {
-            db.rawQuery(selectQuery, null)?.use { cursor ->
+            db.rawQuery(selectQuery, arrayOf(searchIndex(newPath)))?.use { cursor ->
                 if (cursor.moveToFirst()) {
                     return extractSyncRecord(cursor)
                 }
@@ -1008,34 +1154,19 @@ class SqliteDatabaseHandler @Inject constructor(
         val sql =
             "UPDATE $TABLE_PREFERENCES SET $KEY_SHOULD_CLEAR_CAMSYNC_RECORDS = '${encrypt(should.toString())}'"
         db.execSQL(sql)
+        preferencesCache.refresh()
     }
 
     override fun findMaxTimestamp(isSecondary: Boolean, fileType: Int): Long? {
-        val selectQuery = "SELECT $KEY_SYNC_TIMESTAMP FROM $TABLE_SYNC_RECORDS  " +
+        val selectQuery = "SELECT COUNT(*), MAX($KEY_SYNC_TIMESTAMP_VALUE) " +
+                "FROM $TABLE_SYNC_RECORDS " +
                 "WHERE $KEY_SYNC_SECONDARY = '${encrypt(isSecondary.toString())}' " +
                 "AND $KEY_SYNC_TYPE = $fileType"
         try {
             db.rawQuery(selectQuery, null)?.use { cursor ->
-                if (cursor.moveToFirst()) {
-                    val timestamps: MutableList<Long> = ArrayList(cursor.count)
-                    do {
-                        val timestamp = decrypt(cursor.getString(0))
-                        if (timestamp == null) {
-                            timestamps.add(0L)
-                        } else {
-                            timestamps.add(java.lang.Long.valueOf(timestamp))
-                        }
-                    } while (cursor.moveToNext())
-                    if (timestamps.isEmpty()) {
-                        return null
-                    }
-                    Collections.sort(timestamps, java.util.Comparator { o1, o2 ->
-                        if (o1 == o2) {
-                            return@Comparator 0
-                        }
-                        if (o1 > o2) -1 else 1
-                    })
-                    return timestamps[0]
+                if (cursor.moveToFirst() && cursor.getInt(0) > 0) {
+                    // Records without timestamp count as 0, as when the values were decrypted
+                    return if (cursor.isNull(1)) 0L else cursor.getLong(1)
                 }
             }
         } catch (e: Exception) {
@@ -1061,6 +1192,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setConversionOnCharging(onCharging: Boolean) {
@@ -1082,6 +1214,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setChargingOnSize(size: Int) {
@@ -1101,6 +1234,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setRemoveGPS(removeGPS: Boolean) {
@@ -1120,6 +1254,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun saveMyEmail(email: String?) {
@@ -1448,6 +1583,7 @@ class SqliteDatabaseHandler @Inject constructor(
 
     override fun dontAskForDisplayOver() {
         db.execSQL("UPDATE $TABLE_PREFERENCES SET $KEY_ASK_FOR_DISPLAY_OVER = '${encrypt("false")}';")
+        preferencesCache.refresh()
     }
 
     /**
@@ -1472,10 +1608,13 @@ class SqliteDatabaseHandler @Inject constructor(
     /**
      * Gets preferences.
      *
-     * @return Preferences.
+     * @return A copy of the cached preferences, so callers can modify it.
      */
     override val preferences: MegaPreferences?
-        get() = getPreferences(db)
+        get() = preferencesCache.get()?.copy()
+
+    override val preferencesFlow: StateFlow<MegaPreferences?>
+        get() = preferencesCache.flow
 
     /**
      * Gets preferences.
@@ -1796,11 +1935,15 @@ class SqliteDatabaseHandler @Inject constructor(
      * @param chatSettings Chat settings to save.
      */
     override var chatSettings: ChatSettings?
-        get() = getChatSettings(db)
+        get() = chatSettingsCache.get()
         set(chatSettings) {
             setChatSettings(db, chatSettings)
+            chatSettingsCache.refresh()
         }
 
+    override val chatSettingsFlow: StateFlow<ChatSettings?>
+        get() = chatSettingsCache.flow
+
     /**
      * Get chat settings from the current DB.
      *
@@ -1897,6 +2040,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        chatSettingsCache.refresh()
     }
 
     override fun setVibrationEnabledChat(enabled: String?) {
@@ -1918,6 +2062,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        chatSettingsCache.refresh()
     }
 
     override fun setChatItemPreferences(chatPrefs: ChatItemPreferences) {
@@ -2398,11 +2543,18 @@ class SqliteDatabaseHandler @Inject constructor(
      * @param attr Attributes to save.
      */
     override var attributes: MegaAttributes?
-        get() = getAttributes(db)
+        get() = attributesCache.get()?.copy()
         set(attr) {
             setAttributes(db, attr)
+            attributesCache.refresh()
         }
 
+    override val attributesFlow: StateFlow<MegaAttributes?>
+        get() = attributesCache.flow
+
+    override val snapshotCacheMetrics: List<SnapshotCacheMetrics>
+        get() = listOf(preferencesCache, attributesCache, chatSettingsCache).map { it.metrics }
+
     override fun setNonContactFirstName(name: String?, handle: String?): Int {
         Timber.d("setContactName: %s %s", name, handle)
         val values = ContentValues().apply {
@@ -2869,6 +3021,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setCamSyncWifi(wifi: Boolean) {
@@ -2888,6 +3041,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setPreferredViewList(list: Boolean) {
@@ -2907,6 +3061,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setPreferredViewListCamera(list: Boolean) {
@@ -2928,6 +3083,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setPreferredSortCloud(order: String?) {
@@ -2947,6 +3103,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setPreferredSortCameraUpload(order: String?) {
@@ -2971,6 +3128,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setLastUploadFolder(folderPath: String) {
@@ -2992,6 +3150,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setLastCloudFolder(folderHandle: String) {
@@ -3017,6 +3176,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setKeepFileNames(charging: Boolean) {
@@ -3036,6 +3196,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setCamSyncEnabled(enabled: Boolean) {
@@ -3061,6 +3222,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setSecondaryUploadEnabled(enabled: Boolean) {
@@ -3087,6 +3249,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setCamSyncHandle(handle: Long) {
@@ -3109,6 +3272,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setSecondaryFolderHandle(handle: Long) {
@@ -3132,6 +3296,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setCamSyncLocalPath(localPath: String) {
@@ -3153,6 +3318,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setUriExternalSDCard(uriExternalSDCard: String?) {
@@ -3175,6 +3341,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
     /**
      * Gets the local path selected in an external SD card as Media Uploads local folder.
@@ -3218,6 +3385,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
     /**
      * Gets the flag which indicates if the local path selected as Media Uploads local folder belongs to an external SD card.
@@ -3261,6 +3429,7 @@ class SqliteDatabaseHandler @Inject constructor(
             } catch (e: Exception) {
                 Timber.e(e, "Exception opening or managing DB cursor")
             }
+            preferencesCache.refresh()
         }
 
     override fun setSecondaryFolderPath(localPath: String) {
@@ -3283,6 +3452,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setCamSyncFileUpload(fileUpload: Int) {
@@ -3304,6 +3474,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setAccountDetailsTimeStamp() {
@@ -3337,6 +3508,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setExtendedAccountDetailsTimestamp() {
@@ -3363,6 +3535,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun resetExtendedAccountDetailsTimestamp() {
@@ -3389,6 +3562,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setCamSyncTimeStamp(camSyncTimeStamp: Long) {
@@ -3492,6 +3666,20 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        snapshotCacheOf(tableName)?.refresh()
+    }
+
+    /**
+     * Gets the snapshot cache of a table, if it has one.
+     *
+     * @param tableName Name of the database's table.
+     * @return The snapshot cache of the table, or null if the table is not cached.
+     */
+    private fun snapshotCacheOf(tableName: String): SnapshotCache<*>? = when (tableName) {
+        TABLE_PREFERENCES -> preferencesCache
+        TABLE_ATTRIBUTES -> attributesCache
+        TABLE_CHAT_SETTINGS -> chatSettingsCache
+        else -> null
     }
 
     /**
@@ -3569,6 +3757,7 @@ class SqliteDatabaseHandler @Inject constructor(
             } catch (e: Exception) {
                 Timber.e(e, "Exception opening or managing DB cursor")
             }
+            preferencesCache.refresh()
         }
 
     override var passcodeLockCode: String
@@ -3594,6 +3783,7 @@ class SqliteDatabaseHandler @Inject constructor(
             } catch (e: Exception) {
                 Timber.e(e, "Exception opening or managing DB cursor")
             }
+            preferencesCache.refresh()
         }
     /**
      * Gets the time required before ask for the passcode.
@@ -3679,6 +3869,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setAttrAskSizeDownload(askSizeDownload: String?) {
@@ -3701,6 +3892,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setAttrAskNoAppDownload(askNoAppDownload: String?) {
@@ -3723,6 +3915,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setAttrAttempts(attempt: Int) {
@@ -3745,6 +3938,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setUseHttpsOnly(useHttpsOnly: Boolean) {
@@ -3765,6 +3959,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override val useHttpsOnly: String?
@@ -3800,6 +3995,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override val shouldShowCopyright: Boolean
@@ -3835,6 +4031,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setLastPublicHandle(handle: Long) {
@@ -3854,6 +4051,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setLastPublicHandleTimeStamp(lastPublicHandleTimeStamp: Long) {
@@ -3878,6 +4076,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun setLastPublicHandleTimeStamp() {
@@ -4020,6 +4219,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        attributesCache.refresh()
     }
 
     override fun clearCredentials() {
@@ -4036,6 +4236,7 @@ class SqliteDatabaseHandler @Inject constructor(
     override fun clearPreferences() {
         db.execSQL("DROP TABLE IF EXISTS $TABLE_PREFERENCES")
         onCreate(db)
+        preferencesCache.refresh()
     }
 
     override fun clearAttributes() {
@@ -4062,6 +4263,7 @@ class SqliteDatabaseHandler @Inject constructor(
                 Timber.w(e, "EXCEPTION saving last public handle info.")
             }
         }
+        attributesCache.refresh()
     }
 
     override fun clearContacts() {
@@ -4083,6 +4285,7 @@ class SqliteDatabaseHandler @Inject constructor(
     override fun clearChatSettings() {
         db.execSQL("DROP TABLE IF EXISTS $TABLE_CHAT_SETTINGS")
         onCreate(db)
+        chatSettingsCache.refresh()
     }
 
     override fun clearOffline(db: SQLiteDatabase) {
@@ -4392,6 +4595,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override fun setShowInviteBanner(show: String) {
@@ -4412,6 +4616,7 @@ class SqliteDatabaseHandler @Inject constructor(
         } catch (e: Exception) {
             Timber.e(e, "Exception opening or managing DB cursor")
         }
+        preferencesCache.refresh()
     }
 
     override val sdTransfers: ArrayList<SDTransfer>
@@ -4881,7 +5086,7 @@ class SqliteDatabaseHandler @Inject constructor(
         "DELETE FROM $TABLE_BACKUPS WHERE $KEY_BACKUP_ID = '${encrypt(id.toString())}'"
 
     companion object {
-        private const val DATABASE_VERSION = 68
+        private const val DATABASE_VERSION = 69
         private const val TABLE_PREFERENCES = "preferences"
         private const val TABLE_CREDENTIALS = "credentials"
         private const val TABLE_ATTRIBUTES = "attributes"
@@ -5031,6 +5236,12 @@ class SqliteDatabaseHandler @Inject constructor(
         private const val KEY_SYNC_TYPE = "sync_type"
         private const val KEY_SYNC_LONGITUDE = "sync_longitude"
         private const val KEY_SYNC_LATITUDE = "sync_latitude"
+        private const val KEY_SYNC_FILEPATH_ORI_INDEX = "sync_filepath_origin_index"
+        private const val KEY_SYNC_FILEPATH_NEW_INDEX = "sync_filepath_new_index"
+        private const val KEY_SYNC_FP_ORI_INDEX = "sync_fingerprint_origin_index"
+        private const val KEY_SYNC_FP_NEW_INDEX = "sync_fingerprint_new_index"
+        private const val KEY_SYNC_FILENAME_INDEX = "sync_filename_index"
+        private const val KEY_SYNC_TIMESTAMP_VALUE = "sync_timestamp_value"
         private const val CREATE_SYNC_RECORDS_TABLE =
             "CREATE TABLE IF NOT EXISTS $TABLE_SYNC_RECORDS(" +
                     "$KEY_ID INTEGER PRIMARY KEY, " +
@@ -5046,7 +5257,72 @@ class SqliteDatabaseHandler @Inject constructor(
                     "$KEY_SYNC_TYPE INTEGER," +
                     "$KEY_SYNC_HANDLE TEXT," +
                     "$KEY_SYNC_COPYONLY BOOLEAN," +
-                    "$KEY_SYNC_SECONDARY BOOLEAN)"
+                    "$KEY_SYNC_SECONDARY BOOLEAN," +
+                    "$KEY_SYNC_FILEPATH_ORI_INDEX TEXT," +
+                    "$KEY_SYNC_FILEPATH_NEW_INDEX TEXT," +
+                    "$KEY_SYNC_FP_ORI_INDEX TEXT," +
+                    "$KEY_SYNC_FP_NEW_INDEX TEXT," +
+                    "$KEY_SYNC_FILENAME_INDEX TEXT," +
+                    "$KEY_SYNC_TIMESTAMP_VALUE INTEGER)"
+
+        /**
+         * Columns set when inserting a sync record
+         */
+        private val SYNC_RECORD_INSERT_COLUMNS = listOf(
+            KEY_SYNC_FILEPATH_ORI,
+            KEY_SYNC_FILEPATH_NEW,
+            KEY_SYNC_FP_ORI,
+            KEY_SYNC_FP_NEW,
+            KEY_SYNC_FILENAME,
+            KEY_SYNC_FILEPATH_ORI_INDEX,
+            KEY_SYNC_FILEPATH_NEW_INDEX,
+            KEY_SYNC_FP_ORI_INDEX,
+            KEY_SYNC_FP_NEW_INDEX,
+            KEY_SYNC_FILENAME_INDEX,
+            KEY_SYNC_HANDLE,
+            KEY_SYNC_TIMESTAMP,
+            KEY_SYNC_TIMESTAMP_VALUE,
+            KEY_SYNC_COPYONLY,
+            KEY_SYNC_SECONDARY,
+            KEY_SYNC_LONGITUDE,
+            KEY_SYNC_LATITUDE,
+            KEY_SYNC_STATE,
+            KEY_SYNC_TYPE,
+        )
+
+        private val INSERT_SYNC_RECORD = "INSERT INTO $TABLE_SYNC_RECORDS " +
+                SYNC_RECORD_INSERT_COLUMNS.joinToString(prefix = "(", postfix = ")") +
+                " VALUES " +
+                SYNC_RECORD_INSERT_COLUMNS.joinToString(prefix = "(", postfix = ")") { "?" }
+
+        /**
+         * Search columns added to the sync records table in DB v69 and their types.
+         * The timestamp value is not encrypted, like the state and the type, so SQLite can
+         * compute its maximum
+         */
+        private val SYNC_RECORDS_SEARCH_COLUMNS = mapOf(
+            KEY_SYNC_FILEPATH_ORI_INDEX to "TEXT",
+            KEY_SYNC_FILEPATH_NEW_INDEX to "TEXT",
+            KEY_SYNC_FP_ORI_INDEX to "TEXT",
+            KEY_SYNC_FP_NEW_INDEX to "TEXT",
+            KEY_SYNC_FILENAME_INDEX to "TEXT",
+            KEY_SYNC_TIMESTAMP_VALUE to "INTEGER",
+        )
+
+        private val CREATE_SYNC_RECORDS_INDEXES = listOf(
+            "CREATE INDEX IF NOT EXISTS ${TABLE_SYNC_RECORDS}_filepath_origin_idx " +
+                    "ON $TABLE_SYNC_RECORDS($KEY_SYNC_FILEPATH_ORI_INDEX)",
+            "CREATE INDEX IF NOT EXISTS ${TABLE_SYNC_RECORDS}_filepath_new_idx " +
+                    "ON $TABLE_SYNC_RECORDS($KEY_SYNC_FILEPATH_NEW_INDEX)",
+            "CREATE INDEX IF NOT EXISTS ${TABLE_SYNC_RECORDS}_fingerprint_origin_idx " +
+                    "ON $TABLE_SYNC_RECORDS($KEY_SYNC_FP_ORI_INDEX)",
+            "CREATE INDEX IF NOT EXISTS ${TABLE_SYNC_RECORDS}_fingerprint_new_idx " +
+                    "ON $TABLE_SYNC_RECORDS($KEY_SYNC_FP_NEW_INDEX)",
+            "CREATE INDEX IF NOT EXISTS ${TABLE_SYNC_RECORDS}_filename_idx " +
+                    "ON $TABLE_SYNC_RECORDS($KEY_SYNC_FILENAME_INDEX)",
+            "CREATE INDEX IF NOT EXISTS ${TABLE_SYNC_RECORDS}_timestamp_idx " +
+                    "ON $TABLE_SYNC_RECORDS($KEY_SYNC_TYPE, $KEY_SYNC_SECONDARY, $KEY_SYNC_TIMESTAMP_VALUE)",
+        )
         private const val KEY_LAST_PUBLIC_HANDLE = "lastpublichandle"
         private const val KEY_LAST_PUBLIC_HANDLE_TIMESTAMP = "lastpublichandletimestamp"
         private const val KEY_LAST_PUBLIC_HANDLE_TYPE = "lastpublichandletype"
@@ -5125,31 +5401,99 @@ class SqliteDatabaseHandler @Inject constructor(
         private const val SYNC_RECORD_TYPE_VIDEO = 2
         private const val SYNC_RECORD_TYPE_ANY = -1
 
+        /**
+         * Maximum number of bound arguments per query, below the SQLite default limit of 999
+         */
+        private const val MAX_SQL_VARIABLES = 500
+
         private fun encrypt(original: String?): String? =
             original?.let {
                 try {
-                    val encrypted = Util.aes_encrypt(aesKey, it.toByteArray())
+                    val encrypted = encryptCipher.get()!!.doFinal(it.toByteArray())
                     Base64.encodeToString(encrypted, Base64.DEFAULT)
                 } catch (e: Exception) {
+                    encryptCipher.remove()
                     Timber.e(e, "Error encrypting DB field")
                     e.printStackTrace()
                     null
                 }
             }
 
-        private val aesKey: ByteArray
-            get() {
-                val key = Settings.Secure.ANDROID_ID + "fkvn8 w4y*(NC\$G*(G($*GR*(#)*huio4h389\$G"
-                return key.toByteArray().copyOfRange(0, 32)
+        private val aesKey: ByteArray by lazy {
+            val key = Settings.Secure.ANDROID_ID + "fkvn8 w4y*(NC\$G*(G($*GR*(#)*huio4h389\$G"
+            key.toByteArray().copyOfRange(0, 32)
+        }
+
+        /**
+         * Ciphers are expensive to create, so every thread keeps its own initialised instances.
+         * A cipher is reset after each doFinal, and discarded if it fails.
+         */
+        private val encryptCipher = cipherPerThread(Cipher.ENCRYPT_MODE)
+
+        private val decryptCipher = cipherPerThread(Cipher.DECRYPT_MODE)
+
+        private fun cipherPerThread(mode: Int) = object : ThreadLocal<Cipher>() {
+            override fun initialValue(): Cipher =
+                Cipher.getInstance("AES").apply { init(mode, SecretKeySpec(aesKey, "AES")) }
+        }
+
+        private const val BLIND_INDEX_ALGORITHM = "HmacSHA256"
+
+        /**
+         * Key of the blind indexes, derived from [aesKey] so the indexes can not be computed
+         * from the plain values without it
+         */
+        private val blindIndexKey: SecretKeySpec by lazy {
+            SecretKeySpec(hmac(aesKey, "syncrecords-blind-index"), BLIND_INDEX_ALGORITHM)
+        }
+
+        /**
+         * Every thread keeps its own initialised Mac, as with the ciphers.
+         * A Mac is reset after each doFinal, and discarded if it fails.
+         */
+        private val blindIndexMac = object : ThreadLocal<Mac>() {
+            override fun initialValue(): Mac =
+                Mac.getInstance(BLIND_INDEX_ALGORITHM).apply { init(blindIndexKey) }
+        }
+
+        private fun hmac(key: ByteArray, value: String): ByteArray =
+            Mac.getInstance(BLIND_INDEX_ALGORITHM).run {
+                init(SecretKeySpec(key, BLIND_INDEX_ALGORITHM))
+                doFinal(value.toByteArray())
+            }
+
+        /**
+         * Deterministic keyed hash of a value, used for equality lookups on encrypted columns
+         *
+         * @param value Value to index.
+         * @return The blind index of the value, or null if the value is null or can not be hashed.
+         */
+        private fun blindIndex(value: String?): String? =
+            value?.let {
+                try {
+                    val hash = blindIndexMac.get()!!.doFinal(it.toByteArray())
+                    Base64.encodeToString(hash, Base64.NO_WRAP)
+                } catch (e: Exception) {
+                    blindIndexMac.remove()
+                    Timber.e(e, "Error computing DB blind index")
+                    null
+                }
             }
 
+        /**
+         * Blind index to bind as a query argument. A null value is bound as an empty string,
+         * which never matches any stored index.
+         */
+        private fun searchIndex(value: String?): String = blindIndex(value).orEmpty()
+
         private fun decrypt(encodedString: String?): String? =
             encodedString?.let {
                 try {
                     val encoded = Base64.decode(encodedString, Base64.DEFAULT)
-                    val original = Util.aes_decrypt(aesKey, encoded)
+                    val original = decryptCipher.get()!!.doFinal(encoded)
                     String(original)
                 } catch (e: Exception) {
+                    decryptCipher.remove()
                     Timber.e(e, "Error decrypting DB field")
                     e.printStackTrace()
                     null
@@ -1,45 +1,66 @@
 package mega.privacy.android.app;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import android.graphics.Bitmap;
+
 import androidx.collection.LruCache;
 
+import mega.privacy.android.app.utils.cache.BitmapCacheSize;
+import mega.privacy.android.app.utils.cache.LongLruCache;
+import mega.privacy.android.app.utils.cache.LongLruCacheMetrics;
+
 /*
  * LRU thumbnails cache to display in list
+ *
+ * The cache is bounded by the size in bytes of the bitmaps, as a fraction of the memory class of
+ * the app. Evicted bitmaps are not recycled, as an adapter may still be showing them.
  */
 public class ThumbnailCache {
-	
-	List<Long>nulls;
-	LruThumbnailCache cache;
+
+	/**
+	 * The thumbnails cache takes 1/8 of the memory class
+	 */
+	private static final int MEMORY_CLASS_DIVISOR = 8;
+
+	/**
+	 * Maximum number of handles remembered as having no bitmap
+	 */
+	private static final int MAX_MISSING_KEYS = 1024;
+
+	/**
+	 * The thumbnails by path cache takes 1/16 of the memory class
+	 */
+	private static final int PATH_MEMORY_CLASS_DIVISOR = 16;
+
+	LongLruCache<Bitmap> cache;
 	LruThumbnailCachePath cachePath;
-	
+
 	public ThumbnailCache() {
-		cache = new LruThumbnailCache(70);
-		cachePath = new LruThumbnailCachePath(70);
-		nulls = new ArrayList<Long>();
+		cache = createCache();
+		cachePath = new LruThumbnailCachePath(maxSize(PATH_MEMORY_CLASS_DIVISOR));
 	}
-	
+
 	public ThumbnailCache(int value){
 		if (value == 0){
-			cache = new LruThumbnailCache(70);
-			nulls = new ArrayList<Long>();
+			cache = createCache();
 		}
 		else{
-			cachePath = new LruThumbnailCachePath(70);
+			cachePath = new LruThumbnailCachePath(maxSize(PATH_MEMORY_CLASS_DIVISOR));
 		}
 	}
-	
+
+	private static LongLruCache<Bitmap> createCache() {
+		return new LongLruCache<>(maxSize(MEMORY_CLASS_DIVISOR), MAX_MISSING_KEYS, BitmapCacheSize::sizeOf);
+	}
+
+	private static long maxSize(int divisor) {
+		return BitmapCacheSize.fractionOfMemoryClass(divisor);
+	}
+
 	/*
 	 * Put new item into cache
 	 */
 	public void put(Long key, Bitmap value) {
-		if (value == null) {
-			nulls.add(key);
-		} else {
-			cache.put(key, value);
-		}
+		cache.put(key, value);
 	}
 	
 	public void put(String key, Bitmap value){
@@ -50,7 +71,6 @@ public class ThumbnailCache {
 	 * Remove item from the cache
 	 */
 	public void remove(Long key) {
-		nulls.remove(key);
 		cache.remove(key);
 	}
 	
@@ -73,13 +93,7 @@ public class ThumbnailCache {
 	 * Check is cache contains key
 	 */
 	public boolean containsKey(Long key) {
-		if (cache.get(key) != null) {
-			return true;
-		}
-		if (nulls.contains(key)) {
-			return true;
-		}
-		return false;
+		return cache.containsKey(key);
 	}
 	
 	public boolean containsKey(String key){
@@ -88,32 +102,23 @@ public class ThumbnailCache {
 		}
 		return false;
 	}
-	
-	private static class LruThumbnailCache extends LruCache<Long, Bitmap> {
 
-		public LruThumbnailCache(int maxSize) {
-			super(maxSize);
-		}
-	
-		protected void entryRemoved (boolean evicted, String key, Bitmap oldValue, Bitmap newValue)
-		{
-			try {
-				oldValue.recycle();
-			}catch(Exception e) {}
-		}
+	/*
+	 * Hit, miss and eviction metrics of the cache by handle
+	 */
+	public LongLruCacheMetrics getMetrics() {
+		return cache.metrics();
 	}
-	
+
 	private static class LruThumbnailCachePath extends LruCache<String, Bitmap> {
 
-		public LruThumbnailCachePath(int maxSize) {
-			super(maxSize);
+		public LruThumbnailCachePath(long maxSize) {
+			super((int) Math.min(maxSize, Integer.MAX_VALUE));
 		}
-	
-		protected void entryRemoved (boolean evicted, String key, Bitmap oldValue, Bitmap newValue)
-		{
-			try {
-				oldValue.recycle();
-			}catch(Exception e) {}
+
+		@Override
+		protected int sizeOf(String key, Bitmap value) {
+			return BitmapCacheSize.sizeOf(value);
 		}
 	}
 }
@@ -29,7 +29,6 @@ import kotlinx.coroutines.flow.collect
 import kotlinx.coroutines.flow.conflate
 import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.retryWhen
-import kotlinx.coroutines.joinAll
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import mega.privacy.android.app.AndroidCompletedTransfer
@@ -94,6 +93,7 @@ import mega.privacy.android.domain.usecase.SetSyncRecordPendingByPath
 import mega.privacy.android.domain.usecase.ShouldCompressVideo
 import mega.privacy.android.domain.usecase.camerauploads.AreLocationTagsEnabledUseCase
 import mega.privacy.android.domain.usecase.camerauploads.BroadcastStorageOverQuotaUseCase
+import mega.privacy.android.domain.usecase.camerauploads.CameraUploadsTransferScheduler
 import mega.privacy.android.domain.usecase.camerauploads.DeleteCameraUploadsTemporaryRootDirectoryUseCase
 import mega.privacy.android.domain.usecase.camerauploads.DisableCameraUploadsUseCase
 import mega.privacy.android.domain.usecase.camerauploads.EstablishCameraUploadsSyncHandlesUseCase
@@ -278,6 +278,12 @@ class CameraUploadsWorker @AssistedInject constructor(
     @Volatile
     private var lastUpdated: Long = 0
 
+    /**
+     * Scheduler bounding the number of transfers and bytes in flight
+     * Dispatching is paused while the uploads are paused by the user
+     */
+    private val transferScheduler = CameraUploadsTransferScheduler()
+
     /**
      * Dedicated job to encapsulate video compression process
      */
@@ -408,6 +414,11 @@ class CameraUploadsWorker @AssistedInject constructor(
     private fun monitorUploadPauseStatus() {
         monitorUploadPauseStatusJob = scope?.launch(ioDispatcher) {
             monitorCameraUploadPauseState().collect {
+                if (areTransfersPausedUseCase()) {
+                    transferScheduler.pause()
+                } else {
+                    transferScheduler.resume()
+                }
                 updateProgressNotification()
             }
         }
@@ -760,13 +771,13 @@ class CameraUploadsWorker @AssistedInject constructor(
     private suspend fun startParallelUpload(
         finalList: List<SyncRecord>,
         isCompressedVideo: Boolean,
-    ) = coroutineScope {
-        val uploadFileAsyncList = mutableListOf<Job>()
+    ) {
         // If the Service detects that all upload transfers are paused when turning on
         // Camera Uploads, update the Primary and Secondary Folder Backup States to
         // BackupState.PAUSE_UPLOADS
         if (areTransfersPausedUseCase()) {
             Timber.d("All Pending Uploads Paused. Send Backup State = ${BackupState.PAUSE_UPLOADS}")
+            transferScheduler.pause()
             updateCameraUploadsBackupUseCase(
                 context.getString(R.string.section_photo_sync),
                 BackupState.PAUSE_UPLOADS
@@ -783,21 +794,22 @@ class CameraUploadsWorker @AssistedInject constructor(
 
         startHeartbeat(finalList)
 
-        for (record in finalList) {
+        transferScheduler.schedule(
+            records = finalList,
+            sizeOf = { record -> record.localPath?.let { File(it).length() } ?: 0L },
+        ) { record ->
             val parentNodeId =
                 (if (record.isSecondary) secondaryUploadNode?.id else primaryUploadNode?.id)
-                    ?: continue
+                    ?: return@schedule
             val shouldBeSkipped = createTemporaryFileIfNeeded(record)
-            if (shouldBeSkipped) continue
+            if (shouldBeSkipped) return@schedule
             if (record.isCopyOnly) {
                 Timber.d("Copy from node, file timestamp is: ${record.timestamp}")
                 updateToUploadCount(record)
-                uploadFileAsyncList.add(launch {
-                    copyNode(
-                        record = record,
-                        parentNodeId = parentNodeId,
-                    )
-                })
+                copyNode(
+                    record = record,
+                    parentNodeId = parentNodeId,
+                )
             } else {
                 val fileToUpload = getFileToUpload(record, isCompressedVideo)
                 fileToUpload?.let {
@@ -805,20 +817,18 @@ class CameraUploadsWorker @AssistedInject constructor(
                     val lastModified = getLastModifiedTime(record)
 
                     // If the local file path exists, call the Use Case to upload the file
-                    uploadFileAsyncList.add(launch {
-                        startUploadUseCase(
-                            localPath = it.path,
-                            parentNodeId = parentNodeId,
-                            fileName = record.fileName,
-                            modificationTime = lastModified / 1000,
-                            appData = Constants.APP_DATA_CU,
-                            isSourceTemporary = false,
-                            shouldStartFirst = false,
-                        ).conflate().collect { globalTransfer ->
-                            // Handle the GlobalTransfer emitted by the Use Case
-                            onGlobalTransferUpdated(globalTransfer, record)
-                        }
-                    })
+                    startUploadUseCase(
+                        localPath = it.path,
+                        parentNodeId = parentNodeId,
+                        fileName = record.fileName,
+                        modificationTime = lastModified / 1000,
+                        appData = Constants.APP_DATA_CU,
+                        isSourceTemporary = false,
+                        shouldStartFirst = false,
+                    ).conflate().collect { globalTransfer ->
+                        // Handle the GlobalTransfer emitted by the Use Case
+                        onGlobalTransferUpdated(globalTransfer, record)
+                    }
                 } ?: run {
                     Timber.d("Local file is unavailable, delete record from database.")
                     record.localPath?.let {
@@ -827,7 +837,6 @@ class CameraUploadsWorker @AssistedInject constructor(
                 }
             }
         }
-        uploadFileAsyncList.joinAll()
     }
 
     private suspend fun getFileToUpload(record: SyncRecord, isCompressedVideo: Boolean): File? {
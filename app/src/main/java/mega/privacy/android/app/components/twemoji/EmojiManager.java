@@ -11,13 +11,9 @@ import androidx.annotation.Nullable;
 import androidx.emoji.text.EmojiCompat;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import mega.privacy.android.app.components.twemoji.emoji.Emoji;
 import mega.privacy.android.app.components.twemoji.emoji.EmojiCategory;
@@ -28,16 +24,6 @@ public final class EmojiManager {
 
     private static final EmojiManager INSTANCE = new EmojiManager();
     private static final int GUESSED_UNICODE_AMOUNT = 3000;
-    private static final int GUESSED_TOTAL_PATTERN_LENGTH = GUESSED_UNICODE_AMOUNT * 4;
-    private static final Pattern SPACE_REMOVAL = Pattern.compile("[\\s]");
-    private static final Comparator<String> STRING_LENGTH_COMPARATOR = new Comparator<String>() {
-        @Override
-        public int compare(final String first, final String second) {
-            final int firstLength = first.length();
-            final int secondLength = second.length();
-            return firstLength < secondLength ? 1 : firstLength == secondLength ? 0 : -1;
-        }
-    };
 
     private static final EmojiReplacer DEFAULT_EMOJI_REPLACER = (context, text, emojiSize, defaultEmojiSize, fallback) -> {
 
@@ -87,10 +73,10 @@ public final class EmojiManager {
     };
 
     private final Map<String, Emoji> emojiMap = new LinkedHashMap<>(GUESSED_UNICODE_AMOUNT);
-    private EmojiCategory[] categories;
-    private Pattern emojiPattern;
-    private Pattern emojiRepetitivePattern;
+    private volatile EmojiCategory[] categories;
+    private EmojiTrie<Emoji> emojiTrie;
     private EmojiReplacer emojiReplacer;
+    private EmojiProvider deferredProvider;
 
     private EmojiManager() {
         // No instances apart from singleton.
@@ -104,16 +90,57 @@ public final class EmojiManager {
     // NOTE: That only one can be present at any time.
     //param provider the provider that should be installed.
     public static void install(@NonNull final EmojiProvider provider) {
-        INSTANCE.categories = checkNotNull(provider.getCategories(), "categories == null");
+        synchronized (INSTANCE) {
+            INSTANCE.deferredProvider = null;
+            installProvider(provider);
+        }
+    }
+
+    /**
+     * Registers the given EmojiProvider without installing it yet.
+     * It is installed the first time an emoji is looked up or the categories are requested,
+     * or by {@link #installDeferred()}, so the emoji tables are not built during app start.
+     *
+     * @param provider the provider that should be installed.
+     */
+    public static void deferInstall(@NonNull final EmojiProvider provider) {
+        synchronized (INSTANCE) {
+            if (INSTANCE.categories == null) {
+                INSTANCE.deferredProvider = provider;
+            }
+        }
+    }
+
+    /**
+     * Installs the provider registered by {@link #deferInstall(EmojiProvider)}, if not done yet.
+     * Meant to be called from a background thread to warm the emoji tables up.
+     */
+    public static void installDeferred() {
+        if (INSTANCE.categories != null) {
+            return;
+        }
+
+        synchronized (INSTANCE) {
+            final EmojiProvider provider = INSTANCE.deferredProvider;
+            if (INSTANCE.categories == null && provider != null) {
+                INSTANCE.deferredProvider = null;
+                installProvider(provider);
+            }
+        }
+    }
+
+    // Builds the tables of the provider. The categories are published last, so a thread that
+    // sees them installed also sees the complete tables.
+    private static void installProvider(@NonNull final EmojiProvider provider) {
+        final EmojiCategory[] providerCategories = checkNotNull(provider.getCategories(), "categories == null");
         INSTANCE.emojiMap.clear();
-        INSTANCE.emojiReplacer = provider instanceof EmojiReplacer ? (EmojiReplacer) provider : DEFAULT_EMOJI_REPLACER;
-        final List<String> unicodesForPattern = new ArrayList<>(GUESSED_UNICODE_AMOUNT);
-        final int categoriesSize = INSTANCE.categories.length;
+        final EmojiTrie<Emoji> emojiTrie = new EmojiTrie<>(GUESSED_UNICODE_AMOUNT);
+        final int categoriesSize = providerCategories.length;
 
         //noinspection ForLoopReplaceableByForEach
         for (int i = 0; i < categoriesSize; i++) {
 
-            final Emoji[] emojis = checkNotNull(INSTANCE.categories[i].getEmojis(), "emojis == null");
+            final Emoji[] emojis = checkNotNull(providerCategories[i].getEmojis(), "emojis == null");
 
             final int emojisSize = emojis.length;
 
@@ -124,40 +151,35 @@ public final class EmojiManager {
                 final String unicode = emoji.getUnicode();
                 final List<Emoji> variants = emoji.getVariants();
                 INSTANCE.emojiMap.put(unicode, emoji);
-                unicodesForPattern.add(unicode);
+                emojiTrie.put(unicode, emoji);
 
                 //noinspection ForLoopReplaceableByForEach
                 for (int k = 0; k < variants.size(); k++) {
                     final Emoji variant = variants.get(k);
                     final String variantUnicode = variant.getUnicode();
                     INSTANCE.emojiMap.put(variantUnicode, variant);
-                    unicodesForPattern.add(variantUnicode);
-
+                    emojiTrie.put(variantUnicode, variant);
                 }
             }
         }
-        if (unicodesForPattern.isEmpty()) {
+        if (emojiTrie.getSize() == 0) {
             throw new IllegalArgumentException("Your EmojiProvider must at least have one category with at least one emoji.");
         }
-        // We need to sort the unicodes by length so the longest one gets matched first.
-        Collections.sort(unicodesForPattern, STRING_LENGTH_COMPARATOR);
-        final StringBuilder patternBuilder = new StringBuilder(GUESSED_TOTAL_PATTERN_LENGTH);
-        final int unicodesForPatternSize = unicodesForPattern.size();
-        for (int i = 0; i < unicodesForPatternSize; i++) {
-            patternBuilder.append(Pattern.quote(unicodesForPattern.get(i))).append('|');
-        }
-        final String regex = patternBuilder.deleteCharAt(patternBuilder.length() - 1).toString();
-        INSTANCE.emojiPattern = Pattern.compile(regex);
-        INSTANCE.emojiRepetitivePattern = Pattern.compile('(' + regex + ")+");
+        // The trie always matches the longest emoji, as the sorted alternation regex used to do.
+        INSTANCE.emojiTrie = emojiTrie;
+        INSTANCE.emojiReplacer = provider instanceof EmojiReplacer ? (EmojiReplacer) provider : DEFAULT_EMOJI_REPLACER;
+        INSTANCE.categories = providerCategories;
     }
 
     public static void destroy() {
-        release();
-        INSTANCE.emojiMap.clear();
-        INSTANCE.categories = null;
-        INSTANCE.emojiPattern = null;
-        INSTANCE.emojiRepetitivePattern = null;
-        INSTANCE.emojiReplacer = null;
+        synchronized (INSTANCE) {
+            release();
+            INSTANCE.emojiMap.clear();
+            INSTANCE.categories = null;
+            INSTANCE.emojiTrie = null;
+            INSTANCE.emojiReplacer = null;
+            INSTANCE.deferredProvider = null;
+        }
     }
 
     public static void release() {
@@ -176,21 +198,14 @@ public final class EmojiManager {
         return categories;
     }
 
-    Pattern getEmojiRepetitivePattern() {
-        return emojiRepetitivePattern;
-    }
-
     /**
      * returns true when the string contains only emojis. Note that whitespace will be filtered out.
      */
     public boolean isOnlyEmojis(@Nullable final String text) {
         try {
             if (!TextUtils.isEmpty(text)) {
-                final String inputWithoutSpaces = SPACE_REMOVAL.matcher(text).replaceAll(Matcher.quoteReplacement(""));
-                return EmojiManager.getInstance()
-                        .getEmojiRepetitivePattern()
-                        .matcher(inputWithoutSpaces)
-                        .matches();
+                verifyInstalled();
+                return emojiTrie.isSequenceOfKeys(removeWhitespace(text));
             }
         } catch (Exception e) {
             Timber.e(e);
@@ -200,30 +215,78 @@ public final class EmojiManager {
     }
 
     public int getNumEmojis(@Nullable final CharSequence text) {
-        List<EmojiRange> emojis = findAllEmojis(text);
-        int num = emojis.size();
-        return num;
+        return findEmojis(text, null, Integer.MAX_VALUE);
     }
 
     public @NonNull
     List<EmojiRange> findAllEmojis(@Nullable final CharSequence text) {
         final List<EmojiRange> result = new ArrayList<>();
+        findEmojis(text, result, Integer.MAX_VALUE);
+        return result;
+    }
+
+    /**
+     * Scans a text once, matching at every position the longest emoji that starts there.
+     *
+     * @param text     The text.
+     * @param result   List where the emojis found are added, or null to only count them.
+     * @param maxCount Maximum number of emojis to find.
+     * @return Number of emojis found.
+     */
+    private int findEmojis(@Nullable final CharSequence text, @Nullable final List<EmojiRange> result, final int maxCount) {
+        int count = 0;
         try {
             verifyInstalled();
-            if (!TextUtils.isEmpty(text)) {
-                final Matcher matcher = emojiPattern.matcher(text);
-                while (matcher.find()) {
-                    final Emoji found = findEmoji(text.subSequence(matcher.start(), matcher.end()));
-                    if (found != null) {
-                        result.add(new EmojiRange(matcher.start(), matcher.end(), found));
-                    }
+            if (TextUtils.isEmpty(text)) {
+                return 0;
+            }
+
+            final EmojiTrie<Emoji> trie = emojiTrie;
+            final int length = text.length();
+            int index = 0;
+            while (index < length && count < maxCount) {
+                final int match = trie.matchAt(text, index);
+                if (match == EmojiTrie.NO_MATCH) {
+                    index += Character.charCount(Character.codePointAt(text, index));
+                    continue;
+                }
+
+                final int end = index + trie.lengthOf(match);
+                if (result != null) {
+                    result.add(new EmojiRange(index, end, trie.valueOf(match)));
                 }
+                count++;
+                index = end;
             }
         } catch (Exception e) {
             Timber.e(e);
-            return result;
         }
-        return result;
+        return count;
+    }
+
+    /**
+     * Removes the whitespace of a text, only copying it if there is any.
+     */
+    private static CharSequence removeWhitespace(@NonNull final String text) {
+        StringBuilder builder = null;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (isRegexWhitespace(c)) {
+                if (builder == null) {
+                    builder = new StringBuilder(text.length()).append(text, 0, i);
+                }
+            } else if (builder != null) {
+                builder.append(c);
+            }
+        }
+        return builder != null ? builder : text;
+    }
+
+    /**
+     * Whitespace matched by the "\\s" regex class.
+     */
+    private static boolean isRegexWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     @Nullable
@@ -237,13 +300,15 @@ public final class EmojiManager {
     }
 
     public Emoji getFirstEmoji(@NonNull final CharSequence candidate) {
-        List<EmojiRange> emojis = findAllEmojis(candidate);
+        final List<EmojiRange> emojis = new ArrayList<>(1);
+        findEmojis(candidate, emojis, 1);
         if (emojis.size() > 0) return emojis.get(0).emoji;
         return null;
 
     }
 
     void verifyInstalled() {
+        installDeferred();
         if (categories == null) {
             throw new IllegalStateException("Please install an EmojiProvider through the EmojiManager.install() method first.");
         }
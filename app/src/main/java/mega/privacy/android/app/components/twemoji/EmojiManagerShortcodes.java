@@ -2,6 +2,8 @@ package mega.privacy.android.app.components.twemoji;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
+
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
@@ -10,15 +12,27 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import timber.log.Timber;
 
 public final class EmojiManagerShortcodes {
     private static final String EMOJI_SHORTCODES = "emojisshortcodes/emoji.json";
-    static List<EmojiShortcodes> emojiData;
+    private static volatile List<EmojiShortcodes> emojiData;
+    private static Context appContext;
+
+    /**
+     * Registers the context used to load the shortcodes the first time they are needed,
+     * so the asset is not parsed during app start.
+     *
+     * @param context Context.
+     */
+    public static synchronized void deferEmojiData(Context context) {
+        appContext = context.getApplicationContext();
+    }
 
-    public static void initEmojiData(Context context) {
+    public static synchronized void initEmojiData(Context context) {
         if (emojiData == null || emojiData.size() < 1) {
             BufferedReader reader = null;
             try {
@@ -39,4 +53,23 @@ public final class EmojiManagerShortcodes {
             }
         }
     }
+
+    /**
+     * Gets the shortcodes, loading them first if needed.
+     *
+     * @return The shortcodes, empty if they could not be loaded.
+     */
+    @NonNull
+    static List<EmojiShortcodes> getEmojiData() {
+        List<EmojiShortcodes> data = emojiData;
+        if (data == null) {
+            synchronized (EmojiManagerShortcodes.class) {
+                if (emojiData == null && appContext != null) {
+                    initEmojiData(appContext);
+                }
+                data = emojiData;
+            }
+        }
+        return data != null ? data : Collections.emptyList();
+    }
 }
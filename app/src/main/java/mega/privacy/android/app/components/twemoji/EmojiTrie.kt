@@ -0,0 +1,172 @@
+package mega.privacy.android.app.components.twemoji
+
+/**
+ * Trie of the emoji sequences, used to find emojis in a text in a single pass
+ *
+ * Every key is stored char by char, so walking the trie from a code point boundary of the text
+ * matches whole code points. The edges are kept in an open addressing table keyed by the parent
+ * node and the char, so building the trie and matching do not allocate per node nor per match.
+ *
+ * @param expectedKeys number of keys expected, used to size the trie
+ */
+internal class EmojiTrie<T : Any>(expectedKeys: Int = INITIAL_CAPACITY) {
+    private var nodeValues = arrayOfNulls<Any>(INITIAL_CAPACITY)
+    private var nodeDepths = IntArray(INITIAL_CAPACITY)
+    private var nodeCount = 1
+
+    /**
+     * Edge table: (parent node shl 16 or char) to child node, 0 for an empty bucket as the root
+     * is never a child
+     */
+    private var edgeKeys = LongArray(tableCapacityFor(expectedKeys * EXPECTED_CHARS_PER_KEY))
+    private var edgeChildren = IntArray(edgeKeys.size)
+    private var edgeCount = 0
+
+    /**
+     * Number of keys in the trie
+     */
+    var size = 0
+        private set
+
+    /**
+     * Add a key, replacing its previous value if any
+     */
+    fun put(key: String, value: T) {
+        require(key.isNotEmpty()) { "Empty keys are not supported" }
+        var node = ROOT
+        for (char in key) {
+            val child = childOf(node, char)
+            node = if (child != NO_MATCH) child else addChild(node, char)
+        }
+        if (nodeValues[node] == null) size++
+        nodeValues[node] = value
+    }
+
+    /**
+     * Get the value of a key
+     */
+    operator fun get(key: CharSequence): T? {
+        var node = ROOT
+        for (index in key.indices) {
+            node = childOf(node, key[index])
+            if (node == NO_MATCH) return null
+        }
+        @Suppress("UNCHECKED_CAST")
+        return nodeValues[node] as T?
+    }
+
+    /**
+     * Find the longest key starting at a position of a text
+     *
+     * @return a match handle to use with [lengthOf] and [valueOf], or [NO_MATCH]
+     */
+    fun matchAt(text: CharSequence, start: Int): Int {
+        var node = ROOT
+        var match = NO_MATCH
+        var index = start
+        while (index < text.length) {
+            node = childOf(node, text[index++])
+            if (node == NO_MATCH) break
+            if (nodeValues[node] != null) match = node
+        }
+        return match
+    }
+
+    /**
+     * Length of the key of a match returned by [matchAt]
+     */
+    fun lengthOf(match: Int): Int = nodeDepths[match]
+
+    /**
+     * Value of the key of a match returned by [matchAt]
+     */
+    @Suppress("UNCHECKED_CAST")
+    fun valueOf(match: Int): T = nodeValues[match] as T
+
+    /**
+     * Check if a text is made only of keys, one after another
+     *
+     * Every way of splitting the text is considered, not only the one made of the longest keys,
+     * so a key that is the start of a longer key does not hide a valid split.
+     */
+    fun isSequenceOfKeys(text: CharSequence): Boolean {
+        if (text.isEmpty()) return false
+        val reachable = BooleanArray(text.length + 1)
+        reachable[0] = true
+        for (start in text.indices) {
+            if (!reachable[start]) continue
+            var node = ROOT
+            var index = start
+            while (index < text.length) {
+                node = childOf(node, text[index++])
+                if (node == NO_MATCH) break
+                if (nodeValues[node] != null) reachable[index] = true
+            }
+        }
+        return reachable[text.length]
+    }
+
+    private fun childOf(node: Int, char: Char): Int {
+        val key = edgeKey(node, char)
+        val mask = edgeKeys.size - 1
+        var bucket = hash(key) and mask
+        while (true) {
+            val child = edgeChildren[bucket]
+            if (child == 0) return NO_MATCH
+            if (edgeKeys[bucket] == key) return child
+            bucket = (bucket + 1) and mask
+        }
+    }
+
+    private fun addChild(node: Int, char: Char): Int {
+        if (nodeCount == nodeValues.size) {
+            nodeValues = nodeValues.copyOf(nodeCount * 2)
+            nodeDepths = nodeDepths.copyOf(nodeCount * 2)
+        }
+        val child = nodeCount++
+        nodeDepths[child] = nodeDepths[node] + 1
+        if ((edgeCount + 1) * 2 > edgeKeys.size) growEdges()
+        insertEdge(edgeKey(node, char), child)
+        edgeCount++
+        return child
+    }
+
+    private fun growEdges() {
+        val oldKeys = edgeKeys
+        val oldChildren = edgeChildren
+        edgeKeys = LongArray(oldKeys.size * 2)
+        edgeChildren = IntArray(edgeKeys.size)
+        for (bucket in oldKeys.indices) {
+            if (oldChildren[bucket] != 0) insertEdge(oldKeys[bucket], oldChildren[bucket])
+        }
+    }
+
+    private fun insertEdge(key: Long, child: Int) {
+        val mask = edgeKeys.size - 1
+        var bucket = hash(key) and mask
+        while (edgeChildren[bucket] != 0) bucket = (bucket + 1) and mask
+        edgeKeys[bucket] = key
+        edgeChildren[bucket] = child
+    }
+
+    companion object {
+        /**
+         * Returned by [matchAt] when no key starts at the position
+         */
+        const val NO_MATCH = -1
+
+        private const val ROOT = 0
+        private const val INITIAL_CAPACITY = 16
+        private const val EXPECTED_CHARS_PER_KEY = 4
+
+        private fun edgeKey(node: Int, char: Char) = (node.toLong() shl 16) or char.code.toLong()
+
+        private fun tableCapacityFor(edges: Int) =
+            Integer.highestOneBit(maxOf(edges, INITIAL_CAPACITY) * 2 - 1) * 2
+
+        private fun hash(key: Long): Int {
+            val mixed = key * -0x61c8864680b583ebL
+            return (mixed xor (mixed ushr 32)).toInt()
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.google.code.regexp.Pattern;
 
 import org.hamcrest.Matchers;
 
+import java.util.List;
+
 public class EmojiUtilsShortcodes extends AbstractEmoji {
 
     private static final String HIGH_SURROGATE = "H";
@@ -26,8 +28,9 @@ public class EmojiUtilsShortcodes extends AbstractEmoji {
         if (m.find()) {
             code = m.group(1);
         }
-        if ((EmojiManagerShortcodes.emojiData != null) && (EmojiManagerShortcodes.emojiData.size() > 0)) {
-            for (EmojiShortcodes emoji : EmojiManagerShortcodes.emojiData) {
+        final List<EmojiShortcodes> emojiData = EmojiManagerShortcodes.getEmojiData();
+        if (emojiData.size() > 0) {
+            for (EmojiShortcodes emoji : emojiData) {
                 if (Matchers.equalTo(code).matches(emoji.getEmoji()) || Matchers.equalToIgnoringCase(code).matches(emoji.getEmoji()) ||
                         Matchers.equalToIgnoringCase(code).matches(emoji.getHexHtml()) || Matchers.equalToIgnoringCase(code).matches(emoji.getDecimalHtml()) ||
                         Matchers.equalToIgnoringCase(code).matches(emoji.getDecimalSurrogateHtml()) || Matchers.equalToIgnoringCase(code).matches(emoji.getHexHtmlShort()) ||
@@ -206,7 +209,7 @@ public class EmojiUtilsShortcodes extends AbstractEmoji {
         // surrogate pairs
         // so at this point, we iterate through all the emojis and replace with
         // short codes
-        for (EmojiShortcodes emoji : EmojiManagerShortcodes.emojiData)
+        for (EmojiShortcodes emoji : EmojiManagerShortcodes.getEmojiData())
             emojifiedText = emojifiedText.replace(emoji.getEmoji(), ":" + emoji.getAliases().get(0) + ":");
         return emojifiedText;
     }
@@ -220,7 +223,7 @@ public class EmojiUtilsShortcodes extends AbstractEmoji {
      */
     public static String removeAllEmojis(String emojiText) {
 
-        for (EmojiShortcodes emoji : EmojiManagerShortcodes.emojiData) {
+        for (EmojiShortcodes emoji : EmojiManagerShortcodes.getEmojiData()) {
             emojiText = emojiText.replace(emoji.getEmoji(), "");
         }
         return emojiText;
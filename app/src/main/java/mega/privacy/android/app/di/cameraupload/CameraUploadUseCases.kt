@@ -66,7 +66,6 @@ import mega.privacy.android.domain.usecase.IsChargingRequired
 import mega.privacy.android.domain.usecase.IsNodeInRubbish
 import mega.privacy.android.domain.usecase.IsNotEnoughQuota
 import mega.privacy.android.domain.usecase.IsSecondaryFolderEnabled
-import mega.privacy.android.domain.usecase.MediaLocalPathExists
 import mega.privacy.android.domain.usecase.MonitorBatteryInfo
 import mega.privacy.android.domain.usecase.MonitorCameraUploadPauseState
 import mega.privacy.android.domain.usecase.MonitorCameraUploadProgress
@@ -125,19 +124,6 @@ abstract class CameraUploadUseCases {
         fun provideUpdateFolderDestinationBroadcast(cameraUploadRepository: CameraUploadRepository): UpdateFolderDestinationBroadcast =
             UpdateFolderDestinationBroadcast(cameraUploadRepository::sendUpdateFolderDestinationBroadcast)
 
-        /**
-         * Provide the [MediaLocalPathExists] implementation
-         */
-        @Provides
-        fun provideMediaLocalPathExists(cameraUploadRepository: CameraUploadRepository): MediaLocalPathExists =
-            MediaLocalPathExists { filePath, isSecondary ->
-                cameraUploadRepository.doesLocalPathExist(
-                    filePath,
-                    isSecondary,
-                    SyncRecordType.TYPE_ANY
-                )
-            }
-
         /**
          * Provide the [IsSecondaryFolderEnabled] implementation
          */
@@ -1,10 +1,13 @@
 package mega.privacy.android.app.domain.usecase
 
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.node.TypedNode
 import mega.privacy.android.domain.repository.NodeRepository
-import mega.privacy.android.domain.usecase.AddNodeType
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.node.GetTypedChildrenNodesInChunksUseCase
 import javax.inject.Inject
 
 /**
@@ -14,28 +17,35 @@ import javax.inject.Inject
  *  @property getRootFolder
  *  @property getCloudSortOrder
  *  @property nodeRepository
+ *  @property getTypedChildrenNodesInChunksUseCase
  */
 class GetFileBrowserChildrenUseCase @Inject constructor(
     private val getNodeByHandle: GetNodeByHandle,
     private val getRootFolder: GetRootFolder,
     private val getCloudSortOrder: GetCloudSortOrder,
     private val nodeRepository: NodeRepository,
-    private val addNodeType: AddNodeType,
+    private val getTypedChildrenNodesInChunksUseCase: GetTypedChildrenNodesInChunksUseCase,
 ) {
 
     /**
      * Get children nodes of the browser parent handle
      *
      * @param parentHandle
-     * @return Children nodes of the parent handle, null if cannot be retrieved
+     * @return Flow emitting the children nodes of the parent handle mapped so far, ending with all
+     * of them. Empty if they cannot be retrieved
      */
-    suspend operator fun invoke(parentHandle: Long): List<TypedNode> {
+    operator fun invoke(parentHandle: Long): Flow<List<TypedNode>> = flow {
         val node =
             (if (parentHandle != nodeRepository.getInvalidHandle()) getNodeByHandle(parentHandle) else getRootFolder())
-                ?: return emptyList()
-        val nodeId = NodeId(node.handle)
-        val childNodes =
-            nodeRepository.getNodeChildren(nodeId = nodeId, order = getCloudSortOrder())
-        return childNodes.map { addNodeType(it) }
+        if (node == null) {
+            emit(emptyList())
+            return@flow
+        }
+        emitAll(
+            getTypedChildrenNodesInChunksUseCase(
+                parentNodeId = NodeId(node.handle),
+                order = getCloudSortOrder(),
+            )
+        )
     }
 }
\ No newline at end of file
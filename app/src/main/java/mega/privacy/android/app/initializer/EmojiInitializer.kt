@@ -5,10 +5,17 @@ import androidx.core.provider.FontRequest
 import androidx.emoji.text.EmojiCompat
 import androidx.emoji.text.FontRequestEmojiCompatConfig
 import androidx.startup.Initializer
+import dagger.hilt.EntryPoint
+import dagger.hilt.InstallIn
+import dagger.hilt.android.EntryPointAccessors
+import dagger.hilt.components.SingletonComponent
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.launch
 import mega.privacy.android.app.R
 import mega.privacy.android.app.components.twemoji.EmojiManager
 import mega.privacy.android.app.components.twemoji.EmojiManagerShortcodes
 import mega.privacy.android.app.components.twemoji.TwitterEmojiProvider
+import mega.privacy.android.domain.qualifier.ApplicationScope
 import timber.log.Timber
 
 /**
@@ -16,13 +23,37 @@ import timber.log.Timber
  *
  */
 class EmojiInitializer : Initializer<Unit> {
+    /**
+     * Emoji initializer entry point
+     *
+     */
+    @EntryPoint
+    @InstallIn(SingletonComponent::class)
+    interface EmojiInitializerEntryPoint {
+        /**
+         * App scope
+         *
+         */
+        @ApplicationScope
+        fun appScope(): CoroutineScope
+    }
+
     /**
      * Create
      *
+     * The emoji tables and shortcodes are only registered here. They are built in the
+     * background, or by the first emoji lookup if it happens before.
      */
     override fun create(context: Context) {
-        EmojiManagerShortcodes.initEmojiData(context)
-        EmojiManager.install(TwitterEmojiProvider())
+        EmojiManagerShortcodes.deferEmojiData(context)
+        EmojiManager.deferInstall(TwitterEmojiProvider())
+
+        EntryPointAccessors.fromApplication(context, EmojiInitializerEntryPoint::class.java)
+            .appScope()
+            .launch {
+                EmojiManager.installDeferred()
+                EmojiManagerShortcodes.initEmojiData(context)
+            }
 
         Timber.d("Use downloadable font for EmojiCompat")
 
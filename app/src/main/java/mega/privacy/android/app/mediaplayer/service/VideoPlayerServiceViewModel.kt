@@ -21,7 +21,6 @@ import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.SharingStarted
-import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.flow.stateIn
 import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
@@ -118,9 +117,9 @@ import mega.privacy.android.domain.usecase.GetVideoNodesFromOutSharesUseCase
 import mega.privacy.android.domain.usecase.GetVideoNodesFromPublicLinksUseCase
 import mega.privacy.android.domain.usecase.GetVideoNodesUseCase
 import mega.privacy.android.domain.usecase.GetVideosByParentHandleFromMegaApiFolderUseCase
-import mega.privacy.android.domain.usecase.MonitorPlaybackTimesUseCase
 import mega.privacy.android.domain.usecase.camerauploads.GetFingerprintUseCase
 import mega.privacy.android.domain.usecase.mediaplayer.DeletePlaybackInformationUseCase
+import mega.privacy.android.domain.usecase.mediaplayer.GetPlaybackInformationUseCase
 import mega.privacy.android.domain.usecase.mediaplayer.GetSRTSubtitleFileListUseCase
 import mega.privacy.android.domain.usecase.mediaplayer.MegaApiFolderHttpServerIsRunningUseCase
 import mega.privacy.android.domain.usecase.mediaplayer.MegaApiFolderHttpServerSetMaxBufferSizeUseCase
@@ -159,7 +158,7 @@ class VideoPlayerServiceViewModel @Inject constructor(
     private val playlistItemMapper: PlaylistItemMapper,
     private val monitorConnectivityUseCase: MonitorConnectivityUseCase,
     private val trackPlaybackPositionUseCase: TrackPlaybackPositionUseCase,
-    private val monitorPlaybackTimesUseCase: MonitorPlaybackTimesUseCase,
+    private val getPlaybackInformationUseCase: GetPlaybackInformationUseCase,
     private val savePlaybackTimesUseCase: SavePlaybackTimesUseCase,
     private val deletePlaybackInformationUseCase: DeletePlaybackInformationUseCase,
     private val megaApiFolderHttpServerSetMaxBufferSizeUseCase: MegaApiFolderHttpServerSetMaxBufferSizeUseCase,
@@ -1249,8 +1248,7 @@ class VideoPlayerServiceViewModel @Inject constructor(
         seekToPosition: (positionInMs: Long?) -> Unit,
     ) {
         seekToPosition(
-            monitorPlaybackTimesUseCase().firstOrNull()
-                ?.get(mediaId)?.currentPosition
+            mediaId?.let { getPlaybackInformationUseCase(it) }?.currentPosition
         )
     }
 
@@ -0,0 +1,265 @@
+package mega.privacy.android.app.meeting.adapter
+
+/**
+ * Participants of a call, in the order they are shown in the grid and indexed by their peer id
+ * and client id.
+ *
+ * Finding or updating a participant doesn't scan the list, an update only replaces the changed
+ * participant in its position. The changes are recorded until [drainChanges] is called, so all
+ * the changes caused by the same event can be published together.
+ */
+class ParticipantStore {
+
+    private val list = ArrayList<Participant>()
+    private val positions = HashMap<ParticipantKey, Int>()
+    private val clientsByPeer = HashMap<Long, MutableSet<Long>>()
+    private val pendingChanges = ArrayList<ParticipantChange>()
+    private var speakerKey: ParticipantKey? = null
+
+    /**
+     * The participants in grid order. It is the same list after every change, so it can be
+     * published as it is, but it must only be modified through the store.
+     */
+    val participants: MutableList<Participant>
+        get() = list
+
+    /**
+     * Number of participants.
+     */
+    val size: Int
+        get() = list.size
+
+    /**
+     * Checks if there are changes not drained yet.
+     */
+    val hasChanges: Boolean
+        get() = pendingChanges.isNotEmpty()
+
+    /**
+     * The participant selected as speaker, null if there is none.
+     */
+    val speaker: Participant?
+        get() = speakerKey?.let { positions[it] }?.let { list[it] }
+
+    /**
+     * Gets a participant.
+     *
+     * @param peerId User handle of the participant.
+     * @param clientId Client ID of the participant.
+     * @return The participant, null if it is not in the call.
+     */
+    operator fun get(peerId: Long, clientId: Long): Participant? =
+        positions[ParticipantKey(peerId, clientId)]?.let { list[it] }
+
+    /**
+     * Gets the position of a participant.
+     *
+     * @param peerId User handle of the participant.
+     * @param clientId Client ID of the participant.
+     * @return The position of the participant, -1 if it is not in the call.
+     */
+    fun indexOf(peerId: Long, clientId: Long): Int =
+        positions[ParticipantKey(peerId, clientId)] ?: -1
+
+    /**
+     * Gets the participants of the same user, one for every client.
+     *
+     * @param peerId User handle of the participants.
+     * @return The participants of the user.
+     */
+    fun getByPeer(peerId: Long): List<Participant> =
+        clientsByPeer[peerId]?.mapNotNull { get(peerId, it) } ?: emptyList()
+
+    /**
+     * Adds a participant at the end.
+     *
+     * @param participant The participant to add.
+     * @return The position of the participant, -1 if it was already in the call.
+     */
+    fun add(participant: Participant): Int {
+        val key = ParticipantKey(participant.peerId, participant.clientId)
+        if (positions.containsKey(key)) return -1
+
+        val position = list.size
+        list.add(participant)
+        positions[key] = position
+        clientsByPeer.getOrPut(participant.peerId) { LinkedHashSet() }.add(participant.clientId)
+        pendingChanges.add(ParticipantChange.Added(position, participant))
+        return position
+    }
+
+    /**
+     * Removes a participant. The positions of the next participants are moved back.
+     *
+     * @param peerId User handle of the participant.
+     * @param clientId Client ID of the participant.
+     * @return The removed participant and its position, null if it was not in the call.
+     */
+    fun remove(peerId: Long, clientId: Long): IndexedValue<Participant>? {
+        val position = positions.remove(ParticipantKey(peerId, clientId)) ?: return null
+        val participant = list.removeAt(position)
+
+        for (index in position until list.size) {
+            positions[ParticipantKey(list[index].peerId, list[index].clientId)] = index
+        }
+        clientsByPeer[peerId]?.let { clients ->
+            clients.remove(clientId)
+            if (clients.isEmpty()) clientsByPeer.remove(peerId)
+        }
+        if (speakerKey?.matches(participant) == true) {
+            participant.isSpeaker = false
+            speakerKey = null
+        }
+        pendingChanges.add(ParticipantChange.Removed(position, participant))
+        return IndexedValue(position, participant)
+    }
+
+    /**
+     * Selects the speaker and the previous one stops being it. The speaker flag is changed in the
+     * participants themselves, as the views keep them.
+     *
+     * @param peerId User handle of the new speaker.
+     * @param clientId Client ID of the new speaker.
+     * @return The participants whose speaker flag has changed, the previous speaker first.
+     */
+    fun selectSpeaker(peerId: Long, clientId: Long): List<Participant> {
+        val changes = ArrayList<Participant>(2)
+        val newSpeaker = get(peerId, clientId)
+
+        speaker?.takeIf { it !== newSpeaker }?.let { previous ->
+            previous.isSpeaker = false
+            changes.add(previous)
+        }
+        newSpeaker?.takeIf { !it.isSpeaker }?.let {
+            it.isSpeaker = true
+            changes.add(it)
+        }
+        speakerKey = newSpeaker?.let { ParticipantKey(peerId, clientId) }
+        return changes
+    }
+
+    /**
+     * Marks a participant as a non speaker.
+     *
+     * @param peerId User handle of the participant.
+     * @param clientId Client ID of the participant.
+     */
+    fun unselectSpeaker(peerId: Long, clientId: Long) {
+        speaker?.takeIf { it.peerId == peerId && it.clientId == clientId }?.let {
+            it.isSpeaker = false
+            speakerKey = null
+        }
+    }
+
+    /**
+     * Replaces a participant with the result of a transformation. Nothing changes if the
+     * transformation returns the same participant.
+     *
+     * @param peerId User handle of the participant.
+     * @param clientId Client ID of the participant.
+     * @param transform Creates the updated participant from the current one.
+     * @return The previous participant if it has changed, null otherwise.
+     */
+    fun update(
+        peerId: Long,
+        clientId: Long,
+        transform: (Participant) -> Participant,
+    ): Participant? {
+        val position = positions[ParticipantKey(peerId, clientId)] ?: return null
+        return replace(position, transform)
+    }
+
+    /**
+     * Replaces every participant of a user with the result of a transformation.
+     *
+     * @param peerId User handle of the participants.
+     * @param transform Creates the updated participant from the current one.
+     * @return The previous participants that have changed.
+     */
+    fun updateByPeer(peerId: Long, transform: (Participant) -> Participant): List<Participant> =
+        clientsByPeer[peerId]?.mapNotNull { update(peerId, it, transform) } ?: emptyList()
+
+    /**
+     * Replaces every participant with the result of a transformation.
+     *
+     * @param transform Creates the updated participant from the current one.
+     * @return The previous participants that have changed.
+     */
+    fun updateAll(transform: (Participant) -> Participant): List<Participant> =
+        list.indices.mapNotNull { replace(it, transform) }
+
+    /**
+     * Removes all the participants.
+     */
+    fun clear() {
+        list.forEachIndexed { position, participant ->
+            pendingChanges.add(ParticipantChange.Removed(position, participant))
+        }
+        list.clear()
+        positions.clear()
+        clientsByPeer.clear()
+        speakerKey = null
+    }
+
+    /**
+     * Gets the changes since the last call, in the order they were made.
+     *
+     * @return The pending changes.
+     */
+    fun drainChanges(): List<ParticipantChange> {
+        if (pendingChanges.isEmpty()) return emptyList()
+
+        val changes = pendingChanges.toList()
+        pendingChanges.clear()
+        return changes
+    }
+
+    private fun replace(position: Int, transform: (Participant) -> Participant): Participant? {
+        val current = list[position]
+        val updated = transform(current)
+        if (updated === current) return null
+
+        list[position] = updated
+        pendingChanges.add(ParticipantChange.Updated(position, updated))
+        return current
+    }
+
+    private data class ParticipantKey(val peerId: Long, val clientId: Long) {
+        fun matches(participant: Participant) =
+            peerId == participant.peerId && clientId == participant.clientId
+    }
+}
+
+/**
+ * Change in the participants of a [ParticipantStore].
+ */
+sealed interface ParticipantChange {
+
+    /**
+     * Position of the participant when the change was made.
+     */
+    val position: Int
+
+    /**
+     * The participant after the change, or the removed one.
+     */
+    val participant: Participant
+
+    /**
+     * A participant joined the call.
+     */
+    data class Added(override val position: Int, override val participant: Participant) :
+        ParticipantChange
+
+    /**
+     * A participant left the call.
+     */
+    data class Removed(override val position: Int, override val participant: Participant) :
+        ParticipantChange
+
+    /**
+     * The values of a participant changed.
+     */
+    data class Updated(override val position: Int, override val participant: Participant) :
+        ParticipantChange
+}
@@ -2355,19 +2355,14 @@ class InMeetingFragment : MeetingBaseFragment(), BottomFloatingPanelListener, Sn
     }
 
     /**
-     * Method that controls changes when a participant joins or leaves the call
+     * Method that controls changes when a participant joins or leaves the call. The speaker view
+     * gets the change from [InMeetingViewModel.participantChanges].
      *
      * @param isAdded True, if added. False, if gone
      * @param position The position that has changed
      */
     private fun participantAddedOfLeftMeeting(isAdded: Boolean, position: Int) {
         Timber.d("Participant was added or left the meeting in $position")
-        speakerViewCallFragment?.let {
-            if (it.isAdded) {
-                it.peerAddedOrRemoved(isAdded, position)
-            }
-        }
-
         gridViewCallFragment?.let {
             if (it.isAdded) {
                 it.peerAddedOrRemoved(isAdded, position)
@@ -18,7 +18,10 @@ import io.reactivex.rxjava3.disposables.Disposable
 import io.reactivex.rxjava3.kotlin.addTo
 import io.reactivex.rxjava3.kotlin.subscribeBy
 import io.reactivex.rxjava3.schedulers.Schedulers
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.flow.SharingStarted
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.stateIn
@@ -37,6 +40,8 @@ import mega.privacy.android.app.listeners.EditChatRoomNameListener
 import mega.privacy.android.app.listeners.GetUserEmailListener
 import mega.privacy.android.app.main.listeners.CreateGroupChatWithPublicLink
 import mega.privacy.android.app.meeting.adapter.Participant
+import mega.privacy.android.app.meeting.adapter.ParticipantChange
+import mega.privacy.android.app.meeting.adapter.ParticipantStore
 import mega.privacy.android.app.meeting.fragments.InMeetingFragment.Companion.TYPE_IN_GRID_VIEW
 import mega.privacy.android.app.meeting.fragments.InMeetingFragment.Companion.TYPE_IN_SPEAKER_VIEW
 import mega.privacy.android.app.meeting.gateway.CameraGateway
@@ -216,8 +221,22 @@ class InMeetingViewModel @Inject constructor(
     private val _updateCallSubtitle = MutableStateFlow(SubtitleCallType.TYPE_CONNECTING)
     val updateCallSubtitle: StateFlow<SubtitleCallType> get() = _updateCallSubtitle
 
+    // Participants in the meeting, indexed by peer and client id
+    private val participantStore = ParticipantStore()
+
     // List of participants in the meeting
-    val participants: MutableLiveData<MutableList<Participant>> = MutableLiveData(mutableListOf())
+    val participants: MutableLiveData<MutableList<Participant>> =
+        MutableLiveData(participantStore.participants)
+
+    private val _participantChanges = MutableSharedFlow<List<ParticipantChange>>(
+        extraBufferCapacity = PARTICIPANT_CHANGES_BUFFER,
+        onBufferOverflow = BufferOverflow.DROP_OLDEST
+    )
+
+    /**
+     * Changes in the list of participants, every event groups the changes published together.
+     */
+    val participantChanges: SharedFlow<List<ParticipantChange>> get() = _participantChanges
 
     // List of speaker participants in the meeting
     val speakerParticipants: MutableLiveData<MutableList<Participant>> =
@@ -947,23 +966,17 @@ class InMeetingViewModel @Inject constructor(
     ): MutableSet<Participant> {
         val listWithChanges = mutableSetOf<Participant>()
         inMeetingRepository.getChatRoom(currentChatId)?.let {
-            participants.value = participants.value?.map { participant ->
-                return@map when {
-                    participant.peerId == peerId && typeChange == NAME_CHANGE -> {
-                        listWithChanges.add(participant)
-                        participant.copy(
-                            name = getParticipantFullName(peerId),
-                            avatar = getAvatarBitmap(peerId)
-                        )
-                    }
-
-                    participant.peerId == peerId && typeChange == AVATAR_CHANGE -> {
-                        listWithChanges.add(participant)
-                        participant.copy(avatar = getAvatarBitmap(peerId))
-                    }
+            listWithChanges.addAll(participantStore.updateByPeer(peerId) { participant ->
+                when (typeChange) {
+                    NAME_CHANGE -> participant.copy(
+                        name = getParticipantFullName(peerId),
+                        avatar = getAvatarBitmap(peerId)
+                    )
+                    AVATAR_CHANGE -> participant.copy(avatar = getAvatarBitmap(peerId))
                     else -> participant
                 }
-            }?.toMutableList()
+            })
+            publishParticipantChanges()
             updateMeetingInfoBottomPanel(context)
         }
         return listWithChanges
@@ -974,14 +987,14 @@ class InMeetingViewModel @Inject constructor(
      */
     fun updateOwnPrivileges(context: Context) {
         inMeetingRepository.getChatRoom(currentChatId)?.let {
-            participants.value = participants.value?.map { participant ->
-                return@map participant.copy(
-                    hasOptionsAllowed = shouldParticipantsOptionBeVisible(
-                        participant.isMe,
-                        participant.isGuest
-                    )
-                )
-            }?.toMutableList()
+            participantStore.updateAll { participant ->
+                val hasOptionsAllowed =
+                    shouldParticipantsOptionBeVisible(participant.isMe, participant.isGuest)
+
+                if (participant.hasOptionsAllowed == hasOptionsAllowed) participant
+                else participant.copy(hasOptionsAllowed = hasOptionsAllowed)
+            }
+            publishParticipantChanges()
             updateMeetingInfoBottomPanel(context)
         }
     }
@@ -994,15 +1007,13 @@ class InMeetingViewModel @Inject constructor(
     fun updateParticipantsPrivileges(context: Context): MutableSet<Participant> {
         val listWithChanges = mutableSetOf<Participant>()
         inMeetingRepository.getChatRoom(currentChatId)?.let {
-            participants.value = participants.value?.map { participant ->
-                return@map when {
-                    participant.isModerator != isParticipantModerator(participant.peerId) -> {
-                        listWithChanges.add(participant)
-                        participant.copy(isModerator = isParticipantModerator(participant.peerId))
-                    }
-                    else -> participant
-                }
-            }?.toMutableList()
+            listWithChanges.addAll(participantStore.updateAll { participant ->
+                val isModerator = isParticipantModerator(participant.peerId)
+
+                if (participant.isModerator == isModerator) participant
+                else participant.copy(isModerator = isModerator)
+            })
+            publishParticipantChanges()
             updateMeetingInfoBottomPanel(context)
         }
 
@@ -1223,14 +1234,8 @@ class InMeetingViewModel @Inject constructor(
      */
     fun updateParticipantsVisibility(peerId: Long) {
         inMeetingRepository.getChatRoom(currentChatId)?.let {
-            participants.value?.let { listParticipants ->
-                val iterator = listParticipants.iterator()
-                iterator.forEach {
-                    if (it.peerId == peerId) {
-                        it.isContact = isMyContact(peerId)
-                    }
-                }
-            }
+            val isContact = isMyContact(peerId)
+            participantStore.getByPeer(peerId).forEach { it.isContact = isContact }
         }
     }
 
@@ -1243,21 +1248,14 @@ class InMeetingViewModel @Inject constructor(
      */
     fun updatePeerSelected(peerId: Long, clientId: Long): MutableSet<Participant> {
         val listWithChanges = mutableSetOf<Participant>()
-        participants.value?.forEach {
-            if (it.isSpeaker && (it.peerId != peerId || it.clientId != clientId)) {
-                Timber.d("The previous speaker ${it.clientId}, now has isSpeaker false")
-                it.isSpeaker = false
-                listWithChanges.add(it)
-            }
-        }
-
-        participants.value?.forEach {
-            if (it.peerId == peerId && it.clientId == clientId && !it.isSpeaker) {
+        participantStore.selectSpeaker(peerId, clientId).forEach {
+            if (it.isSpeaker) {
                 Timber.d("New speaker selected found ${it.clientId}")
-                it.isSpeaker = true
                 addSpeaker(it)
-                listWithChanges.add(it)
+            } else {
+                Timber.d("The previous speaker ${it.clientId}, now has isSpeaker false")
             }
+            listWithChanges.add(it)
         }
 
         return listWithChanges
@@ -1303,13 +1301,13 @@ class InMeetingViewModel @Inject constructor(
      */
     private fun createCurrentParticipants(list: MegaHandleList?, context: Context) {
         list?.let { listParticipants ->
-            participants.value?.clear()
+            participantStore.clear()
             if (listParticipants.size() > 0) {
                 for (i in 0 until list.size()) {
                     getSession(list[i])?.let { session ->
                         createParticipant(session)?.let { participantCreated ->
                             Timber.d("Adding current participant... ${participantCreated.clientId}")
-                            participants.value?.add(participantCreated)
+                            participantStore.add(participantCreated)
                         }
                     }
                 }
@@ -1323,11 +1321,22 @@ class InMeetingViewModel @Inject constructor(
      * Method to control when the number of participants changes
      */
     fun updateParticipantsList(context: Context) {
-        participants.value = participants.value
-        Timber.d("Num of participants in the call: ${participants.value?.size}")
+        participants.value = participantStore.participants
+        _participantChanges.tryEmit(participantStore.drainChanges())
+        Timber.d("Num of participants in the call: ${participantStore.size}")
         updateMeetingInfoBottomPanel(context)
     }
 
+    /**
+     * Publishes the participants list if it has changed since it was last published
+     */
+    private fun publishParticipantChanges() {
+        if (participantStore.hasChanges) {
+            participants.value = participantStore.participants
+            _participantChanges.tryEmit(participantStore.drainChanges())
+        }
+    }
+
     /**
      * Method for adding a participant to the list
      *
@@ -1336,7 +1345,7 @@ class InMeetingViewModel @Inject constructor(
      */
     fun addParticipant(session: MegaChatSession, context: Context): Int? {
         createParticipant(session)?.let { participantCreated ->
-            participants.value?.add(participantCreated)
+            val position = participantStore.add(participantCreated)
             Timber.d("Adding participant... ${participantCreated.clientId}")
             updateParticipantsList(context)
 
@@ -1350,7 +1359,7 @@ class InMeetingViewModel @Inject constructor(
                 }
             }
 
-            return participants.value?.indexOf(participantCreated)
+            return position
         }
 
         return INVALID_POSITION
@@ -1364,15 +1373,9 @@ class InMeetingViewModel @Inject constructor(
      */
     private fun createParticipant(session: MegaChatSession): Participant? {
         inMeetingRepository.getChatRoom(currentChatId)?.let {
-            participants.value?.let { listParticipants ->
-                val peer = listParticipants.filter { participant ->
-                    participant.peerId == session.peerid && participant.clientId == session.clientid
-                }
-
-                if (peer.isNotEmpty()) {
-                    Timber.d("Participants exists")
-                    return null
-                }
+            if (participantStore[session.peerid, session.clientid] != null) {
+                Timber.d("Participants exists")
+                return null
             }
 
             val isModerator = isParticipantModerator(session.peerid)
@@ -1437,36 +1440,27 @@ class InMeetingViewModel @Inject constructor(
      */
     fun removeParticipant(session: MegaChatSession, context: Context): Int {
         inMeetingRepository.getChatRoom(currentChatId)?.let {
-            val iterator = participants.value?.iterator()
-            iterator?.let { list ->
-                list.forEach { participant ->
-                    if (participant.peerId == session.peerid && participant.clientId == session.clientid) {
-                        val position = participants.value?.indexOf(participant)
-                        val clientId = participant.clientId
-                        val isSpeaker = participant.isSpeaker
-                        participant.isSpeaker = false
-
-                        if (position != null && position != INVALID_POSITION) {
-                            if (participant.isVideoOn) {
-                                participant.videoListener?.let { listener ->
-                                    removeResolutionAndListener(participant, listener)
-                                }
-                                participant.videoListener = null
-                            }
-
-                            participants.value?.removeAt(position)
-                            Timber.d("Removing participant... $clientId")
-                            updateParticipantsList(context)
+            participantStore[session.peerid, session.clientid]?.let { participant ->
+                val isSpeaker = participant.isSpeaker
 
-                            if (isSpeaker) {
-                                Timber.d("The removed participant was speaker, clientID ${participant.clientId}")
-                                removePreviousSpeakers()
-                                removeCurrentSpeaker()
-                            }
-                            return position
-                        }
+                if (participant.isVideoOn) {
+                    participant.videoListener?.let { listener ->
+                        removeResolutionAndListener(participant, listener)
                     }
+                    participant.videoListener = null
+                }
+
+                val position = participantStore.remove(participant.peerId, participant.clientId)
+                    ?.index ?: return INVALID_POSITION
+                Timber.d("Removing participant... ${participant.clientId}")
+                updateParticipantsList(context)
+
+                if (isSpeaker) {
+                    Timber.d("The removed participant was speaker, clientID ${participant.clientId}")
+                    removePreviousSpeakers()
+                    removeCurrentSpeaker()
                 }
+                return position
             }
         }
 
@@ -1592,14 +1586,7 @@ class InMeetingViewModel @Inject constructor(
      * @param clientId Client ID of a participant
      */
     fun removeSelected(peerId: Long, clientId: Long) {
-        val iterator = participants.value?.iterator()
-        iterator?.let { participant ->
-            participant.forEach {
-                if (it.peerId == peerId && it.clientId == clientId && it.isSpeaker) {
-                    it.isSpeaker = false
-                }
-            }
-        }
+        participantStore.unselectSpeaker(peerId, clientId)
     }
 
     /**
@@ -1642,19 +1629,8 @@ class InMeetingViewModel @Inject constructor(
      * @param peerId peer ID of a participant
      * @param clientId client ID of a participant
      */
-    fun getParticipant(peerId: Long, clientId: Long): Participant? {
-        participants.value?.let { list ->
-            val participants = list.filter {
-                it.peerId == peerId && it.clientId == clientId
-            }
-
-            if (participants.isNotEmpty()) {
-                return participants[0]
-            }
-        }
-
-        return null
-    }
+    fun getParticipant(peerId: Long, clientId: Long): Participant? =
+        participantStore[peerId, clientId]
 
     /**
      * Method for updating participant video
@@ -1663,16 +1639,10 @@ class InMeetingViewModel @Inject constructor(
      * @return True, if there have been changes. False, otherwise
      */
     fun changesInRemoteVideoFlag(session: MegaChatSession): Boolean {
-        var hasChanged = false
-        participants.value = participants.value?.map { participant ->
-            return@map when {
-                participant.peerId == session.peerid && participant.clientId == session.clientid && participant.isVideoOn != session.hasVideo() -> {
-                    hasChanged = true
-                    participant.copy(isVideoOn = session.hasVideo())
-                }
-                else -> participant
-            }
-        }?.toMutableList()
+        var hasChanged = participantStore.update(session.peerid, session.clientid) {
+            if (it.isVideoOn == session.hasVideo()) it else it.copy(isVideoOn = session.hasVideo())
+        } != null
+        publishParticipantChanges()
 
         speakerParticipants.value = speakerParticipants.value?.map { participant ->
             return@map when {
@@ -1694,16 +1664,10 @@ class InMeetingViewModel @Inject constructor(
      * @return True, if there have been changes. False, otherwise
      */
     fun changesInRemoteAudioFlag(session: MegaChatSession): Boolean {
-        var hasChanged = false
-        participants.value = participants.value?.map { participant ->
-            return@map when {
-                participant.peerId == session.peerid && participant.clientId == session.clientid && participant.isAudioOn != session.hasAudio() -> {
-                    hasChanged = true
-                    participant.copy(isAudioOn = session.hasAudio())
-                }
-                else -> participant
-            }
-        }?.toMutableList()
+        val hasChanged = participantStore.update(session.peerid, session.clientid) {
+            if (it.isAudioOn == session.hasAudio()) it else it.copy(isAudioOn = session.hasAudio())
+        } != null
+        publishParticipantChanges()
 
         return hasChanged
     }
@@ -2287,6 +2251,7 @@ class InMeetingViewModel @Inject constructor(
 
     companion object {
         const val IS_SHOWED_TIPS = "is_showed_meeting_bottom_tips"
+        private const val PARTICIPANT_CHANGES_BUFFER = 64
     }
 
     override fun onUserEmailUpdate(email: String?, handler: Long, position: Int) {
@@ -2294,14 +2259,10 @@ class InMeetingViewModel @Inject constructor(
             return
 
         inMeetingRepository.getChatRoom(currentChatId)?.let {
-            participants.value = participants.value?.map { participant ->
-                return@map when (participant.peerId) {
-                    handler -> {
-                        participant.copy(isGuest = false)
-                    }
-                    else -> participant
-                }
-            }?.toMutableList()
+            participantStore.updateByPeer(handler) { participant ->
+                if (participant.isGuest) participant.copy(isGuest = false) else participant
+            }
+            publishParticipantChanges()
         }
     }
 
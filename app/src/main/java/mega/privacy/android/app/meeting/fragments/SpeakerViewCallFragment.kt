@@ -9,16 +9,19 @@ import android.view.ViewGroup
 import android.widget.ImageView
 import android.widget.RelativeLayout
 import androidx.core.view.isVisible
+import androidx.lifecycle.Lifecycle
 import androidx.lifecycle.Observer
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.RecyclerView
 import com.jeremyliao.liveeventbus.LiveEventBus
+import mega.privacy.android.app.arch.extensions.collectFlow
 import mega.privacy.android.app.components.RoundedImageView
 import mega.privacy.android.app.constants.EventConstants.EVENT_REMOTE_AUDIO_LEVEL_CHANGE
 import mega.privacy.android.app.databinding.SpeakerViewCallFragmentBinding
 import mega.privacy.android.app.fragments.homepage.EventObserver
 import mega.privacy.android.app.meeting.MegaSurfaceRenderer
 import mega.privacy.android.app.meeting.adapter.Participant
+import mega.privacy.android.app.meeting.adapter.ParticipantChange
 import mega.privacy.android.app.meeting.adapter.VideoListViewAdapter
 import mega.privacy.android.app.utils.Constants
 import mega.privacy.android.app.utils.Util
@@ -164,6 +167,12 @@ class SpeakerViewCallFragment : MeetingBaseFragment(),
 
     private fun observeViewModel() {
         inMeetingViewModel.participants.observe(viewLifecycleOwner, participantsObserver)
+        viewLifecycleOwner.collectFlow(
+            inMeetingViewModel.participantChanges,
+            Lifecycle.State.CREATED
+        ) { changes ->
+            onParticipantChanges(changes)
+        }
         inMeetingViewModel.speakerParticipants.observe(
             viewLifecycleOwner,
             speakerParticipantsObserver
@@ -494,6 +503,28 @@ class SpeakerViewCallFragment : MeetingBaseFragment(),
         surfaceContainer.isVisible = true
     }
 
+    /**
+     * Update the list with the participants who joined or left the call. The updates of the
+     * participants are not handled here, they are notified by [InMeetingFragment].
+     *
+     * @param changes Changes caused by the same event, in the order they were made
+     */
+    private fun onParticipantChanges(changes: List<ParticipantChange>) {
+        val joinsAndLeaves = changes.filter { it !is ParticipantChange.Updated }
+        when (joinsAndLeaves.size) {
+            0 -> return
+            1 -> joinsAndLeaves.first().let {
+                peerAddedOrRemoved(it is ParticipantChange.Added, it.position)
+            }
+            else -> {
+                Timber.d("Several participants joined or left")
+                listView.recycledViewPool.clear()
+                adapter.submitList(null)
+                adapter.submitList(participants)
+            }
+        }
+    }
+
     /**
      * Updating the participant who joined or left the call
      *
@@ -501,7 +532,7 @@ class SpeakerViewCallFragment : MeetingBaseFragment(),
      * @param position The position of the change
      */
     @SuppressLint("NotifyDataSetChanged")
-    fun peerAddedOrRemoved(
+    private fun peerAddedOrRemoved(
         isAdded: Boolean,
         position: Int,
     ) {
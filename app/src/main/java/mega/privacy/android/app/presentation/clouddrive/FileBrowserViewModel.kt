@@ -4,6 +4,7 @@ import android.view.MenuItem
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.update
@@ -85,6 +86,8 @@ class FileBrowserViewModel @Inject constructor(
     private val lastPositionStack = Stack<Int>()
     private val handleStack = Stack<Long>()
 
+    private var refreshNodesJob: Job? = null
+
     init {
         monitorMediaDiscovery()
         refreshNodes()
@@ -225,20 +228,30 @@ class FileBrowserViewModel @Inject constructor(
 
     /**
      * This will refresh file browser nodes and update [FileBrowserState.nodes]
+     *
+     * The children are shown as they are mapped, so the first ones appear before all the
+     * children of a big folder are ready. A new refresh replaces the one in progress.
      */
     fun refreshNodes() {
-        viewModelScope.launch {
-            val nodeList =
-                getNodeUiItems(getFileBrowserChildrenUseCase(_state.value.fileBrowserHandle))
-            _state.update {
-                it.copy(
-                    nodes = getBrowserChildrenNode(_state.value.fileBrowserHandle) ?: emptyList(),
-                    parentHandle = getFileBrowserParentNodeHandle(_state.value.fileBrowserHandle),
-                    nodesList = nodeList,
-                    sortOrder = getCloudSortOrder(),
-                    isFileBrowserEmpty = MegaApiJava.INVALID_HANDLE == _state.value.fileBrowserHandle ||
-                            getRootFolder()?.handle == _state.value.fileBrowserHandle
-                )
+        refreshNodesJob?.cancel()
+        refreshNodesJob = viewModelScope.launch {
+            val handle = _state.value.fileBrowserHandle
+            val nodes = getBrowserChildrenNode(handle) ?: emptyList()
+            val parentHandle = getFileBrowserParentNodeHandle(handle)
+            val sortOrder = getCloudSortOrder()
+            val isFileBrowserEmpty =
+                MegaApiJava.INVALID_HANDLE == handle || getRootFolder()?.handle == handle
+            getFileBrowserChildrenUseCase(handle).collect { children ->
+                val nodeList = getNodeUiItems(children)
+                _state.update {
+                    it.copy(
+                        nodes = nodes,
+                        parentHandle = parentHandle,
+                        nodesList = nodeList,
+                        sortOrder = sortOrder,
+                        isFileBrowserEmpty = isFileBrowserEmpty
+                    )
+                }
             }
         }
     }
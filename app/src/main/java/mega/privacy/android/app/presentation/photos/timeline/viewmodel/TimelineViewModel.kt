@@ -31,10 +31,10 @@ import mega.privacy.android.app.presentation.photos.model.TimelineFilterPreferen
 import mega.privacy.android.app.presentation.photos.model.ZoomLevel
 import mega.privacy.android.app.presentation.photos.timeline.model.PhotoListItem
 import mega.privacy.android.app.presentation.photos.timeline.model.TimelineViewState
+import mega.privacy.android.app.presentation.photos.util.PhotosDateBuckets
 import mega.privacy.android.app.presentation.photos.util.createDaysCardList
 import mega.privacy.android.app.presentation.photos.util.createMonthsCardList
 import mega.privacy.android.app.presentation.photos.util.createYearsCardList
-import mega.privacy.android.app.presentation.photos.util.groupPhotosByDay
 import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.entity.account.EnableCameraUploadsStatus
 import mega.privacy.android.domain.entity.account.EnableCameraUploadsStatus.CAN_ENABLE_CAMERA_UPLOADS
@@ -58,7 +58,6 @@ import mega.privacy.android.domain.usecase.photos.SetTimelineFilterPreferencesUs
 import mega.privacy.android.domain.usecase.workers.StartCameraUploadUseCase
 import mega.privacy.android.domain.usecase.workers.StopCameraUploadAndHeartbeatUseCase
 import nz.mega.sdk.MegaNode
-import org.jetbrains.anko.collections.forEachWithIndex
 import timber.log.Timber
 import javax.inject.Inject
 
@@ -107,6 +106,12 @@ class TimelineViewModel @Inject constructor(
 
     private var job: Job? = null
 
+    /**
+     * Buckets of the photos currently shown, reused while the shown photos do not change
+     */
+    @Volatile
+    private var showingPhotosBuckets: PhotosDateBuckets? = null
+
     init {
         job = viewModelScope.launch {
             getTimelinePhotosUseCase()
@@ -251,12 +256,12 @@ class TimelineViewModel @Inject constructor(
         sourcePhotos: List<Photo>,
         showingPhotos: List<Photo>,
     ) {
-        val sortedPhotos = sortPhotos(showingPhotos)
-        val photosListItems = handleAllPhotoItems(showingPhotos = sortedPhotos)
-        val dayPhotos = groupPhotosByDay(sortedPhotos = sortedPhotos)
-        val yearCardList = createYearsCardList(dayPhotos = dayPhotos)
-        val monthCardList = createMonthsCardList(dayPhotos = dayPhotos)
-        val dayCardList = createDaysCardList(dayPhotos = dayPhotos)
+        val buckets = getPhotosDateBuckets(showingPhotos)
+        val sortedPhotos = buckets.photos
+        val photosListItems = handleAllPhotoItems(buckets = buckets)
+        val yearCardList = createYearsCardList(buckets = buckets)
+        val monthCardList = createMonthsCardList(buckets = buckets)
+        val dayCardList = createDaysCardList(buckets = buckets)
 
         _state.update {
             it.copy(
@@ -272,27 +277,39 @@ class TimelineViewModel @Inject constructor(
         handleEnableZoomAndSortOptions()
     }
 
-    private fun handleAllPhotoItems(showingPhotos: List<Photo>): List<PhotoListItem> {
-        val currentZoomLevel = _state.value.currentZoomLevel
-        val photoListItem = mutableListOf<PhotoListItem>()
-        showingPhotos.forEachWithIndex { index, photo ->
-            val shouldShowDate = if (index == 0)
-                true
-            else
-                needsDateSeparator(
-                    current = photo,
-                    previous = showingPhotos[index - 1],
-                    currentZoomLevel = currentZoomLevel
+    /**
+     * Get the date buckets of the photos to show, in the current sort order. Zoom changes and
+     * sort order changes pass the photos currently shown again, so their buckets are reused or
+     * reversed instead of being sorted and grouped again
+     */
+    private fun getPhotosDateBuckets(showingPhotos: List<Photo>): PhotosDateBuckets {
+        val newestFirst = _state.value.currentSort == Sort.NEWEST
+        val cached = showingPhotosBuckets?.takeIf { it.photos === showingPhotos }
+        return when {
+            cached == null -> PhotosDateBuckets.of(showingPhotos, newestFirst)
+            cached.newestFirst == newestFirst -> cached
+            else -> cached.reversed()
+        }.also { showingPhotosBuckets = it }
+    }
+
+    private fun handleAllPhotoItems(buckets: PhotosDateBuckets): List<PhotoListItem> {
+        val groups = if (_state.value.currentZoomLevel == ZoomLevel.Grid_1) {
+            buckets.days
+        } else {
+            buckets.months
+        }
+        val photoListItem = ArrayList<PhotoListItem>(buckets.photos.size + groups.size)
+        groups.forEach { group ->
+            photoListItem.add(PhotoListItem.Separator(buckets.firstPhotoOf(group).modificationTime))
+            for (index in group.start until group.start + group.count) {
+                val photo = buckets.photos[index]
+                photoListItem.add(
+                    PhotoListItem.PhotoGridItem(
+                        photo = photo,
+                        isSelected = selectedPhotosIds.contains(photo.id),
+                    )
                 )
-            if (shouldShowDate) {
-                photoListItem.add(PhotoListItem.Separator(photo.modificationTime))
             }
-            photoListItem.add(
-                PhotoListItem.PhotoGridItem(
-                    photo = photo,
-                    isSelected = selectedPhotosIds.contains(photo.id),
-                )
-            )
         }
         return photoListItem
     }
@@ -303,28 +320,6 @@ class TimelineViewModel @Inject constructor(
         } else it
     }
 
-    private fun needsDateSeparator(
-        current: Photo,
-        previous: Photo,
-        currentZoomLevel: ZoomLevel,
-    ): Boolean {
-        val currentDate = current.modificationTime.toLocalDate()
-        val previousDate = previous.modificationTime.toLocalDate()
-        return if (currentZoomLevel == ZoomLevel.Grid_1) {
-            currentDate != previousDate
-        } else {
-            currentDate.month != previousDate.month
-        }
-    }
-
-    private fun sortPhotos(photos: List<Photo>): List<Photo> {
-        return if (_state.value.currentSort == Sort.NEWEST) {
-            photos.sortedByDescending { it.modificationTime }
-        } else {
-            photos.sortedBy { it.modificationTime }
-        }
-    }
-
     fun sortByOrder() {
         viewModelScope.launch {
             handleAndUpdatePhotosUIState(
@@ -25,6 +25,9 @@ internal fun createYearsCardList(dayPhotos: Map<Photo, Int>): List<DateCard> =
     dayPhotos.keys.distinctBy { it.modificationTime.year }
         .map { createYearCard(it) }.toList()
 
+internal fun createYearsCardList(buckets: PhotosDateBuckets): List<DateCard> =
+    buckets.years.map { createYearCard(buckets.firstPhotoOf(it)) }
+
 
 private fun createYearCard(photo: Photo): DateCard {
     val year = DateTimeFormatter.ofPattern(DATE_FORMAT_YEAR)
@@ -40,6 +43,9 @@ internal fun createMonthsCardList(dayPhotos: Map<Photo, Int>): List<DateCard> =
     dayPhotos.keys.distinctBy { YearMonth.from(it.modificationTime) }
         .map { createMonthCard(it) }.toList()
 
+internal fun createMonthsCardList(buckets: PhotosDateBuckets): List<DateCard> =
+    buckets.months.map { createMonthCard(buckets.firstPhotoOf(it)) }
+
 private fun createMonthCard(photo: Photo): DateCard {
     val sameYear = Year.from(LocalDate.now()) == Year.from(photo.modificationTime)
     val month = SimpleDateFormat(DATE_FORMAT_MONTH, Locale.getDefault()).format(
@@ -70,6 +76,9 @@ internal fun createDaysCardList(dayPhotos: Map<Photo, Int>): List<DateCard> =
         createDaysCard(key, value)
     }.toList()
 
+internal fun createDaysCardList(buckets: PhotosDateBuckets): List<DateCard> =
+    buckets.days.map { createDaysCard(buckets.firstPhotoOf(it), it.count) }
+
 private fun createDaysCard(photo: Photo, photosCount: Int): DateCard {
     val sameYear = Year.from(LocalDate.now()) == Year.from(photo.modificationTime)
     val showDate = DateTimeFormatter.ofPattern(
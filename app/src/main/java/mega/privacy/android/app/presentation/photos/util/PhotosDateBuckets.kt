@@ -0,0 +1,119 @@
+package mega.privacy.android.app.presentation.photos.util
+
+import mega.privacy.android.domain.entity.photos.Photo
+
+/**
+ * Photos sorted by modification time, together with the boundaries and sizes of their day,
+ * month and year groups
+ *
+ * The groups are found in a single pass over the sorted photos. Photos that are already in the
+ * requested order, as the Timeline photos and any filtered subset of them are, are not sorted
+ * again, and [reversed] flips the order without sorting or grouping again.
+ *
+ * @property photos the sorted photos
+ * @property newestFirst true if [photos] are sorted newest first, false if oldest first
+ * @property days the day groups of [photos], in the same order
+ * @property months the month groups of [photos], in the same order
+ * @property years the year groups of [photos], in the same order
+ */
+internal class PhotosDateBuckets private constructor(
+    val photos: List<Photo>,
+    val newestFirst: Boolean,
+    val days: List<DateBucket>,
+    val months: List<DateBucket>,
+    val years: List<DateBucket>,
+) {
+
+    /**
+     * Get the first photo of a group
+     */
+    fun firstPhotoOf(bucket: DateBucket): Photo = photos[bucket.start]
+
+    /**
+     * The same photos and groups in the opposite order
+     */
+    fun reversed(): PhotosDateBuckets = PhotosDateBuckets(
+        photos = photos.asReversed(),
+        newestFirst = !newestFirst,
+        days = days.reversedBuckets(),
+        months = months.reversedBuckets(),
+        years = years.reversedBuckets(),
+    )
+
+    private fun List<DateBucket>.reversedBuckets() =
+        asReversed().map { DateBucket(start = photos.size - it.start - it.count, count = it.count) }
+
+    companion object {
+
+        /**
+         * Create the buckets of the given photos
+         *
+         * @param photos the photos, sorted or not
+         * @param newestFirst true to sort the photos newest first, false for oldest first
+         */
+        fun of(photos: List<Photo>, newestFirst: Boolean): PhotosDateBuckets {
+            val comparator = if (newestFirst) {
+                compareByDescending<Photo> { it.modificationTime }
+            } else {
+                compareBy { it.modificationTime }
+            }
+            val sortedPhotos = if (photos.isSortedWith(comparator)) {
+                photos
+            } else {
+                photos.sortedWith(comparator)
+            }
+            return build(sortedPhotos, newestFirst)
+        }
+
+        private fun List<Photo>.isSortedWith(comparator: Comparator<Photo>): Boolean {
+            for (index in 1 until size) {
+                if (comparator.compare(this[index - 1], this[index]) > 0) return false
+            }
+            return true
+        }
+
+        private fun build(sortedPhotos: List<Photo>, newestFirst: Boolean): PhotosDateBuckets {
+            val days = mutableListOf<DateBucket>()
+            val months = mutableListOf<DateBucket>()
+            val years = mutableListOf<DateBucket>()
+            var dayStart = 0
+            var monthStart = 0
+            var yearStart = 0
+            sortedPhotos.forEachIndexed { index, photo ->
+                if (index == 0) return@forEachIndexed
+                val previous = sortedPhotos[index - 1].modificationTime
+                val current = photo.modificationTime
+                val sameYear = previous.year == current.year
+                val sameMonth = sameYear && previous.monthValue == current.monthValue
+                val sameDay = sameMonth && previous.dayOfMonth == current.dayOfMonth
+                if (!sameDay) {
+                    days.add(DateBucket(start = dayStart, count = index - dayStart))
+                    dayStart = index
+                }
+                if (!sameMonth) {
+                    months.add(DateBucket(start = monthStart, count = index - monthStart))
+                    monthStart = index
+                }
+                if (!sameYear) {
+                    years.add(DateBucket(start = yearStart, count = index - yearStart))
+                    yearStart = index
+                }
+            }
+            if (sortedPhotos.isNotEmpty()) {
+                val size = sortedPhotos.size
+                days.add(DateBucket(start = dayStart, count = size - dayStart))
+                months.add(DateBucket(start = monthStart, count = size - monthStart))
+                years.add(DateBucket(start = yearStart, count = size - yearStart))
+            }
+            return PhotosDateBuckets(sortedPhotos, newestFirst, days, months, years)
+        }
+    }
+}
+
+/**
+ * A group of consecutive photos in [PhotosDateBuckets.photos]
+ *
+ * @property start index of the first photo of the group
+ * @property count number of photos in the group
+ */
+internal data class DateBucket(val start: Int, val count: Int)
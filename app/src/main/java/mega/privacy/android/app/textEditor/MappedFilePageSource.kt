@@ -0,0 +1,118 @@
+package mega.privacy.android.app.textEditor
+
+import java.io.File
+import java.io.RandomAccessFile
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+
+/**
+ * [TextPageSource] of a UTF-8 text file, memory mapped so the file is never fully loaded.
+ *
+ * Opening the file only scans its bytes once to find the page boundaries and count the line
+ * breaks. The text of a page is decoded when it is read, and the line breaks are normalised as
+ * reading the file line by line did: "\r\n" and "\r" become "\n" and the last line break of the
+ * file is removed.
+ *
+ * @property buffer The mapped content of the file.
+ * @property pageStarts Byte offset where every page starts.
+ * @property lineBreakCounts Number of line breaks of every page.
+ */
+class MappedFilePageSource private constructor(
+    private val buffer: ByteBuffer,
+    private val pageStarts: IntArray,
+    private val lineBreakCounts: IntArray,
+) : TextPageSource {
+
+    companion object {
+
+        /**
+         * Maps a file and indexes its pages. It has to be called in background.
+         *
+         * @param file The file to open.
+         * @param bytesForPage Minimum number of bytes of every page but the last one, line break
+         * included.
+         * @return The page source of the file.
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun open(file: File, bytesForPage: Int = Pagination.CHARS_FOR_PAGE): MappedFilePageSource {
+            val buffer = RandomAccessFile(file, "r").use { randomAccessFile ->
+                val channel = randomAccessFile.channel
+                require(channel.size() <= Int.MAX_VALUE) { "File too big to be mapped" }
+                // The mapping stays valid after the channel is closed
+                channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+            }
+
+            val size = buffer.limit()
+            val pageStarts = ArrayList<Int>()
+            val lineBreakCounts = ArrayList<Int>()
+            var pageStart = 0
+            var lineBreaks = 0
+            var index = 0
+
+            pageStarts.add(0)
+            while (index < size) {
+                val byte = buffer.get(index++)
+                val isLineBreak = byte == LF
+                        || (byte == CR && (index == size || buffer.get(index) != LF))
+
+                if (isLineBreak) {
+                    lineBreaks++
+
+                    if (byte == LF && index - pageStart >= bytesForPage && index < size) {
+                        lineBreakCounts.add(lineBreaks)
+                        pageStarts.add(index)
+                        pageStart = index
+                        lineBreaks = 0
+                    }
+                }
+            }
+            lineBreakCounts.add(lineBreaks)
+
+            return MappedFilePageSource(
+                buffer,
+                pageStarts.toIntArray(),
+                lineBreakCounts.toIntArray()
+            )
+        }
+
+        private const val LF: Byte = 10
+        private const val CR: Byte = 13
+    }
+
+    override val pageCount: Int
+        get() = pageStarts.size
+
+    override fun getLineBreakCount(page: Int): Int =
+        if (page == pageStarts.size - 1 && endsWithLineBreak()) {
+            lineBreakCounts[page] - 1
+        } else {
+            lineBreakCounts[page]
+        }
+
+    override fun readPage(page: Int): String {
+        val end = if (page + 1 < pageStarts.size) pageStarts[page + 1] else buffer.limit()
+        val slice = buffer.duplicate().apply {
+            limit(end)
+            position(pageStarts[page])
+        }
+        var text = Charsets.UTF_8.decode(slice).toString()
+
+        if (text.indexOf('\r') != -1) {
+            text = text.replace("\r\n", "\n").replace('\r', '\n')
+        }
+
+        if (page == pageStarts.size - 1 && text.endsWith(Pagination.LINE_BREAK)) {
+            text = text.substring(0, text.length - 1)
+        }
+
+        return text
+    }
+
+    private fun endsWithLineBreak(): Boolean {
+        val size = buffer.limit()
+        if (size == 0) return false
+        val last = buffer.get(size - 1)
+        return last == LF || last == CR
+    }
+}
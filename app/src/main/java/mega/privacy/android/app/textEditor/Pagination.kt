@@ -1,71 +1,65 @@
 package mega.privacy.android.app.textEditor
 
-import java.util.regex.Pattern
-import kotlin.collections.ArrayList
+import java.io.Writer
 
-class Pagination(private var text: String) {
+/**
+ * Pages of the text shown in the text editor.
+ *
+ * The pages are read from a [TextPageSource] only when shown, keeping the last read ones. Edited
+ * pages are kept apart from the source, so the whole text is never put together in memory.
+ *
+ * @property source The source of the original pages.
+ */
+class Pagination(private val source: TextPageSource) {
+
+    constructor(text: String) : this(StringPageSource(text))
 
     constructor() : this("")
 
     companion object {
-        private const val CHARS_FOR_PAGE = 30000
+        const val CHARS_FOR_PAGE = 30000
         const val LINE_BREAK = "\n"
+        private const val CACHED_PAGES = 3
     }
 
-    private var pages: MutableList<String?> = ArrayList()
+    private val editedPages = HashMap<Int, String?>()
+    private val readPages = object : LinkedHashMap<Int, String>(CACHED_PAGES, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Int, String>?): Boolean =
+            size > CACHED_PAGES
+    }
     private var currentPage = 0
     private var firstLineNumber = 1
 
-    init {
-        var i = 0
-        var to: Int
-        var nextIndexOfReturn: Int
-
-        while (i < text.length) {
-            to = i + CHARS_FOR_PAGE
-            nextIndexOfReturn = text.indexOf(LINE_BREAK, to)
-
-            if (nextIndexOfReturn > to) {
-                to = nextIndexOfReturn + 1
-            }
-
-            if (to > text.length) {
-                to = text.length
-            }
+    fun size(): Int = source.pageCount
 
-            pages.add(text.substring(i, to))
-            i = to
-        }
-
-        if (i == 0) pages.add("")
-    }
-
-    fun size(): Int = pages.size
-
-    fun isNotEmpty(): Boolean = text.isNotEmpty()
+    fun isNotEmpty(): Boolean = source.pageCount > 1 || readPage(0).isNotEmpty()
 
     fun getCurrentPage(): Int = currentPage
 
-    fun getCurrentPageText(): String? = pages[currentPage]
+    fun getCurrentPageText(): String? = getPageText(currentPage)
 
     fun updatePage(text: String?) {
-        pages[currentPage] = text
+        editedPages[currentPage] = text
     }
 
-    fun editionFinished() {
-        text = getEditedText()
-    }
-
-    fun isEdited(): Boolean = text != getEditedText()
-
-    fun getEditedText(): String {
-        val editedText = StringBuilder()
+    /**
+     * Checks if any page has been edited.
+     *
+     * @return True if the text of some page is not the original one, false otherwise.
+     */
+    fun isEdited(): Boolean = editedPages.any { (page, text) -> (text ?: "") != readPage(page) }
 
-        for (page in pages) {
-            editedText.append(page)
+    /**
+     * Writes the edited text, page by page.
+     *
+     * @param writer Writer where the text is written.
+     */
+    fun writeTo(writer: Writer) {
+        for (page in 0 until source.pageCount) {
+            val text =
+                if (editedPages.containsKey(page)) editedPages[page] else source.readPage(page)
+            writer.write(text ?: "")
         }
-
-        return editedText.toString()
     }
 
     fun previousPage() {
@@ -76,7 +70,7 @@ class Pagination(private var text: String) {
     }
 
     fun nextPage() {
-        if (currentPage + 1 < pages.size) {
+        if (currentPage + 1 < source.pageCount) {
             currentPage++
             updateFirstLineNumber()
         }
@@ -84,18 +78,17 @@ class Pagination(private var text: String) {
 
     /**
      * Updates the value to show as first line number of the page.
+     * The line breaks of the pages not edited are already counted by the source.
      */
     private fun updateFirstLineNumber() {
-        if (currentPage == 0) {
-            firstLineNumber = 1
-            return
-        }
-
         var firstLine = 1
 
         for (page in 0 until currentPage) {
-            val text = pages[page]
-            firstLine += getNumberOfLines(text)
+            firstLine += if (editedPages.containsKey(page)) {
+                getNumberOfLines(editedPages[page])
+            } else {
+                source.getLineBreakCount(page)
+            }
         }
 
         firstLineNumber = firstLine
@@ -107,24 +100,17 @@ class Pagination(private var text: String) {
      * @param text Text to get its number of lines.
      * @return The number of lines.
      */
-    private fun getNumberOfLines(text: String?): Int {
-        if (text == null) {
-            return 0
-        }
+    private fun getNumberOfLines(text: String?): Int = text?.count { it == '\n' } ?: 0
 
-        val matcher = Pattern.compile(LINE_BREAK).matcher(text)
-        var count = 0
+    private fun getPageText(page: Int): String? =
+        if (editedPages.containsKey(page)) editedPages[page] else readPage(page)
 
-        while (matcher.find()) {
-            count++
-        }
-
-        return count
-    }
+    private fun readPage(page: Int): String =
+        readPages.getOrPut(page) { source.readPage(page) }
 
     fun getFirstLineNumber(): Int = firstLineNumber
 
     fun shouldShowPrevious(): Boolean = currentPage > 0
 
-    fun shouldShowNext(): Boolean = pages.size > 1 && currentPage + 1 < pages.size
-}
\ No newline at end of file
+    fun shouldShowNext(): Boolean = source.pageCount > 1 && currentPage + 1 < source.pageCount
+}
@@ -677,11 +677,18 @@ class TextEditorActivity : PasscodeActivity(), SnackbarShower, Scrollable {
      * @param content Pagination object with the read content.
      */
     private fun showContentRead(content: Pagination) {
+        if (!viewModel.canShowContent()) {
+            return
+        }
+
         val currentContent = content.getCurrentPageText()
 
-        if (viewModel.needsReadOrIsReadingContent()
-            || (content.isNotEmpty() && currentContent == binding.contentText.text.toString())
-        ) {
+        if (content.isNotEmpty() && currentContent == binding.contentText.text.toString()) {
+            // The first page was already shown while the rest of the file was being streamed
+            if (!viewModel.isReadingContent()) {
+                showEditFabIfPossible()
+                animatePaginationUI()
+            }
             return
         }
 
@@ -699,11 +706,14 @@ class TextEditorActivity : PasscodeActivity(), SnackbarShower, Scrollable {
         binding.loadingLayout.isVisible = false
         requestedOrientation = ActivityInfo.SCREEN_ORIENTATION_UNSPECIFIED
 
+        showEditFabIfPossible()
+        checkScroll()
+    }
+
+    private fun showEditFabIfPossible() {
         if (viewModel.canShowEditFab() && currentUIState == STATE_SHOWN) {
             binding.editFab.show()
         }
-
-        checkScroll()
     }
 
     /**
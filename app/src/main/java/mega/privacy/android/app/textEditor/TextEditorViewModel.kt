@@ -86,12 +86,12 @@ import nz.mega.sdk.MegaChatRoom
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaShare
 import timber.log.Timber
-import java.io.BufferedReader
 import java.io.BufferedWriter
 import java.io.File
-import java.io.FileReader
 import java.io.FileWriter
-import java.io.InputStreamReader
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
 import java.net.HttpURLConnection
 import java.net.URL
 import javax.inject.Inject
@@ -132,6 +132,9 @@ class TextEditorViewModel @Inject constructor(
         const val SUCCESS_FINISH_ACTION = 1
         const val ERROR_FINISH_ACTION = 2
         const val SHOW_LINE_NUMBERS = "SHOW_LINE_NUMBERS"
+        private const val STREAMED_FILE_PREFIX = "text_editor_streamed_"
+        private const val SAVING_FILE_SUFFIX = ".saving"
+        private const val STREAMING_BUFFER_SIZE = 64 * 1024
     }
 
     private val textEditorData: MutableLiveData<TextEditorData> = MutableLiveData(TextEditorData())
@@ -145,9 +148,11 @@ class TextEditorViewModel @Inject constructor(
 
     private var needsReadContent = false
     private var isReadingContent = false
+    private var isPartialContentRead = false
     private var errorSettingContent = false
     private var localFileUri: String? = null
     private var streamingFileURL: URL? = null
+    private var streamedFile: File? = null
     private var showLineNumbers = false
 
     private lateinit var preferences: SharedPreferences
@@ -241,6 +246,12 @@ class TextEditorViewModel @Inject constructor(
 
     fun needsReadOrIsReadingContent(): Boolean = needsReadContent || isReadingContent
 
+    /**
+     * Checks if the read content can be shown: the whole file has been read, or the first page
+     * of a file still being streamed.
+     */
+    fun canShowContent(): Boolean = !needsReadContent && (!isReadingContent || isPartialContentRead)
+
     fun errorSettingContent() {
         errorSettingContent = true
     }
@@ -465,12 +476,7 @@ class TextEditorViewModel @Inject constructor(
         val localFile: File = localFileUri?.let { File(it) } ?: return false
 
         return if (localFile.exists()) {
-            kotlin.runCatching {
-                readFile(BufferedReader(FileReader(localFile)))
-            }.onFailure {
-                Timber.e(it, "Exception while reading text file.")
-            }
-
+            readFile(localFile)
             true
         } else {
             false
@@ -519,7 +525,18 @@ class TextEditorViewModel @Inject constructor(
                 val connection: HttpURLConnection =
                     streamingFileURL?.openConnection() as HttpURLConnection
 
-                readFile(BufferedReader(InputStreamReader(connection.inputStream)))
+                val streamedFile = CacheFolderManager.buildTempFile(
+                    "$STREAMED_FILE_PREFIX${System.currentTimeMillis()}"
+                ) ?: throw IOException("Cannot get temporal file.")
+                this@TextEditorViewModel.streamedFile = streamedFile
+
+                connection.inputStream.use { input ->
+                    streamedFile.outputStream().use { output ->
+                        copyShowingFirstPage(input, output, streamedFile)
+                    }
+                }
+
+                readFile(streamedFile)
             }.onFailure {
                 Timber.e(it, "Exception while reading text file through streaming.")
             }
@@ -527,38 +544,58 @@ class TextEditorViewModel @Inject constructor(
     }
 
     /**
-     * Finishes the read action after get all necessary params to do it.
+     * Copies the streamed content to a file. As soon as the first page has been received it is
+     * shown, while the rest of the file keeps being received.
      *
-     * @param br Necessary BufferReader to read the file.
+     * @param input The streamed content.
+     * @param output The stream of the file.
+     * @param file The file the content is copied to.
      */
-    private suspend fun readFile(br: BufferedReader) {
-        withContext(ioDispatcher) {
-            val sb = StringBuilder()
-
-            kotlin.runCatching {
-                var line: String?
-
-                while (br.readLine().also { line = it } != null) {
-                    sb.appendLine(line)
+    private fun copyShowingFirstPage(input: InputStream, output: OutputStream, file: File) {
+        val buffer = ByteArray(STREAMING_BUFFER_SIZE)
+        var copiedBytes = 0L
+        var nextFirstPageCheck = Pagination.CHARS_FOR_PAGE.toLong()
+
+        while (true) {
+            val read = input.read(buffer)
+            if (read == -1) break
+
+            output.write(buffer, 0, read)
+            copiedBytes += read
+
+            if (!isPartialContentRead && copiedBytes >= nextFirstPageCheck) {
+                output.flush()
+                // The first page is complete once the file so far has a second one
+                val source = MappedFilePageSource.open(file)
+                if (source.pageCount > 1) {
+                    isPartialContentRead = true
+                    pagination.postValue(Pagination(source.readPage(0)))
+                } else {
+                    nextFirstPageCheck = copiedBytes * 2
                 }
+            }
+        }
+    }
 
-                br.close()
+    /**
+     * Finishes the read action after get all necessary params to do it.
+     * Only the page boundaries are read, the text of every page is read when shown.
+     *
+     * @param file The file to read.
+     */
+    private suspend fun readFile(file: File) {
+        withContext(ioDispatcher) {
+            val content = kotlin.runCatching {
+                Pagination(MappedFilePageSource.open(file))
             }.onFailure {
                 Timber.e(it, "Exception while reading text file.")
-            }
+            }.getOrElse { Pagination() }
 
             checkIfNeedsStopHttpServer()
             isReadingContent = false
+            isPartialContentRead = false
 
-            //Remove latest line break since it's not part of the file content
-            val latestBreak = sb.lastIndexOf("\n")
-            if (sb.isNotEmpty() && latestBreak != -1 && sb.length - latestBreak == 1) {
-                sb.deleteRange(latestBreak, sb.length)
-            }
-
-
-            pagination.postValue(Pagination(sb.toString()))
-            sb.clear()
+            pagination.postValue(content)
         }
     }
 
@@ -581,10 +618,16 @@ class TextEditorViewModel @Inject constructor(
             return
         }
 
-        val fileWriter = FileWriter(tempFile.absolutePath)
-        val out = BufferedWriter(fileWriter)
-        out.write(pagination.value?.getEditedText() ?: "")
-        out.close()
+        // The file being edited can be this same temporal file, memory mapped to read its pages,
+        // so the text is written apart and then moved over it, keeping the mapped content intact.
+        val savingFile = File(tempFile.parentFile, tempFile.name + SAVING_FILE_SUFFIX)
+        BufferedWriter(FileWriter(savingFile)).use { out -> pagination.value?.writeTo(out) }
+
+        if (!savingFile.renameTo(tempFile)) {
+            savingFile.delete()
+            Timber.e("Cannot move temporal file.")
+            return
+        }
 
         if (!isFileAvailable(tempFile)) {
             Timber.e("Cannot manage temporal file.")
@@ -671,6 +714,11 @@ class TextEditorViewModel @Inject constructor(
         cancelDownload()
     }
 
+    override fun onCleared() {
+        super.onCleared()
+        streamedFile?.delete()
+    }
+
     /**
      * Stops the http server if has been started before.
      */
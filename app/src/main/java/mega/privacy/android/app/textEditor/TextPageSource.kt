@@ -0,0 +1,79 @@
+package mega.privacy.android.app.textEditor
+
+import mega.privacy.android.app.textEditor.Pagination.Companion.LINE_BREAK
+
+/**
+ * Source of the pages shown by [Pagination].
+ *
+ * Pages are split after a line break and are read only when they are needed.
+ */
+interface TextPageSource {
+
+    /**
+     * Number of pages, at least one even if the text is empty.
+     */
+    val pageCount: Int
+
+    /**
+     * Gets the number of line breaks of a page, without reading it.
+     *
+     * @param page Index of the page.
+     * @return The number of line breaks.
+     */
+    fun getLineBreakCount(page: Int): Int
+
+    /**
+     * Reads the text of a page.
+     *
+     * @param page Index of the page.
+     * @return The text of the page.
+     */
+    fun readPage(page: Int): String
+}
+
+/**
+ * [TextPageSource] of a text already in memory, such as an empty new file.
+ *
+ * Only the page boundaries are computed, pages are copied from the text when read.
+ *
+ * @param text Text to split in pages.
+ * @param charsForPage Minimum number of chars of every page but the last one, line break included.
+ */
+class StringPageSource(
+    private val text: String,
+    charsForPage: Int = Pagination.CHARS_FOR_PAGE,
+) : TextPageSource {
+
+    private val pageStarts: IntArray
+    private val lineBreakCounts: IntArray
+
+    init {
+        val starts = ArrayList<Int>()
+        var start = 0
+
+        do {
+            starts.add(start)
+            val nextLineBreak = text.indexOf(LINE_BREAK, start + charsForPage - 1)
+            start = if (nextLineBreak == -1) text.length else nextLineBreak + 1
+        } while (start < text.length)
+
+        pageStarts = starts.toIntArray()
+        lineBreakCounts = IntArray(pageStarts.size) { page ->
+            var count = 0
+            for (index in pageStarts[page] until getPageEnd(page)) {
+                if (text[index] == '\n') count++
+            }
+            count
+        }
+    }
+
+    override val pageCount: Int
+        get() = pageStarts.size
+
+    override fun getLineBreakCount(page: Int): Int = lineBreakCounts[page]
+
+    override fun readPage(page: Int): String = text.substring(pageStarts[page], getPageEnd(page))
+
+    private fun getPageEnd(page: Int): Int =
+        if (page + 1 < pageStarts.size) pageStarts[page + 1] else text.length
+}
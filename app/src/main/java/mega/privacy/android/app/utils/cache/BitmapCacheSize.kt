@@ -0,0 +1,43 @@
+package mega.privacy.android.app.utils.cache
+
+import android.app.ActivityManager
+import android.content.Context
+import android.graphics.Bitmap
+import mega.privacy.android.app.MegaApplication
+
+/**
+ * Sizes of the bitmap memory caches
+ */
+object BitmapCacheSize {
+
+    /**
+     * Get a fraction of the memory class of the app, in bytes. Falls back to the maximum heap
+     * size when the memory class is not available
+     *
+     * @param context the context, if available
+     * @param divisor the memory class is divided by this value
+     */
+    @JvmStatic
+    fun fractionOfMemoryClass(context: Context?, divisor: Int): Long {
+        val memoryClass =
+            (context?.getSystemService(Context.ACTIVITY_SERVICE) as? ActivityManager)?.memoryClass
+        val heapSize = memoryClass?.takeIf { it > 0 }?.let { it * 1024L * 1024L }
+            ?: Runtime.getRuntime().maxMemory()
+        return heapSize / divisor
+    }
+
+    /**
+     * Get a fraction of the memory class of the app, in bytes, using the application context
+     *
+     * @param divisor the memory class is divided by this value
+     */
+    @JvmStatic
+    fun fractionOfMemoryClass(divisor: Int): Long =
+        fractionOfMemoryClass(runCatching { MegaApplication.getInstance() }.getOrNull(), divisor)
+
+    /**
+     * Size of a bitmap in the memory caches, in bytes
+     */
+    @JvmStatic
+    fun sizeOf(bitmap: Bitmap): Int = bitmap.allocationByteCount
+}
@@ -0,0 +1,335 @@
+package mega.privacy.android.app.utils.cache
+
+/**
+ * LRU cache keyed by primitive longs and bounded by the total size of its values
+ *
+ * Keys are kept in an open addressing table of slot indexes and the recency list is stored in
+ * int arrays, so lookups do not box the key nor allocate. Keys explicitly stored as missing are
+ * kept in a compact set that is emptied, starting a new generation, when it fills up.
+ *
+ * Evicted values are only dropped from the cache, never released, so a value still in use by
+ * a view is left to the garbage collector.
+ *
+ * @param maxSize maximum total size of the cached values
+ * @param maxMissingKeys maximum number of keys remembered as missing in a generation
+ * @param sizeOf returns the size of a value, in the same unit as [maxSize]
+ */
+class LongLruCache<V : Any>(
+    private val maxSize: Long,
+    maxMissingKeys: Int = DEFAULT_MAX_MISSING_KEYS,
+    private val sizeOf: (V) -> Int,
+) {
+    private var keys = LongArray(INITIAL_CAPACITY)
+    private var values = arrayOfNulls<Any>(INITIAL_CAPACITY)
+    private var sizes = IntArray(INITIAL_CAPACITY)
+    private var previous = IntArray(INITIAL_CAPACITY)
+    private var next = IntArray(INITIAL_CAPACITY)
+
+    /**
+     * Hash table of slot index + 1, 0 for an empty bucket
+     */
+    private var table = IntArray(INITIAL_CAPACITY * 2)
+
+    private var head = NONE
+    private var tail = NONE
+    private var freeSlot = NONE
+    private var slotCount = 0
+    private var entryCount = 0
+    private var size = 0L
+
+    private val missingKeys = MissingKeys(maxMissingKeys)
+
+    private var hitCount = 0L
+    private var missCount = 0L
+    private var missingKeyHitCount = 0L
+    private var evictionCount = 0L
+
+    /**
+     * Get the value of a key and mark it as the most recently used
+     *
+     * @return the value, or null if it is not cached
+     */
+    @Synchronized
+    fun get(key: Long): V? {
+        val slot = findSlot(key)
+        if (slot == NONE) {
+            if (missingKeys.contains(key)) missingKeyHitCount++ else missCount++
+            return null
+        }
+        hitCount++
+        moveToHead(slot)
+        @Suppress("UNCHECKED_CAST")
+        return values[slot] as V
+    }
+
+    /**
+     * Cache a value, evicting the least recently used values if the cache gets too big
+     *
+     * @param value the value, or null to remember that the key has no value
+     */
+    @Synchronized
+    fun put(key: Long, value: V?) {
+        if (value == null) {
+            removeEntry(key)
+            missingKeys.add(key)
+            return
+        }
+        missingKeys.remove(key)
+        removeEntry(key)
+        val valueSize = sizeOf(value)
+        if (valueSize > maxSize) return
+
+        val slot = obtainSlot()
+        keys[slot] = key
+        values[slot] = value
+        sizes[slot] = valueSize
+        insertInTable(slot)
+        linkAtHead(slot)
+        entryCount++
+        size += valueSize
+        trimToSize(maxSize)
+    }
+
+    /**
+     * Remove a key, either cached or remembered as missing
+     */
+    @Synchronized
+    fun remove(key: Long) {
+        missingKeys.remove(key)
+        removeEntry(key)
+    }
+
+    /**
+     * Check if a key is cached or remembered as missing, without affecting the recency
+     */
+    @Synchronized
+    fun containsKey(key: Long): Boolean = findSlot(key) != NONE || missingKeys.contains(key)
+
+    /**
+     * Evict the least recently used values until the total size is at most [maxSize]
+     */
+    @Synchronized
+    fun trimToSize(maxSize: Long) {
+        while (size > maxSize && tail != NONE) {
+            removeSlot(tail)
+            evictionCount++
+        }
+    }
+
+    /**
+     * Remove all the values and start a new generation of missing keys
+     */
+    @Synchronized
+    fun clear() {
+        trimToSize(-1)
+        missingKeys.clear()
+    }
+
+    /**
+     * Current metrics of the cache
+     */
+    @Synchronized
+    fun metrics() = LongLruCacheMetrics(
+        size = size,
+        maxSize = maxSize,
+        entryCount = entryCount,
+        hitCount = hitCount,
+        missCount = missCount,
+        missingKeyHitCount = missingKeyHitCount,
+        evictionCount = evictionCount,
+        missingKeysGeneration = missingKeys.generation,
+    )
+
+    private fun removeEntry(key: Long) {
+        val slot = findSlot(key)
+        if (slot != NONE) removeSlot(slot)
+    }
+
+    private fun removeSlot(slot: Int) {
+        removeFromTable(slot)
+        unlink(slot)
+        size -= sizes[slot]
+        entryCount--
+        values[slot] = null
+        next[slot] = freeSlot
+        freeSlot = slot
+    }
+
+    private fun obtainSlot(): Int {
+        if (freeSlot != NONE) {
+            return freeSlot.also { freeSlot = next[it] }
+        }
+        if (slotCount == keys.size) grow()
+        return slotCount++
+    }
+
+    private fun grow() {
+        val capacity = keys.size * 2
+        keys = keys.copyOf(capacity)
+        values = values.copyOf(capacity)
+        sizes = sizes.copyOf(capacity)
+        previous = previous.copyOf(capacity)
+        next = next.copyOf(capacity)
+        table = IntArray(capacity * 2)
+        var slot = head
+        while (slot != NONE) {
+            insertInTable(slot)
+            slot = next[slot]
+        }
+    }
+
+    private fun findSlot(key: Long): Int {
+        val mask = table.size - 1
+        var bucket = hash(key) and mask
+        while (true) {
+            val entry = table[bucket]
+            if (entry == 0) return NONE
+            if (keys[entry - 1] == key) return entry - 1
+            bucket = (bucket + 1) and mask
+        }
+    }
+
+    private fun insertInTable(slot: Int) {
+        val mask = table.size - 1
+        var bucket = hash(keys[slot]) and mask
+        while (table[bucket] != 0) bucket = (bucket + 1) and mask
+        table[bucket] = slot + 1
+    }
+
+    /**
+     * Remove a slot from the table, shifting back the entries of its probe sequence so lookups
+     * never need tombstones
+     */
+    private fun removeFromTable(slot: Int) {
+        val mask = table.size - 1
+        var bucket = hash(keys[slot]) and mask
+        while (table[bucket] != slot + 1) bucket = (bucket + 1) and mask
+        var hole = bucket
+        var current = (hole + 1) and mask
+        while (table[current] != 0) {
+            val home = hash(keys[table[current] - 1]) and mask
+            val distanceToCurrent = (current - home) and mask
+            val distanceToHole = (hole - home) and mask
+            if (distanceToHole < distanceToCurrent) {
+                table[hole] = table[current]
+                hole = current
+            }
+            current = (current + 1) and mask
+        }
+        table[hole] = 0
+    }
+
+    private fun linkAtHead(slot: Int) {
+        previous[slot] = NONE
+        next[slot] = head
+        if (head != NONE) previous[head] = slot
+        head = slot
+        if (tail == NONE) tail = slot
+    }
+
+    private fun unlink(slot: Int) {
+        val before = previous[slot]
+        val after = next[slot]
+        if (before != NONE) next[before] = after else head = after
+        if (after != NONE) previous[after] = before else tail = before
+    }
+
+    private fun moveToHead(slot: Int) {
+        if (slot == head) return
+        unlink(slot)
+        linkAtHead(slot)
+    }
+
+    /**
+     * Compact set of the keys known to have no value, emptied when it is full
+     */
+    private class MissingKeys(private val maxKeys: Int) {
+        private val keys = LongArray(Integer.highestOneBit(maxKeys.coerceAtLeast(1)) * 4)
+        private val used = BooleanArray(keys.size)
+        private var count = 0
+
+        var generation = 0
+            private set
+
+        fun contains(key: Long) = bucketOf(key).let { used[it] }
+
+        fun add(key: Long) {
+            val bucket = bucketOf(key)
+            if (used[bucket]) return
+            if (count >= maxKeys) {
+                clear()
+                return add(key)
+            }
+            keys[bucket] = key
+            used[bucket] = true
+            count++
+        }
+
+        fun remove(key: Long) {
+            val mask = keys.size - 1
+            var hole = bucketOf(key)
+            if (!used[hole]) return
+            var current = (hole + 1) and mask
+            while (used[current]) {
+                val home = hash(keys[current]) and mask
+                if (((hole - home) and mask) < ((current - home) and mask)) {
+                    keys[hole] = keys[current]
+                    hole = current
+                }
+                current = (current + 1) and mask
+            }
+            used[hole] = false
+            count--
+        }
+
+        fun clear() {
+            used.fill(false)
+            count = 0
+            generation++
+        }
+
+        /**
+         * Bucket holding the key, or the empty bucket where it would be added
+         */
+        private fun bucketOf(key: Long): Int {
+            val mask = keys.size - 1
+            var bucket = hash(key) and mask
+            while (used[bucket] && keys[bucket] != key) bucket = (bucket + 1) and mask
+            return bucket
+        }
+    }
+
+    companion object {
+        private const val NONE = -1
+        private const val INITIAL_CAPACITY = 16
+        private const val DEFAULT_MAX_MISSING_KEYS = 1024
+
+        private fun hash(key: Long): Int {
+            val mixed = key * -0x61c8864680b583ebL
+            return (mixed xor (mixed ushr 32)).toInt()
+        }
+    }
+}
+
+/**
+ * Metrics of a [LongLruCache]
+ *
+ * @property size total size of the cached values
+ * @property maxSize maximum total size of the cached values
+ * @property entryCount number of cached values
+ * @property hitCount number of lookups that found a value
+ * @property missCount number of lookups that found nothing
+ * @property missingKeyHitCount number of lookups of keys remembered as missing
+ * @property evictionCount number of values evicted to respect the maximum size
+ * @property missingKeysGeneration number of times the missing keys were emptied
+ */
+data class LongLruCacheMetrics(
+    val size: Long,
+    val maxSize: Long,
+    val entryCount: Int,
+    val hitCount: Long,
+    val missCount: Long,
+    val missingKeyHitCount: Long,
+    val evictionCount: Long,
+    val missingKeysGeneration: Int,
+)
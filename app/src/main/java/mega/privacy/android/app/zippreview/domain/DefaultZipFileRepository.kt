@@ -1,15 +1,21 @@
 package mega.privacy.android.app.zippreview.domain
 
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.ensureActive
 import kotlinx.coroutines.withContext
 import mega.privacy.android.domain.qualifier.IoDispatcher
 import timber.log.Timber
-import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.FileOutputStream
-import java.nio.charset.Charset
+import java.io.IOException
+import java.util.zip.ZipEntry
 import java.util.zip.ZipFile
 import javax.inject.Inject
+import kotlin.math.min
 
 /**
  * Zip repository implementation class
@@ -18,75 +24,119 @@ class DefaultZipFileRepository @Inject constructor(@IoDispatcher private val ioD
     ZipFileRepository {
     companion object {
         private const val SUFFIX_ZIP = ".zip"
+        private const val SUFFIX_PARTIAL = ".partial"
+        private const val UNZIP_BUFFER_SIZE = 64 * 1024
+        private val MAX_UNZIP_WORKERS = Runtime.getRuntime().availableProcessors().coerceIn(2, 4)
     }
 
     private val zipTreeNodeMap: ZipTreeMap = ZipTreeMap()
+    private val rootChildren = mutableListOf<ZipTreeNode>()
+
+    override suspend fun openZipFile(zipFullPath: String): ZipFile =
+        withContext(ioDispatcher) {
+            ZipCharsets.open(zipFullPath)
+        }
 
     override suspend fun unzipFile(zipFullPath: String, unzipRootPath: String): Boolean {
         return withContext(ioDispatcher) {
-            unzip(zipFullPath, unzipRootPath)
+            unzip(zipFullPath, unzipRootPath) { entries().asSequence() }
+        }
+    }
+
+    override suspend fun unzipEntries(
+        zipFullPath: String,
+        entryPaths: List<String>,
+        unzipRootPath: String,
+    ): Boolean {
+        return withContext(ioDispatcher) {
+            unzip(zipFullPath, unzipRootPath) {
+                entryPaths.asSequence().mapNotNull { getEntry(it) }
+            }
         }
     }
 
     /**
-     * Unzip file
+     * Unzip the entries of a file. The files are extracted in parallel by several workers, each
+     * one reusing its own buffer.
      * @param zipFullPath zip file path
      * @param unzipRootPath unzip destination path
+     * @param selectEntries gets the entries to unzip
      * @return true is unzip succeed.
      */
-    private fun unzip(zipFullPath: String, unzipRootPath: String): Boolean {
-        try {
-            val zipFile = try {
-                // Construct ZipFile with UTF-8
-                val zipFile = ZipFile(zipFullPath)
-                // Try reading the Zip File with UTF-8 Charset
-                zipFile.entries().toList()
-                zipFile
-            } catch (e: Exception) {
-                // Throws IllegalArgumentException (thrown when malformed) / ZipException (thrown when unsupported format)
-                // Fallback if zip cannot be read with UTF-8 Charset, then switch to CP-437 (Default for Most Windows Zip Software)
-                // i.e: 7-Zip, PeaZip, Winrar, Winzip
-                ZipFile(zipFullPath, Charset.forName("Cp437"))
-            }
-            val zipEntries = zipFile.entries()
-            zipEntries.toList().forEach {
+    private suspend fun unzip(
+        zipFullPath: String,
+        unzipRootPath: String,
+        selectEntries: ZipFile.() -> Sequence<ZipEntry>,
+    ): Boolean = try {
+        ZipCharsets.open(zipFullPath).use { zipFile ->
+            val rootPath = File(unzipRootPath).canonicalPath + File.separator
+            val files = mutableListOf<ZipEntry>()
+
+            zipFile.selectEntries().forEach {
                 val zipDestination = File(unzipRootPath + it.name)
-                if (it.isDirectory) {
+                if (!zipDestination.canonicalPath.startsWith(rootPath)) {
+                    // The entry would be written outside the destination folder
+                    Timber.w("Zip entry ${it.name} ignored")
+                } else if (it.isDirectory) {
                     if (!zipDestination.exists()) {
                         zipDestination.mkdirs()
                     }
                 } else {
-                    val inputStream = zipFile.getInputStream(it)
-                    //Get the parent file. If it is null or
-                    // doesn't exist, created the parent folder.
-                    val parentFile = zipDestination.parentFile
-                    if (parentFile != null) {
-                        if (!parentFile.exists()) {
-                            parentFile.mkdirs()
-                        }
-                        val byteArrayOutputStream = ByteArrayOutputStream()
-                        val buffer = ByteArray(1024)
-                        var count: Int
-                        FileOutputStream(zipDestination).use { outputStream ->
-                            //Write the file.
-                            while (inputStream.read(buffer)
-                                    .also { readCount -> count = readCount } != -1
-                            ) {
-                                byteArrayOutputStream.write(buffer, 0, count)
-                                val bytes = byteArrayOutputStream.toByteArray()
-                                outputStream.write(bytes)
-                                byteArrayOutputStream.reset()
-                            }
+                    files.add(it)
+                }
+            }
+
+            // ZipFile is safe to read from several threads at the same time
+            val workers = min(files.size, MAX_UNZIP_WORKERS)
+            coroutineScope {
+                (0 until workers).map { worker ->
+                    async(ioDispatcher) {
+                        val buffer = ByteArray(UNZIP_BUFFER_SIZE)
+                        for (index in worker until files.size step workers) {
+                            ensureActive()
+                            unzipEntry(zipFile, files[index], unzipRootPath, buffer)
                         }
-                        inputStream.close()
+                    }
+                }.awaitAll()
+            }
+        }
+        true
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: Exception) {
+        Timber.e(e)
+        false
+    }
+
+    /**
+     * Writes the file of a zip entry, creating its parent folder if it doesn't exist.
+     * The file is written with a temporary name, so it only exists once it is complete.
+     */
+    private fun unzipEntry(
+        zipFile: ZipFile,
+        zipEntry: ZipEntry,
+        unzipRootPath: String,
+        buffer: ByteArray,
+    ) {
+        val zipDestination = File(unzipRootPath + zipEntry.name)
+        zipDestination.parentFile?.let { parentFile ->
+            if (!parentFile.exists()) {
+                parentFile.mkdirs()
+            }
+            val partialFile = File(parentFile, "${zipDestination.name}$SUFFIX_PARTIAL")
+            zipFile.getInputStream(zipEntry).use { inputStream ->
+                FileOutputStream(partialFile).use { outputStream ->
+                    var count: Int
+                    while (inputStream.read(buffer).also { count = it } != -1) {
+                        outputStream.write(buffer, 0, count)
                     }
                 }
             }
-        } catch (e: Exception) {
-            Timber.e(e)
-            return false
+            if (!partialFile.renameTo(zipDestination)) {
+                partialFile.delete()
+                throw IOException("Cannot write ${zipDestination.path}")
+            }
         }
-        return true
     }
 
     override fun getParentZipInfoList(
@@ -123,69 +173,68 @@ class DefaultZipFileRepository @Inject constructor(@IoDispatcher private val ioD
      * Get items of root directory
      * @return List<ZipTreeNode>
      */
-    private fun getRootChildren() = zipTreeNodeMap.values.filter {
-        it.parent == null
-    }
+    private fun getRootChildren(): List<ZipTreeNode> = rootChildren
 
     /**
      * Using zip tree map could save all of zip entries information and could created complete
      * directory structure to handle the switch on different zip file directory. Meanwhile, avoid
      * repeatedly iterate zip entries when the directory is changed.
+     *
+     * Only the central directory of the zip file is read, no entry is extracted.
      */
     override suspend fun initZipTreeNode(zipFile: ZipFile) {
         withContext(ioDispatcher) {
-            zipFile.entries().toList().forEach { zipEntry ->
-                zipEntry.name.let { name ->
-                    val nodeDepth = name.getZipTreeNodeDepth()
-                    for (i in 1..nodeDepth) {
-                        //Get every sub path of current zip entry. For example, the path zip entry
-                        // path is 1/2/3.txt, the sub paths respectively are 1/ 1/2/ 1/2/3.txt
-                        val subPath = name.getSubPathByDepth(i)
-                        //Get name of current sub path
-                        val subName = subPath.getZipTreeNodeName()
-                        //Get parent path of current sub path. For example, if current sub path is 1/2/
-                        //its parent path is 1/
-                        val subParentPath = if (i == 1) {
-                            null
-                        } else {
-                            name.getSubPathByDepth(i - 1)
-                        }
-                        //Get current zip tree node using sub path
-                        var zipTreeNode = zipTreeNodeMap[subPath]
-
-                        // If node doesn't exist, create one, otherwise ignore it
-                        if (zipTreeNode == null) {
-                            zipTreeNode = ZipTreeNode(
-                                name = subName,
-                                path = subPath,
-                                size = zipEntry.size,
-                                fileType = if (i == nodeDepth) {
-                                    if (zipEntry.isDirectory) {
-                                        FileType.FOLDER
-                                    } else {
-                                        when {
-                                            subPath.endsWith(SUFFIX_ZIP) -> FileType.ZIP
-                                            else -> FileType.FILE
-                                        }
-                                    }
-                                } else {
+            zipFile.entries().asSequence().forEach { zipEntry ->
+                //Get every sub path of current zip entry. For example, the path zip entry
+                // path is 1/2/3.txt, the sub paths respectively are 1 1/2 1/2/3.txt
+                val subNames = zipEntry.name.removeSuffix("/").split("/")
+                val nodeDepth = subNames.size
+                var subParentPath: String? = null
+
+                for (i in 1..nodeDepth) {
+                    //Get name of current sub path
+                    val subName = subNames[i - 1]
+                    val subPath = subParentPath?.let { "$it/$subName" } ?: subName
+                    //Get current zip tree node using sub path
+                    var zipTreeNode = zipTreeNodeMap[subPath]
+
+                    // If node doesn't exist, create one, otherwise ignore it
+                    if (zipTreeNode == null) {
+                        zipTreeNode = ZipTreeNode(
+                            name = subName,
+                            path = subPath,
+                            size = zipEntry.size,
+                            fileType = if (i == nodeDepth) {
+                                if (zipEntry.isDirectory) {
                                     FileType.FOLDER
-                                },
-                                parent = subParentPath,
-                                children = mutableListOf(),
-                            )
-                            zipTreeNodeMap[subPath] = zipTreeNode
-
-                            // If parent path is not empty add current path to map
-                            // Empty path represents root directory
-                            if (!subParentPath.isNullOrEmpty()) {
-                                val parentNode = zipTreeNodeMap[subParentPath]
-                                parentNode?.children?.add(zipTreeNode)
-                            }
+                                } else {
+                                    when {
+                                        subPath.endsWith(SUFFIX_ZIP) -> FileType.ZIP
+                                        else -> FileType.FILE
+                                    }
+                                }
+                            } else {
+                                FileType.FOLDER
+                            },
+                            parent = subParentPath,
+                            children = mutableListOf(),
+                        )
+                        zipTreeNodeMap[subPath] = zipTreeNode
+
+                        // If parent path is not empty add current path to map
+                        // Empty path represents root directory
+                        if (subParentPath == null) {
+                            rootChildren.add(zipTreeNode)
+                        } else if (subParentPath.isNotEmpty()) {
+                            val parentNode = zipTreeNodeMap[subParentPath]
+                            parentNode?.children?.add(zipTreeNode)
                         }
                     }
+                    //Current sub path is the parent path of the next one. For example, if next
+                    // sub path is 1/2 its parent path is 1
+                    subParentPath = subPath
                 }
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package mega.privacy.android.app.zippreview.domain
+
+import java.io.File
+import java.nio.charset.Charset
+import java.util.concurrent.ConcurrentHashMap
+import java.util.zip.ZipFile
+
+/**
+ * Opens zip files with the charset of their entry names.
+ *
+ * Finding the charset needs to decode every entry name, so it is done once per version of a file
+ * and kept for the next times the same file is opened, i.e. checking its format and browsing it.
+ */
+internal object ZipCharsets {
+
+    // Fallback if zip cannot be read with UTF-8 Charset, then switch to CP-437 (Default for Most
+    // Windows Zip Software) i.e: 7-Zip, PeaZip, Winrar, Winzip
+    private val CHARSETS = listOf(Charsets.UTF_8, Charset.forName("Cp437"))
+
+    private val detectedCharsets = ConcurrentHashMap<String, Charset>()
+
+    /**
+     * Opens a zip file. It has to be called in background the first time a file is opened.
+     *
+     * @param zipFullPath Zip file full path.
+     * @return The zip file, opened with the charset of its entry names.
+     * @throws Exception if the zip file cannot be read with any of the charsets.
+     */
+    fun open(zipFullPath: String): ZipFile {
+        val key = getKey(zipFullPath)
+        detectedCharsets[key]?.let { return ZipFile(zipFullPath, it) }
+
+        var error: Exception? = null
+        for (charset in CHARSETS) {
+            val zipFile = try {
+                ZipFile(zipFullPath, charset)
+            } catch (e: Exception) {
+                error = e
+                continue
+            }
+            try {
+                // Throws IllegalArgumentException (thrown when malformed) if the names are not
+                // encoded with this charset
+                zipFile.entries().asSequence().forEach { it.name }
+                detectedCharsets[key] = charset
+                return zipFile
+            } catch (e: Exception) {
+                error = e
+                zipFile.close()
+            }
+        }
+        throw error ?: IllegalStateException("Cannot open $zipFullPath")
+    }
+
+    private fun getKey(zipFullPath: String) = File(zipFullPath).let {
+        "${it.absolutePath}:${it.length()}:${it.lastModified()}"
+    }
+}
@@ -7,6 +7,14 @@ import java.util.zip.ZipFile
  */
 interface ZipFileRepository {
 
+    /**
+     * Open Zip file with the charset of its entry names. The charset is detected only the first
+     * time the file is opened.
+     * @param zipFullPath Zip file full path
+     * @return the opened zip file
+     */
+    suspend fun openZipFile(zipFullPath: String): ZipFile
+
     /**
      * Unpack Zip file
      * @param zipFullPath Zip file full path
@@ -15,6 +23,19 @@ interface ZipFileRepository {
      */
     suspend fun unzipFile(zipFullPath: String, unzipRootPath: String): Boolean
 
+    /**
+     * Unpack some entries of Zip file
+     * @param zipFullPath Zip file full path
+     * @param entryPaths names of the zip entries to unpack
+     * @param unzipRootPath the unpacked root path
+     * @return true is unpack succeed.
+     */
+    suspend fun unzipEntries(
+        zipFullPath: String,
+        entryPaths: List<String>,
+        unzipRootPath: String,
+    ): Boolean
+
     /**
      * Init the ZipTreeNode. Created ZipTreeMap using zip entries of current zip file
      * @param zipFile
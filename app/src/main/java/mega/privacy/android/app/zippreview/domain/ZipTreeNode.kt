@@ -41,23 +41,3 @@ fun ZipTreeMap.getNodeByPath(path: String): ZipTreeNode? {
 enum class FileType {
     FOLDER, ZIP, FILE
 }
-
-/**
- * Get zip tree node name for init zip tree map
- * @return zip tree name
- */
-fun String.getZipTreeNodeName() = removeSuffix("/").split("/").last()
-
-/**
- * Get sub path for init zip tree map
- * @param depth depth of sub path
- * @return sub path
- */
-fun String.getSubPathByDepth(depth: Int) =
-    removeSuffix("/").split("/").take(depth).joinToString("/")
-
-/**
- * Get current zip tree node depth for init zip tree map
- * @return zip tree node depth
- */
-fun String.getZipTreeNodeDepth() = removeSuffix("/").split("/").size
\ No newline at end of file
@@ -54,12 +54,11 @@ import mega.privacy.android.app.utils.MegaProgressDialogUtil.createProgressDialo
 import mega.privacy.android.app.utils.Util
 import mega.privacy.android.app.utils.getScreenHeight
 import mega.privacy.android.app.zippreview.domain.FileType
+import mega.privacy.android.app.zippreview.domain.ZipCharsets
 import mega.privacy.android.app.zippreview.viewmodel.ZipBrowserViewModel
 import mega.privacy.android.domain.entity.SortOrder
 import timber.log.Timber
 import java.io.File
-import java.nio.charset.Charset
-import java.util.zip.ZipFile
 import javax.inject.Inject
 
 /**
@@ -519,27 +518,8 @@ class ZipBrowserActivity : PasscodeActivity() {
             // Log the zip file path
             hiltEntryPoint.crashReporter()
                 .log("Path of ZipFile(zipFileFormatCheck) is $zipFilePath")
-            var zipFile: ZipFile? = null
-            zipFile = try {
-                val file = ZipFile(zipFilePath)
-                // Try reading the Zip File with UTF-8 Charset
-                file.entries().toList()
-                file
-            } catch (exception: Exception) {
-                // Throws IllegalArgumentException (thrown when malformed) / ZipException (thrown when unsupported format)
-                // Fallback if zip cannot be read with UTF-8 Charset, then switch to CP-437 (Default for Most Windows Zip Software)
-                // i.e: 7-Zip, PeaZip, Winrar, Winzip
-                try {
-                    val fallback = ZipFile(zipFilePath, Charset.forName("Cp437"))
-                    fallback.entries().toList()
-                    fallback
-                } catch (e: Exception) {
-                    zipFile?.close()
-                    return false
-                }
-            }
-            zipFile?.close()
-            return true
+            // The detected charset is kept, so it is not detected again when browsing the file
+            return runCatching { ZipCharsets.open(zipFilePath).close() }.isSuccess
         }
     }
 }
@@ -21,7 +21,6 @@ import mega.privacy.android.app.zippreview.domain.ZipTreeNode
 import mega.privacy.android.app.zippreview.ui.ZipInfoUIO
 import timber.log.Timber
 import java.io.File
-import java.nio.charset.Charset
 import java.util.zip.ZipFile
 import javax.inject.Inject
 
@@ -152,26 +151,18 @@ class ZipBrowserViewModel @Inject constructor(
         this.unzipRootPath = "${unzipRootPath}${File.separator}"
         // Log the zip file path
         crashReporter.log("Path of ZipFile(viewModelInit) is $zipFullPath")
-        try {
-            zipFile = try {
-                // Construct ZipFile with UTF-8
-                val zipFile = ZipFile(zipFullPath)
-                // Try reading the Zip File with UTF-8 Charset
-                zipFile.entries().toList()
-                zipFile
-            } catch (e: Exception) {
-                // Throws IllegalArgumentException (thrown when malformed) / ZipException (thrown when unsupported format)
-                // Fallback if zip cannot be read with UTF-8 Charset, then switch to CP-437 (Default for Most Windows Zip Software)
-                // i.e: 7-Zip, PeaZip, Winrar, Winzip
-                ZipFile(zipFullPath, Charset.forName("Cp437"))
-            }
-            rootFolderPath = unzipRootPath.split("/").last()
-            viewModelScope.launch {
+        rootFolderPath = unzipRootPath.split("/").last()
+        viewModelScope.launch {
+            // Only the central directory is read to list the entries, which are extracted when
+            // they are opened
+            runCatching {
+                zipFile = zipFileRepository.openZipFile(zipFullPath)
                 zipFileRepository.initZipTreeNode(zipFile)
+            }.onSuccess {
                 updateZipInfoList(context)
+            }.onFailure {
+                Timber.e(it)
             }
-        } catch (e: Exception) {
-            Timber.e(e)
         }
     }
 
@@ -219,7 +210,7 @@ class ZipBrowserViewModel @Inject constructor(
         when (getItemClickedStatus(zipInfoUIO, unzipRootPath)) {
             StatusItemClicked.ZIP_NOT_UNPACK -> {
                 _showProgressDialog.value = true
-                //If zip folder doesn't exist, unpacked the zip file.
+                //If the file hasn't been unpacked yet, unpack it.
                 unpackedZipFile(zipInfoUIO, position)
             }
 
@@ -247,15 +238,27 @@ class ZipBrowserViewModel @Inject constructor(
     }
 
     /**
-     * Unpack zip file and open the current clicked file.
+     * Unpack the current clicked file and open it.
+     *
+     * The other files of the same folder are unpacked too, as the media player builds its
+     * playlist with the files next to the opened one.
      * @param zipInfoUIO ZipInfoUIO of clicked file
      * @param position position of clicked file
      */
     private fun unpackedZipFile(zipInfoUIO: ZipInfoUIO, position: Int) {
         viewModelScope.launch {
-            zipFileRepository.unzipFile(zipFullPath, unzipRootPath)
+            val entryPaths = _zipInfoList.value.orEmpty()
+                .filter { it.fileType != FileType.FOLDER }
+                .map { it.path }
+                .ifEmpty { listOf(zipInfoUIO.path) }
+            zipFileRepository.unzipEntries(zipFullPath, entryPaths, unzipRootPath)
             _showProgressDialog.value = false
-            _openFile.value = Pair(position, zipInfoUIO)
+            if (File(unzipRootPath + zipInfoUIO.path).exists()) {
+                _openFile.value = Pair(position, zipInfoUIO)
+            } else {
+                Timber.e("zip entry position $position file not exists")
+                _showAlert.value = true
+            }
         }
     }
 
@@ -283,15 +286,10 @@ class ZipBrowserViewModel @Inject constructor(
             StatusItemClicked.OPEN_FOLDER
         } else {
             val currentFile = File(rootPath + zipInfoUIO.path)
-            if (File(rootPath).exists()) {
-                if (currentFile.exists()) {
-
-                    StatusItemClicked.OPEN_FILE
-                } else {
-                    StatusItemClicked.ITEM_NOT_EXIST
-                }
-            } else {
-                StatusItemClicked.ZIP_NOT_UNPACK
+            when {
+                currentFile.exists() -> StatusItemClicked.OPEN_FILE
+                zipInfoUIO.path.isEmpty() -> StatusItemClicked.ITEM_NOT_EXIST
+                else -> StatusItemClicked.ZIP_NOT_UNPACK
             }
         }
     }
@@ -0,0 +1,96 @@
+package com.github.barteksc.pdfviewer
+
+import android.graphics.Bitmap
+import com.google.common.truth.Truth.assertThat
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Test cases for [BitmapPool]
+ */
+@RunWith(RobolectricTestRunner::class)
+class BitmapPoolTest {
+
+    private lateinit var underTest: BitmapPool
+
+    private lateinit var stats: RenderingStats
+
+    @Before
+    fun setUp() {
+        stats = RenderingStats()
+        underTest = BitmapPool(2L * BITMAP_BYTES, stats)
+    }
+
+    @Test
+    fun `test that a released bitmap is reused for the same size and config`() {
+        val bitmap = underTest.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888)
+        underTest.release(bitmap)
+
+        assertThat(underTest.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888))
+            .isSameInstanceAs(bitmap)
+        assertThat(stats.allocatedBitmapCount).isEqualTo(1)
+        assertThat(stats.reusedBitmapCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that a released bitmap is not reused for another size or config`() {
+        val bitmap = underTest.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888)
+        underTest.release(bitmap)
+
+        assertThat(underTest.acquire(SIZE, SIZE / 2, Bitmap.Config.ARGB_8888))
+            .isNotSameInstanceAs(bitmap)
+        assertThat(underTest.acquire(SIZE, SIZE, Bitmap.Config.RGB_565))
+            .isNotSameInstanceAs(bitmap)
+        assertThat(stats.reusedBitmapCount).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that bitmaps released once the pool is full are recycled`() {
+        val bitmaps = List(3) { Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888) }
+
+        bitmaps.forEach { underTest.release(it) }
+
+        assertThat(bitmaps.map { it.isRecycled }).containsExactly(false, false, true).inOrder()
+    }
+
+    @Test
+    fun `test that immutable bitmaps are recycled instead of pooled`() {
+        val bitmap = Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888)
+            .copy(Bitmap.Config.ARGB_8888, false)
+
+        underTest.release(bitmap)
+
+        assertThat(bitmap.isRecycled).isTrue()
+    }
+
+    @Test
+    fun `test that recycled or missing bitmaps are ignored`() {
+        val recycled = Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888)
+            .apply { recycle() }
+
+        underTest.release(recycled)
+        underTest.release(null)
+
+        assertThat(underTest.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888))
+            .isNotSameInstanceAs(recycled)
+    }
+
+    @Test
+    fun `test that clear recycles the pooled bitmaps`() {
+        val bitmap = Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888)
+        underTest.release(bitmap)
+
+        underTest.clear()
+
+        assertThat(bitmap.isRecycled).isTrue()
+        assertThat(underTest.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888))
+            .isNotSameInstanceAs(bitmap)
+    }
+
+    companion object {
+        private const val SIZE = 16
+        private const val BITMAP_BYTES = SIZE * SIZE * 4
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.barteksc.pdfviewer
+
+import android.graphics.Bitmap
+import android.graphics.RectF
+import com.github.barteksc.pdfviewer.model.PagePart
+import com.github.barteksc.pdfviewer.util.Constants
+import com.google.common.truth.Truth.assertThat
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Test cases for [CacheManager]
+ */
+@RunWith(RobolectricTestRunner::class)
+class CacheManagerTest {
+
+    private lateinit var underTest: CacheManager
+
+    private val defaultCacheSizeBytes = Constants.Cache.CACHE_SIZE_BYTES
+
+    private val bounds = RectF(0f, 0f, 1f, 1f)
+
+    @Before
+    fun setUp() {
+        Constants.Cache.CACHE_SIZE_BYTES = 3L * PART_BYTES
+        underTest = CacheManager()
+    }
+
+    @After
+    fun tearDown() {
+        Constants.Cache.CACHE_SIZE_BYTES = defaultCacheSizeBytes
+    }
+
+    @Test
+    fun `test that a passive part is moved to the active set with its new order`() {
+        val part = pagePart(page = 1, order = 1)
+        underTest.cachePart(part)
+        underTest.makeANewSet()
+
+        assertThat(underTest.upPartIfContained(1, bounds, 10)).isTrue()
+
+        val upped = underTest.pageParts.single()
+        assertThat(upped.cacheOrder).isEqualTo(10)
+        assertThat(upped.renderedBitmap).isSameInstanceAs(part.renderedBitmap)
+    }
+
+    @Test
+    fun `test that only cached parts are reported as contained`() {
+        underTest.cachePart(pagePart(page = 1, order = 1))
+
+        assertThat(underTest.upPartIfContained(1, bounds, 2)).isTrue()
+        assertThat(underTest.upPartIfContained(2, bounds, 2)).isFalse()
+    }
+
+    @Test
+    fun `test that parts moved to the active set are listed once`() {
+        underTest.cachePart(pagePart(page = 1, order = 1))
+
+        repeat(5) {
+            underTest.makeANewSet()
+            underTest.upPartIfContained(1, bounds, it + 2)
+        }
+
+        assertThat(underTest.pageParts).hasSize(1)
+    }
+
+    @Test
+    fun `test that passive parts are evicted before active ones, oldest first`() {
+        val first = pagePart(page = 1, order = 1)
+        val second = pagePart(page = 2, order = 2)
+        val third = pagePart(page = 3, order = 3)
+        listOf(first, second, third).forEach { underTest.cachePart(it) }
+        underTest.makeANewSet()
+        underTest.upPartIfContained(1, bounds, 4)
+
+        underTest.cachePart(pagePart(page = 4, order = 5))
+
+        assertThat(underTest.pageParts.map { it.page }).containsExactly(1, 3, 4)
+        assertThat(underTest.renderingStats.reusedBitmapCount).isEqualTo(0)
+        assertThat(underTest.bitmapPool.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888))
+            .isSameInstanceAs(second.renderedBitmap)
+    }
+
+    @Test
+    fun `test that the bitmap of a moved part is not released when its old entry is polled`() {
+        val moved = pagePart(page = 1, order = 1)
+        underTest.cachePart(moved)
+        underTest.cachePart(pagePart(page = 2, order = 2))
+        underTest.makeANewSet()
+        underTest.upPartIfContained(1, bounds, 3)
+
+        underTest.cachePart(pagePart(page = 3, order = 4))
+        underTest.cachePart(pagePart(page = 4, order = 5))
+
+        assertThat(underTest.pageParts.map { it.page }).containsExactly(1, 3, 4)
+        assertThat(moved.renderedBitmap.isRecycled).isFalse()
+        underTest.bitmapPool.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888)
+        assertThat(underTest.bitmapPool.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888))
+            .isNotSameInstanceAs(moved.renderedBitmap)
+    }
+
+    @Test
+    fun `test that a part rendered again replaces the passive one`() {
+        val stale = pagePart(page = 1, order = 1)
+        underTest.cachePart(stale)
+        underTest.makeANewSet()
+
+        val rendered = pagePart(page = 1, order = 2)
+        underTest.cachePart(rendered)
+
+        assertThat(underTest.pageParts).containsExactly(rendered)
+        assertThat(underTest.pageParts.single()).isSameInstanceAs(rendered)
+    }
+
+    @Test
+    fun `test that a duplicate of an active part returns its bitmap to the pool`() {
+        underTest.cachePart(pagePart(page = 1, order = 1))
+        val duplicate = pagePart(page = 1, order = 2)
+
+        underTest.cachePart(duplicate)
+
+        assertThat(underTest.pageParts).hasSize(1)
+        assertThat(underTest.bitmapPool.acquire(SIZE, SIZE, Bitmap.Config.ARGB_8888))
+            .isSameInstanceAs(duplicate.renderedBitmap)
+    }
+
+    @Test
+    fun `test that recycle recycles the bitmaps of the cached parts`() {
+        val active = pagePart(page = 1, order = 1)
+        val passive = pagePart(page = 2, order = 2)
+        underTest.cachePart(passive)
+        underTest.makeANewSet()
+        underTest.cachePart(active)
+
+        underTest.recycle()
+
+        assertThat(underTest.pageParts).isEmpty()
+        assertThat(active.renderedBitmap.isRecycled).isTrue()
+        assertThat(passive.renderedBitmap.isRecycled).isTrue()
+    }
+
+    private fun pagePart(page: Int, order: Int) = PagePart(
+        page,
+        Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888),
+        bounds,
+        false,
+        order
+    )
+
+    companion object {
+        private const val SIZE = 16
+        private const val PART_BYTES = SIZE * SIZE * 4
+    }
+}
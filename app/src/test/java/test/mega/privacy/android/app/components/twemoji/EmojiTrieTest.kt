@@ -0,0 +1,101 @@
+package test.mega.privacy.android.app.components.twemoji
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.components.twemoji.EmojiTrie
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EmojiTrieTest {
+
+    private val thumbsUp = String(Character.toChars(0x1F44D))
+    private val lightSkinTone = String(Character.toChars(0x1F3FB))
+    private val thumbsUpLight = thumbsUp + lightSkinTone
+    private val keycapOne = "1️⃣"
+
+    private fun trie() = EmojiTrie<String>(expectedKeys = 2).apply {
+        put(thumbsUp, "thumbs up")
+        put(thumbsUpLight, "thumbs up light")
+        put(keycapOne, "keycap one")
+    }
+
+    private fun EmojiTrie<String>.matches(text: String): List<Pair<Int, String>> {
+        val result = mutableListOf<Pair<Int, String>>()
+        var index = 0
+        while (index < text.length) {
+            val match = matchAt(text, index)
+            if (match == EmojiTrie.NO_MATCH) {
+                index++
+            } else {
+                result.add(index to valueOf(match))
+                index += lengthOf(match)
+            }
+        }
+        return result
+    }
+
+    @Test
+    fun `test that the longest key is matched`() {
+        val underTest = trie()
+
+        assertThat(underTest.matches("a${thumbsUpLight}b$thumbsUp"))
+            .containsExactly(1 to "thumbs up light", 6 to "thumbs up").inOrder()
+    }
+
+    @Test
+    fun `test that a partial key is not matched`() {
+        val underTest = trie()
+
+        assertThat(underTest.matches("1️ 1")).isEmpty()
+        assertThat(underTest.matchAt("1", 0)).isEqualTo(EmojiTrie.NO_MATCH)
+    }
+
+    @Test
+    fun `test that the match length is the length of the key`() {
+        val underTest = trie()
+
+        val match = underTest.matchAt(keycapOne, 0)
+
+        assertThat(underTest.lengthOf(match)).isEqualTo(keycapOne.length)
+    }
+
+    @Test
+    fun `test that keys are found by exact value`() {
+        val underTest = trie()
+
+        assertThat(underTest[thumbsUpLight]).isEqualTo("thumbs up light")
+        assertThat(underTest[lightSkinTone]).isNull()
+        assertThat(underTest.size).isEqualTo(3)
+    }
+
+    @Test
+    fun `test that a sequence of keys is detected`() {
+        val underTest = trie()
+
+        assertThat(underTest.isSequenceOfKeys(thumbsUpLight + keycapOne + thumbsUp)).isTrue()
+        assertThat(underTest.isSequenceOfKeys(thumbsUp + "a")).isFalse()
+        assertThat(underTest.isSequenceOfKeys("")).isFalse()
+    }
+
+    @Test
+    fun `test that a sequence is detected when the longest key does not split it`() {
+        val underTest = EmojiTrie<String>().apply {
+            put("ab", "ab")
+            put("abc", "abc")
+            put("cd", "cd")
+        }
+
+        assertThat(underTest.isSequenceOfKeys("abcd")).isTrue()
+    }
+
+    @Test
+    fun `test that many keys are kept when the trie grows`() {
+        val underTest = EmojiTrie<Int>()
+        val keys = (0 until 5_000).map { String(Character.toChars(0x1F000 + it)) + "‍$it" }
+
+        keys.forEachIndexed { index, key -> underTest.put(key, index) }
+
+        keys.forEachIndexed { index, key -> assertThat(underTest[key]).isEqualTo(index) }
+        assertThat(underTest.size).isEqualTo(keys.size)
+    }
+}
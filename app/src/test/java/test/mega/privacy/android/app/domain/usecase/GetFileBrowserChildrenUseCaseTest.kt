@@ -2,16 +2,19 @@ package test.mega.privacy.android.app.domain.usecase
 
 import com.google.common.truth.Truth
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.flow.single
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.app.domain.usecase.GetFileBrowserChildrenUseCase
 import mega.privacy.android.app.domain.usecase.GetNodeByHandle
 import mega.privacy.android.app.domain.usecase.GetRootFolder
 import mega.privacy.android.domain.entity.SortOrder
-import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedFolderNode
 import mega.privacy.android.domain.repository.NodeRepository
-import mega.privacy.android.domain.usecase.AddNodeType
 import mega.privacy.android.domain.usecase.GetCloudSortOrder
+import mega.privacy.android.domain.usecase.node.GetTypedChildrenNodesInChunksUseCase
 import nz.mega.sdk.MegaNode
 import org.junit.Before
 import org.junit.Test
@@ -28,7 +31,8 @@ class GetFileBrowserChildrenUseCaseTest {
     private val getRootFolder: GetRootFolder = mock()
     private val getCloudSortOrder: GetCloudSortOrder = mock()
     private val nodeRepository: NodeRepository = mock()
-    private val addNodeType: AddNodeType = mock()
+    private val getTypedChildrenNodesInChunksUseCase: GetTypedChildrenNodesInChunksUseCase =
+        mock()
 
     @Before
     fun setUp() {
@@ -37,14 +41,14 @@ class GetFileBrowserChildrenUseCaseTest {
             getRootFolder = getRootFolder,
             getCloudSortOrder = getCloudSortOrder,
             nodeRepository = nodeRepository,
-            addNodeType = addNodeType,
+            getTypedChildrenNodesInChunksUseCase = getTypedChildrenNodesInChunksUseCase,
         )
     }
 
     @Test
     fun `test that when parent handle is -1 then it will invoke getRootFolder once`() = runTest {
         whenever(nodeRepository.getInvalidHandle()).thenReturn(-1L)
-        underTest(-1)
+        underTest(-1).single()
         verify(getRootFolder, times(1)).invoke()
     }
 
@@ -53,7 +57,7 @@ class GetFileBrowserChildrenUseCaseTest {
         runTest {
             whenever(nodeRepository.getInvalidHandle()).thenReturn(-1L)
             whenever(getRootFolder()).thenReturn(null)
-            val list = underTest(-1)
+            val list = underTest(-1).single()
             Truth.assertThat(list).isEmpty()
         }
 
@@ -63,7 +67,7 @@ class GetFileBrowserChildrenUseCaseTest {
             whenever(nodeRepository.getInvalidHandle()).thenReturn(-1L)
             val handle = 1234L
             whenever(getNodeByHandle(handle)).thenReturn(null)
-            val list = underTest(handle)
+            val list = underTest(handle).single()
             Truth.assertThat(list).isEmpty()
         }
 
@@ -77,12 +81,31 @@ class GetFileBrowserChildrenUseCaseTest {
             whenever(megaNode.handle).thenReturn(handle)
             whenever(getNodeByHandle(handle)).thenReturn(megaNode)
             whenever(
-                nodeRepository.getNodeChildren(
-                    nodeId = NodeId(handle),
-                    getCloudSortOrder()
+                getTypedChildrenNodesInChunksUseCase(
+                    parentNodeId = NodeId(handle),
+                    order = SortOrder.ORDER_DEFAULT_ASC,
                 )
-            ).thenReturn(listOf<FolderNode>(mock()))
-            val list = underTest(handle)
+            ).thenReturn(flowOf(listOf<TypedFolderNode>(mock())))
+            val list = underTest(handle).single()
             Truth.assertThat(list).isNotEmpty()
         }
+
+    @Test
+    fun `test that every chunk of children is emitted`() = runTest {
+        val handle = 1234L
+        val megaNode: MegaNode = mock()
+        val children = listOf<TypedFolderNode>(mock(), mock())
+        whenever(nodeRepository.getInvalidHandle()).thenReturn(-1L)
+        whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_DEFAULT_ASC)
+        whenever(megaNode.handle).thenReturn(handle)
+        whenever(getNodeByHandle(handle)).thenReturn(megaNode)
+        whenever(
+            getTypedChildrenNodesInChunksUseCase(
+                parentNodeId = NodeId(handle),
+                order = SortOrder.ORDER_DEFAULT_ASC,
+            )
+        ).thenReturn(flowOf(children.take(1), children))
+        Truth.assertThat(underTest(handle).toList()).containsExactly(children.take(1), children)
+            .inOrder()
+    }
 }
\ No newline at end of file
@@ -0,0 +1,189 @@
+package test.mega.privacy.android.app.meeting
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.meeting.adapter.Participant
+import mega.privacy.android.app.meeting.adapter.ParticipantChange
+import mega.privacy.android.app.meeting.adapter.ParticipantStore
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import kotlin.random.Random
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParticipantStoreTest {
+
+    private fun participant(peerId: Long, clientId: Long = peerId) = Participant(
+        peerId = peerId,
+        clientId = clientId,
+        name = "Participant $peerId",
+        avatar = null,
+        isMe = false,
+        isModerator = false,
+        isAudioOn = false,
+        isVideoOn = false,
+    )
+
+    @Test
+    fun `test that participants are found by peer and client id`() {
+        val underTest = ParticipantStore()
+        val first = participant(1L, 10L)
+        val second = participant(1L, 11L)
+
+        assertThat(underTest.add(first)).isEqualTo(0)
+        assertThat(underTest.add(second)).isEqualTo(1)
+
+        assertThat(underTest[1L, 11L]).isSameInstanceAs(second)
+        assertThat(underTest.indexOf(1L, 10L)).isEqualTo(0)
+        assertThat(underTest.getByPeer(1L)).containsExactly(first, second)
+        assertThat(underTest[2L, 10L]).isNull()
+    }
+
+    @Test
+    fun `test that a participant already in the call is not added again`() {
+        val underTest = ParticipantStore()
+        underTest.add(participant(1L))
+
+        assertThat(underTest.add(participant(1L))).isEqualTo(-1)
+        assertThat(underTest.size).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that removing a participant moves back the positions of the next ones`() {
+        val underTest = ParticipantStore()
+        (1L..4L).forEach { underTest.add(participant(it)) }
+
+        val removed = underTest.remove(2L, 2L)
+
+        assertThat(removed?.index).isEqualTo(1)
+        assertThat(underTest.indexOf(3L, 3L)).isEqualTo(1)
+        assertThat(underTest.indexOf(4L, 4L)).isEqualTo(2)
+        assertThat(underTest.participants.map { it.peerId }).containsExactly(1L, 3L, 4L).inOrder()
+    }
+
+    @Test
+    fun `test that an update only replaces the changed participant in the same list`() {
+        val underTest = ParticipantStore()
+        (1L..3L).forEach { underTest.add(participant(it)) }
+        val list = underTest.participants
+        val untouched = underTest[1L, 1L]
+        underTest.drainChanges()
+
+        val previous = underTest.update(2L, 2L) { it.copy(isAudioOn = true) }
+
+        assertThat(previous?.isAudioOn).isFalse()
+        assertThat(underTest.participants).isSameInstanceAs(list)
+        assertThat(underTest[1L, 1L]).isSameInstanceAs(untouched)
+        assertThat(underTest[2L, 2L]?.isAudioOn).isTrue()
+        assertThat(underTest.drainChanges())
+            .containsExactly(ParticipantChange.Updated(1, underTest[2L, 2L]!!))
+    }
+
+    @Test
+    fun `test that an update returning the same participant is not a change`() {
+        val underTest = ParticipantStore()
+        underTest.add(participant(1L))
+        underTest.drainChanges()
+
+        assertThat(underTest.update(1L, 1L) { it }).isNull()
+        assertThat(underTest.hasChanges).isFalse()
+    }
+
+    @Test
+    fun `test that selecting a speaker unselects the previous one`() {
+        val underTest = ParticipantStore()
+        (1L..3L).forEach { underTest.add(participant(it)) }
+
+        underTest.selectSpeaker(1L, 1L)
+        val changes = underTest.selectSpeaker(3L, 3L)
+
+        assertThat(changes.map { it.peerId }).containsExactly(1L, 3L).inOrder()
+        assertThat(underTest.speaker?.peerId).isEqualTo(3L)
+        assertThat(underTest.participants.count { it.isSpeaker }).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that the speaker is kept when it is updated and cleared when it is removed`() {
+        val underTest = ParticipantStore()
+        (1L..2L).forEach { underTest.add(participant(it)) }
+        underTest.selectSpeaker(2L, 2L)
+
+        underTest.update(2L, 2L) { it.copy(isVideoOn = true) }
+        assertThat(underTest.speaker?.isVideoOn).isTrue()
+
+        val removed = underTest.remove(2L, 2L)?.value
+        assertThat(removed?.isSpeaker).isFalse()
+        assertThat(underTest.speaker).isNull()
+    }
+
+    @Test
+    fun `test that changes are drained in the order they were made`() {
+        val underTest = ParticipantStore()
+        val first = participant(1L)
+        val second = participant(2L)
+
+        underTest.add(first)
+        underTest.add(second)
+        underTest.remove(1L, 1L)
+
+        assertThat(underTest.drainChanges()).containsExactly(
+            ParticipantChange.Added(0, first),
+            ParticipantChange.Added(1, second),
+            ParticipantChange.Removed(0, first),
+        ).inOrder()
+        assertThat(underTest.drainChanges()).isEmpty()
+    }
+
+    @Test
+    fun `test that a call of 200 participants with churn matches the list handling`() {
+        val random = Random(200)
+        val underTest = ParticipantStore()
+        val expected = mutableListOf<Participant>()
+        var nextPeerId = 0L
+
+        repeat(200) {
+            val participant = participant(nextPeerId++)
+            underTest.add(participant)
+            expected.add(participant)
+        }
+        underTest.drainChanges()
+
+        repeat(5000) {
+            when (random.nextInt(10)) {
+                0 -> {
+                    val participant = participant(nextPeerId++)
+                    underTest.add(participant)
+                    expected.add(participant)
+                }
+                1 -> if (expected.isNotEmpty()) {
+                    val leaving = expected.removeAt(random.nextInt(expected.size))
+                    underTest.remove(leaving.peerId, leaving.clientId)
+                }
+                else -> if (expected.isNotEmpty()) {
+                    val target = expected[random.nextInt(expected.size)]
+                    val hasAudio = random.nextBoolean()
+                    underTest.drainChanges()
+                    val before = underTest.participants.toList()
+
+                    expected.replaceAll {
+                        if (it.peerId == target.peerId && it.isAudioOn != hasAudio) {
+                            it.copy(isAudioOn = hasAudio)
+                        } else it
+                    }
+                    underTest.update(target.peerId, target.clientId) {
+                        if (it.isAudioOn == hasAudio) it else it.copy(isAudioOn = hasAudio)
+                    }
+
+                    val replaced = underTest.participants.indices
+                        .count { before[it] !== underTest.participants[it] }
+                    assertThat(replaced).isAtMost(1)
+                    assertThat(underTest.drainChanges().size).isEqualTo(replaced)
+                }
+            }
+        }
+
+        assertThat(underTest.participants).containsExactlyElementsIn(expected).inOrder()
+        expected.forEachIndexed { position, participant ->
+            assertThat(underTest.indexOf(participant.peerId, participant.clientId))
+                .isEqualTo(position)
+        }
+    }
+}
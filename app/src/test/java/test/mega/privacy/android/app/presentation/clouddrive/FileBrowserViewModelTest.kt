@@ -9,6 +9,7 @@ import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.distinctUntilChanged
 import kotlinx.coroutines.flow.emptyFlow
+import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.advanceUntilIdle
@@ -44,6 +45,7 @@ import nz.mega.sdk.MegaNode
 import org.junit.Before
 import org.junit.Rule
 import org.junit.Test
+import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
@@ -64,7 +66,9 @@ class FileBrowserViewModelTest {
     }
     private val monitorNodeUpdates = FakeMonitorUpdates()
     private val getFileBrowserParentNodeHandle = mock<GetParentNodeHandle>()
-    private val getFileBrowserChildrenUseCase: GetFileBrowserChildrenUseCase = mock()
+    private val getFileBrowserChildrenUseCase = mock<GetFileBrowserChildrenUseCase> {
+        on { invoke(any()) }.thenReturn(emptyFlow())
+    }
     private val getCloudSortOrder: GetCloudSortOrder = mock()
     private val getOptionsForToolbarMapper: GetOptionsForToolbarMapper = mock()
     private val handleOptionClickMapper: HandleOptionClickMapper = mock()
@@ -150,7 +154,9 @@ class FileBrowserViewModelTest {
                 listOf(mock(), mock())
             )
             whenever(getFileBrowserChildrenUseCase(newValue)).thenReturn(
-                listOf<TypedFolderNode>(mock(), mock())
+                flowOf(
+                    listOf<TypedFolderNode>(mock(), mock())
+                )
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             val update = mapOf<Node, List<NodeChanges>>(
@@ -167,7 +173,7 @@ class FileBrowserViewModelTest {
         runTest {
             val newValue = 123456789L
             whenever(getBrowserChildrenNode.invoke(newValue)).thenReturn(null)
-            whenever(getFileBrowserChildrenUseCase.invoke(newValue)).thenReturn(emptyList())
+            whenever(getFileBrowserChildrenUseCase.invoke(newValue)).thenReturn(flowOf(emptyList()))
             underTest.setBrowserParentHandle(newValue)
             Truth.assertThat(underTest.state.value.nodes.size).isEqualTo(0)
             verify(getBrowserChildrenNode).invoke(newValue)
@@ -266,7 +272,9 @@ class FileBrowserViewModelTest {
             val newValue = 123456789L
             // to update handles fileBrowserHandle
             whenever(getFileBrowserChildrenUseCase.invoke(newValue)).thenReturn(
-                listOf<TypedFolderNode>(mock(), mock())
+                flowOf(
+                    listOf<TypedFolderNode>(mock(), mock())
+                )
             )
             underTest.setBrowserParentHandle(newValue)
             underTest.onBackPressed()
@@ -285,7 +293,9 @@ class FileBrowserViewModelTest {
                 listOf(mock(), mock())
             )
             whenever(getFileBrowserChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf(nodesListItem1, nodesListItem2)
+                flowOf(
+                    listOf(nodesListItem1, nodesListItem2)
+                )
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             underTest.refreshNodes()
@@ -315,7 +325,9 @@ class FileBrowserViewModelTest {
                 listOf(mock(), mock())
             )
             whenever(getFileBrowserChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf(nodesListItem1, nodesListItem2)
+                flowOf(
+                    listOf(nodesListItem1, nodesListItem2)
+                )
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
 
@@ -353,7 +365,9 @@ class FileBrowserViewModelTest {
                 listOf(mock(), mock())
             )
             whenever(getFileBrowserChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf(nodesListItem1, nodesListItem2)
+                flowOf(
+                    listOf(nodesListItem1, nodesListItem2)
+                )
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
 
@@ -394,7 +408,9 @@ class FileBrowserViewModelTest {
                 listOf(mock(), mock())
             )
             whenever(getFileBrowserChildrenUseCase(underTest.state.value.fileBrowserHandle)).thenReturn(
-                listOf<TypedFolderNode>(mock(), mock())
+                flowOf(
+                    listOf<TypedFolderNode>(mock(), mock())
+                )
             )
             whenever(getCloudSortOrder()).thenReturn(SortOrder.ORDER_NONE)
             underTest.refreshNodes()
@@ -0,0 +1,97 @@
+package test.mega.privacy.android.app.presentation.photos.util
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.presentation.photos.util.DateBucket
+import mega.privacy.android.app.presentation.photos.util.PhotosDateBuckets
+import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.photos.Photo
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.time.LocalDateTime
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PhotosDateBucketsTest {
+
+    private fun photo(id: Long, modificationTime: LocalDateTime) = Photo.Image(
+        id = id,
+        parentId = 0L,
+        name = "$id.jpg",
+        isFavourite = false,
+        creationTime = modificationTime,
+        modificationTime = modificationTime,
+        thumbnailFilePath = null,
+        previewFilePath = null,
+        fileTypeInfo = StaticImageFileTypeInfo(mimeType = "", extension = "jpg"),
+    )
+
+    private val photos = listOf(
+        photo(1, LocalDateTime.of(2023, 5, 2, 10, 0)),
+        photo(2, LocalDateTime.of(2023, 5, 2, 8, 0)),
+        photo(3, LocalDateTime.of(2023, 5, 1, 8, 0)),
+        photo(4, LocalDateTime.of(2023, 4, 30, 8, 0)),
+        photo(5, LocalDateTime.of(2022, 4, 30, 8, 0)),
+    )
+
+    @Test
+    fun `test that sorted photos are grouped by day month and year`() {
+        val underTest = PhotosDateBuckets.of(photos, newestFirst = true)
+
+        assertThat(underTest.photos).isSameInstanceAs(photos)
+        assertThat(underTest.days).containsExactly(
+            DateBucket(start = 0, count = 2),
+            DateBucket(start = 2, count = 1),
+            DateBucket(start = 3, count = 1),
+            DateBucket(start = 4, count = 1),
+        ).inOrder()
+        assertThat(underTest.months).containsExactly(
+            DateBucket(start = 0, count = 3),
+            DateBucket(start = 3, count = 1),
+            DateBucket(start = 4, count = 1),
+        ).inOrder()
+        assertThat(underTest.years).containsExactly(
+            DateBucket(start = 0, count = 4),
+            DateBucket(start = 4, count = 1),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that unsorted photos are sorted in the requested order`() {
+        val underTest = PhotosDateBuckets.of(photos.shuffled(), newestFirst = false)
+
+        assertThat(underTest.photos).containsExactlyElementsIn(photos.reversed()).inOrder()
+        assertThat(underTest.years).containsExactly(
+            DateBucket(start = 0, count = 1),
+            DateBucket(start = 1, count = 4),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that reversed buckets match the buckets of the reversed photos`() {
+        val expected = PhotosDateBuckets.of(photos.reversed(), newestFirst = false)
+
+        val underTest = PhotosDateBuckets.of(photos, newestFirst = true).reversed()
+
+        assertThat(underTest.newestFirst).isFalse()
+        assertThat(underTest.photos).containsExactlyElementsIn(expected.photos).inOrder()
+        assertThat(underTest.days).containsExactlyElementsIn(expected.days).inOrder()
+        assertThat(underTest.months).containsExactlyElementsIn(expected.months).inOrder()
+        assertThat(underTest.years).containsExactlyElementsIn(expected.years).inOrder()
+    }
+
+    @Test
+    fun `test that the first photo of a bucket is returned`() {
+        val underTest = PhotosDateBuckets.of(photos, newestFirst = true)
+
+        assertThat(underTest.days.map { underTest.firstPhotoOf(it).id })
+            .containsExactly(1L, 3L, 4L, 5L).inOrder()
+    }
+
+    @Test
+    fun `test that no buckets are created without photos`() {
+        val underTest = PhotosDateBuckets.of(emptyList(), newestFirst = true)
+
+        assertThat(underTest.days).isEmpty()
+        assertThat(underTest.months).isEmpty()
+        assertThat(underTest.years).isEmpty()
+    }
+}
@@ -0,0 +1,141 @@
+package test.mega.privacy.android.app.textEditor
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.textEditor.MappedFilePageSource
+import mega.privacy.android.app.textEditor.Pagination
+import mega.privacy.android.app.textEditor.StringPageSource
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.io.StringWriter
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PaginationTest {
+
+    @TempDir
+    lateinit var temporaryFolder: File
+
+    private fun file(content: String) =
+        File.createTempFile("text", ".txt", temporaryFolder).apply { writeText(content) }
+
+    @Test
+    fun `test that a file is split in pages after a line break`() {
+        val underTest = MappedFilePageSource.open(file("aaaa\nbb\ncccc\nd\n"), bytesForPage = 4)
+
+        assertThat(underTest.pageCount).isEqualTo(3)
+        assertThat((0 until 3).map { underTest.readPage(it) })
+            .containsExactly("aaaa\n", "bb\ncccc\n", "d").inOrder()
+        assertThat(underTest.getLineBreakCount(0)).isEqualTo(1)
+        assertThat(underTest.getLineBreakCount(1)).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that line breaks of a file are normalised`() {
+        val underTest = MappedFilePageSource.open(file("a\r\nb\rc\r\n"))
+
+        assertThat(underTest.pageCount).isEqualTo(1)
+        assertThat(underTest.readPage(0)).isEqualTo("a\nb\nc")
+    }
+
+    @Test
+    fun `test that multi byte characters are decoded`() {
+        val underTest = MappedFilePageSource.open(file("ñandú\n€uro\n"), bytesForPage = 2)
+
+        assertThat(underTest.readPage(0)).isEqualTo("ñandú\n")
+        assertThat(underTest.readPage(1)).isEqualTo("€uro")
+    }
+
+    @Test
+    fun `test that an empty file has one empty page`() {
+        val underTest = MappedFilePageSource.open(file(""))
+
+        assertThat(underTest.pageCount).isEqualTo(1)
+        assertThat(underTest.readPage(0)).isEmpty()
+    }
+
+    @Test
+    fun `test that a text is split in the same pages as its file`() {
+        val text = (1..200).joinToString("\n") { "line $it" }
+
+        val fromText = StringPageSource(text, charsForPage = 100)
+        val fromFile = MappedFilePageSource.open(file(text), bytesForPage = 100)
+
+        assertThat(fromText.pageCount).isEqualTo(fromFile.pageCount)
+        (0 until fromText.pageCount).forEach {
+            assertThat(fromText.readPage(it)).isEqualTo(fromFile.readPage(it))
+            assertThat(fromText.getLineBreakCount(it)).isEqualTo(fromFile.getLineBreakCount(it))
+        }
+    }
+
+    @Test
+    fun `test that the first line number counts the previous pages`() {
+        val underTest = Pagination(StringPageSource("a\nb\nc\nd\ne", charsForPage = 2))
+
+        underTest.nextPage()
+        underTest.updatePage("b\n\n\n")
+        underTest.nextPage()
+
+        assertThat(underTest.getCurrentPage()).isEqualTo(2)
+        assertThat(underTest.getFirstLineNumber()).isEqualTo(5)
+    }
+
+    @Test
+    fun `test that edited pages are written with the rest of the pages`() {
+        val underTest = Pagination(StringPageSource("a\nb\nc", charsForPage = 1))
+
+        underTest.nextPage()
+        underTest.updatePage("B\n")
+
+        val writer = StringWriter()
+        underTest.writeTo(writer)
+        assertThat(underTest.isEdited()).isTrue()
+        assertThat(writer.toString()).isEqualTo("a\nB\nc")
+    }
+
+    @Test
+    fun `test that a page edited back to its original text is not an edition`() {
+        val underTest = Pagination("a\nb")
+
+        underTest.updatePage("changed")
+        underTest.updatePage("a\nb")
+
+        assertThat(underTest.isEdited()).isFalse()
+    }
+
+    @Test
+    fun `test that an empty pagination is empty`() {
+        val underTest = Pagination()
+
+        assertThat(underTest.size()).isEqualTo(1)
+        assertThat(underTest.isNotEmpty()).isFalse()
+        assertThat(underTest.getCurrentPageText()).isEmpty()
+    }
+
+    @Test
+    fun `test that the edited text can be saved over the mapped file it is read from`() {
+        val mappedFile = file("a\nb\nc")
+        val underTest = Pagination(MappedFilePageSource.open(mappedFile, bytesForPage = 2))
+        underTest.nextPage()
+        underTest.updatePage("B\n")
+
+        val savingFile = File(temporaryFolder, "${mappedFile.name}.saving")
+        savingFile.bufferedWriter().use { underTest.writeTo(it) }
+        assertThat(savingFile.renameTo(mappedFile)).isTrue()
+
+        assertThat(mappedFile.readText()).isEqualTo("a\nB\nc")
+        val writer = StringWriter()
+        underTest.writeTo(writer)
+        assertThat(writer.toString()).isEqualTo("a\nB\nc")
+    }
+
+    @Test
+    fun `test that the first page of a partially received file is its final first page`() {
+        val content = "aaaa\nbb\ncccc\nd\n"
+        val complete = MappedFilePageSource.open(file(content), bytesForPage = 4)
+        val partial = MappedFilePageSource.open(file(content.substring(0, 6)), bytesForPage = 4)
+
+        assertThat(partial.pageCount).isGreaterThan(1)
+        assertThat(partial.readPage(0)).isEqualTo(complete.readPage(0))
+    }
+}
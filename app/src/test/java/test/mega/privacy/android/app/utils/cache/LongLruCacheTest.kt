@@ -0,0 +1,133 @@
+package test.mega.privacy.android.app.utils.cache
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.app.utils.cache.LongLruCache
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import kotlin.random.Random
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LongLruCacheTest {
+
+    private fun cache(maxSize: Long = 10, maxMissingKeys: Int = 16) =
+        LongLruCache<String>(maxSize, maxMissingKeys) { it.length }
+
+    @Test
+    fun `test that the least recently used values are evicted when the size is exceeded`() {
+        val underTest = cache(maxSize = 10)
+        underTest.put(1L, "aaaa")
+        underTest.put(2L, "bbbb")
+        underTest.get(1L)
+
+        underTest.put(3L, "cccc")
+
+        assertThat(underTest.get(1L)).isEqualTo("aaaa")
+        assertThat(underTest.get(2L)).isNull()
+        assertThat(underTest.get(3L)).isEqualTo("cccc")
+        with(underTest.metrics()) {
+            assertThat(size).isEqualTo(8)
+            assertThat(entryCount).isEqualTo(2)
+            assertThat(evictionCount).isEqualTo(1)
+        }
+    }
+
+    @Test
+    fun `test that a value bigger than the maximum size is not cached`() {
+        val underTest = cache(maxSize = 3)
+        underTest.put(1L, "abc")
+
+        underTest.put(2L, "abcd")
+
+        assertThat(underTest.get(1L)).isEqualTo("abc")
+        assertThat(underTest.containsKey(2L)).isFalse()
+    }
+
+    @Test
+    fun `test that replacing a value updates the size`() {
+        val underTest = cache()
+        underTest.put(1L, "a")
+
+        underTest.put(1L, "abcde")
+
+        assertThat(underTest.get(1L)).isEqualTo("abcde")
+        assertThat(underTest.metrics().size).isEqualTo(5)
+        assertThat(underTest.metrics().entryCount).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that null values are remembered as missing keys`() {
+        val underTest = cache()
+        underTest.put(1L, "a")
+
+        underTest.put(1L, null)
+
+        assertThat(underTest.containsKey(1L)).isTrue()
+        assertThat(underTest.get(1L)).isNull()
+        assertThat(underTest.metrics().missingKeyHitCount).isEqualTo(1)
+        assertThat(underTest.metrics().entryCount).isEqualTo(0)
+
+        underTest.remove(1L)
+        assertThat(underTest.containsKey(1L)).isFalse()
+    }
+
+    @Test
+    fun `test that missing keys start a new generation when full`() {
+        val underTest = cache(maxMissingKeys = 4)
+        (1L..4L).forEach { underTest.put(it, null) }
+
+        underTest.put(5L, null)
+
+        assertThat(underTest.containsKey(1L)).isFalse()
+        assertThat(underTest.containsKey(5L)).isTrue()
+        assertThat(underTest.metrics().missingKeysGeneration).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that hits and misses are counted`() {
+        val underTest = cache()
+        underTest.put(1L, "a")
+
+        underTest.get(1L)
+        underTest.get(2L)
+        underTest.get(2L)
+
+        assertThat(underTest.metrics().hitCount).isEqualTo(1)
+        assertThat(underTest.metrics().missCount).isEqualTo(2)
+    }
+
+    @Test
+    fun `test that clear removes every value`() {
+        val underTest = cache()
+        underTest.put(1L, "a")
+        underTest.put(2L, null)
+
+        underTest.clear()
+
+        assertThat(underTest.containsKey(1L)).isFalse()
+        assertThat(underTest.containsKey(2L)).isFalse()
+        assertThat(underTest.metrics().size).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that the cache behaves as a map under random operations`() {
+        val underTest = LongLruCache<String>(Long.MAX_VALUE, 64) { it.length }
+        val expected = HashMap<Long, String>()
+        val random = Random(42)
+
+        repeat(20_000) {
+            val key = random.nextLong(-500L, 500L)
+            if (random.nextInt(3) == 0) {
+                underTest.remove(key)
+                expected.remove(key)
+            } else {
+                underTest.put(key, "$key")
+                expected[key] = "$key"
+            }
+        }
+
+        (-500L until 500L).forEach { key ->
+            assertThat(underTest.get(key)).isEqualTo(expected[key])
+        }
+        assertThat(underTest.metrics().entryCount).isEqualTo(expected.size)
+    }
+}
@@ -0,0 +1,104 @@
+package test.mega.privacy.android.app.zippreview
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.app.zippreview.domain.DefaultZipFileRepository
+import mega.privacy.android.app.zippreview.domain.FileType
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.util.zip.ZipEntry
+import java.util.zip.ZipOutputStream
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DefaultZipFileRepositoryTest {
+
+    private lateinit var underTest: DefaultZipFileRepository
+
+    @TempDir
+    lateinit var temporaryFolder: File
+
+    private val entries = mapOf(
+        "a.txt" to "a",
+        "folder/b.txt" to "b",
+        "folder/c.txt" to "c".repeat(100_000),
+        "folder/sub/d.zip" to "d",
+    )
+
+    @BeforeEach
+    fun setUp() {
+        underTest = DefaultZipFileRepository(UnconfinedTestDispatcher())
+    }
+
+    private fun createZip(): String {
+        val zip = File.createTempFile("test", ".zip", temporaryFolder)
+        ZipOutputStream(zip.outputStream()).use { outputStream ->
+            entries.forEach { (name, content) ->
+                outputStream.putNextEntry(ZipEntry(name))
+                outputStream.write(content.toByteArray())
+                outputStream.closeEntry()
+            }
+        }
+        return zip.path
+    }
+
+    private fun unzipRootPath() =
+        File.createTempFile("unzip", "", temporaryFolder).run {
+            delete()
+            "$path${File.separator}"
+        }
+
+    @Test
+    fun `test that the tree is built from the entries without extracting them`() = runTest {
+        val zipPath = createZip()
+        val zipFile = underTest.openZipFile(zipPath)
+
+        underTest.initZipTreeNode(zipFile)
+
+        assertThat(underTest.updateZipInfoList(zipFile, "").map { it.path })
+            .containsExactly("a.txt", "folder")
+        assertThat(underTest.updateZipInfoList(zipFile, "folder/").map { it.path })
+            .containsExactly("folder/b.txt", "folder/c.txt", "folder/sub")
+        assertThat(underTest.updateZipInfoList(zipFile, "folder/sub").single().fileType)
+            .isEqualTo(FileType.ZIP)
+    }
+
+    @Test
+    fun `test that all the files are unzipped`() = runTest {
+        val unzipRootPath = unzipRootPath()
+
+        assertThat(underTest.unzipFile(createZip(), unzipRootPath)).isTrue()
+
+        entries.forEach { (name, content) ->
+            assertThat(File(unzipRootPath + name).readText()).isEqualTo(content)
+        }
+    }
+
+    @Test
+    fun `test that only the requested entries are unzipped`() = runTest {
+        val unzipRootPath = unzipRootPath()
+
+        val result = underTest.unzipEntries(
+            createZip(),
+            listOf("folder/b.txt", "folder/c.txt"),
+            unzipRootPath,
+        )
+
+        assertThat(result).isTrue()
+        assertThat(File(unzipRootPath + "folder/c.txt").readText())
+            .isEqualTo(entries["folder/c.txt"])
+        assertThat(File(unzipRootPath + "a.txt").exists()).isFalse()
+        assertThat(File(unzipRootPath + "folder/sub").exists()).isFalse()
+    }
+
+    @Test
+    fun `test that unzipping a missing file fails`() = runTest {
+        assertThat(underTest.unzipFile(temporaryFolder.path + "/missing.zip", unzipRootPath()))
+            .isFalse()
+    }
+}
@@ -0,0 +1,125 @@
+package mega.privacy.android.data.database.dao
+
+import android.content.Context
+import androidx.room.Room
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.database.MegaDatabase
+import mega.privacy.android.data.database.entity.MediaPlaybackInfoEntity
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+@OptIn(ExperimentalCoroutinesApi::class)
+@RunWith(AndroidJUnit4::class)
+class MediaPlaybackInfoDaoTest {
+    private lateinit var mediaPlaybackInfoDao: MediaPlaybackInfoDao
+    private lateinit var db: MegaDatabase
+
+    private val entities = (1L..10L).map { handle ->
+        MediaPlaybackInfoEntity(
+            mediaHandle = handle,
+            totalDuration = 100000,
+            currentPosition = handle * 1000,
+            lastAccessed = handle,
+        )
+    }
+
+    @Before
+    fun createDb() = runTest {
+        val context = ApplicationProvider.getApplicationContext<Context>()
+        db = Room.inMemoryDatabaseBuilder(
+            context, MegaDatabase::class.java
+        ).build()
+        mediaPlaybackInfoDao = db.mediaPlaybackInfoDao()
+        mediaPlaybackInfoDao.insertOrUpdateMediaPlaybackInfos(entities)
+    }
+
+    @After
+    fun closeDb() {
+        db.close()
+    }
+
+    @Test
+    fun test_that_inserted_entities_are_found_by_handle() = runTest {
+        entities.forEach {
+            assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfo(it.mediaHandle)).isEqualTo(it)
+        }
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfoCount()).isEqualTo(entities.size)
+    }
+
+    @Test
+    fun test_that_insert_an_existing_handle_replaces_the_original_one() = runTest {
+        val modified = entities.first().copy(currentPosition = 50000, lastAccessed = 100)
+
+        mediaPlaybackInfoDao.insertOrUpdateMediaPlaybackInfos(listOf(modified))
+
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfo(modified.mediaHandle))
+            .isEqualTo(modified)
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfoCount()).isEqualTo(entities.size)
+    }
+
+    @Test
+    fun test_that_delete_removes_the_entity() = runTest {
+        val deleted = entities.first()
+
+        mediaPlaybackInfoDao.deleteMediaPlaybackInfo(deleted.mediaHandle)
+
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfo(deleted.mediaHandle)).isNull()
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfoCount()).isEqualTo(entities.size - 1)
+    }
+
+    @Test
+    fun test_that_delete_oldest_removes_the_least_recently_accessed_entities() = runTest {
+        mediaPlaybackInfoDao.deleteOldestMediaPlaybackInfos(3)
+
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfoCount()).isEqualTo(entities.size - 3)
+        entities.forEach {
+            val actual = mediaPlaybackInfoDao.getMediaPlaybackInfo(it.mediaHandle)
+            if (it.lastAccessed <= 3) {
+                assertThat(actual).isNull()
+            } else {
+                assertThat(actual).isNotNull()
+            }
+        }
+    }
+
+    @Test
+    fun test_that_an_accessed_entity_is_not_removed_as_one_of_the_oldest() = runTest {
+        val accessed = entities.first()
+
+        mediaPlaybackInfoDao.updateLastAccessed(accessed.mediaHandle, lastAccessed = 100)
+        mediaPlaybackInfoDao.deleteOldestMediaPlaybackInfos(1)
+
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfo(accessed.mediaHandle)?.lastAccessed)
+            .isEqualTo(100)
+        assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfo(entities[1].mediaHandle)).isNull()
+    }
+
+    @Test
+    fun test_that_migrated_entities_over_the_limit_are_removed_keeping_the_newest_ones() =
+        runTest {
+            val maxCount = 12
+            val migrated = (100L..109L).map { handle ->
+                MediaPlaybackInfoEntity(
+                    mediaHandle = handle,
+                    totalDuration = 100000,
+                    currentPosition = 1000,
+                    lastAccessed = 50,
+                )
+            }
+
+            mediaPlaybackInfoDao.insertOrUpdateMediaPlaybackInfos(migrated)
+            val exceeding = mediaPlaybackInfoDao.getMediaPlaybackInfoCount() - maxCount
+            mediaPlaybackInfoDao.deleteOldestMediaPlaybackInfos(exceeding)
+
+            assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfoCount()).isEqualTo(maxCount)
+            migrated.forEach {
+                assertThat(mediaPlaybackInfoDao.getMediaPlaybackInfo(it.mediaHandle)).isNotNull()
+            }
+        }
+}
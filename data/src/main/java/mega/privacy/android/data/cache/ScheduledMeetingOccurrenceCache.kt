@@ -0,0 +1,84 @@
+package mega.privacy.android.data.cache
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.flow.catch
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import mega.privacy.android.data.gateway.api.MegaChatApiGateway
+import mega.privacy.android.data.model.ScheduledMeetingUpdate
+import mega.privacy.android.domain.entity.chat.ChatScheduledMeetingOccurr
+import mega.privacy.android.domain.qualifier.ApplicationScope
+import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Next scheduled meeting occurrence of every chat.
+ *
+ * An occurrence is kept until it ends or until a scheduled meeting update of its chat is
+ * received. A chat without a next occurrence is kept until it is updated.
+ */
+@Singleton
+internal class ScheduledMeetingOccurrenceCache @Inject constructor(
+    megaChatApiGateway: MegaChatApiGateway,
+    @ApplicationScope appScope: CoroutineScope,
+) {
+    private val nextOccurrences = ConcurrentHashMap<Long, NextOccurrence>()
+    private val invalidations = AtomicLong()
+
+    init {
+        megaChatApiGateway.scheduledMeetingUpdates
+            .onEach { update ->
+                when (update) {
+                    is ScheduledMeetingUpdate.OnChatSchedMeetingUpdate ->
+                        update.item?.chatId()?.let { invalidate(it) }
+                    is ScheduledMeetingUpdate.OnSchedMeetingOccurrencesUpdate ->
+                        invalidate(update.chatId)
+                }
+            }
+            .catch { Timber.e(it) }
+            .launchIn(appScope)
+    }
+
+    /**
+     * Gets the next occurrence of a chat, getting it again if it is not cached or has ended.
+     *
+     * @param chatId    Chat id.
+     * @param now       Current time, in seconds.
+     * @param getNext   Gets the next occurrence when it is not cached.
+     * @return The next occurrence, null if there is none.
+     */
+    suspend fun getOrPut(
+        chatId: Long,
+        now: Long,
+        getNext: suspend () -> ChatScheduledMeetingOccurr?,
+    ): ChatScheduledMeetingOccurr? {
+        nextOccurrences[chatId]?.takeIf { it.isValid(now) }?.let { return it.occurrence }
+
+        val invalidationsBefore = invalidations.get()
+        val occurrence = getNext()
+        if (invalidations.get() == invalidationsBefore) {
+            nextOccurrences[chatId] = NextOccurrence(occurrence)
+        }
+        return occurrence
+    }
+
+    /**
+     * Removes the next occurrence of a chat.
+     *
+     * @param chatId Chat id.
+     */
+    fun invalidate(chatId: Long) {
+        invalidations.incrementAndGet()
+        nextOccurrences.remove(chatId)
+    }
+
+    private class NextOccurrence(val occurrence: ChatScheduledMeetingOccurr?) {
+        fun isValid(now: Long): Boolean {
+            val end = occurrence?.endDateTime ?: occurrence?.startDateTime ?: return true
+            return end > now
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package mega.privacy.android.data.compression.zip
+
+import java.io.Closeable
+import java.io.FilterOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.util.Calendar
+import java.util.zip.ZipEntry
+
+/**
+ * Writes a zip archive whose entries have already been compressed.
+ *
+ * Unlike [java.util.zip.ZipOutputStream], the entries are not deflated while they are written, so
+ * they can be compressed in parallel and only written here in order. The CRC and sizes of every
+ * entry are known in advance, so they go in the local header and no data descriptor is written.
+ * ZIP64 is not supported: the archive must stay under [MAX_ARCHIVE_SIZE] and [MAX_ENTRIES].
+ *
+ * @param outputStream Stream where the archive is written. It is closed with the writer.
+ */
+internal class ZipArchiveWriter(outputStream: OutputStream) : Closeable {
+
+    companion object {
+        /**
+         * Max size of the archive
+         */
+        const val MAX_ARCHIVE_SIZE = 0xFFFFFFFFL
+
+        /**
+         * Max number of entries of the archive
+         */
+        const val MAX_ENTRIES = 0xFFFF
+
+        /**
+         * Size of the headers of an entry, without its name
+         */
+        const val ENTRY_HEADERS_SIZE = LOCAL_HEADER_SIZE + CENTRAL_HEADER_SIZE
+
+        private const val LOCAL_HEADER_SIZE = 30
+        private const val CENTRAL_HEADER_SIZE = 46
+        private const val LOCAL_HEADER_SIGNATURE = 0x04034b50
+        private const val CENTRAL_HEADER_SIGNATURE = 0x02014b50
+        private const val END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50
+        private const val VERSION = 20
+        private const val FLAG_UTF8 = 0x0800
+        private const val ATTRIBUTE_DIRECTORY = 0x10
+    }
+
+    private class WrittenEntry(
+        val name: ByteArray,
+        val method: Int,
+        val dosTime: Int,
+        val crc: Long,
+        val compressedSize: Long,
+        val size: Long,
+        val offset: Long,
+        val isDirectory: Boolean,
+    )
+
+    private val output = CountingOutputStream(outputStream)
+    private val entries = mutableListOf<WrittenEntry>()
+
+    /**
+     * Writes a folder entry.
+     *
+     * @param name Name of the entry, ending with "/".
+     * @param time Last modification time.
+     */
+    fun writeDirectory(name: String, time: Long) {
+        writeHeader(name, ZipEntry.STORED, time, crc = 0, compressedSize = 0, size = 0)
+    }
+
+    /**
+     * Writes a file entry whose content is already deflated.
+     *
+     * @param name Name of the entry.
+     * @param time Last modification time.
+     * @param crc CRC-32 of the uncompressed content.
+     * @param size Size of the uncompressed content.
+     * @param deflatedData Content deflated without zlib header.
+     */
+    fun writeDeflated(name: String, time: Long, crc: Long, size: Long, deflatedData: ByteArray) {
+        writeHeader(name, ZipEntry.DEFLATED, time, crc, deflatedData.size.toLong(), size)
+        output.write(deflatedData)
+    }
+
+    /**
+     * Writes a file entry whose content is already deflated, reading it from a stream.
+     *
+     * @param name Name of the entry.
+     * @param time Last modification time.
+     * @param crc CRC-32 of the uncompressed content.
+     * @param size Size of the uncompressed content.
+     * @param compressedSize Number of deflated bytes to copy from the content.
+     * @param deflatedContent Stream of the content deflated without zlib header.
+     * @param buffer Buffer used to copy the content.
+     */
+    fun writeDeflated(
+        name: String,
+        time: Long,
+        crc: Long,
+        size: Long,
+        compressedSize: Long,
+        deflatedContent: InputStream,
+        buffer: ByteArray,
+    ) {
+        writeHeader(name, ZipEntry.DEFLATED, time, crc, compressedSize, size)
+        copy(name, compressedSize, deflatedContent, buffer)
+    }
+
+    /**
+     * Writes a file entry stored without compression.
+     *
+     * @param name Name of the entry.
+     * @param time Last modification time.
+     * @param crc CRC-32 of the first [size] bytes of the content.
+     * @param size Number of bytes to copy from the content.
+     * @param content Stream of the content.
+     * @param buffer Buffer used to copy the content.
+     */
+    fun writeStored(
+        name: String,
+        time: Long,
+        crc: Long,
+        size: Long,
+        content: InputStream,
+        buffer: ByteArray,
+    ) {
+        writeHeader(name, ZipEntry.STORED, time, crc, size, size)
+        copy(name, size, content, buffer)
+    }
+
+    /**
+     * Writes the central directory and closes the stream.
+     */
+    override fun close() {
+        output.use {
+            val centralDirectoryOffset = output.count
+            entries.forEach { entry ->
+                output.writeInt(CENTRAL_HEADER_SIGNATURE)
+                output.writeShort(VERSION)
+                output.writeShort(VERSION)
+                output.writeShort(FLAG_UTF8)
+                output.writeShort(entry.method)
+                output.writeInt(entry.dosTime)
+                output.writeInt(entry.crc.toInt())
+                output.writeInt(entry.compressedSize.toInt())
+                output.writeInt(entry.size.toInt())
+                output.writeShort(entry.name.size)
+                output.writeShort(0) // Extra field length
+                output.writeShort(0) // Comment length
+                output.writeShort(0) // Disk number
+                output.writeShort(0) // Internal attributes
+                output.writeInt(if (entry.isDirectory) ATTRIBUTE_DIRECTORY else 0)
+                output.writeInt(entry.offset.toInt())
+                output.write(entry.name)
+            }
+            val centralDirectorySize = output.count - centralDirectoryOffset
+
+            output.writeInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+            output.writeShort(0) // Disk number
+            output.writeShort(0) // Disk with the central directory
+            output.writeShort(entries.size)
+            output.writeShort(entries.size)
+            output.writeInt(centralDirectorySize.toInt())
+            output.writeInt(centralDirectoryOffset.toInt())
+            output.writeShort(0) // Comment length
+        }
+    }
+
+    private fun writeHeader(
+        name: String,
+        method: Int,
+        time: Long,
+        crc: Long,
+        compressedSize: Long,
+        size: Long,
+    ) {
+        check(entries.size < MAX_ENTRIES) { "Too many zip entries" }
+        check(output.count + compressedSize <= MAX_ARCHIVE_SIZE) { "Zip archive too big" }
+
+        val entry = WrittenEntry(
+            name = name.toByteArray(Charsets.UTF_8),
+            method = method,
+            dosTime = toDosTime(time),
+            crc = crc,
+            compressedSize = compressedSize,
+            size = size,
+            offset = output.count,
+            isDirectory = name.endsWith("/"),
+        )
+        entries.add(entry)
+
+        output.writeInt(LOCAL_HEADER_SIGNATURE)
+        output.writeShort(VERSION)
+        output.writeShort(FLAG_UTF8)
+        output.writeShort(method)
+        output.writeInt(entry.dosTime)
+        output.writeInt(crc.toInt())
+        output.writeInt(compressedSize.toInt())
+        output.writeInt(size.toInt())
+        output.writeShort(entry.name.size)
+        output.writeShort(0) // Extra field length
+        output.write(entry.name)
+    }
+
+    private fun copy(name: String, size: Long, content: InputStream, buffer: ByteArray) {
+        var remaining = size
+        while (remaining > 0) {
+            val count = content.read(buffer, 0, minOf(buffer.size.toLong(), remaining).toInt())
+            check(count != -1) { "Content of $name is shorter than expected" }
+            output.write(buffer, 0, count)
+            remaining -= count
+        }
+    }
+
+    /**
+     * Converts a time to the MS-DOS date and time format, the date in the high 16 bits.
+     * Times before 1980 are not representable, so they become 1980-01-01.
+     */
+    private fun toDosTime(time: Long): Int {
+        val calendar = Calendar.getInstance().apply { timeInMillis = time }
+        val year = calendar.get(Calendar.YEAR)
+        if (year < 1980) return (1 shl 21) or (1 shl 16)
+
+        val date = ((year - 1980) shl 9) or
+                ((calendar.get(Calendar.MONTH) + 1) shl 5) or
+                calendar.get(Calendar.DAY_OF_MONTH)
+        val dosTime = (calendar.get(Calendar.HOUR_OF_DAY) shl 11) or
+                (calendar.get(Calendar.MINUTE) shl 5) or
+                (calendar.get(Calendar.SECOND) shr 1)
+        return (date shl 16) or dosTime
+    }
+
+    /**
+     * Output stream counting the written bytes, which writes little endian values.
+     */
+    private class CountingOutputStream(outputStream: OutputStream) :
+        FilterOutputStream(outputStream) {
+
+        var count = 0L
+            private set
+
+        override fun write(b: Int) {
+            out.write(b)
+            count++
+        }
+
+        override fun write(b: ByteArray, off: Int, len: Int) {
+            out.write(b, off, len)
+            count += len
+        }
+
+        fun writeShort(value: Int) {
+            write(value and 0xFF)
+            write((value ushr 8) and 0xFF)
+        }
+
+        fun writeInt(value: Int) {
+            writeShort(value and 0xFFFF)
+            writeShort((value ushr 16) and 0xFFFF)
+        }
+    }
+}
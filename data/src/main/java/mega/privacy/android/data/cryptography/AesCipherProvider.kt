@@ -0,0 +1,60 @@
+package mega.privacy.android.data.cryptography
+
+import javax.crypto.Cipher
+import javax.crypto.spec.SecretKeySpec
+import javax.inject.Inject
+import javax.inject.Named
+import javax.inject.Singleton
+
+/**
+ * Provides the AES ciphers used to encrypt and decrypt the database fields
+ *
+ * Creating a [Cipher] is expensive compared to encrypting a single field, so every thread keeps
+ * its own initialised instances and reuses them. A cipher returns to its initialised state after
+ * each [Cipher.doFinal], and it is never shared between threads, so it is safe to call the
+ * functions of this class concurrently.
+ */
+@Singleton
+internal class AesCipherProvider @Inject constructor(
+    @Named("aes_key") aesKey: ByteArray,
+) {
+    private val keySpec = SecretKeySpec(aesKey, ALGORITHM)
+
+    private val encryptCipher = cipherPerThread(Cipher.ENCRYPT_MODE)
+
+    private val decryptCipher = cipherPerThread(Cipher.DECRYPT_MODE)
+
+    /**
+     * Encrypt the given bytes
+     *
+     * @param clear the bytes to encrypt
+     * @return the encrypted bytes
+     */
+    fun encrypt(clear: ByteArray): ByteArray = encryptCipher.doFinal(clear)
+
+    /**
+     * Decrypt the given bytes
+     *
+     * @param encrypted the bytes to decrypt
+     * @return the decrypted bytes
+     */
+    fun decrypt(encrypted: ByteArray): ByteArray = decryptCipher.doFinal(encrypted)
+
+    private fun cipherPerThread(mode: Int) = object : ThreadLocal<Cipher>() {
+        override fun initialValue(): Cipher =
+            Cipher.getInstance(ALGORITHM).apply { init(mode, keySpec) }
+    }
+
+    /**
+     * Run [Cipher.doFinal] with the cipher of the current thread. If it fails the cipher is
+     * discarded, as its state is not guaranteed to be reset after an error
+     */
+    private fun ThreadLocal<Cipher>.doFinal(input: ByteArray): ByteArray =
+        runCatching { get()!!.doFinal(input) }
+            .onFailure { remove() }
+            .getOrThrow()
+
+    companion object {
+        private const val ALGORITHM = "AES"
+    }
+}
@@ -2,27 +2,30 @@ package mega.privacy.android.data.cryptography
 
 import android.util.Base64
 import timber.log.Timber
-import javax.crypto.Cipher
-import javax.crypto.spec.SecretKeySpec
 import javax.inject.Inject
-import javax.inject.Named
 import javax.inject.Singleton
 
 @Suppress("RedundantSuspendModifier")
 @Singleton
 internal class DecryptData @Inject constructor(
-    @Named("aes_key") private val aesKey: ByteArray,
+    private val aesCipherProvider: AesCipherProvider,
 ) {
-    suspend operator fun invoke(data: String?) = data?.let {
+    suspend operator fun invoke(data: String?) = decrypt(data)
+
+    /**
+     * Decrypt all the given values in a single call, keeping their order
+     *
+     * @param data the values to decrypt
+     * @return the decrypted values, null for the values that are null or can not be decrypted
+     */
+    suspend operator fun invoke(data: List<String?>): List<String?> = data.map { decrypt(it) }
+
+    private fun decrypt(data: String?) = data?.let {
         runCatching {
             val encoded = Base64.decode(data, Base64.DEFAULT)
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.DECRYPT_MODE, skeySpec)
-            val original = cipher.doFinal(encoded)
-            String(original)
+            String(aesCipherProvider.decrypt(encoded))
         }.onFailure {
             Timber.e(it, "Error decrypting DB field")
         }.getOrNull()
     }
-}
\ No newline at end of file
+}
@@ -2,26 +2,30 @@ package mega.privacy.android.data.cryptography
 
 import android.util.Base64
 import timber.log.Timber
-import javax.crypto.Cipher
-import javax.crypto.spec.SecretKeySpec
 import javax.inject.Inject
-import javax.inject.Named
 import javax.inject.Singleton
 
 @Suppress("RedundantSuspendModifier")
 @Singleton
 internal class EncryptData @Inject constructor(
-    @Named("aes_key") private val aesKey: ByteArray,
+    private val aesCipherProvider: AesCipherProvider,
 ) {
-    suspend operator fun invoke(data: String?) = data?.let {
+    suspend operator fun invoke(data: String?) = encrypt(data)
+
+    /**
+     * Encrypt all the given values in a single call, keeping their order
+     *
+     * @param data the values to encrypt
+     * @return the encrypted values, null for the values that are null or can not be encrypted
+     */
+    suspend operator fun invoke(data: List<String?>): List<String?> = data.map { encrypt(it) }
+
+    private fun encrypt(data: String?) = data?.let {
         runCatching {
-            val skeySpec = SecretKeySpec(aesKey, "AES")
-            val cipher = Cipher.getInstance("AES")
-            cipher.init(Cipher.ENCRYPT_MODE, skeySpec)
-            val encrypted = cipher.doFinal(it.toByteArray())
+            val encrypted = aesCipherProvider.encrypt(it.toByteArray())
             Base64.encodeToString(encrypted, Base64.DEFAULT)
         }.onFailure {
             Timber.e(it, "Error encrypting DB field")
         }.getOrNull()
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package mega.privacy.android.data.database
 
 import android.database.sqlite.SQLiteDatabase
+import kotlinx.coroutines.flow.StateFlow
 import mega.privacy.android.domain.entity.settings.ChatSettings
 import mega.privacy.android.data.model.MegaAttributes
 import mega.privacy.android.data.model.MegaPreferences
@@ -69,6 +70,11 @@ interface DatabaseHandler {
      */
     val preferences: MegaPreferences?
 
+    /**
+     * Preferences, emitting a new value every time they are saved.
+     */
+    val preferencesFlow: StateFlow<MegaPreferences?>
+
     /**
      * Save chat settings in the current DB.
      *
@@ -76,6 +82,11 @@ interface DatabaseHandler {
      */
     var chatSettings: ChatSettings?
 
+    /**
+     * Chat settings, emitting a new value every time they are saved.
+     */
+    val chatSettingsFlow: StateFlow<ChatSettings?>
+
     /**
      * Sets the chat video quality value.
      * There are four possible values for this setting: VIDEO_QUALITY_ORIGINAL, VIDEO_QUALITY_HIGH,
@@ -167,6 +178,16 @@ interface DatabaseHandler {
      */
     var attributes: MegaAttributes?
 
+    /**
+     * Attributes, emitting a new value every time they are saved.
+     */
+    val attributesFlow: StateFlow<MegaAttributes?>
+
+    /**
+     * Hit and miss counters of the preferences, attributes and chat settings snapshots.
+     */
+    val snapshotCacheMetrics: List<SnapshotCacheMetrics>
+
     /**
      * Gets the completed transfers which have as state cancelled or failed.
      *
@@ -176,9 +197,21 @@ interface DatabaseHandler {
 
     fun saveCredentials(userCredentials: UserCredentials)
     fun saveSyncRecord(record: SyncRecord)
+
+    /**
+     * Bulk counterpart of [saveSyncRecord], saving all the records in a single transaction
+     */
+    fun saveSyncRecords(records: List<SyncRecord>)
     fun updateVideoState(state: Int)
     fun fileNameExists(name: String?, isSecondary: Boolean, fileType: Int): Boolean
     fun localPathExists(localPath: String?, isSecondary: Boolean, fileType: Int): Boolean
+
+    /**
+     * Bulk counterpart of [localPathExists]
+     *
+     * @return the subset of [localPaths] for which [localPathExists] would return true
+     */
+    fun existingLocalPaths(localPaths: List<String>, isSecondary: Boolean, fileType: Int): Set<String>
     fun recordExists(
         originalFingerprint: String?,
         isSecondary: Boolean,
@@ -8,20 +8,24 @@ import androidx.sqlite.db.SupportSQLiteDatabase
 import mega.privacy.android.data.database.dao.ActiveTransferDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
+import mega.privacy.android.data.database.dao.MediaPlaybackInfoDao
 import mega.privacy.android.data.database.entity.ActiveTransferEntity
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
 import mega.privacy.android.data.database.entity.ContactEntity
+import mega.privacy.android.data.database.entity.MediaPlaybackInfoEntity
 
 @Database(
     entities = [
         ContactEntity::class,
         CompletedTransferEntity::class,
         ActiveTransferEntity::class,
+        MediaPlaybackInfoEntity::class,
     ],
     version = MegaDatabaseConstant.DATABASE_VERSION,
     exportSchema = true,
     autoMigrations = [
-        AutoMigration(69, 70)
+        AutoMigration(69, 70),
+        AutoMigration(70, 71),
     ],
 )
 internal abstract class MegaDatabase : RoomDatabase() {
@@ -31,6 +35,8 @@ internal abstract class MegaDatabase : RoomDatabase() {
 
     abstract fun activeTransfersDao(): ActiveTransferDao
 
+    abstract fun mediaPlaybackInfoDao(): MediaPlaybackInfoDao
+
     companion object {
         private val MIGRATION_67_68 = object : Migration(67, 68) {
             override fun migrate(database: SupportSQLiteDatabase) {
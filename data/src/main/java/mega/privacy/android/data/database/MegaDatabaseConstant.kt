@@ -8,7 +8,7 @@ object MegaDatabaseConstant {
     /**
      * Database Version
      */
-    const val DATABASE_VERSION = 70
+    const val DATABASE_VERSION = 71
 
     /**
      * Database Name
@@ -29,4 +29,9 @@ object MegaDatabaseConstant {
      * Table Active Transfers
      */
     const val TABLE_ACTIVE_TRANSFERS = "active_transfers"
+
+    /**
+     * Table Media Playback Info
+     */
+    const val TABLE_MEDIA_PLAYBACK_INFO = "media_playback_info"
 }
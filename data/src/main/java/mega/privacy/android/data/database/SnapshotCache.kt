@@ -0,0 +1,105 @@
+package mega.privacy.android.data.database
+
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * In-memory snapshot of a single-row table of the legacy database
+ *
+ * The snapshot is loaded on first access and kept until [refresh] or [invalidate] is called, so
+ * reads do not query and decrypt the row again. The stored objects are shared between callers,
+ * so they must not be modified; mutable types should be copied before they are handed out.
+ *
+ * @param name name of the cache, used in its [metrics]
+ * @param load loads the current value from the database
+ */
+class SnapshotCache<T>(
+    private val name: String,
+    private val load: () -> T?,
+) {
+    private val lock = Any()
+
+    @Volatile
+    private var isLoaded = false
+
+    private val state = MutableStateFlow<T?>(null)
+
+    private val hits = AtomicLong()
+
+    private val misses = AtomicLong()
+
+    /**
+     * Current snapshot as a [StateFlow], emitting a new value every time the snapshot is refreshed
+     *
+     * Getting the flow loads the snapshot if needed, but it is not counted as a hit.
+     */
+    val flow: StateFlow<T?>
+        get() {
+            loadIfNeeded()
+            return state.asStateFlow()
+        }
+
+    /**
+     * Hit and miss counters of the cache
+     */
+    val metrics: SnapshotCacheMetrics
+        get() = SnapshotCacheMetrics(name = name, hits = hits.get(), misses = misses.get())
+
+    /**
+     * Get the current snapshot, loading it if it is not loaded yet
+     */
+    fun get(): T? {
+        if (!loadIfNeeded()) hits.incrementAndGet()
+        return state.value
+    }
+
+    /**
+     * Load the snapshot if it is not loaded yet, counting the load as a miss
+     *
+     * @return true if the snapshot was loaded by this call
+     */
+    private fun loadIfNeeded(): Boolean {
+        if (isLoaded) return false
+        synchronized(lock) {
+            if (isLoaded) return false
+            misses.incrementAndGet()
+            state.value = load()
+            isLoaded = true
+            return true
+        }
+    }
+
+    /**
+     * Reload the snapshot from the database. Called after every write to the table
+     */
+    fun refresh() {
+        synchronized(lock) {
+            state.value = load()
+            isLoaded = true
+        }
+    }
+
+    /**
+     * Drop the snapshot, so the next access loads it again
+     */
+    fun invalidate() {
+        synchronized(lock) {
+            isLoaded = false
+        }
+    }
+}
+
+/**
+ * Hit and miss counters of a [SnapshotCache]
+ *
+ * @property name name of the cache
+ * @property hits number of reads served from the snapshot
+ * @property misses number of reads that had to load the snapshot from the database
+ */
+data class SnapshotCacheMetrics(
+    val name: String,
+    val hits: Long,
+    val misses: Long,
+)
@@ -0,0 +1,29 @@
+package mega.privacy.android.data.database.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import mega.privacy.android.data.database.entity.MediaPlaybackInfoEntity
+
+@Dao
+internal interface MediaPlaybackInfoDao {
+
+    @Query("SELECT * FROM media_playback_info WHERE media_handle = :mediaHandle")
+    suspend fun getMediaPlaybackInfo(mediaHandle: Long): MediaPlaybackInfoEntity?
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertOrUpdateMediaPlaybackInfos(entities: List<MediaPlaybackInfoEntity>)
+
+    @Query("UPDATE media_playback_info SET last_accessed = :lastAccessed WHERE media_handle = :mediaHandle")
+    suspend fun updateLastAccessed(mediaHandle: Long, lastAccessed: Long)
+
+    @Query("DELETE FROM media_playback_info WHERE media_handle = :mediaHandle")
+    suspend fun deleteMediaPlaybackInfo(mediaHandle: Long)
+
+    @Query("SELECT COUNT(*) FROM media_playback_info")
+    suspend fun getMediaPlaybackInfoCount(): Int
+
+    @Query("DELETE FROM media_playback_info WHERE media_handle IN (SELECT media_handle FROM media_playback_info ORDER BY last_accessed ASC LIMIT :count)")
+    suspend fun deleteOldestMediaPlaybackInfos(count: Int)
+}
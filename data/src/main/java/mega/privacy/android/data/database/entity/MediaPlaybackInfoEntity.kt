@@ -0,0 +1,31 @@
+package mega.privacy.android.data.database.entity
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import mega.privacy.android.data.database.MegaDatabaseConstant
+
+/**
+ * Entity to save the position where the playback of a media file stopped
+ *
+ * @param mediaHandle the handle of the media node
+ * @param totalDuration the total duration of the media
+ * @param currentPosition the position where the playback stopped
+ * @param lastAccessed the time the position was last saved or read, to remove the oldest ones
+ */
+@Entity(
+    MegaDatabaseConstant.TABLE_MEDIA_PLAYBACK_INFO,
+    indices = [Index(value = ["last_accessed"])]
+)
+internal data class MediaPlaybackInfoEntity(
+    @PrimaryKey
+    @ColumnInfo(name = "media_handle")
+    val mediaHandle: Long,
+    @ColumnInfo(name = "total_duration")
+    val totalDuration: Long,
+    @ColumnInfo(name = "current_position")
+    val currentPosition: Long,
+    @ColumnInfo(name = "last_accessed")
+    val lastAccessed: Long,
+)
@@ -13,6 +13,7 @@ import mega.privacy.android.data.database.MegaDatabaseConstant
 import mega.privacy.android.data.database.dao.ActiveTransferDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
+import mega.privacy.android.data.database.dao.MediaPlaybackInfoDao
 import javax.inject.Named
 import javax.inject.Singleton
 
@@ -42,6 +43,11 @@ internal object RoomDatabaseModule {
     internal fun provideActiveTransferDao(database: MegaDatabase): ActiveTransferDao =
         database.activeTransfersDao()
 
+    @Provides
+    @Singleton
+    internal fun provideMediaPlaybackInfoDao(database: MegaDatabase): MediaPlaybackInfoDao =
+        database.mediaPlaybackInfoDao()
+
     @Provides
     @Singleton
     @Named("aes_key")
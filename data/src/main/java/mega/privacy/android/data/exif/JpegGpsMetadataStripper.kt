@@ -0,0 +1,265 @@
+package mega.privacy.android.data.exif
+
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.EOFException
+import java.io.File
+import java.io.IOException
+import java.io.InputStream
+import java.io.OutputStream
+import java.util.concurrent.ConcurrentLinkedQueue
+import javax.inject.Inject
+
+/**
+ * Copies JPEG files removing their GPS metadata in a single read and a single write pass
+ *
+ * The Exif APP1 segment is rewritten in place, keeping its size so no other offset of the file
+ * changes: the GPS IFD pointer is removed from IFD0, and the GPS IFD entries and their values
+ * are zeroed. The rest of the file is copied verbatim through a pooled buffer.
+ */
+class JpegGpsMetadataStripper @Inject constructor() {
+
+    /**
+     * Copy [source] into [destination] without GPS metadata
+     *
+     * @param source the file to copy
+     * @param destination the copy to create
+     * @return true if the file was copied, false if its format is not supported. In that case the
+     * content of [destination] is undefined and the caller should fall back to another method
+     * @throws IOException if reading or writing fails
+     */
+    @Throws(IOException::class)
+    fun copyWithoutGpsMetadata(source: File, destination: File): Boolean =
+        source.inputStream().use { input ->
+            destination.outputStream().use { output ->
+                copyWithoutGpsMetadata(input, output)
+            }
+        }
+
+    /**
+     * Copy [input] into [output] without GPS metadata
+     *
+     * @return true if the stream was copied, false if its format is not supported
+     * @throws IOException if reading or writing fails
+     */
+    @Throws(IOException::class)
+    fun copyWithoutGpsMetadata(input: InputStream, output: OutputStream): Boolean {
+        val buffer = obtainBuffer()
+        try {
+            val bufferedInput = BufferedInputStream(input, BUFFER_SIZE)
+            val bufferedOutput = BufferedOutputStream(output, BUFFER_SIZE)
+            if (bufferedInput.read() != MARKER_PREFIX || bufferedInput.read() != MARKER_SOI) {
+                return false
+            }
+            bufferedOutput.write(MARKER_PREFIX)
+            bufferedOutput.write(MARKER_SOI)
+            if (!copySegments(bufferedInput, bufferedOutput, buffer)) return false
+            bufferedOutput.flush()
+            return true
+        } finally {
+            releaseBuffer(buffer)
+        }
+    }
+
+    /**
+     * Copy the segments up to the start of the image data, then the rest of the stream as is
+     */
+    private fun copySegments(input: InputStream, output: OutputStream, buffer: ByteArray): Boolean {
+        while (true) {
+            if (input.read() != MARKER_PREFIX) return false
+            var marker = input.read()
+            // Any number of fill bytes may precede a marker
+            while (marker == MARKER_PREFIX) marker = input.read()
+            if (marker < 0) return false
+            output.write(MARKER_PREFIX)
+            output.write(marker)
+            when {
+                marker == MARKER_SOS || marker == MARKER_EOI -> {
+                    copyRemaining(input, output, buffer)
+                    return true
+                }
+
+                marker in MARKER_RST0..MARKER_RST7 || marker == MARKER_TEM -> continue
+            }
+            val high = input.read()
+            val low = input.read()
+            if (high < 0 || low < 0) return false
+            val length = (high shl 8 or low) - 2
+            if (length < 0) return false
+            readFully(input, buffer, length)
+            if (marker == MARKER_APP1 && isExif(buffer, length)) {
+                val isStripped = try {
+                    stripGps(buffer, EXIF_HEADER.size, length)
+                } catch (e: MalformedExifException) {
+                    false
+                }
+                if (!isStripped) return false
+            }
+            output.write(high)
+            output.write(low)
+            output.write(buffer, 0, length)
+        }
+    }
+
+    private fun copyRemaining(input: InputStream, output: OutputStream, buffer: ByteArray) {
+        while (true) {
+            val read = input.read(buffer)
+            if (read < 0) return
+            output.write(buffer, 0, read)
+        }
+    }
+
+    private fun readFully(input: InputStream, buffer: ByteArray, length: Int) {
+        var offset = 0
+        while (offset < length) {
+            val read = input.read(buffer, offset, length - offset)
+            if (read < 0) throw EOFException("Truncated JPEG segment")
+            offset += read
+        }
+    }
+
+    private fun isExif(segment: ByteArray, length: Int) =
+        length >= EXIF_HEADER.size && EXIF_HEADER.indices.all { segment[it] == EXIF_HEADER[it] }
+
+    /**
+     * Remove the GPS IFD from the TIFF structure starting at [start] in [segment]
+     *
+     * @return false if the structure is malformed
+     */
+    private fun stripGps(segment: ByteArray, start: Int, end: Int): Boolean {
+        val tiff = TiffView(segment, start, end)
+        val littleEndian = when {
+            tiff.byte(0) == 'I'.code && tiff.byte(1) == 'I'.code -> true
+            tiff.byte(0) == 'M'.code && tiff.byte(1) == 'M'.code -> false
+            else -> return false
+        }
+        tiff.littleEndian = littleEndian
+        if (tiff.short(2) != TIFF_MAGIC) return false
+        val ifd0 = tiff.int(4)
+        val entryCount = tiff.short(ifd0)
+        if (!tiff.contains(ifd0, 2 + entryCount * IFD_ENTRY_SIZE + 4)) return false
+
+        val gpsEntryIndex = (0 until entryCount).firstOrNull {
+            tiff.short(entryOffset(ifd0, it)) == TAG_GPS_IFD
+        } ?: return true
+        val gpsIfd = tiff.int(entryOffset(ifd0, gpsEntryIndex) + 8)
+        wipeIfd(tiff, gpsIfd)
+
+        // Shift the following entries and the next IFD offset over the GPS pointer entry
+        val from = entryOffset(ifd0, gpsEntryIndex + 1)
+        val to = entryOffset(ifd0, gpsEntryIndex)
+        val moved = (entryCount - gpsEntryIndex - 1) * IFD_ENTRY_SIZE + 4
+        tiff.move(from, to, moved)
+        tiff.fill(to + moved, IFD_ENTRY_SIZE)
+        tiff.putShort(ifd0, entryCount - 1)
+        return true
+    }
+
+    /**
+     * Zero the entries of the IFD at [offset] and all the values they point to. Out of bounds
+     * values are ignored, as they can not be read either
+     */
+    private fun wipeIfd(tiff: TiffView, offset: Int) {
+        if (!tiff.contains(offset, 2)) return
+        val entryCount = tiff.short(offset)
+        if (!tiff.contains(offset, 2 + entryCount * IFD_ENTRY_SIZE + 4)) return
+        repeat(entryCount) {
+            val entry = entryOffset(offset, it)
+            val type = tiff.short(entry + 2)
+            val count = tiff.int(entry + 4).toLong() and 0xFFFFFFFFL
+            val size = count * (TYPE_SIZES.getOrNull(type) ?: 0)
+            if (size > 4) {
+                val valueOffset = tiff.int(entry + 8)
+                if (size <= Int.MAX_VALUE && tiff.contains(valueOffset, size.toInt())) {
+                    tiff.fill(valueOffset, size.toInt())
+                }
+            }
+        }
+        tiff.fill(offset, 2 + entryCount * IFD_ENTRY_SIZE + 4)
+    }
+
+    private fun entryOffset(ifd: Int, index: Int) = ifd + 2 + index * IFD_ENTRY_SIZE
+
+    /**
+     * Bounds checked view of a TIFF structure, with offsets relative to its header
+     */
+    private class TiffView(val bytes: ByteArray, val start: Int, val end: Int) {
+        var littleEndian = false
+
+        fun contains(offset: Int, size: Int) =
+            offset >= 0 && size >= 0 && start + offset.toLong() + size <= end
+
+        fun byte(offset: Int): Int {
+            if (!contains(offset, 1)) throw MalformedExifException()
+            return bytes[start + offset].toInt() and 0xFF
+        }
+
+        fun short(offset: Int): Int {
+            val first = byte(offset)
+            val second = byte(offset + 1)
+            return if (littleEndian) second shl 8 or first else first shl 8 or second
+        }
+
+        fun int(offset: Int): Int {
+            val first = short(offset)
+            val second = short(offset + 2)
+            return if (littleEndian) second shl 16 or first else first shl 16 or second
+        }
+
+        fun putShort(offset: Int, value: Int) {
+            if (!contains(offset, 2)) throw MalformedExifException()
+            val high = (value shr 8 and 0xFF).toByte()
+            val low = (value and 0xFF).toByte()
+            bytes[start + offset] = if (littleEndian) low else high
+            bytes[start + offset + 1] = if (littleEndian) high else low
+        }
+
+        fun move(from: Int, to: Int, size: Int) {
+            if (!contains(from, size) || !contains(to, size)) throw MalformedExifException()
+            System.arraycopy(bytes, start + from, bytes, start + to, size)
+        }
+
+        fun fill(offset: Int, size: Int) {
+            if (!contains(offset, size)) throw MalformedExifException()
+            bytes.fill(0, start + offset, start + offset + size)
+        }
+    }
+
+    private class MalformedExifException : IOException("Malformed Exif segment")
+
+    companion object {
+        private const val BUFFER_SIZE = 64 * 1024
+        private const val MAX_POOLED_BUFFERS = 4
+
+        private const val MARKER_PREFIX = 0xFF
+        private const val MARKER_SOI = 0xD8
+        private const val MARKER_EOI = 0xD9
+        private const val MARKER_SOS = 0xDA
+        private const val MARKER_APP1 = 0xE1
+        private const val MARKER_TEM = 0x01
+        private const val MARKER_RST0 = 0xD0
+        private const val MARKER_RST7 = 0xD7
+
+        private const val TIFF_MAGIC = 42
+        private const val TAG_GPS_IFD = 0x8825
+        private const val IFD_ENTRY_SIZE = 12
+
+        private val EXIF_HEADER = byteArrayOf(0x45, 0x78, 0x69, 0x66, 0x00, 0x00)
+
+        /**
+         * Size in bytes of each TIFF field type, indexed by type
+         */
+        private val TYPE_SIZES = intArrayOf(0, 1, 1, 2, 4, 8, 1, 1, 2, 4, 8, 4, 8).toList()
+
+        /**
+         * Buffers big enough for any JPEG segment, reused between copies
+         */
+        private val bufferPool = ConcurrentLinkedQueue<ByteArray>()
+
+        private fun obtainBuffer() = bufferPool.poll() ?: ByteArray(BUFFER_SIZE)
+
+        private fun releaseBuffer(buffer: ByteArray) {
+            if (bufferPool.size < MAX_POOLED_BUFFERS) bufferPool.offer(buffer)
+        }
+    }
+}
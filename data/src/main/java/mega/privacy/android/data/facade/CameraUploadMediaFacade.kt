@@ -7,10 +7,14 @@ import android.database.Cursor
 import android.net.Uri
 import android.os.Build
 import android.os.Bundle
+import android.provider.BaseColumns
 import android.provider.MediaStore
 import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
 import mega.privacy.android.data.gateway.CameraUploadMediaGateway
 import mega.privacy.android.domain.entity.CameraUploadMedia
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
 import nz.mega.sdk.MegaApiJava
 import timber.log.Timber
 import java.util.LinkedList
@@ -70,6 +74,78 @@ internal class CameraUploadMediaFacade @Inject constructor(
             Timber.d("Extract 0 Media - Cursor is NULL")
         }
 
+    override fun getMediaFlow(
+        uri: Uri,
+        parentPath: String?,
+        isVideo: Boolean,
+        selectionQuery: String?,
+        highWaterMark: MediaStoreHighWaterMark?,
+    ): Flow<CameraUploadMedia> = flow {
+        val selection = listOfNotNull(
+            selectionQuery?.takeIf { it.isNotBlank() },
+            highWaterMark?.toSelection(),
+        ).joinToString(separator = " AND ") { "($it)" }.ifEmpty { null }
+        createMediaCursor(parentPath, selection, getPageSize(isVideo), uri)?.use { cursor ->
+            Timber.d("Stream ${cursor.count} Media from Cursor")
+            @Suppress("DEPRECATION")
+            val dataColumn = cursor.getColumnIndexOrThrow(MediaStore.MediaColumns.DATA)
+            val addedColumn = cursor.getColumnIndexOrThrow(MediaStore.MediaColumns.DATE_ADDED)
+            val modifiedColumn =
+                cursor.getColumnIndexOrThrow(MediaStore.MediaColumns.DATE_MODIFIED)
+            while (cursor.moveToNext()) {
+                getUploadMediaFromCursor(
+                    cursor,
+                    dataColumn,
+                    addedColumn,
+                    modifiedColumn
+                ).takeIf {
+                    isFilePathValid(it, parentPath)
+                }?.let { emit(it) }
+            }
+        } ?: Timber.d("Stream 0 Media - Cursor is NULL")
+    }
+
+    override suspend fun getCurrentHighWaterMark(uri: Uri): MediaStoreHighWaterMark? =
+        runCatching {
+            val isGenerationSupported = Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            val volumeName = if (isGenerationSupported) MediaStore.getVolumeName(uri) else null
+            MediaStoreHighWaterMark(
+                mediaStoreVersion = volumeName?.let { MediaStore.getVersion(context, it) },
+                generation = volumeName?.let { MediaStore.getGeneration(context, it) },
+                id = getMaxColumnValue(uri, BaseColumns._ID),
+                modifiedTime = getMaxColumnValue(uri, MediaStore.MediaColumns.DATE_MODIFIED),
+            )
+        }.onFailure {
+            Timber.e(it, "Unable to retrieve the media store high water mark")
+        }.getOrNull()
+
+    /**
+     * Get the highest value of a numeric column, reading a single row
+     */
+    private fun getMaxColumnValue(uri: Uri, column: String): Long {
+        val sortOrder = "$column DESC"
+        val cursor = if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            val args = Bundle().apply {
+                putString(ContentResolver.QUERY_ARG_SQL_SORT_ORDER, sortOrder)
+                putInt(ContentResolver.QUERY_ARG_LIMIT, 1)
+            }
+            context.contentResolver?.query(uri, arrayOf(column), args, null)
+        } else {
+            context.contentResolver?.query(uri, arrayOf(column), null, null, "$sortOrder LIMIT 1")
+        }
+        return cursor?.use { if (it.moveToFirst()) it.getLong(0) else 0L } ?: 0L
+    }
+
+    /**
+     * Selection matching the media added or modified after the high water mark
+     */
+    private fun MediaStoreHighWaterMark.toSelection(): String =
+        if (generation != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            "${MediaStore.MediaColumns.GENERATION_MODIFIED} > $generation"
+        } else {
+            "${BaseColumns._ID} > $id OR ${MediaStore.MediaColumns.DATE_MODIFIED} > $modifiedTime"
+        }
+
     override suspend fun sendUpdateFolderIconBroadcast(
         nodeHandle: Long,
         isSecondary: Boolean,
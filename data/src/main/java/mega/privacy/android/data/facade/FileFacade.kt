@@ -19,6 +19,7 @@ import androidx.exifinterface.media.ExifInterface
 import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.exif.JpegGpsMetadataStripper
 import mega.privacy.android.data.gateway.FileGateway
 import mega.privacy.android.domain.exception.FileNotCreatedException
 import mega.privacy.android.domain.exception.NotEnoughStorageException
@@ -42,6 +43,7 @@ const val INTENT_EXTRA_NODE_HANDLE = "NODE_HANDLE"
  */
 class FileFacade @Inject constructor(
     @ApplicationContext private val context: Context,
+    private val jpegGpsMetadataStripper: JpegGpsMetadataStripper,
 ) : FileGateway {
 
     override val localDCIMFolderPath: String
@@ -197,6 +199,41 @@ class FileFacade @Inject constructor(
     }
 
     override suspend fun createTempFile(rootPath: String, localPath: String, newPath: String) {
+        val srcFile = getTempFileSource(rootPath, localPath)
+        val destinationFile = File(newPath)
+        try {
+            copyFile(srcFile, destinationFile)
+        } catch (e: IOException) {
+            Timber.e(e)
+            throw FileNotCreatedException()
+        }
+    }
+
+    override suspend fun createTempFileWithoutGpsCoordinates(
+        rootPath: String,
+        localPath: String,
+        newPath: String,
+    ) {
+        val srcFile = getTempFileSource(rootPath, localPath)
+        val destinationFile = File(newPath)
+        val isStripped = withContext(Dispatchers.IO) {
+            runCatching {
+                jpegGpsMetadataStripper.copyWithoutGpsMetadata(srcFile, destinationFile)
+            }.onFailure { Timber.w(it, "Streaming GPS removal failed") }.getOrDefault(false)
+        }
+        if (!isStripped) {
+            // Not a supported format, copy the file and rewrite its Exif attributes instead
+            try {
+                copyFile(srcFile, destinationFile)
+            } catch (e: IOException) {
+                Timber.e(e)
+                throw FileNotCreatedException()
+            }
+            removeGPSCoordinates(newPath)
+        }
+    }
+
+    private suspend fun getTempFileSource(rootPath: String, localPath: String): File {
         val srcFile = File(localPath)
         if (!srcFile.exists()) {
             Timber.e("Source File doesn't exist")
@@ -207,13 +244,7 @@ class FileFacade @Inject constructor(
             Timber.e("Not Enough Storage")
             throw NotEnoughStorageException()
         }
-        val destinationFile = File(newPath)
-        try {
-            copyFile(srcFile, destinationFile)
-        } catch (e: IOException) {
-            Timber.e(e)
-            throw FileNotCreatedException()
-        }
+        return srcFile
     }
 
     override suspend fun hasEnoughStorage(rootPath: String, file: File) =
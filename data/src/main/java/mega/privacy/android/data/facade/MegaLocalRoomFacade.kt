@@ -6,14 +6,18 @@ import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.dao.ActiveTransferDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
+import mega.privacy.android.data.database.dao.MediaPlaybackInfoDao
 import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
+import mega.privacy.android.data.mapper.mediaplayer.MediaPlaybackInfoEntityMapper
+import mega.privacy.android.data.mapper.mediaplayer.PlaybackInformationMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferModelMapper
 import mega.privacy.android.domain.entity.Contact
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
 import mega.privacy.android.domain.entity.transfer.TransferType
 import javax.inject.Inject
@@ -29,6 +33,9 @@ internal class MegaLocalRoomFacade @Inject constructor(
     private val activeTransferEntityMapper: ActiveTransferEntityMapper,
     private val activeTransferTotalsMapper: ActiveTransferTotalsMapper,
     private val encryptData: EncryptData,
+    private val mediaPlaybackInfoDao: MediaPlaybackInfoDao,
+    private val playbackInformationMapper: PlaybackInformationMapper,
+    private val mediaPlaybackInfoEntityMapper: MediaPlaybackInfoEntityMapper,
 ) : MegaLocalRoomGateway {
     override suspend fun insertContact(contact: Contact) {
         contactDao.insertOrUpdateContact(contactEntityMapper(contact))
@@ -128,4 +135,29 @@ internal class MegaLocalRoomFacade @Inject constructor(
     override suspend fun getCurrentActiveTransferTotalsByType(transferType: TransferType) =
         activeTransferTotalsMapper(activeTransferDao.getCurrentTotalsByType(transferType))
 
+    override suspend fun getPlaybackInformation(mediaHandle: Long) =
+        mediaPlaybackInfoDao.getMediaPlaybackInfo(mediaHandle)?.let {
+            mediaPlaybackInfoDao.updateLastAccessed(mediaHandle, System.currentTimeMillis())
+            playbackInformationMapper(it)
+        }
+
+    override suspend fun insertOrUpdatePlaybackInformation(
+        playbackInformation: List<PlaybackInformation>,
+        maxCount: Int,
+    ) {
+        val lastAccessed = System.currentTimeMillis()
+        val entities = playbackInformation.mapNotNull {
+            mediaPlaybackInfoEntityMapper(it, lastAccessed)
+        }
+        if (entities.isNotEmpty()) {
+            mediaPlaybackInfoDao.insertOrUpdateMediaPlaybackInfos(entities)
+        }
+        val exceeding = mediaPlaybackInfoDao.getMediaPlaybackInfoCount() - maxCount
+        if (exceeding > 0) {
+            mediaPlaybackInfoDao.deleteOldestMediaPlaybackInfos(exceeding)
+        }
+    }
+
+    override suspend fun deletePlaybackInformation(mediaHandle: Long) =
+        mediaPlaybackInfoDao.deleteMediaPlaybackInfo(mediaHandle)
 }
@@ -150,8 +150,17 @@ internal class MegaLocalStorageFacade @Inject constructor(
     ): Boolean =
         dbHandler.localPathExists(fileName, isSecondary, type)
 
+    override suspend fun getExistingLocalPaths(
+        localPaths: List<String>,
+        isSecondary: Boolean,
+        type: Int,
+    ): Set<String> = dbHandler.existingLocalPaths(localPaths, isSecondary, type)
+
     override suspend fun saveSyncRecord(record: SyncRecord) = dbHandler.saveSyncRecord(record)
 
+    override suspend fun saveSyncRecords(records: List<SyncRecord>) =
+        dbHandler.saveSyncRecords(records)
+
     override suspend fun getPhotoTimeStamp() = dbHandler.preferences?.camSyncTimeStamp
 
     override suspend fun getSecondaryPhotoTimeStamp() = dbHandler.preferences?.secSyncTimeStamp
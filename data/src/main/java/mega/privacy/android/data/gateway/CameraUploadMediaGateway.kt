@@ -1,7 +1,9 @@
 package mega.privacy.android.data.gateway
 
 import android.net.Uri
+import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.domain.entity.CameraUploadMedia
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
 import java.util.Queue
 
 /**
@@ -26,6 +28,34 @@ interface CameraUploadMediaGateway {
         selectionQuery: String?,
     ): Queue<CameraUploadMedia>
 
+    /**
+     * Stream the media for a given media type, reading the cursor row by row
+     *
+     * @param uri different media store file type
+     * @param parentPath local path of camera upload
+     * @param isVideo if camera upload media is video
+     * @param selectionQuery db query
+     * @param highWaterMark if not null, only the media added or modified after it are streamed
+     *
+     * @return flow of camera upload media
+     */
+    fun getMediaFlow(
+        uri: Uri,
+        parentPath: String?,
+        isVideo: Boolean,
+        selectionQuery: String?,
+        highWaterMark: MediaStoreHighWaterMark?,
+    ): Flow<CameraUploadMedia>
+
+    /**
+     * Get the current high water mark of the media store for a given media type
+     *
+     * @param uri different media store file type
+     *
+     * @return the current [MediaStoreHighWaterMark], or null if it can not be retrieved
+     */
+    suspend fun getCurrentHighWaterMark(uri: Uri): MediaStoreHighWaterMark?
+
     /**
      * Update camera upload folder (node list) icon
      *
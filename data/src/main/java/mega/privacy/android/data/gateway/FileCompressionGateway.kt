@@ -12,6 +12,16 @@ interface FileCompressionGateway {
      *
      * @param sourceFolder
      * @param zipFile
+     * @param onProgress Called with the progress, from 0 to 1, every time a file is zipped
      */
-    suspend fun zipFolder(sourceFolder: File, zipFile: File)
+    suspend fun zipFolder(sourceFolder: File, zipFile: File, onProgress: (Float) -> Unit = {})
+
+    /**
+     * Zip files, all of them at the root of the zip file
+     *
+     * @param files
+     * @param zipFile
+     * @param onProgress Called with the progress, from 0 to 1, every time a file is zipped
+     */
+    suspend fun zipFiles(files: List<File>, zipFile: File, onProgress: (Float) -> Unit = {})
 }
\ No newline at end of file
@@ -125,6 +125,21 @@ interface FileGateway {
     @Throws(IOException::class)
     suspend fun createTempFile(rootPath: String, localPath: String, newPath: String)
 
+    /**
+     * Same as [createTempFile], removing the GPS coordinates of the copy while it is created
+     *
+     * @param rootPath root path.
+     * @param localPath  local path of the file.
+     * @param newPath new path of the file.
+     * @throws IOException if some error happens while creating.
+     */
+    @Throws(IOException::class)
+    suspend fun createTempFileWithoutGpsCoordinates(
+        rootPath: String,
+        localPath: String,
+        newPath: String,
+    )
+
     /**
      * check enough storage availability
      *
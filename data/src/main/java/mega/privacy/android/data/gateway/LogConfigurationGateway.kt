@@ -14,6 +14,12 @@ interface LogConfigurationGateway {
      */
     suspend fun resetLoggingConfiguration()
 
+    /**
+     * Wait until the messages queued by the logging configuration are written to the log files
+     *
+     */
+    suspend fun flushLogs()
+
     /**
      * Get logging directory path
      *
@@ -4,8 +4,10 @@ import android.content.Context
 import android.util.Xml
 import ch.qos.logback.classic.LoggerContext
 import ch.qos.logback.classic.joran.JoranConfigurator
+import ch.qos.logback.core.AsyncAppenderBase
 import ch.qos.logback.core.joran.spi.JoranException
 import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.delay
 import org.slf4j.LoggerFactory
 import org.xmlpull.v1.XmlPullParser
 import org.xmlpull.v1.XmlPullParserException
@@ -42,6 +44,24 @@ class LogbackLogConfigurationGateway @Inject constructor(@ApplicationContext pri
         }
     }
 
+    /**
+     * The async appenders have no flush, so this waits for their queues to be empty, for
+     * [MAX_FLUSH_TIME_MILLIS] at most. The file appenders write every message as soon as they get
+     * it. The messages are not lost while waiting, unlike when the configuration is reset.
+     */
+    override suspend fun flushLogs() {
+        val loggingContext = LoggerFactory.getILoggerFactory() as LoggerContext
+        val asyncAppenders = loggingContext.loggerList
+            .flatMap { it.iteratorForAppenders().asSequence().toList() }
+            .filterIsInstance<AsyncAppenderBase<*>>()
+        val deadline = System.currentTimeMillis() + MAX_FLUSH_TIME_MILLIS
+        while (asyncAppenders.any { it.numberOfElementsInQueue > 0 }
+            && System.currentTimeMillis() < deadline
+        ) {
+            delay(FLUSH_POLL_INTERVAL_MILLIS)
+        }
+    }
+
     @Throws(XmlPullParserException::class, IOException::class)
     override suspend fun getLoggingDirectoryPath(): String? {
         val loggingConfiguration = context.assets.open("logback.xml")
@@ -98,4 +118,9 @@ class LogbackLogConfigurationGateway @Inject constructor(@ApplicationContext pri
             }
         }
     }
+
+    companion object {
+        private const val MAX_FLUSH_TIME_MILLIS = 5000L
+        private const val FLUSH_POLL_INTERVAL_MILLIS = 20L
+    }
 }
\ No newline at end of file
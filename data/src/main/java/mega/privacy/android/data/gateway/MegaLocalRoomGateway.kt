@@ -2,6 +2,7 @@ package mega.privacy.android.data.gateway
 
 import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.domain.entity.Contact
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
 import mega.privacy.android.domain.entity.transfer.ActiveTransfer
 import mega.privacy.android.domain.entity.transfer.ActiveTransferTotals
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
@@ -159,5 +160,31 @@ interface MegaLocalRoomGateway {
      */
     suspend fun getCurrentActiveTransferTotalsByType(transferType: TransferType): ActiveTransferTotals
 
+    /**
+     * Get the playback information of a media, marking it as the most recently used
+     *
+     * @param mediaHandle the handle of the media node
+     * @return the playback information, null if there is none
+     */
+    suspend fun getPlaybackInformation(mediaHandle: Long): PlaybackInformation?
+
+    /**
+     * Insert or update playback information, removing the least recently used ones when there
+     * are more than [maxCount]
+     *
+     * @param playbackInformation the playback information to save
+     * @param maxCount the maximum number of playback information kept
+     */
+    suspend fun insertOrUpdatePlaybackInformation(
+        playbackInformation: List<PlaybackInformation>,
+        maxCount: Int,
+    )
+
+    /**
+     * Delete the playback information of a media
+     *
+     * @param mediaHandle the handle of the media node
+     */
+    suspend fun deletePlaybackInformation(mediaHandle: Long)
 
 }
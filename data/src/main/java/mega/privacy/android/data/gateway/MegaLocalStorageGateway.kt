@@ -190,11 +190,25 @@ interface MegaLocalStorageGateway {
         type: Int,
     ): Boolean
 
+    /**
+     * Get the local paths, among the given ones, that exist in the sync records
+     */
+    suspend fun getExistingLocalPaths(
+        localPaths: List<String>,
+        isSecondary: Boolean,
+        type: Int,
+    ): Set<String>
+
     /**
      * Save sync record
      */
     suspend fun saveSyncRecord(record: SyncRecord)
 
+    /**
+     * Save sync records in a single transaction
+     */
+    suspend fun saveSyncRecords(records: List<SyncRecord>)
+
     /**
      * Get photo time stamp
      */
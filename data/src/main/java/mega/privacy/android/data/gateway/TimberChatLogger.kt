@@ -1,5 +1,6 @@
 package mega.privacy.android.data.gateway
 
+import mega.privacy.android.data.logging.LoggerCallSite
 import nz.mega.sdk.MegaApiAndroid
 import nz.mega.sdk.MegaChatLoggerInterface
 import timber.log.Timber
@@ -12,14 +13,16 @@ import javax.inject.Inject
  */
 internal class TimberChatLogger @Inject constructor() : MegaChatLoggerInterface {
     override fun log(loglevel: Int, message: String?) {
-        when (loglevel) {
-            MegaApiAndroid.LOG_LEVEL_MAX -> Timber.v(message)
-            MegaApiAndroid.LOG_LEVEL_DEBUG -> Timber.d(message)
-            MegaApiAndroid.LOG_LEVEL_INFO -> Timber.i(message)
-            MegaApiAndroid.LOG_LEVEL_WARNING -> Timber.w(message)
-            MegaApiAndroid.LOG_LEVEL_ERROR,
-            MegaApiAndroid.LOG_LEVEL_FATAL,
-            -> Timber.e(message)
+        LoggerCallSite.from(TimberChatLogger::class.java) {
+            when (loglevel) {
+                MegaApiAndroid.LOG_LEVEL_MAX -> Timber.v(message)
+                MegaApiAndroid.LOG_LEVEL_DEBUG -> Timber.d(message)
+                MegaApiAndroid.LOG_LEVEL_INFO -> Timber.i(message)
+                MegaApiAndroid.LOG_LEVEL_WARNING -> Timber.w(message)
+                MegaApiAndroid.LOG_LEVEL_ERROR,
+                MegaApiAndroid.LOG_LEVEL_FATAL,
+                -> Timber.e(message)
+            }
         }
     }
 }
\ No newline at end of file
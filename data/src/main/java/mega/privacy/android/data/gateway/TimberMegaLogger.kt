@@ -1,6 +1,7 @@
 package mega.privacy.android.data.gateway
 
 import android.util.Log
+import mega.privacy.android.data.logging.LoggerCallSite
 import nz.mega.sdk.MegaApiAndroid
 import nz.mega.sdk.MegaLoggerInterface
 import timber.log.Timber
@@ -15,11 +16,13 @@ import javax.inject.Inject
  */
 internal class TimberMegaLogger @Inject constructor() : MegaLoggerInterface {
     override fun log(time: String, logLevel: Int, source: String, message: String) {
-        Timber.tag("[sdk]")
-        Timber.log(
-            priority = getPriority(logLevel),
-            message = "$message ${getSource(source)}",
-        )
+        LoggerCallSite.from(TimberMegaLogger::class.java) {
+            Timber.tag("[sdk]")
+            Timber.log(
+                priority = getPriority(logLevel),
+                message = "$message ${getSource(source)}",
+            )
+        }
     }
 
     private fun getPriority(logLevel: Int): Int {
@@ -1,10 +1,23 @@
 package mega.privacy.android.data.gateway
 
-import java.io.BufferedInputStream
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import mega.privacy.android.data.compression.zip.ZipArchiveWriter
+import mega.privacy.android.domain.qualifier.DefaultDispatcher
+import mega.privacy.android.domain.qualifier.IoDispatcher
 import java.io.BufferedOutputStream
+import java.io.ByteArrayOutputStream
 import java.io.File
 import java.io.FileInputStream
 import java.io.FileOutputStream
+import java.util.zip.CRC32
+import java.util.zip.Deflater
+import java.util.zip.DeflaterOutputStream
 import java.util.zip.ZipEntry
 import java.util.zip.ZipOutputStream
 import javax.inject.Inject
@@ -12,80 +25,260 @@ import javax.inject.Inject
 /**
  * File compression gateway implements [FileCompressionGateway]
  *
+ * The files are deflated in parallel on the default dispatcher and written to the zip file in
+ * order as soon as they are ready. Only a few small files are kept compressed in memory, bigger
+ * ones are deflated to temporary files next to the zip file. Already compressed files, such as
+ * images, videos or archives, are stored without compression.
  */
-internal class ZipFileCompressionGateway @Inject constructor() : FileCompressionGateway {
+internal class ZipFileCompressionGateway @Inject constructor(
+    @DefaultDispatcher private val defaultDispatcher: CoroutineDispatcher,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
+) : FileCompressionGateway {
+
+    companion object {
+        private const val BUFFER_SIZE = 64 * 1024
+        private val MAX_PENDING_ENTRIES = Runtime.getRuntime().availableProcessors()
+        private const val MAX_IN_MEMORY_ENTRY_SIZE = 4L * 1024 * 1024
+        private const val TEMPORARY_FOLDER_SUFFIX = ".entries"
+
+        private val INCOMPRESSIBLE_EXTENSIONS = setOf(
+            "jpg", "jpeg", "png", "gif", "webp", "heic", "heif",
+            "mp4", "m4v", "mov", "mkv", "webm", "3gp",
+            "mp3", "m4a", "aac", "ogg", "opus", "flac",
+            "zip", "gz", "tgz", "bz2", "xz", "7z", "rar", "apk",
+        )
+    }
+
+    /**
+     * File to add to the zip file
+     *
+     * @property file The file or folder
+     * @property name Name of the zip entry, ending with "/" for folders
+     */
+    private class ZipSource(val file: File, val name: String)
+
+    /**
+     * Content of a file read by a worker. The file has to be stored if it has no deflated content.
+     *
+     * @property crc CRC-32 of the content
+     * @property size Size of the content
+     * @property deflatedData The deflated content of a small file, or null
+     * @property deflatedFile Temporary file with the deflated content of a big file, or null
+     */
+    private class CompressedContent(
+        val crc: Long,
+        val size: Long,
+        val deflatedData: ByteArray? = null,
+        val deflatedFile: File? = null,
+    )
 
     @Throws(AssertionError::class)
-    override suspend fun zipFolder(sourceFolder: File, zipFile: File) {
+    override suspend fun zipFolder(
+        sourceFolder: File,
+        zipFile: File,
+        onProgress: (Float) -> Unit,
+    ) {
         assert(sourceFolder.isDirectory) { "Only pass directories as the source folder" }
 
-        ZipOutputStream(BufferedOutputStream(FileOutputStream(zipFile))).use {
-            zipRecursively(it, sourceFolder, "")
-        }
+        val sources = sourceFolder.walkTopDown()
+            .filter { it != sourceFolder }
+            .map { file ->
+                val path = file.relativeTo(sourceFolder).invariantSeparatorsPath
+                ZipSource(file, if (file.isDirectory) "$path/" else path)
+            }
+            .toList()
+        zip(sources, zipFile, onProgress)
     }
 
-    private fun zipRecursively(
-        zipOutputStream: ZipOutputStream,
-        sourceDirectory: File,
-        parentDirectory: String,
+    override suspend fun zipFiles(
+        files: List<File>,
+        zipFile: File,
+        onProgress: (Float) -> Unit,
     ) {
-        val data = ByteArray(2048)
+        zip(files.map { ZipSource(it, it.name) }, zipFile, onProgress)
+    }
+
+    private suspend fun zip(sources: List<ZipSource>, zipFile: File, onProgress: (Float) -> Unit) {
+        val files = sources.filterNot { it.name.endsWith("/") }
+        val totalSize = files.sumOf { it.file.length() }
+        val archiveSize = totalSize + sources.sumOf {
+            ZipArchiveWriter.ENTRY_HEADERS_SIZE + 2L * it.name.length
+        }
 
-        sourceDirectory.listFiles()?.forEach { f ->
-            if (f.isDirectory) {
-                zipInternalFolder(parentDirectory, f, zipOutputStream)
+        withContext(ioDispatcher) {
+            if (archiveSize < ZipArchiveWriter.MAX_ARCHIVE_SIZE
+                && sources.size < ZipArchiveWriter.MAX_ENTRIES
+            ) {
+                zipInParallel(sources, zipFile, totalSize, onProgress)
             } else {
-                zipInternalFile(f, parentDirectory, zipOutputStream, data)
+                // Too big for an archive without ZIP64
+                zipSerially(sources, zipFile, totalSize, onProgress)
             }
         }
-
-        zipOutputStream.closeEntry()
-        zipOutputStream.close()
     }
 
-    private fun zipInternalFolder(
-        parentDirectory: String,
-        folder: File,
-        zipOutputStream: ZipOutputStream,
+    private suspend fun zipInParallel(
+        sources: List<ZipSource>,
+        zipFile: File,
+        totalSize: Long,
+        onProgress: (Float) -> Unit,
     ) {
-        val path = if (parentDirectory == "") {
-            folder.name + File.separator
-        } else {
-            parentDirectory + File.separator + folder.name + File.separator
+        val temporaryFolder = File(zipFile.parentFile, zipFile.name + TEMPORARY_FOLDER_SUFFIX)
+        temporaryFolder.mkdirs()
+        try {
+            writeInParallel(sources, zipFile, temporaryFolder, totalSize, onProgress)
+        } finally {
+            temporaryFolder.deleteRecursively()
         }
-        createZipEntry(path, folder, zipOutputStream)
-        zipRecursively(zipOutputStream, folder, folder.name)
     }
 
-    private fun zipInternalFile(
-        file: File,
-        parentDirectory: String,
-        zipOutputStream: ZipOutputStream,
-        data: ByteArray,
-    ) {
-        FileInputStream(file).use {
-            BufferedInputStream(it).use { stream ->
-                val path = parentDirectory + File.separator + file.name
-                createZipEntry(path, file, zipOutputStream)
-                while (true) {
-                    val readBytes = stream.read(data)
-                    if (readBytes == -1) {
-                        break
+    private suspend fun writeInParallel(
+        sources: List<ZipSource>,
+        zipFile: File,
+        temporaryFolder: File,
+        totalSize: Long,
+        onProgress: (Float) -> Unit,
+    ) = coroutineScope {
+        val pendingContents = Channel<Deferred<CompressedContent>>(MAX_PENDING_ENTRIES)
+        launch {
+            sources.forEach { source ->
+                pendingContents.send(async(defaultDispatcher) {
+                    compress(source.file, temporaryFolder)
+                })
+            }
+            pendingContents.close()
+        }
+
+        val buffer = ByteArray(BUFFER_SIZE)
+        var zippedSize = 0L
+        val outputStream = BufferedOutputStream(FileOutputStream(zipFile), BUFFER_SIZE)
+        ZipArchiveWriter(outputStream).use { writer ->
+            sources.forEach { source ->
+                val content = pendingContents.receive().await()
+                val time = source.file.lastModified()
+                when {
+                    source.file.isDirectory -> writer.writeDirectory(source.name, time)
+                    content.deflatedData != null -> writer.writeDeflated(
+                        source.name, time, content.crc, content.size, content.deflatedData
+                    )
+
+                    content.deflatedFile != null -> {
+                        FileInputStream(content.deflatedFile).use { stream ->
+                            writer.writeDeflated(
+                                source.name,
+                                time,
+                                content.crc,
+                                content.size,
+                                content.deflatedFile.length(),
+                                stream,
+                                buffer
+                            )
+                        }
+                        content.deflatedFile.delete()
+                    }
+
+                    else -> FileInputStream(source.file).use { stream ->
+                        writer.writeStored(
+                            source.name, time, content.crc, content.size, stream, buffer
+                        )
                     }
-                    zipOutputStream.write(data, 0, readBytes)
                 }
+                zippedSize += content.size
+                onProgress(getProgress(zippedSize, totalSize))
             }
         }
     }
 
-    private fun createZipEntry(
-        path: String,
-        file: File,
-        zipOutputStream: ZipOutputStream,
+    /**
+     * Reads a file computing its CRC-32 and deflates it, unless it is already compressed or it
+     * does not get any smaller. Files bigger than [MAX_IN_MEMORY_ENTRY_SIZE] are deflated to a
+     * temporary file in [temporaryFolder].
+     */
+    private fun compress(file: File, temporaryFolder: File): CompressedContent {
+        if (file.isDirectory) return CompressedContent(crc = 0, size = 0)
+
+        val crc = CRC32()
+        val buffer = ByteArray(BUFFER_SIZE)
+        var size = 0L
+
+        if (file.extension.lowercase() in INCOMPRESSIBLE_EXTENSIONS) {
+            FileInputStream(file).use { stream ->
+                var count: Int
+                while (stream.read(buffer).also { count = it } != -1) {
+                    crc.update(buffer, 0, count)
+                    size += count
+                }
+            }
+            return CompressedContent(crc.value, size)
+        }
+
+        val deflatedFile = if (file.length() > MAX_IN_MEMORY_ENTRY_SIZE) {
+            File.createTempFile("entry", null, temporaryFolder)
+        } else null
+        val deflatedData = if (deflatedFile == null) ByteArrayOutputStream() else null
+        val deflatedOutput = deflatedData
+            ?: BufferedOutputStream(FileOutputStream(deflatedFile), BUFFER_SIZE)
+        val deflater = Deflater(Deflater.DEFAULT_COMPRESSION, true)
+        try {
+            FileInputStream(file).use { stream ->
+                DeflaterOutputStream(deflatedOutput, deflater, BUFFER_SIZE).use { deflaterStream ->
+                    var count: Int
+                    while (stream.read(buffer).also { count = it } != -1) {
+                        crc.update(buffer, 0, count)
+                        deflaterStream.write(buffer, 0, count)
+                        size += count
+                    }
+                }
+            }
+        } catch (e: Exception) {
+            deflatedFile?.delete()
+            throw e
+        } finally {
+            deflater.end()
+        }
+
+        val compressedSize = deflatedData?.size()?.toLong() ?: deflatedFile?.length() ?: 0L
+        if (compressedSize >= size) {
+            deflatedFile?.delete()
+            return CompressedContent(crc.value, size)
+        }
+        return CompressedContent(
+            crc = crc.value,
+            size = size,
+            deflatedData = deflatedData?.toByteArray(),
+            deflatedFile = deflatedFile,
+        )
+    }
+
+    private fun zipSerially(
+        sources: List<ZipSource>,
+        zipFile: File,
+        totalSize: Long,
+        onProgress: (Float) -> Unit,
     ) {
-        val entry = ZipEntry(path)
-        entry.time = file.lastModified()
-        entry.size = file.length()
-        zipOutputStream.putNextEntry(entry)
+        val buffer = ByteArray(BUFFER_SIZE)
+        var zippedSize = 0L
+
+        val outputStream = BufferedOutputStream(FileOutputStream(zipFile), BUFFER_SIZE)
+        ZipOutputStream(outputStream).use { zipOutputStream ->
+            sources.forEach { source ->
+                val entry = ZipEntry(source.name).apply { time = source.file.lastModified() }
+                zipOutputStream.putNextEntry(entry)
+                if (!source.file.isDirectory) {
+                    FileInputStream(source.file).use { stream ->
+                        var count: Int
+                        while (stream.read(buffer).also { count = it } != -1) {
+                            zipOutputStream.write(buffer, 0, count)
+                            zippedSize += count
+                        }
+                    }
+                }
+                zipOutputStream.closeEntry()
+                onProgress(getProgress(zippedSize, totalSize))
+            }
+        }
     }
-}
\ No newline at end of file
+
+    private fun getProgress(zippedSize: Long, totalSize: Long) =
+        if (totalSize > 0) (zippedSize.toFloat() / totalSize).coerceAtMost(1f) else 1f
+}
@@ -1,5 +1,7 @@
 package mega.privacy.android.data.gateway.preferences
 
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
+
 /**
  * Last Camera Timestamps Preference Gateway
  */
@@ -63,4 +65,18 @@ interface CameraTimestampsPreferenceGateway {
      * Clear Secondary Sync Records from Preference
      */
     suspend fun clearSecondaryCameraSyncRecords()
+
+    /**
+     * @param key identifier of the media type and folder
+     * @return [MediaStoreHighWaterMark] of the last media store scan, or null if none
+     */
+    suspend fun getMediaStoreHighWaterMark(key: String): MediaStoreHighWaterMark?
+
+    /**
+     * Save the high water mark of the last media store scan
+     *
+     * @param key identifier of the media type and folder
+     * @param highWaterMark [MediaStoreHighWaterMark]
+     */
+    suspend fun setMediaStoreHighWaterMark(key: String, highWaterMark: MediaStoreHighWaterMark)
 }
@@ -0,0 +1,42 @@
+package mega.privacy.android.data.logging
+
+import java.io.File
+import javax.inject.Inject
+
+/**
+ * Selects the log files added to a log export
+ *
+ * The newest file of every log family (the SDK log, the chat log...) is selected first, then the
+ * rest of the files from the newest, as long as they fit. A file that doesn't fit is skipped, so
+ * the size of the export does not grow with the log history.
+ */
+internal class ExportedLogFilesSelector @Inject constructor() {
+
+    /**
+     * Invoke
+     *
+     * @param loggingDirectory the directory with the log files
+     * @param maxSize the maximum total size of the selected files
+     * @return the selected files, the newest first
+     */
+    operator fun invoke(loggingDirectory: File, maxSize: Long): List<File> {
+        val newestFirst = loggingDirectory.listFiles { file -> file.isFile }.orEmpty()
+            .sortedByDescending { it.lastModified() }
+        val selected = HashSet<File>()
+        var totalSize = 0L
+        (newestFirst.distinctBy { it.logFamily } + newestFirst).forEach { file ->
+            val size = file.length()
+            if (file !in selected && totalSize + size <= maxSize) {
+                selected.add(file)
+                totalSize += size
+            }
+        }
+        return newestFirst.filter { it in selected }
+    }
+
+    /**
+     * Name of the log the file belongs to, like "log" for "log.txt" and its rolled over files
+     */
+    private val File.logFamily: String
+        get() = name.substringBefore('.')
+}
@@ -4,6 +4,7 @@ import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.launch
@@ -20,11 +21,17 @@ import timber.log.Timber
  *
  * Implementation of [Timber.Tree] that converts logging events from the sdk listener to a flow
  *
+ * Messages are queued in a [LogRingBuffer] and converted by a single consumer coroutine. Nothing
+ * is logged while the flow has no collectors. Messages forwarded by the SDK and chat loggers are
+ * recognised through [LoggerCallSite] and flagged in their request, and only the messages of the
+ * app capture their stack trace.
+ *
  * @property logFlow a flow where all sdk log messages are emitted
  */
 internal class LogFlowTree(
     dispatcher: CoroutineDispatcher,
     private val createLogEntry: CreateLogEntry,
+    capacity: Int = DEFAULT_CAPACITY,
 ) : Timber.Tree() {
 
     private val scope = CoroutineScope(Job() + dispatcher)
@@ -50,20 +57,74 @@ internal class LogFlowTree(
         TimberMegaLogger::class.java.name
     )
 
-    override fun log(priority: Int, tag: String?, message: String, t: Throwable?) {
-        val trace = Throwable().stackTrace
+    private val buffer = LogRingBuffer(capacity)
+    private val pendingMessages = Channel<Unit>(Channel.CONFLATED)
+
+    private val createRequest: (
+        Int, String?, String, Throwable?, Boolean, List<StackTraceElement>,
+    ) -> CreateLogEntryRequest =
+        { priority, tag, message, throwable, isSdkLog, trace ->
+            CreateLogEntryRequest(
+                tag = tag,
+                message = message,
+                priority = LogPriority.fromInt(priority),
+                throwable = throwable,
+                trace = trace,
+                loggingClasses = ignoredClasses,
+                isSdkLog = isSdkLog,
+            )
+        }
+
+    init {
         scope.launch {
-            createLogEntry(
-                CreateLogEntryRequest(
-                    tag = tag,
-                    message = message,
-                    priority = LogPriority.fromInt(priority),
-                    throwable = t,
-                    trace = trace.asList(),
-                    loggingClasses = ignoredClasses,
-                    sdkLoggers = sdkLoggers)
-            )?.let { _logFlow.emit(it) }
+            while (true) {
+                pendingMessages.receive()
+                processQueuedMessages()
+            }
+        }
+    }
+
+    /**
+     * Messages are only emitted to the collectors of [logFlow], so they are not even queued while
+     * there are none
+     */
+    override fun isLoggable(tag: String?, priority: Int): Boolean =
+        _logFlow.subscriptionCount.value > 0
+
+    override fun log(priority: Int, tag: String?, message: String, t: Throwable?) {
+        val isSdkLog = LoggerCallSite.current in sdkLoggers
+        val trace = if (isSdkLog) emptyList() else LazyStackTrace(Throwable())
+        if (buffer.offer(priority, tag, message, t, isSdkLog, trace)) {
+            pendingMessages.trySend(Unit)
         }
     }
 
-}
\ No newline at end of file
+    private suspend fun processQueuedMessages() {
+        while (true) {
+            val request = buffer.poll(createRequest) ?: return
+            createLogEntry(request)?.let { _logFlow.emit(it) }
+        }
+    }
+
+    /**
+     * Current metrics of the message queue, including its depth and the dropped messages
+     */
+    fun metrics(): LogBufferMetrics = buffer.metrics()
+
+    /**
+     * Stack trace of a throwable, only built when it is first read
+     */
+    private class LazyStackTrace(private val throwable: Throwable) :
+        AbstractList<StackTraceElement>() {
+        private val elements by lazy { throwable.stackTrace }
+
+        override val size: Int
+            get() = elements.size
+
+        override fun get(index: Int): StackTraceElement = elements[index]
+    }
+
+    companion object {
+        private const val DEFAULT_CAPACITY = 4096
+    }
+}
@@ -0,0 +1,123 @@
+package mega.privacy.android.data.logging
+
+/**
+ * Bounded queue of log messages for many producers and a single consumer
+ *
+ * The messages are stored in preallocated parallel arrays, so queueing a message does not
+ * allocate. When the buffer is full new messages are dropped and counted.
+ *
+ * @param capacity maximum number of queued messages
+ */
+internal class LogRingBuffer(private val capacity: Int) {
+    private val priorities = IntArray(capacity)
+    private val tags = arrayOfNulls<String>(capacity)
+    private val messages = arrayOfNulls<String>(capacity)
+    private val throwables = arrayOfNulls<Throwable>(capacity)
+    private val sdkLogs = BooleanArray(capacity)
+    private val traces = arrayOfNulls<List<StackTraceElement>>(capacity)
+
+    private var head = 0
+    private var size = 0
+    private var maxSize = 0
+    private var droppedCount = 0L
+
+    init {
+        require(capacity > 0) { "Capacity must be positive" }
+    }
+
+    /**
+     * Queue a message
+     *
+     * @return true if the buffer was empty before, so the consumer may need to be woken up,
+     * false otherwise, including when the message was dropped
+     */
+    @Synchronized
+    fun offer(
+        priority: Int,
+        tag: String?,
+        message: String,
+        throwable: Throwable?,
+        isSdkLog: Boolean,
+        trace: List<StackTraceElement>,
+    ): Boolean {
+        if (size == capacity) {
+            droppedCount++
+            return false
+        }
+        val index = (head + size) % capacity
+        priorities[index] = priority
+        tags[index] = tag
+        messages[index] = message
+        throwables[index] = throwable
+        sdkLogs[index] = isSdkLog
+        traces[index] = trace
+        size++
+        if (size > maxSize) maxSize = size
+        return size == 1
+    }
+
+    /**
+     * Remove the oldest message and pass it to [consumer]
+     *
+     * @return the result of [consumer], or null if the buffer is empty
+     */
+    fun <T> poll(
+        consumer: (
+            priority: Int,
+            tag: String?,
+            message: String,
+            throwable: Throwable?,
+            isSdkLog: Boolean,
+            trace: List<StackTraceElement>,
+        ) -> T,
+    ): T? {
+        val priority: Int
+        val tag: String?
+        val message: String
+        val throwable: Throwable?
+        val isSdkLog: Boolean
+        val trace: List<StackTraceElement>
+        synchronized(this) {
+            if (size == 0) return null
+            priority = priorities[head]
+            tag = tags[head]
+            message = messages[head] ?: ""
+            throwable = throwables[head]
+            isSdkLog = sdkLogs[head]
+            trace = traces[head] ?: emptyList()
+            tags[head] = null
+            messages[head] = null
+            throwables[head] = null
+            traces[head] = null
+            head = (head + 1) % capacity
+            size--
+        }
+        return consumer(priority, tag, message, throwable, isSdkLog, trace)
+    }
+
+    /**
+     * Current metrics of the buffer
+     */
+    @Synchronized
+    fun metrics() = LogBufferMetrics(
+        queueDepth = size,
+        maxQueueDepth = maxSize,
+        capacity = capacity,
+        droppedCount = droppedCount,
+    )
+}
+
+/**
+ * Metrics of a [LogRingBuffer]
+ *
+ * @property queueDepth number of messages waiting to be processed
+ * @property maxQueueDepth highest number of messages that were waiting at the same time
+ * @property capacity maximum number of messages that can wait
+ * @property droppedCount number of messages dropped because the buffer was full
+ */
+internal data class LogBufferMetrics(
+    val queueDepth: Int,
+    val maxQueueDepth: Int,
+    val capacity: Int,
+    val droppedCount: Long,
+)
@@ -0,0 +1,34 @@
+package mega.privacy.android.data.logging
+
+/**
+ * Logger call site
+ *
+ * Records, per thread, which delegate logger is currently forwarding messages to Timber, so
+ * [LogFlowTree] can know that a message comes from the SDK or chat loggers without capturing
+ * the stack trace.
+ */
+internal object LoggerCallSite {
+    private val currentLogger = object : ThreadLocal<String?>() {}
+
+    /**
+     * Name of the delegate logger class forwarding messages on this thread, if any
+     */
+    val current: String?
+        get() = currentLogger.get()
+
+    /**
+     * Run [block] marking [loggerClass] as the caller of the messages logged on this thread
+     */
+    inline fun from(loggerClass: Class<*>, block: () -> Unit) {
+        val previous = current
+        set(loggerClass.name)
+        try {
+            block()
+        } finally {
+            set(previous)
+        }
+    }
+
+    @PublishedApi
+    internal fun set(loggerClass: String?) = currentLogger.set(loggerClass)
+}
@@ -0,0 +1,27 @@
+package mega.privacy.android.data.mapper.mediaplayer
+
+import mega.privacy.android.data.database.entity.MediaPlaybackInfoEntity
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
+import javax.inject.Inject
+
+/**
+ * Mapper to convert [PlaybackInformation] to [MediaPlaybackInfoEntity]
+ */
+internal class MediaPlaybackInfoEntityMapper @Inject constructor() {
+    /**
+     * Invoke
+     *
+     * @param playbackInformation the playback information
+     * @param lastAccessed the time the playback information is saved
+     * @return the entity, null if the playback information has no media id
+     */
+    operator fun invoke(playbackInformation: PlaybackInformation, lastAccessed: Long) =
+        playbackInformation.mediaId?.let { mediaHandle ->
+            MediaPlaybackInfoEntity(
+                mediaHandle = mediaHandle,
+                totalDuration = playbackInformation.totalDuration,
+                currentPosition = playbackInformation.currentPosition,
+                lastAccessed = lastAccessed,
+            )
+        }
+}
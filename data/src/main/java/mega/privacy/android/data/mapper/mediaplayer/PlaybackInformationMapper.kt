@@ -0,0 +1,18 @@
+package mega.privacy.android.data.mapper.mediaplayer
+
+import mega.privacy.android.data.database.entity.MediaPlaybackInfoEntity
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
+import javax.inject.Inject
+
+/**
+ * Mapper to convert [MediaPlaybackInfoEntity] to [PlaybackInformation]
+ */
+internal class PlaybackInformationMapper @Inject constructor() {
+    operator fun invoke(entity: MediaPlaybackInfoEntity) = with(entity) {
+        PlaybackInformation(
+            mediaId = mediaHandle,
+            totalDuration = totalDuration,
+            currentPosition = currentPosition,
+        )
+    }
+}
@@ -40,12 +40,18 @@ internal class FetchChildrenMapper @Inject constructor(
     ): suspend (SortOrder) -> List<UnTypedNode> {
         return { order ->
             withContext(ioDispatcher) {
+                val nodeMapper = nodeMapperProvider.get()
                 if (fromFolderLink) {
-                    megaApiFolderGateway.getChildren(megaNode, sortOrderIntMapper(order))
-                        .map { nodeMapperProvider.get().invoke(it) }
+                    val children =
+                        megaApiFolderGateway.getChildren(megaNode, sortOrderIntMapper(order))
+                    val batch = nodeMapper.createChildrenBatch(isParentInRubbish = null)
+                    children.map { nodeMapper(it, batch = batch) }
                 } else {
-                    megaApiGateway.getChildren(megaNode, sortOrderIntMapper(order))
-                        .map { nodeMapperProvider.get().invoke(it) }
+                    val children = megaApiGateway.getChildren(megaNode, sortOrderIntMapper(order))
+                    val batch = nodeMapper.createChildrenBatch(
+                        isParentInRubbish = megaApiGateway.isInRubbish(megaNode)
+                    )
+                    children.map { nodeMapper(it, batch = batch) }
                 }
             }
         }
@@ -31,42 +31,62 @@ internal class FileNodeMapper @Inject constructor(
      * Invoke
      *
      * @param megaNode
+     * @param batch values shared with the other nodes mapped together, null if mapped alone.
+     * The attributes requiring an SDK call are only loaded when read if a batch is given.
      * @return
      */
-    suspend operator fun invoke(megaNode: MegaNode): FileNode = DefaultFileNode(
-        id = NodeId(megaNode.handle),
-        name = megaNode.name,
-        size = megaNode.size,
-        label = megaNode.label,
-        parentId = NodeId(megaNode.parentHandle),
-        base64Id = megaNode.base64Handle,
-        creationTime = megaNode.creationTime,
-        modificationTime = megaNode.modificationTime,
-        hasVersion = megaApiGateway.hasVersion(megaNode),
-        thumbnailPath = getThumbnailCacheFilePath(
-            megaNode,
-            cacheGateway.getThumbnailCacheFolder()
-        ),
-        previewPath = getPreviewCacheFilePath(
-            megaNode,
-            cacheGateway.getPreviewCacheFolder()
-        ),
-        fullSizePath = getFullSizeCacheFilePath(
-            megaNode,
-            cacheGateway.getFullSizeCacheFolder()
-        ),
-        type = fileTypeInfoMapper(megaNode),
-        isFavourite = megaNode.isFavourite,
-        exportedData = megaNode.takeIf { megaNode.isExported }?.let {
-            ExportedData(it.publicLink, it.publicLinkCreationTime)
-        },
-        isTakenDown = megaNode.isTakenDown,
-        isIncomingShare = megaNode.isInShare,
-        fingerprint = megaNode.fingerprint,
-        originalFingerprint = megaNode.originalFingerprint,
-        isNodeKeyDecrypted = megaNode.isNodeKeyDecrypted,
-        hasThumbnail = megaNode.hasThumbnail(),
-        hasPreview = megaNode.hasPreview(),
+    suspend operator fun invoke(
+        megaNode: MegaNode,
+        batch: NodeMappingBatch? = null,
+    ): FileNode = with(batch ?: createBatch(isInRubbish = null)) {
+        DefaultFileNode(
+            id = NodeId(megaNode.handle),
+            name = megaNode.name,
+            size = megaNode.size,
+            label = megaNode.label,
+            parentId = NodeId(megaNode.parentHandle),
+            base64Id = megaNode.base64Handle,
+            creationTime = megaNode.creationTime,
+            modificationTime = megaNode.modificationTime,
+            versionAttribute = batch.attribute { megaApiGateway.hasVersion(megaNode) },
+            thumbnailPath = getThumbnailCacheFilePath(
+                megaNode,
+                thumbnailCacheFolder
+            ),
+            previewPath = getPreviewCacheFilePath(
+                megaNode,
+                previewCacheFolder
+            ),
+            fullSizePath = getFullSizeCacheFilePath(
+                megaNode,
+                fullSizeCacheFolder
+            ),
+            type = fileTypeInfoMapper(megaNode),
+            isFavourite = megaNode.isFavourite,
+            exportedData = megaNode.takeIf { megaNode.isExported }?.let {
+                ExportedData(it.publicLink, it.publicLinkCreationTime)
+            },
+            isTakenDown = megaNode.isTakenDown,
+            isIncomingShare = megaNode.isInShare,
+            fingerprint = megaNode.fingerprint,
+            originalFingerprint = megaNode.originalFingerprint,
+            isNodeKeyDecrypted = megaNode.isNodeKeyDecrypted,
+            hasThumbnail = megaNode.hasThumbnail(),
+            hasPreview = megaNode.hasPreview(),
+        )
+    }
+
+    /**
+     * Creates a batch to map nodes together
+     *
+     * @param isInRubbish whether all the nodes are in the rubbish bin, null if it is unknown
+     * @return
+     */
+    suspend fun createBatch(isInRubbish: Boolean?) = NodeMappingBatch(
+        thumbnailCacheFolder = cacheGateway.getThumbnailCacheFolder(),
+        previewCacheFolder = cacheGateway.getPreviewCacheFolder(),
+        fullSizeCacheFolder = cacheGateway.getFullSizeCacheFolder(),
+        isInRubbish = isInRubbish,
     )
 
     private fun getThumbnailCacheFilePath(megaNode: MegaNode, thumbnailFolder: File?): String? =
@@ -24,35 +24,43 @@ internal class FolderNodeMapper @Inject constructor(
      * Invoke
      *
      * @param megaNode
+     * @param fromFolderLink
+     * @param batch values shared with the other nodes mapped together, null if mapped alone.
+     * The attributes requiring an SDK call are only loaded when read if a batch is given.
      * @return
      */
     suspend operator fun invoke(
         megaNode: MegaNode,
         fromFolderLink: Boolean,
+        batch: NodeMappingBatch? = null,
     ): FolderNode = DefaultFolderNode(
         id = NodeId(megaNode.handle),
         name = megaNode.name,
         label = megaNode.label,
         parentId = NodeId(megaNode.parentHandle),
         base64Id = megaNode.base64Handle,
-        hasVersion = megaApiGateway.hasVersion(megaNode),
-        childFolderCount = if (fromFolderLink)
-            megaApiFolderGateway.getNumChildFolders(megaNode)
-        else
-            megaApiGateway.getNumChildFolders(megaNode),
-        childFileCount = if (fromFolderLink)
-            megaApiFolderGateway.getNumChildFiles(megaNode)
-        else
-            megaApiGateway.getNumChildFiles(megaNode),
+        versionAttribute = batch.attribute { megaApiGateway.hasVersion(megaNode) },
+        childFolderCountAttribute = batch.attribute {
+            if (fromFolderLink)
+                megaApiFolderGateway.getNumChildFolders(megaNode)
+            else
+                megaApiGateway.getNumChildFolders(megaNode)
+        },
+        childFileCountAttribute = batch.attribute {
+            if (fromFolderLink)
+                megaApiFolderGateway.getNumChildFiles(megaNode)
+            else
+                megaApiGateway.getNumChildFiles(megaNode)
+        },
         isFavourite = megaNode.isFavourite,
         exportedData = megaNode.takeIf { megaNode.isExported }?.let {
             ExportedData(it.publicLink, it.publicLinkCreationTime)
         },
         isTakenDown = megaNode.isTakenDown,
-        isInRubbishBin = megaApiGateway.isInRubbish(megaNode),
+        isInRubbishBin = batch?.isInRubbish ?: megaApiGateway.isInRubbish(megaNode),
         isIncomingShare = megaNode.isInShare,
         isShared = megaNode.isOutShare,
-        isPendingShare = megaApiGateway.isPendingShare(megaNode),
+        pendingShareAttribute = batch.attribute { megaApiGateway.isPendingShare(megaNode) },
         device = megaNode.deviceId,
         isNodeKeyDecrypted = megaNode.isNodeKeyDecrypted,
         creationTime = megaNode.creationTime,
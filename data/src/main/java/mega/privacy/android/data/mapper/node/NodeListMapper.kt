@@ -12,6 +12,8 @@ internal class NodeListMapper @Inject constructor(
 ) {
 
     suspend operator fun invoke(megaNodeList: MegaNodeList) = with(megaNodeList) {
-        (0 until size()).map { nodeMapper(get(it)) }
+        // The nodes may have different parents, so only the cache folders are shared
+        val batch = nodeMapper.createChildrenBatch(isParentInRubbish = null)
+        (0 until size()).map { nodeMapper(get(it), batch = batch) }
     }
 }
\ No newline at end of file
@@ -18,13 +18,26 @@ internal class NodeMapper @Inject constructor(
      * Invoke
      *
      * @param megaNode
+     * @param fromFolderLink
+     * @param batch values shared with the other nodes mapped together, null if mapped alone
      */
     suspend operator fun invoke(
         megaNode: MegaNode,
         fromFolderLink: Boolean = false,
+        batch: NodeMappingBatch? = null,
     ) = if (megaNode.isFolder) {
-        folderNodeMapper(megaNode, fromFolderLink)
+        folderNodeMapper(megaNode, fromFolderLink, batch)
     } else {
-        fileNodeMapper(megaNode)
+        fileNodeMapper(megaNode, batch)
     }
+
+    /**
+     * Creates a batch to map the children of a folder, which share the cache folders and the
+     * rubbish bin state of their parent
+     *
+     * @param isParentInRubbish whether the parent folder is in the rubbish bin, null if unknown
+     * @return
+     */
+    suspend fun createChildrenBatch(isParentInRubbish: Boolean?) =
+        fileNodeMapper.createBatch(isInRubbish = isParentInRubbish)
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package mega.privacy.android.data.mapper.node
+
+import kotlinx.coroutines.runBlocking
+import mega.privacy.android.data.model.node.NodeAttribute
+import java.io.File
+
+/**
+ * Values shared by nodes mapped together, such as the children of a folder.
+ *
+ * They are resolved once for the whole batch instead of once per node, saving SDK calls and
+ * file system checks when mapping big folders.
+ *
+ * @property thumbnailCacheFolder Folder of the cached thumbnails
+ * @property previewCacheFolder Folder of the cached previews
+ * @property fullSizeCacheFolder Folder of the cached full size files
+ * @property isInRubbish Whether all the nodes are in the rubbish bin, null if it is unknown
+ */
+internal class NodeMappingBatch(
+    val thumbnailCacheFolder: File?,
+    val previewCacheFolder: File?,
+    val fullSizeCacheFolder: File?,
+    val isInRubbish: Boolean?,
+)
+
+/**
+ * Creates a node attribute requiring an SDK call
+ *
+ * A node mapped alone loads it straight away. Nodes mapped in a batch only load it when it is
+ * read, so a listing only makes the calls for the attributes it displays. The gateway calls only
+ * forward to the SDK, which answers them synchronously, so blocking on them when read is cheap.
+ * The mapped node keeps a reference to its MegaNode until all its attributes are loaded.
+ *
+ * @param load loads the value of the attribute
+ * @return the attribute
+ */
+internal suspend fun <T> NodeMappingBatch?.attribute(load: suspend () -> T): NodeAttribute<T> =
+    if (this == null)
+        NodeAttribute.loaded(load())
+    else
+        NodeAttribute.deferred { runBlocking { load() } }
@@ -6,7 +6,7 @@ import mega.privacy.android.domain.entity.StorageState;
 import nz.mega.sdk.MegaApiJava;
 import timber.log.Timber;
 
-public class MegaAttributes {
+public class MegaAttributes implements Cloneable {
 
     private String online;
     private int attempts;
@@ -200,4 +200,18 @@ public class MegaAttributes {
         Timber.d("%s: %d", attrName, value);
         return value;
     }
+
+    /**
+     * Copy of these attributes, which can be modified without changing the original
+     *
+     * @return A copy of these attributes.
+     */
+    @NonNull
+    public MegaAttributes copy() {
+        try {
+            return (MegaAttributes) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package mega.privacy.android.data.model;
 
+import androidx.annotation.NonNull;
+
 import timber.log.Timber;
 
-public class MegaPreferences {
+public class MegaPreferences implements Cloneable {
 
     String firstTime;
     String camSyncWifi;
@@ -487,5 +489,19 @@ public class MegaPreferences {
     public boolean isAutoPlayEnabled() {
         return Boolean.parseBoolean(isAutoPlayEnabled);
     }
+
+    /**
+     * Copy of these preferences, which can be modified without changing the original
+     *
+     * @return A copy of these preferences.
+     */
+    @NonNull
+    public MegaPreferences copy() {
+        try {
+            return (MegaPreferences) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
 }
 
@@ -14,7 +14,7 @@ internal data class DefaultFileNode(
     override val label: Int,
     override val creationTime: Long,
     override val modificationTime: Long,
-    override val hasVersion: Boolean,
+    private val versionAttribute: NodeAttribute<Boolean>,
     override val type: FileTypeInfo,
     override val thumbnailPath: String? = null,
     override val previewPath: String? = null,
@@ -28,4 +28,6 @@ internal data class DefaultFileNode(
     override val isNodeKeyDecrypted: Boolean,
     override val hasThumbnail: Boolean,
     override val hasPreview: Boolean,
-) : FileNode
+) : FileNode {
+    override val hasVersion get() = versionAttribute.value
+}
@@ -12,18 +12,23 @@ internal data class DefaultFolderNode(
     override val parentId: NodeId,
     override val base64Id: String,
     override val label: Int,
-    override val hasVersion: Boolean,
-    override val childFolderCount: Int,
-    override val childFileCount: Int,
+    private val versionAttribute: NodeAttribute<Boolean>,
+    private val childFolderCountAttribute: NodeAttribute<Int>,
+    private val childFileCountAttribute: NodeAttribute<Int>,
     override val isFavourite: Boolean,
     override val exportedData: ExportedData?,
     override val isTakenDown: Boolean,
     override val isInRubbishBin: Boolean,
     override val isIncomingShare: Boolean,
     override val isShared: Boolean,
-    override val isPendingShare: Boolean,
+    private val pendingShareAttribute: NodeAttribute<Boolean>,
     override val device: String?,
     override val isNodeKeyDecrypted: Boolean,
     override val creationTime: Long,
     override val fetchChildren: suspend (SortOrder) -> List<UnTypedNode>,
-) : FolderNode
\ No newline at end of file
+) : FolderNode {
+    override val hasVersion get() = versionAttribute.value
+    override val childFolderCount get() = childFolderCountAttribute.value
+    override val childFileCount get() = childFileCountAttribute.value
+    override val isPendingShare get() = pendingShareAttribute.value
+}
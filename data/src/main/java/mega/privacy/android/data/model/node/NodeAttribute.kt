@@ -0,0 +1,32 @@
+package mega.privacy.android.data.model.node
+
+/**
+ * Node attribute whose value may be loaded only when it is read
+ *
+ * Two attributes are equal when their values are, so comparing nodes loads them.
+ */
+internal class NodeAttribute<T> private constructor(private val lazyValue: Lazy<T>) {
+
+    /**
+     * Value of the attribute, loaded the first time it is read
+     */
+    val value: T get() = lazyValue.value
+
+    override fun equals(other: Any?) = other is NodeAttribute<*> && value == other.value
+
+    override fun hashCode() = value.hashCode()
+
+    override fun toString() = value.toString()
+
+    companion object {
+        /**
+         * Attribute whose value is already known
+         */
+        fun <T> loaded(value: T) = NodeAttribute(lazyOf(value))
+
+        /**
+         * Attribute whose value is loaded the first time it is read
+         */
+        fun <T> deferred(load: () -> T) = NodeAttribute(lazy(load))
+    }
+}
@@ -9,6 +9,7 @@ import kotlinx.coroutines.flow.firstOrNull
 import mega.privacy.android.data.extensions.monitor
 import mega.privacy.android.data.gateway.preferences.CameraTimestampsPreferenceGateway
 import mega.privacy.android.data.qualifier.CameraTimestampsPreference
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
 import javax.inject.Inject
 
 /**
@@ -69,6 +70,37 @@ internal class CameraTimestampsPreferenceDataStore
         }
     }
 
+    override suspend fun getMediaStoreHighWaterMark(key: String) =
+        dataStore.monitor(stringPreferencesKey(HIGH_WATER_MARK_KEY_PREFIX + key)).firstOrNull()
+            ?.split(HIGH_WATER_MARK_SEPARATOR, limit = 5)
+            ?.takeIf { it.size == 5 }
+            ?.let { (generation, id, modifiedTime, syncTimestamp, mediaStoreVersion) ->
+                MediaStoreHighWaterMark(
+                    mediaStoreVersion = mediaStoreVersion.ifEmpty { null },
+                    generation = generation.toLongOrNull(),
+                    id = id.toLongOrNull() ?: return@let null,
+                    modifiedTime = modifiedTime.toLongOrNull() ?: return@let null,
+                    syncTimestamp = syncTimestamp.toLongOrNull() ?: return@let null,
+                )
+            }
+
+    override suspend fun setMediaStoreHighWaterMark(
+        key: String,
+        highWaterMark: MediaStoreHighWaterMark,
+    ) {
+        dataStore.edit {
+            it[stringPreferencesKey(HIGH_WATER_MARK_KEY_PREFIX + key)] = with(highWaterMark) {
+                listOf(
+                    generation?.toString().orEmpty(),
+                    id.toString(),
+                    modifiedTime.toString(),
+                    syncTimestamp.toString(),
+                    mediaStoreVersion.orEmpty(),
+                ).joinToString(HIGH_WATER_MARK_SEPARATOR)
+            }
+        }
+    }
+
     /**
      * Keys for backing up time stamps
      */
@@ -105,6 +137,16 @@ internal class CameraTimestampsPreferenceDataStore
          */
         private val KEY_SECONDARY_HANDLE = longPreferencesKey("KEY_SECONDARY_HANDLE")
 
+        /**
+         * Prefix of the String Preference Keys for the media store high water marks
+         */
+        private const val HIGH_WATER_MARK_KEY_PREFIX = "KEY_MEDIA_STORE_HIGH_WATER_MARK_"
+
+        /**
+         * Separator of the fields of a serialised media store high water mark
+         */
+        private const val HIGH_WATER_MARK_SEPARATOR = ";"
+
         /**
          * DataStore File Name
          */
@@ -7,6 +7,7 @@ import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.withContext
+import mega.privacy.android.data.cache.ScheduledMeetingOccurrenceCache
 import mega.privacy.android.data.extensions.failWithError
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
 import mega.privacy.android.data.listener.OptionalMegaChatRequestListenerInterface
@@ -22,6 +23,7 @@ import mega.privacy.android.data.mapper.meeting.MegaChatScheduledMeetingFlagsMap
 import mega.privacy.android.data.mapper.meeting.MegaChatScheduledMeetingRulesMapper
 import mega.privacy.android.data.model.ScheduledMeetingUpdate
 import mega.privacy.android.data.model.meeting.ChatCallUpdate
+import mega.privacy.android.data.repository.meeting.ScheduledMeetingRecurrence
 import mega.privacy.android.domain.entity.ChatRequest
 import mega.privacy.android.domain.entity.chat.ChatCall
 import mega.privacy.android.domain.entity.chat.ChatScheduledFlags
@@ -58,6 +60,8 @@ import kotlin.coroutines.suspendCoroutine
  * @property megaChatScheduledMeetingFlagsMapper    [MegaChatScheduledMeetingFlagsMapper]
  * @property megaChatScheduledMeetingRulesMapper    [MegaChatScheduledMeetingRulesMapper]
  * @property megaChatPeerListMapper                 [MegaChatPeerListMapper]
+ * @property scheduledMeetingRecurrence             [ScheduledMeetingRecurrence]
+ * @property scheduledMeetingOccurrenceCache        [ScheduledMeetingOccurrenceCache]
  * @property dispatcher                             [CoroutineDispatcher]
  */
 internal class CallRepositoryImpl @Inject constructor(
@@ -72,6 +76,8 @@ internal class CallRepositoryImpl @Inject constructor(
     private val megaChatScheduledMeetingFlagsMapper: MegaChatScheduledMeetingFlagsMapper,
     private val megaChatScheduledMeetingRulesMapper: MegaChatScheduledMeetingRulesMapper,
     private val megaChatPeerListMapper: MegaChatPeerListMapper,
+    private val scheduledMeetingRecurrence: ScheduledMeetingRecurrence,
+    private val scheduledMeetingOccurrenceCache: ScheduledMeetingOccurrenceCache,
     @IoDispatcher private val dispatcher: CoroutineDispatcher,
 ) : CallRepository {
 
@@ -270,19 +276,49 @@ internal class CallRepositoryImpl @Inject constructor(
 
     override suspend fun getNextScheduledMeetingOccurrence(chatId: Long): ChatScheduledMeetingOccurr? =
         withContext(dispatcher) {
-            val now = Instant.now().atZone(ZoneOffset.UTC)
-            fetchScheduledMeetingOccurrencesByChat(
-                chatId,
-                now.minus(1L, ChronoUnit.HALF_DAYS).toEpochSecond()
-            )
-                .sortedBy(ChatScheduledMeetingOccurr::startDateTime)
-                .firstOrNull { occurr ->
-                    !occurr.isCancelled
-                            && (occurr.startDateTime?.toZonedDateTime()?.isAfter(now) == true
-                            || occurr.endDateTime?.toZonedDateTime()?.isAfter(now) == true)
+            val now = Instant.now().epochSecond
+            scheduledMeetingOccurrenceCache.getOrPut(chatId, now) {
+                val meetings = megaChatApiGateway.getScheduledMeetingsByChat(chatId)
+                    ?.map { chatScheduledMeetingMapper(it) }
+                    .orEmpty()
+                val invalidHandle = megaChatApiGateway.getChatInvalidHandle()
+                val meeting = meetings.firstOrNull { it.parentSchedId == invalidHandle }
+
+                if (meeting != null) {
+                    scheduledMeetingRecurrence.getNextOccurrence(
+                        meeting = meeting,
+                        overrides = meetings.filter { it.parentSchedId == meeting.schedId },
+                        now = now
+                    )
+                } else {
+                    fetchNextScheduledMeetingOccurrence(chatId)
                 }
+            }
         }
 
+    /**
+     * Fetches the occurrences of a chat from the SDK to get the next one, for the chats whose
+     * scheduled meeting is not available locally.
+     *
+     * @param chatId    Chat id
+     * @return          The next occurrence that is not cancelled
+     */
+    private suspend fun fetchNextScheduledMeetingOccurrence(
+        chatId: Long,
+    ): ChatScheduledMeetingOccurr? {
+        val now = Instant.now().atZone(ZoneOffset.UTC)
+        return fetchScheduledMeetingOccurrencesByChat(
+            chatId,
+            now.minus(1L, ChronoUnit.HALF_DAYS).toEpochSecond()
+        )
+            .sortedBy(ChatScheduledMeetingOccurr::startDateTime)
+            .firstOrNull { occurr ->
+                !occurr.isCancelled
+                        && (occurr.startDateTime?.toZonedDateTime()?.isAfter(now) == true
+                        || occurr.endDateTime?.toZonedDateTime()?.isAfter(now) == true)
+            }
+    }
+
     override suspend fun createChatroomAndSchedMeeting(
         peerList: List<Long>,
         isMeeting: Boolean,
@@ -20,6 +20,7 @@ import mega.privacy.android.data.gateway.MegaLocalStorageGateway
 import mega.privacy.android.data.gateway.VideoCompressorGateway
 import mega.privacy.android.data.gateway.WorkerGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
+import mega.privacy.android.data.gateway.preferences.CameraTimestampsPreferenceGateway
 import mega.privacy.android.data.listener.OptionalMegaRequestListenerInterface
 import mega.privacy.android.data.mapper.MediaStoreFileTypeUriMapper
 import mega.privacy.android.data.mapper.SyncStatusIntMapper
@@ -46,6 +47,7 @@ import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.entity.backup.Backup
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.HeartbeatStatus
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.settings.camerauploads.UploadOption
 import mega.privacy.android.domain.exception.LocalStorageException
@@ -82,6 +84,7 @@ import kotlin.coroutines.Continuation
  * @property cameraUploadsHandlesMapper [CameraUploadsHandlesMapper]
  * @property uploadOptionMapper [UploadOptionMapper]
  * @property uploadOptionIntMapper [UploadOptionIntMapper]
+ * @property cameraTimestampsPreferenceGateway [CameraTimestampsPreferenceGateway]
  */
 internal class DefaultCameraUploadRepository @Inject constructor(
     private val localStorageGateway: MegaLocalStorageGateway,
@@ -105,6 +108,7 @@ internal class DefaultCameraUploadRepository @Inject constructor(
     private val uploadOptionMapper: UploadOptionMapper,
     private val uploadOptionIntMapper: UploadOptionIntMapper,
     private val deviceGateway: AndroidDeviceGateway,
+    private val cameraTimestampsPreferenceGateway: CameraTimestampsPreferenceGateway,
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
     @ApplicationContext private val context: Context,
 ) : CameraUploadRepository {
@@ -212,10 +216,26 @@ internal class DefaultCameraUploadRepository @Inject constructor(
         localStorageGateway.doesLocalPathExist(fileName, isSecondary, syncRecordTypeIntMapper(type))
     }
 
+    override suspend fun getExistingLocalPaths(
+        localPaths: List<String>,
+        isSecondary: Boolean,
+        type: SyncRecordType,
+    ): Set<String> = withContext(ioDispatcher) {
+        localStorageGateway.getExistingLocalPaths(
+            localPaths,
+            isSecondary,
+            syncRecordTypeIntMapper(type)
+        )
+    }
+
     override suspend fun saveSyncRecord(record: SyncRecord) = withContext(ioDispatcher) {
         localStorageGateway.saveSyncRecord(record)
     }
 
+    override suspend fun saveSyncRecords(records: List<SyncRecord>) = withContext(ioDispatcher) {
+        localStorageGateway.saveSyncRecords(records)
+    }
+
     override suspend fun getSyncTimeStamp(type: SyncTimeStamp): Long? {
         return withContext(ioDispatcher) {
             when (type) {
@@ -409,6 +429,50 @@ internal class DefaultCameraUploadRepository @Inject constructor(
         queue
     }
 
+    override fun getMediaFlow(
+        mediaStoreFileType: MediaStoreFileType,
+        parentPath: String?,
+        isVideo: Boolean,
+        selectionQuery: String?,
+        highWaterMark: MediaStoreHighWaterMark?,
+    ): Flow<CameraUploadMedia> = cameraUploadMediaGateway.getMediaFlow(
+        mediaStoreFileTypeUriMapper(mediaStoreFileType),
+        parentPath,
+        isVideo,
+        selectionQuery,
+        highWaterMark
+    ).flowOn(ioDispatcher)
+
+    override suspend fun getCurrentMediaStoreHighWaterMark(mediaStoreFileType: MediaStoreFileType) =
+        withContext(ioDispatcher) {
+            cameraUploadMediaGateway.getCurrentHighWaterMark(
+                mediaStoreFileTypeUriMapper(mediaStoreFileType)
+            )
+        }
+
+    override suspend fun getMediaStoreHighWaterMark(
+        mediaStoreFileType: MediaStoreFileType,
+        parentPath: String?,
+    ) = withContext(ioDispatcher) {
+        cameraTimestampsPreferenceGateway.getMediaStoreHighWaterMark(
+            getHighWaterMarkKey(mediaStoreFileType, parentPath)
+        )
+    }
+
+    override suspend fun setMediaStoreHighWaterMark(
+        mediaStoreFileType: MediaStoreFileType,
+        parentPath: String?,
+        highWaterMark: MediaStoreHighWaterMark,
+    ) = withContext(ioDispatcher) {
+        cameraTimestampsPreferenceGateway.setMediaStoreHighWaterMark(
+            getHighWaterMarkKey(mediaStoreFileType, parentPath),
+            highWaterMark
+        )
+    }
+
+    private fun getHighWaterMarkKey(mediaStoreFileType: MediaStoreFileType, parentPath: String?) =
+        "${mediaStoreFileType.name}_${parentPath.orEmpty()}"
+
     override suspend fun getMaxTimestamp(
         isSecondary: Boolean,
         syncRecordType: SyncRecordType,
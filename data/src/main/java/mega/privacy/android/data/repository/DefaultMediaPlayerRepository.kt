@@ -3,13 +3,15 @@ package mega.privacy.android.data.repository
 import com.google.gson.Gson
 import com.google.gson.reflect.TypeToken
 import kotlinx.coroutines.CoroutineDispatcher
-import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.firstOrNull
 import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.database.DatabaseHandler
 import mega.privacy.android.data.extensions.getRequestListener
 import mega.privacy.android.data.gateway.FileGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.preferences.AppPreferencesGateway
@@ -33,6 +35,7 @@ import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaNode
 import nz.mega.sdk.MegaUser
 import timber.log.Timber
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
 
 /**
@@ -50,9 +53,17 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
     private val subtitleFileInfoMapper: SubtitleFileInfoMapper,
     private val mediaPlayerPreferencesGateway: MediaPlayerPreferencesGateway,
     private val repeatToggleModeMapper: RepeatToggleModeMapper,
+    private val megaLocalRoomGateway: MegaLocalRoomGateway,
 ) : MediaPlayerRepository {
 
-    private val playbackInfoMap = mutableMapOf<Long, PlaybackInformation>()
+    /**
+     * Playback information updated since the last time it was saved
+     */
+    private val playbackInfoMap = ConcurrentHashMap<Long, PlaybackInformation>()
+    private val legacyPlaybackTimesMutex = Mutex()
+
+    @Volatile
+    private var isLegacyPlaybackTimesMigrated = false
 
     override suspend fun getLocalLinkForFolderLinkFromMegaApi(nodeHandle: Long): String? =
         withContext(ioDispatcher) {
@@ -379,13 +390,20 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
 
     override suspend fun deletePlaybackInformation(mediaId: Long) {
         playbackInfoMap.remove(mediaId)
+        withContext(ioDispatcher) {
+            megaLocalRoomGateway.deletePlaybackInformation(mediaId)
+        }
     }
 
-    override suspend fun savePlaybackTimes() {
-        appPreferencesGateway.putString(
-            PREFERENCE_KEY_VIDEO_EXIT_TIME,
-            Gson().toJson(playbackInfoMap)
+    override suspend fun savePlaybackTimes() = withContext(ioDispatcher) {
+        migrateLegacyPlaybackTimes()
+        val playbackInformation = playbackInfoMap.toMap()
+        megaLocalRoomGateway.insertOrUpdatePlaybackInformation(
+            playbackInformation.values.toList(),
+            MAX_PLAYBACK_INFORMATION_COUNT
         )
+        // Keep the ones updated while saving, they are saved next time
+        playbackInformation.forEach { (mediaId, info) -> playbackInfoMap.remove(mediaId, info) }
     }
 
     override suspend fun updatePlaybackInformation(playbackInformation: PlaybackInformation) {
@@ -394,36 +412,42 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
         }
     }
 
-    override fun monitorPlaybackTimes(): Flow<Map<Long, PlaybackInformation>?> =
-        appPreferencesGateway.monitorString(
-            PREFERENCE_KEY_VIDEO_EXIT_TIME,
-            null
-        ).map { jsonString ->
-            jsonString?.let {
-                runCatching {
-                    Gson().fromJson<Map<Long, PlaybackInformation>?>(
-                        it,
-                        object : TypeToken<Map<Long, PlaybackInformation>>() {}.type
-                    )
-                        .let { infoMap ->
-                            // If the playbackInfoMap is empty, using the local information
-                            // else using the current playbackInfoMap
-                            if (playbackInfoMap.isEmpty()) {
-                                playbackInfoMap.putAll(infoMap)
-                            }
-                        }
-                }.onFailure {
-                    // Log the error jsonString and clear it.
-                    Timber.d(it, "The error jsonString: $jsonString")
-                    playbackInfoMap.clear()
-                    appPreferencesGateway.putString(
-                        PREFERENCE_KEY_VIDEO_EXIT_TIME,
-                        Gson().toJson(playbackInfoMap)
-                    )
+    override suspend fun getPlaybackInformation(mediaId: Long): PlaybackInformation? =
+        playbackInfoMap[mediaId] ?: withContext(ioDispatcher) {
+            migrateLegacyPlaybackTimes()
+            megaLocalRoomGateway.getPlaybackInformation(mediaId)
+        }
+
+    /**
+     * Moves the playback times saved as a single preference by previous versions to the
+     * database, only once.
+     */
+    private suspend fun migrateLegacyPlaybackTimes() {
+        if (isLegacyPlaybackTimesMigrated) return
+        legacyPlaybackTimesMutex.withLock {
+            if (isLegacyPlaybackTimesMigrated) return
+            appPreferencesGateway.monitorString(PREFERENCE_KEY_VIDEO_EXIT_TIME, null)
+                .firstOrNull()
+                ?.takeIf { it.isNotEmpty() }
+                ?.let { jsonString ->
+                    runCatching {
+                        Gson().fromJson<Map<Long, PlaybackInformation>?>(
+                            jsonString,
+                            object : TypeToken<Map<Long, PlaybackInformation>>() {}.type
+                        )
+                    }.onFailure {
+                        Timber.d(it, "The error jsonString: $jsonString")
+                    }.getOrNull()?.let { infoMap ->
+                        megaLocalRoomGateway.insertOrUpdatePlaybackInformation(
+                            infoMap.map { (mediaId, info) -> info.copy(mediaId = mediaId) },
+                            MAX_PLAYBACK_INFORMATION_COUNT
+                        )
+                    }
+                    appPreferencesGateway.putString(PREFERENCE_KEY_VIDEO_EXIT_TIME, "")
                 }
-                playbackInfoMap
-            }
+            isLegacyPlaybackTimesMigrated = true
         }
+    }
 
     override suspend fun getFileUrlByNodeHandle(handle: Long): String? =
         megaApi.getMegaNodeByHandle(handle)?.let { node ->
@@ -519,5 +543,11 @@ internal class DefaultMediaPlayerRepository @Inject constructor(
 
     companion object {
         private const val PREFERENCE_KEY_VIDEO_EXIT_TIME = "PREFERENCE_KEY_VIDEO_EXIT_TIME"
+
+        /**
+         * Maximum number of media whose playback position is kept, the least recently used ones
+         * are removed first
+         */
+        internal const val MAX_PLAYBACK_INFORMATION_COUNT = 500
     }
 }
@@ -10,10 +10,12 @@ import kotlinx.coroutines.flow.conflate
 import kotlinx.coroutines.flow.filter
 import kotlinx.coroutines.flow.filterNotNull
 import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.onEach
 import kotlinx.coroutines.flow.update
-import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import mega.privacy.android.data.constant.CacheFolderConstant
 import mega.privacy.android.data.extensions.decodeBase64
@@ -35,6 +37,7 @@ import mega.privacy.android.data.mapper.ImageMapper
 import mega.privacy.android.data.mapper.VideoMapper
 import mega.privacy.android.data.mapper.photos.ContentConsumptionMegaStringMapMapper
 import mega.privacy.android.data.mapper.photos.TimelineFilterPreferencesJSONMapper
+import mega.privacy.android.data.repository.photos.PhotosTimelineIndex
 import mega.privacy.android.data.wrapper.DateUtilWrapper
 import mega.privacy.android.domain.entity.GifFileTypeInfo
 import mega.privacy.android.domain.entity.ImageFileTypeInfo
@@ -42,10 +45,13 @@ import mega.privacy.android.domain.entity.RawFileTypeInfo
 import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
 import mega.privacy.android.domain.entity.SvgFileTypeInfo
 import mega.privacy.android.domain.entity.VideoFileTypeInfo
+import mega.privacy.android.domain.entity.node.FolderNode
 import mega.privacy.android.domain.entity.node.NodeChanges
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.NodeUpdate
 import mega.privacy.android.domain.entity.photos.AlbumPhotoId
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotosTimelineChanges
 import mega.privacy.android.domain.entity.photos.TimelinePreferencesJSON
 import mega.privacy.android.domain.qualifier.ApplicationScope
 import mega.privacy.android.domain.qualifier.IoDispatcher
@@ -57,6 +63,7 @@ import nz.mega.sdk.MegaCancelToken
 import nz.mega.sdk.MegaError
 import nz.mega.sdk.MegaNode
 import java.io.File
+import java.util.concurrent.ConcurrentHashMap
 import javax.inject.Inject
 import javax.inject.Singleton
 import kotlin.coroutines.resumeWithException
@@ -88,7 +95,11 @@ internal class DefaultPhotosRepository @Inject constructor(
     private val timelineFilterPreferencesJSONMapper: TimelineFilterPreferencesJSONMapper,
     private val contentConsumptionMegaStringMapMapper: ContentConsumptionMegaStringMapMapper,
 ) : PhotosRepository {
-    private val photosCache: MutableMap<NodeId, Photo> = mutableMapOf()
+    private val photosCache: MutableMap<NodeId, Photo> = ConcurrentHashMap()
+
+    private val photosTimelineIndex = PhotosTimelineIndex()
+
+    private val photosTimelineMutex = Mutex()
 
     private var thumbnailFolderPath: String? = null
 
@@ -96,13 +107,22 @@ internal class DefaultPhotosRepository @Inject constructor(
 
     private val refreshPhotosStateFlow: MutableStateFlow<Boolean> = MutableStateFlow(true)
 
-    private val photosStateFlow: MutableStateFlow<List<Photo>?> = MutableStateFlow(null)
-
     private val photosRefreshRules = listOf(
         NodeChanges.New,
         NodeChanges.Favourite,
         NodeChanges.Attributes,
         NodeChanges.Parent,
+        NodeChanges.Remove,
+    )
+
+    /**
+     * Folder changes that can add or remove photos anywhere in the subtree of the folder, so the
+     * Timeline cannot be updated from the changed node alone
+     */
+    private val folderRefreshRules = listOf(
+        NodeChanges.New,
+        NodeChanges.Parent,
+        NodeChanges.Remove,
     )
 
     private var monitorNodeUpdatesJob: Job? = null
@@ -116,18 +136,43 @@ internal class DefaultPhotosRepository @Inject constructor(
         monitorNodeUpdatesJob?.cancel()
         monitorNodeUpdatesJob = nodeRepository.monitorNodeUpdates()
             .onEach { nodeUpdate ->
-                appScope.launch {
-                    val nodes = nodeUpdate.changes.keys.toList()
-                    nodes.forEach { photosCache.remove(it.id) }
-                }
+                nodeUpdate.changes.keys.forEach { photosCache.remove(it.id) }
+                updatePhotosTimeline(nodeUpdate)
+            }.launchIn(appScope)
+    }
 
-                appScope.launch {
-                    val changes = nodeUpdate.changes.values
-                    if (changes.flatten().intersect(photosRefreshRules).isNotEmpty()) {
-                        refreshPhotos()
-                    }
+    /**
+     * Apply a node update to the Timeline as a delta: every changed file is mapped again and
+     * inserted, updated or removed. Only folder moves and removals, which can affect any photo
+     * below them, still trigger a full refresh
+     */
+    private suspend fun updatePhotosTimeline(nodeUpdate: NodeUpdate) = withContext(ioDispatcher) {
+        val changes = nodeUpdate.changes.filterValues {
+            it.intersect(photosRefreshRules).isNotEmpty()
+        }
+        if (changes.isEmpty()) return@withContext
+
+        val (folders, files) = changes.entries.partition { it.key is FolderNode }
+        if (folders.any { it.value.intersect(folderRefreshRules).isNotEmpty() }) {
+            refreshPhotos()
+        }
+        if (files.isEmpty()) return@withContext
+
+        photosTimelineMutex.withLock {
+            if (!photosTimelineIndex.isLoaded) return@withLock
+            val upserts = mutableListOf<Photo>()
+            val removed = mutableListOf<NodeId>()
+            files.forEach { (node, nodeChanges) ->
+                val photo = if (NodeChanges.Remove in nodeChanges) {
+                    null
+                } else {
+                    megaApiFacade.getMegaNodeByHandle(node.id.longValue)
+                        ?.let { mapMegaNodeToTimelinePhoto(it) }
                 }
-            }.launchIn(appScope)
+                if (photo != null) upserts.add(photo) else removed.add(node.id)
+            }
+            photosTimelineIndex.applyChanges(upserts, removed)
+        }
     }
 
     private fun monitorRefreshPhotos() {
@@ -136,24 +181,34 @@ internal class DefaultPhotosRepository @Inject constructor(
             .filter { it }
             .conflate()
             .onEach {
-                val photos = searchMegaPhotos()
-                for (photo in photos) {
-                    photosCache[NodeId(photo.id)] = photo
-                }
-
-                photosStateFlow.update { photos }
                 refreshPhotosStateFlow.value = false
+                photosTimelineMutex.withLock {
+                    val photos = searchMegaPhotos()
+                    for (photo in photos) {
+                        photosCache[NodeId(photo.id)] = photo
+                    }
+                    photosTimelineIndex.replaceAll(photos)
+                }
             }.launchIn(appScope)
     }
 
-    override fun monitorPhotos(): Flow<List<Photo>> {
+    private fun startMonitoring() {
         if (!isMonitoringInitiated) {
             isMonitoringInitiated = true
 
             monitorNodeUpdates()
             monitorRefreshPhotos()
         }
-        return photosStateFlow.filterNotNull()
+    }
+
+    override fun monitorPhotos(): Flow<List<Photo>> {
+        startMonitoring()
+        return photosTimelineIndex.snapshot.filterNotNull().map { it.changes.photos }
+    }
+
+    override fun monitorPhotosTimelineChanges(): Flow<PhotosTimelineChanges> {
+        startMonitoring()
+        return photosTimelineIndex.monitorChanges()
     }
 
     override fun refreshPhotos() {
@@ -392,6 +447,22 @@ internal class DefaultPhotosRepository @Inject constructor(
         }
     }
 
+    /**
+     * Map megaNode to a Timeline photo, with the same criteria as the Timeline search: a photo
+     * or video in the Cloud Drive, that is not an SVG and has a thumbnail
+     */
+    private suspend fun mapMegaNodeToTimelinePhoto(megaNode: MegaNode): Photo? {
+        if (!megaNode.isFile || !megaNode.isValidPhotoNode()
+            || !megaApiFacade.isInCloudDrive(megaNode)
+        ) return null
+        return when (fileTypeInfoMapper(megaNode)) {
+            is SvgFileTypeInfo -> null
+            is VideoFileTypeInfo -> mapMegaNodeToVideo(megaNode)
+            is ImageFileTypeInfo -> mapMegaNodeToImage(megaNode)
+            else -> null
+        }
+    }
+
     private fun checkSvg(filterSvg: Boolean, fileType: ImageFileTypeInfo): Boolean {
         return if (filterSvg) {
             fileType !is SvgFileTypeInfo
@@ -502,7 +573,7 @@ internal class DefaultPhotosRepository @Inject constructor(
         isMonitoringInitiated = false
         photosCache.clear()
 
-        photosStateFlow.value = null
+        photosTimelineIndex.clear()
         refreshPhotosStateFlow.value = true
     }
 
@@ -248,6 +248,16 @@ internal class FileSystemRepositoryImpl @Inject constructor(
             destinationPath
         }
 
+    override suspend fun createTempFileWithoutGpsCoordinates(root: String, syncRecord: SyncRecord) =
+        withContext(ioDispatcher) {
+            val localPath = syncRecord.localPath
+                ?: throw IllegalArgumentException("Source path doesn't exist on sync record: $syncRecord")
+            val destinationPath = syncRecord.newPath
+                ?: throw IllegalArgumentException("Destination path doesn't exist on sync record: $syncRecord")
+            fileGateway.createTempFileWithoutGpsCoordinates(root, localPath, destinationPath)
+            destinationPath
+        }
+
     override suspend fun removeGPSCoordinates(filePath: String) = withContext(ioDispatcher) {
         fileGateway.removeGPSCoordinates(filePath)
     }
@@ -114,8 +114,9 @@ internal class FolderLinkRepositoryImpl @Inject constructor(
     override suspend fun getNodeChildren(handle: Long, order: Int?): List<UnTypedNode> {
         return withContext(ioDispatcher) {
             megaApiFolderGateway.getMegaNodeByHandle(handle)?.let { parent ->
-                megaApiFolderGateway.getChildrenByNode(parent, order)
-                    .map { convertToUntypedNode(it) }
+                val children = megaApiFolderGateway.getChildrenByNode(parent, order)
+                val batch = nodeMapper.createChildrenBatch(isParentInRubbish = null)
+                children.map { nodeMapper(it, fromFolderLink = true, batch = batch) }
             } ?: throw SynchronisationException("Non null node found be null when fetched from api")
         }
     }
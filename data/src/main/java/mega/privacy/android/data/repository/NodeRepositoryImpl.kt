@@ -5,6 +5,7 @@ import dagger.hilt.android.qualifiers.ApplicationContext
 import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.filterIsInstance
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.flow.flowOn
 import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.flow.mapNotNull
@@ -191,10 +192,7 @@ internal class NodeRepositoryImpl @Inject constructor(
     override suspend fun getNodeChildren(folderNode: FolderNode): List<UnTypedNode> {
         return withContext(ioDispatcher) {
             megaApiGateway.getMegaNodeByHandle(folderNode.id.longValue)?.let { parent ->
-                megaApiGateway.getChildrenByNode(parent)
-                    .map {
-                        convertToUnTypedNode(it)
-                    }
+                convertChildrenToUnTypedNodes(parent, megaApiGateway.getChildrenByNode(parent))
             } ?: throw SynchronisationException("Non null node found be null when fetched from api")
         }
     }
@@ -205,21 +203,59 @@ internal class NodeRepositoryImpl @Inject constructor(
     ): List<UnTypedNode> {
         return withContext(ioDispatcher) {
             return@withContext megaApiGateway.getMegaNodeByHandle(nodeId.longValue)?.let { parent ->
-                val childList = order?.let { sortOrder ->
-                    megaApiGateway.getChildrenByNode(
-                        parent,
-                        sortOrderIntMapper(sortOrder)
-                    )
-                } ?: run {
-                    megaApiGateway.getChildrenByNode(parent)
-                }
-                childList.map { convertToUnTypedNode(it) }
+                convertChildrenToUnTypedNodes(parent, getChildList(parent, order))
             } ?: run {
                 emptyList()
             }
         }
     }
 
+    override fun getNodeChildrenInChunks(
+        nodeId: NodeId,
+        order: SortOrder?,
+        chunkSize: Int,
+    ): Flow<List<UnTypedNode>> = flow {
+        val parent = megaApiGateway.getMegaNodeByHandle(nodeId.longValue)
+        if (parent == null) {
+            emit(emptyList())
+            return@flow
+        }
+
+        val childList = getChildList(parent, order)
+        if (childList.isEmpty()) {
+            emit(emptyList())
+            return@flow
+        }
+        val batch = nodeMapper.createChildrenBatch(megaApiGateway.isInRubbish(parent))
+        val children = ArrayList<UnTypedNode>(childList.size)
+        childList.chunked(chunkSize).forEach { chunk ->
+            chunk.mapTo(children) { nodeMapper(it, batch = batch) }
+            emit(children.toList())
+        }
+    }.flowOn(ioDispatcher)
+
+    private suspend fun getChildList(parent: MegaNode, order: SortOrder?) =
+        order?.let { sortOrder ->
+            megaApiGateway.getChildrenByNode(
+                parent,
+                sortOrderIntMapper(sortOrder)
+            )
+        } ?: run {
+            megaApiGateway.getChildrenByNode(parent)
+        }
+
+    /**
+     * Maps the children of a folder together, resolving once what they have in common
+     */
+    private suspend fun convertChildrenToUnTypedNodes(
+        parent: MegaNode,
+        children: List<MegaNode>,
+    ): List<UnTypedNode> {
+        if (children.isEmpty()) return emptyList()
+        val batch = nodeMapper.createChildrenBatch(megaApiGateway.isInRubbish(parent))
+        return children.map { nodeMapper(it, batch = batch) }
+    }
+
     override suspend fun getNumVersions(handle: Long): Int = withContext(ioDispatcher) {
         megaApiGateway.getMegaNodeByHandle(handle)?.let {
             megaApiGateway.getNumVersions(it)
@@ -17,6 +17,7 @@ import mega.privacy.android.data.gateway.LogWriterGateway
 import mega.privacy.android.data.gateway.LogbackLogConfigurationGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.preferences.LoggingPreferencesGateway
+import mega.privacy.android.data.logging.ExportedLogFilesSelector
 import mega.privacy.android.data.logging.LineNumberDebugTree
 import mega.privacy.android.data.logging.LogFlowTree
 import mega.privacy.android.domain.qualifier.ChatLogger
@@ -57,6 +58,7 @@ import javax.inject.Inject
  * @property ioDispatcher
  * @property loggingPreferencesGateway
  * @property appScope
+ * @property exportedLogFilesSelector
  */
 internal class TimberLoggingRepository @Inject constructor(
     private val megaSdkLogger: MegaLoggerInterface,
@@ -72,6 +74,7 @@ internal class TimberLoggingRepository @Inject constructor(
     @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
     private val loggingPreferencesGateway: LoggingPreferencesGateway,
     @ApplicationScope private val appScope: CoroutineScope,
+    private val exportedLogFilesSelector: ExportedLogFilesSelector,
 ) : LoggingRepository {
 
     init {
@@ -120,9 +123,10 @@ internal class TimberLoggingRepository @Inject constructor(
     override suspend fun compressLogs(): File = withContext(ioDispatcher) {
         val loggingDirectoryPath = loggingConfig.getLoggingDirectoryPath()
         require(loggingDirectoryPath != null) { "Logging configuration file missing or logging directory not configured" }
+        loggingConfig.flushLogs()
         createEmptyFile().apply {
-            fileCompressionGateway.zipFolder(
-                File(loggingDirectoryPath),
+            fileCompressionGateway.zipFiles(
+                exportedLogFilesSelector(File(loggingDirectoryPath), MAX_EXPORTED_LOGS_SIZE),
                 this
             )
         }
@@ -161,4 +165,8 @@ internal class TimberLoggingRepository @Inject constructor(
     override suspend fun setChatLoggingEnabled(enabled: Boolean) {
         loggingPreferencesGateway.setChatLoggingEnabledPreference(enabled)
     }
-}
\ No newline at end of file
+
+    companion object {
+        private const val MAX_EXPORTED_LOGS_SIZE = 50L * 1024 * 1024
+    }
+}
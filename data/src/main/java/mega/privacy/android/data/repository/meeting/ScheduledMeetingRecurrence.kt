@@ -0,0 +1,179 @@
+package mega.privacy.android.data.repository.meeting
+
+import mega.privacy.android.domain.entity.chat.ChatScheduledMeeting
+import mega.privacy.android.domain.entity.chat.ChatScheduledMeetingOccurr
+import mega.privacy.android.domain.entity.chat.ChatScheduledRules
+import mega.privacy.android.domain.entity.meeting.OccurrenceFrequencyType
+import mega.privacy.android.domain.entity.meeting.Weekday
+import java.time.DayOfWeek
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalTime
+import java.time.YearMonth
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.time.ZonedDateTime
+import java.time.temporal.ChronoUnit
+import java.time.temporal.TemporalAdjusters
+import javax.inject.Inject
+
+/**
+ * Expands the [ChatScheduledRules] of a scheduled meeting into its occurrences, without asking
+ * the SDK for them.
+ *
+ * Occurrences keep the local start time of the meeting in its time zone, so they move with
+ * daylight saving changes as the SDK ones do. Days that don't exist in a period, such as the
+ * 31st in a short month or the fifth Monday of a month with four, are skipped.
+ */
+internal class ScheduledMeetingRecurrence @Inject constructor() {
+
+    /**
+     * Gets the next occurrence of a meeting that has not ended yet.
+     *
+     * @param meeting   The parent scheduled meeting.
+     * @param overrides The scheduled meetings that modify or cancel one of its occurrences.
+     * @param now       Current time, in seconds.
+     * @return The first occurrence, by start time, that is not cancelled and ends after [now].
+     */
+    fun getNextOccurrence(
+        meeting: ChatScheduledMeeting,
+        overrides: List<ChatScheduledMeeting>,
+        now: Long,
+    ): ChatScheduledMeetingOccurr? {
+        if (meeting.isCanceled) return null
+        val start = meeting.startDateTime ?: return null
+        val duration = (meeting.endDateTime ?: start) - start
+        val overridden = overrides.mapNotNullTo(HashSet()) { it.overrides }
+
+        val nextOccurrence = getOccurrenceStarts(meeting, since = now - duration)
+            .filterNot { it in overridden }
+            .firstOrNull { it > now || it + duration > now }
+            ?.let { meeting.toOccurrence(it, it + duration) }
+
+        val nextOverride = overrides
+            .filter { !it.isCanceled && it.startDateTime != null }
+            .filter { it.startDateTime!! > now || (it.endDateTime ?: 0) > now }
+            .minByOrNull { it.startDateTime!! }
+            ?.let { it.toOccurrence(it.startDateTime!!, it.endDateTime ?: it.startDateTime) }
+
+        return listOfNotNull(nextOccurrence, nextOverride).minByOrNull { it.startDateTime!! }
+    }
+
+    /**
+     * Gets the start of the occurrences of a meeting, in order. The ones overridden are not
+     * excluded.
+     *
+     * @param meeting   The scheduled meeting.
+     * @param since     The occurrences starting before this time, in seconds, may be skipped.
+     * @return The start of every occurrence, in seconds.
+     */
+    fun getOccurrenceStarts(meeting: ChatScheduledMeeting, since: Long): Sequence<Long> {
+        val start = meeting.startDateTime ?: return emptySequence()
+        val zone = meeting.timezone?.let { runCatching { ZoneId.of(it) }.getOrNull() }
+            ?: ZoneOffset.UTC
+        val firstStart = Instant.ofEpochSecond(start).atZone(zone)
+        val rules = meeting.rules?.takeIf { it.freq != OccurrenceFrequencyType.Invalid }
+            ?: return sequenceOf(start)
+
+        val time = firstStart.toLocalTime()
+        val sinceDate = Instant.ofEpochSecond(maxOf(start, since)).atZone(zone).toLocalDate()
+        return getOccurrenceDates(rules, firstStart.toLocalDate(), sinceDate)
+            .map { it.toEpochSecond(time, zone) }
+            .filter { it >= start }
+            .takeWhile { rules.until == 0L || it <= rules.until }
+    }
+
+    private fun getOccurrenceDates(
+        rules: ChatScheduledRules,
+        firstDate: LocalDate,
+        sinceDate: LocalDate,
+    ): Sequence<LocalDate> {
+        val interval = rules.interval.coerceAtLeast(1).toLong()
+        val weekdays = rules.weekDayList.orEmpty().map { it.toDayOfWeek() }.toSortedSet()
+
+        return when (rules.freq) {
+            OccurrenceFrequencyType.Daily -> {
+                val skipped =
+                    skippedPeriods(ChronoUnit.DAYS.between(firstDate, sinceDate), interval)
+                periods(skipped).map { firstDate.plusDays(it * interval) }
+                    .filter { weekdays.isEmpty() || it.dayOfWeek in weekdays }
+            }
+            OccurrenceFrequencyType.Weekly -> {
+                val firstWeek = firstDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                val days = weekdays.ifEmpty { sortedSetOf(firstDate.dayOfWeek) }
+                val skipped =
+                    skippedPeriods(ChronoUnit.WEEKS.between(firstWeek, sinceDate), interval)
+                periods(skipped).map { firstWeek.plusWeeks(it * interval) }
+                    .flatMap { week -> days.asSequence().map { week.plusDays(it.value - 1L) } }
+            }
+            OccurrenceFrequencyType.Monthly -> {
+                val firstMonth = YearMonth.from(firstDate)
+                val skipped = skippedPeriods(
+                    ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(sinceDate)),
+                    interval
+                )
+                periods(skipped).map { firstMonth.plusMonths(it * interval) }
+                    .flatMap { getMonthDates(rules, it, firstDate.dayOfMonth).asSequence() }
+            }
+            OccurrenceFrequencyType.Invalid -> sequenceOf(firstDate)
+        }
+    }
+
+    private fun getMonthDates(
+        rules: ChatScheduledRules,
+        month: YearMonth,
+        firstDay: Int,
+    ): List<LocalDate> {
+        val dates = sortedSetOf<LocalDate>()
+        rules.monthDayList.orEmpty()
+            .filter { month.isValidDay(it) }
+            .mapTo(dates) { month.atDay(it) }
+        rules.monthWeekDayList.forEach { item ->
+            item.weekDaysList.forEach { weekday ->
+                val date = month.atDay(1)
+                    .with(TemporalAdjusters.firstInMonth(weekday.toDayOfWeek()))
+                    .plusWeeks(item.weekOfMonth.ordinal.toLong())
+                if (YearMonth.from(date) == month) dates.add(date)
+            }
+        }
+        if (rules.monthDayList.isNullOrEmpty() && rules.monthWeekDayList.isEmpty()
+            && month.isValidDay(firstDay)
+        ) {
+            dates.add(month.atDay(firstDay))
+        }
+        return dates.toList()
+    }
+
+    /**
+     * Number of whole periods that can be skipped, one less than the elapsed ones so an
+     * occurrence still running is not lost.
+     */
+    private fun skippedPeriods(elapsedUnits: Long, interval: Long): Long =
+        (elapsedUnits / interval - 1).coerceAtLeast(0)
+
+    private fun periods(first: Long): Sequence<Long> =
+        generateSequence(first) { it + 1 }.take(MAX_PERIODS)
+
+    private fun LocalDate.toEpochSecond(time: LocalTime, zone: ZoneId): Long =
+        ZonedDateTime.of(this, time, zone).toEpochSecond()
+
+    private fun Weekday.toDayOfWeek(): DayOfWeek = DayOfWeek.of(ordinal + 1)
+
+    private fun ChatScheduledMeeting.toOccurrence(start: Long, end: Long) =
+        ChatScheduledMeetingOccurr(
+            schedId = schedId,
+            parentSchedId = parentSchedId ?: -1,
+            isCancelled = false,
+            timezone = timezone,
+            startDateTime = start,
+            endDateTime = end,
+            overrides = overrides,
+        )
+
+    companion object {
+        /**
+         * Maximum number of periods checked, so rules that never match a day end.
+         */
+        const val MAX_PERIODS = 1000
+    }
+}
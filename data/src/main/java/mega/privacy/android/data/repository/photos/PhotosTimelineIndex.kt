@@ -0,0 +1,174 @@
+package mega.privacy.android.data.repository.photos
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.flow
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotosTimelineChanges
+import java.time.LocalDateTime
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentSkipListMap
+
+/**
+ * In memory index of the Timeline photos, keyed by [NodeId] and ordered by modification time
+ *
+ * The index is loaded once with [replaceAll] and then kept up to date with [applyChanges], so
+ * a node update only costs the photos it touches instead of a new search of the whole account.
+ * Reads are lock free; writes are serialised and every write that changes the index publishes
+ * a new [Snapshot].
+ */
+internal class PhotosTimelineIndex {
+
+    /**
+     * A published state of the index
+     *
+     * @property version increases with every published state
+     * @property changes the Timeline photos and the changes from the previous version
+     */
+    data class Snapshot(
+        val version: Long,
+        val changes: PhotosTimelineChanges,
+    )
+
+    private data class TimelineKey(val modificationTime: LocalDateTime, val id: Long)
+
+    private val photosById = ConcurrentHashMap<NodeId, Photo>()
+
+    private val timeline = ConcurrentSkipListMap<TimelineKey, Photo>(
+        compareByDescending<TimelineKey> { it.modificationTime }.thenByDescending { it.id }
+    )
+
+    private val lock = Any()
+
+    private var version = 0L
+
+    private val _snapshot = MutableStateFlow<Snapshot?>(null)
+
+    /**
+     * The latest published state, null until the index is loaded
+     */
+    val snapshot: StateFlow<Snapshot?> = _snapshot.asStateFlow()
+
+    /**
+     * True once the index has been loaded with [replaceAll]
+     */
+    val isLoaded: Boolean
+        get() = _snapshot.value != null
+
+    /**
+     * Get the photo with the given id, or null if it is not in the Timeline
+     */
+    operator fun get(id: NodeId): Photo? = photosById[id]
+
+    /**
+     * Replace the whole content of the index
+     *
+     * @param photos the Timeline photos
+     */
+    fun replaceAll(photos: List<Photo>) = synchronized(lock) {
+        val latest = photos.associateBy { NodeId(it.id) }
+        val removed = photosById.keys.filterNot { it in latest }
+        val upserts = latest.values.filter { photosById[NodeId(it.id)] != it }
+        write(upserts, removed, forcePublish = !isLoaded)
+    }
+
+    /**
+     * Apply a delta to the index. Ignored until the index is loaded
+     *
+     * @param upserts photos to insert, or to update if already in the index
+     * @param removed ids of the photos to remove
+     */
+    fun applyChanges(upserts: List<Photo>, removed: Collection<NodeId>) = synchronized(lock) {
+        if (isLoaded) write(upserts, removed, forcePublish = false)
+    }
+
+    /**
+     * Empty the index. It has to be loaded again with [replaceAll]
+     */
+    fun clear() = synchronized(lock) {
+        photosById.clear()
+        timeline.clear()
+        version++
+        _snapshot.value = null
+    }
+
+    /**
+     * Monitor the changes of the index
+     *
+     * Each collector receives the changes relative to the previous state it received. When
+     * intermediate states were conflated, or the index was cleared and loaded again, the
+     * changes are computed from the two full states instead.
+     */
+    fun monitorChanges(): Flow<PhotosTimelineChanges> = flow {
+        var previous: Snapshot? = null
+        _snapshot.filterNotNull().collect { current ->
+            val last = previous
+            emit(
+                when {
+                    last == null -> PhotosTimelineChanges(
+                        photos = current.changes.photos,
+                        added = current.changes.photos,
+                        updated = emptyList(),
+                        removed = emptyList(),
+                    )
+
+                    current.version == last.version + 1 -> current.changes
+                    else -> diff(last.changes.photos, current.changes.photos)
+                }
+            )
+            previous = current
+        }
+    }
+
+    private fun write(upserts: List<Photo>, removed: Collection<NodeId>, forcePublish: Boolean) {
+        val added = mutableListOf<Photo>()
+        val updated = mutableListOf<Photo>()
+        val actuallyRemoved = mutableListOf<NodeId>()
+        removed.forEach { id ->
+            photosById.remove(id)?.let {
+                timeline.remove(it.timelineKey())
+                actuallyRemoved.add(id)
+            }
+        }
+        upserts.forEach { photo ->
+            val old = photosById.put(NodeId(photo.id), photo)
+            when {
+                old == null -> added.add(photo)
+                old != photo -> updated.add(photo)
+                else -> return@forEach
+            }
+            old?.let { timeline.remove(it.timelineKey()) }
+            timeline[photo.timelineKey()] = photo
+        }
+        val hasChanges =
+            added.isNotEmpty() || updated.isNotEmpty() || actuallyRemoved.isNotEmpty()
+        if (forcePublish || hasChanges) {
+            _snapshot.value = Snapshot(
+                version = ++version,
+                changes = PhotosTimelineChanges(
+                    photos = timeline.values.toList(),
+                    added = added,
+                    updated = updated,
+                    removed = actuallyRemoved,
+                ),
+            )
+        }
+    }
+
+    private fun diff(previous: List<Photo>, current: List<Photo>): PhotosTimelineChanges {
+        val previousById = previous.associateBy { it.id }
+        val currentIds = current.mapTo(HashSet()) { it.id }
+        return PhotosTimelineChanges(
+            photos = current,
+            added = current.filter { it.id !in previousById },
+            updated = current.filter { previousById[it.id]?.let { old -> old != it } == true },
+            removed = previous.filter { it.id !in currentIds }.map { NodeId(it.id) },
+        )
+    }
+
+    private fun Photo.timelineKey() = TimelineKey(modificationTime, id)
+}
@@ -0,0 +1,66 @@
+package mega.privacy.android.data.cryptography
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.assertThrows
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import javax.crypto.Cipher
+import javax.crypto.spec.SecretKeySpec
+
+/**
+ * Test class for [AesCipherProvider]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AesCipherProviderTest {
+
+    private val aesKey = "0123456789abcdef0123456789abcdef".toByteArray()
+
+    private val underTest = AesCipherProvider(aesKey)
+
+    @Test
+    fun `test that encrypted values match a freshly created cipher`() {
+        val cipher = Cipher.getInstance("AES").apply {
+            init(Cipher.ENCRYPT_MODE, SecretKeySpec(aesKey, "AES"))
+        }
+        listOf("first", "second", "third").forEach {
+            assertThat(underTest.encrypt(it.toByteArray()))
+                .isEqualTo(cipher.doFinal(it.toByteArray()))
+        }
+    }
+
+    @Test
+    fun `test that decrypting an encrypted value returns the original value`() {
+        val original = "/storage/emulated/0/DCIM/Camera/IMG_0001.jpg"
+
+        val decrypted = underTest.decrypt(underTest.encrypt(original.toByteArray()))
+
+        assertThat(String(decrypted)).isEqualTo(original)
+    }
+
+    @Test
+    fun `test that the provider keeps working after a failed decryption`() {
+        assertThrows<Exception> { underTest.decrypt("not encrypted".toByteArray()) }
+
+        val encrypted = underTest.encrypt("value".toByteArray())
+        assertThat(String(underTest.decrypt(encrypted))).isEqualTo("value")
+    }
+
+    @Test
+    fun `test that concurrent calls from several threads return the right values`() {
+        val executor = Executors.newFixedThreadPool(8)
+        try {
+            val results = (1..1000).map { index ->
+                executor.submit(Callable {
+                    val value = "value $index"
+                    value to String(underTest.decrypt(underTest.encrypt(value.toByteArray())))
+                })
+            }.map { it.get() }
+
+            results.forEach { (expected, actual) -> assertThat(actual).isEqualTo(expected) }
+        } finally {
+            executor.shutdown()
+        }
+    }
+}
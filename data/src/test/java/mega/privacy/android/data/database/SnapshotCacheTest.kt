@@ -0,0 +1,72 @@
+package mega.privacy.android.data.database
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+/**
+ * Test class for [SnapshotCache]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SnapshotCacheTest {
+
+    private var stored = "initial"
+
+    private var loads = 0
+
+    private fun cache() = SnapshotCache("test") {
+        loads++
+        stored
+    }
+
+    @Test
+    fun `test that the value is loaded only once for consecutive reads`() {
+        loads = 0
+        val underTest = cache()
+
+        repeat(10) { assertThat(underTest.get()).isEqualTo(stored) }
+
+        assertThat(loads).isEqualTo(1)
+        assertThat(underTest.metrics).isEqualTo(SnapshotCacheMetrics("test", hits = 9, misses = 1))
+    }
+
+    @Test
+    fun `test that getting the flow loads the value without counting a hit`() {
+        loads = 0
+        val underTest = cache()
+
+        repeat(3) { assertThat(underTest.flow.value).isEqualTo(stored) }
+
+        assertThat(loads).isEqualTo(1)
+        assertThat(underTest.metrics).isEqualTo(SnapshotCacheMetrics("test", hits = 0, misses = 1))
+    }
+
+    @Test
+    fun `test that refresh reloads the value and updates the flow`() {
+        stored = "initial"
+        val underTest = cache()
+        val flow = underTest.flow
+        assertThat(flow.value).isEqualTo("initial")
+
+        stored = "updated"
+        underTest.refresh()
+
+        assertThat(flow.value).isEqualTo("updated")
+        assertThat(underTest.get()).isEqualTo("updated")
+    }
+
+    @Test
+    fun `test that invalidate loads the value again on next read`() {
+        loads = 0
+        stored = "initial"
+        val underTest = cache()
+        underTest.get()
+
+        stored = "updated"
+        underTest.invalidate()
+
+        assertThat(underTest.get()).isEqualTo("updated")
+        assertThat(loads).isEqualTo(2)
+        assertThat(underTest.metrics.misses).isEqualTo(2)
+    }
+}
@@ -0,0 +1,126 @@
+package mega.privacy.android.data.exif
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+/**
+ * Test class for [JpegGpsMetadataStripper]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JpegGpsMetadataStripperTest {
+
+    private val underTest = JpegGpsMetadataStripper()
+
+    private val gpsIfdOffset = 38
+    private val gpsDataOffset = 68
+    private val tiffSize = 92
+
+    /**
+     * TIFF structure with IFD0 holding a Make entry and the GPS IFD pointer, and a GPS IFD
+     * with latitude reference and latitude
+     */
+    private fun tiff(order: ByteOrder, withGps: Boolean = true): ByteArray {
+        val buffer = ByteBuffer.allocate(tiffSize).order(order)
+        buffer.put(if (order == ByteOrder.LITTLE_ENDIAN) "II".toByteArray() else "MM".toByteArray())
+        buffer.putShort(42).putInt(8)
+        // IFD0
+        buffer.putShort((if (withGps) 2 else 1).toShort())
+        buffer.putShort(0x010F).putShort(2).putInt(4).put("Abc\u0000".toByteArray())
+        if (withGps) {
+            buffer.putShort(0x8825.toShort()).putShort(4).putInt(1).putInt(gpsIfdOffset)
+        }
+        buffer.putInt(0)
+        // GPS IFD
+        buffer.position(gpsIfdOffset)
+        buffer.putShort(2)
+        buffer.putShort(0x0001).putShort(2).putInt(2).put("N\u0000\u0000\u0000".toByteArray())
+        buffer.putShort(0x0002).putShort(5).putInt(3).putInt(gpsDataOffset)
+        buffer.putInt(0)
+        buffer.putInt(40).putInt(1).putInt(26).putInt(1).putInt(46).putInt(1)
+        return buffer.array()
+    }
+
+    private fun segment(marker: Int, payload: ByteArray): ByteArray {
+        val length = payload.size + 2
+        return byteArrayOf(
+            0xFF.toByte(),
+            marker.toByte(),
+            (length shr 8).toByte(),
+            length.toByte(),
+        ) + payload
+    }
+
+    private fun jpeg(tiff: ByteArray) = byteArrayOf(0xFF.toByte(), 0xD8.toByte()) +
+            segment(0xE1, "Exif\u0000\u0000".toByteArray() + tiff) +
+            segment(0xDB, byteArrayOf(1, 2, 3, 4)) +
+            segment(0xDA, byteArrayOf(5, 6)) +
+            byteArrayOf(7, 0xFF.toByte(), 0, 8) +
+            byteArrayOf(0xFF.toByte(), 0xD9.toByte())
+
+    private fun strip(input: ByteArray): Pair<Boolean, ByteArray> {
+        val output = ByteArrayOutputStream()
+        val result = underTest.copyWithoutGpsMetadata(ByteArrayInputStream(input), output)
+        return result to output.toByteArray()
+    }
+
+    private val tiffStart = 2 + 4 + 6
+
+    @Test
+    fun `test that the GPS IFD is removed from a big endian Exif segment`() {
+        assertGpsRemoved(ByteOrder.BIG_ENDIAN)
+    }
+
+    @Test
+    fun `test that the GPS IFD is removed from a little endian Exif segment`() {
+        assertGpsRemoved(ByteOrder.LITTLE_ENDIAN)
+    }
+
+    private fun assertGpsRemoved(order: ByteOrder) {
+        val input = jpeg(tiff(order))
+
+        val (result, output) = strip(input)
+
+        assertThat(result).isTrue()
+        assertThat(output.size).isEqualTo(input.size)
+        val tiff = ByteBuffer.wrap(output, tiffStart, tiffSize).slice().order(order)
+        assertThat(tiff.getShort(8).toInt()).isEqualTo(1)
+        assertThat(tiff.getShort(10).toInt()).isEqualTo(0x010F)
+        assertThat(tiff.getInt(22)).isEqualTo(0)
+        (gpsIfdOffset until tiffSize).forEach { assertThat(tiff.get(it)).isEqualTo(0.toByte()) }
+        assertThat(output.copyOfRange(tiffStart + tiffSize, output.size))
+            .isEqualTo(input.copyOfRange(tiffStart + tiffSize, input.size))
+    }
+
+    @Test
+    fun `test that a file without GPS metadata is copied unchanged`() {
+        val input = jpeg(tiff(ByteOrder.BIG_ENDIAN, withGps = false))
+
+        val (result, output) = strip(input)
+
+        assertThat(result).isTrue()
+        assertThat(output).isEqualTo(input)
+    }
+
+    @Test
+    fun `test that a file that is not a JPEG is not supported`() {
+        val (result, _) = strip("\u0000\u0000\u0000\u0018ftypheic".toByteArray())
+
+        assertThat(result).isFalse()
+    }
+
+    @Test
+    fun `test that a malformed Exif segment is not supported`() {
+        val tiff = tiff(ByteOrder.BIG_ENDIAN)
+        // IFD0 offset out of the segment
+        ByteBuffer.wrap(tiff).putInt(4, 1000)
+
+        val (result, _) = strip(jpeg(tiff))
+
+        assertThat(result).isFalse()
+    }
+}
@@ -9,20 +9,30 @@ import mega.privacy.android.data.cryptography.EncryptData
 import mega.privacy.android.data.database.dao.ActiveTransferDao
 import mega.privacy.android.data.database.dao.CompletedTransferDao
 import mega.privacy.android.data.database.dao.ContactDao
+import mega.privacy.android.data.database.dao.MediaPlaybackInfoDao
 import mega.privacy.android.data.database.entity.CompletedTransferEntity
+import mega.privacy.android.data.database.entity.MediaPlaybackInfoEntity
 import mega.privacy.android.data.mapper.contact.ContactEntityMapper
 import mega.privacy.android.data.mapper.contact.ContactModelMapper
+import mega.privacy.android.data.mapper.mediaplayer.MediaPlaybackInfoEntityMapper
+import mega.privacy.android.data.mapper.mediaplayer.PlaybackInformationMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferEntityMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferMapper
 import mega.privacy.android.data.mapper.transfer.active.ActiveTransferTotalsMapper
 import mega.privacy.android.data.mapper.transfer.completed.CompletedTransferModelMapper
+import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
 import mega.privacy.android.domain.entity.transfer.CompletedTransfer
 import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argThat
+import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -41,6 +51,7 @@ internal class MegaLocalRoomFacadeTest {
     private val activeTransferMapper = mock<ActiveTransferMapper>()
     private val activeTransferTotalsMapper = mock<ActiveTransferTotalsMapper>()
     private val activeTransferEntityMapper = mock<ActiveTransferEntityMapper>()
+    private val mediaPlaybackInfoDao = mock<MediaPlaybackInfoDao>()
 
     @BeforeAll
     fun setUp() {
@@ -55,6 +66,9 @@ internal class MegaLocalRoomFacadeTest {
             activeTransferEntityMapper,
             activeTransferTotalsMapper,
             encryptData,
+            mediaPlaybackInfoDao,
+            PlaybackInformationMapper(),
+            MediaPlaybackInfoEntityMapper(),
         )
     }
 
@@ -70,6 +84,7 @@ internal class MegaLocalRoomFacadeTest {
             activeTransferDao,
             activeTransferMapper,
             activeTransferEntityMapper,
+            mediaPlaybackInfoDao,
         )
     }
 
@@ -142,4 +157,42 @@ internal class MegaLocalRoomFacadeTest {
             assertThat(underTest.getAllCompletedTransfers().single().size)
                 .isEqualTo(completedTransferEntities.size)
         }
+
+    @Test
+    fun `test that the least recently used playback information is removed when there are more than the maximum`() =
+        runTest {
+            whenever(mediaPlaybackInfoDao.getMediaPlaybackInfoCount()).thenReturn(12)
+
+            underTest.insertOrUpdatePlaybackInformation(
+                listOf(PlaybackInformation(1L, 100L, 50L), PlaybackInformation(null, 100L, 50L)),
+                maxCount = 10,
+            )
+
+            verify(mediaPlaybackInfoDao).insertOrUpdateMediaPlaybackInfos(
+                argThat { size == 1 && first().mediaHandle == 1L }
+            )
+            verify(mediaPlaybackInfoDao).deleteOldestMediaPlaybackInfos(2)
+        }
+
+    @Test
+    fun `test that no playback information is removed when there are not more than the maximum`() =
+        runTest {
+            whenever(mediaPlaybackInfoDao.getMediaPlaybackInfoCount()).thenReturn(10)
+
+            underTest.insertOrUpdatePlaybackInformation(emptyList(), maxCount = 10)
+
+            verify(mediaPlaybackInfoDao, never()).insertOrUpdateMediaPlaybackInfos(any())
+            verify(mediaPlaybackInfoDao, never()).deleteOldestMediaPlaybackInfos(any())
+        }
+
+    @Test
+    fun `test that getting the playback information updates its last access`() = runTest {
+        whenever(mediaPlaybackInfoDao.getMediaPlaybackInfo(1L)).thenReturn(
+            MediaPlaybackInfoEntity(1L, 100L, 50L, lastAccessed = 0L)
+        )
+
+        assertThat(underTest.getPlaybackInformation(1L))
+            .isEqualTo(PlaybackInformation(1L, 100L, 50L))
+        verify(mediaPlaybackInfoDao).updateLastAccessed(eq(1L), any())
+    }
 }
@@ -0,0 +1,130 @@
+package mega.privacy.android.data.gateway
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import kotlin.random.Random
+
+/**
+ * Test class for [ZipFileCompressionGateway]
+ */
+@OptIn(ExperimentalCoroutinesApi::class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ZipFileCompressionGatewayTest {
+
+    private lateinit var underTest: ZipFileCompressionGateway
+
+    @TempDir
+    lateinit var temporaryFolder: File
+
+    @BeforeEach
+    fun setUp() {
+        val dispatcher = UnconfinedTestDispatcher()
+        underTest = ZipFileCompressionGateway(dispatcher, dispatcher)
+    }
+
+    private fun newFolder() = File.createTempFile("source", "", temporaryFolder).apply {
+        delete()
+        mkdirs()
+    }
+
+    private fun ZipFile.readEntries() = entries().asSequence()
+        .filterNot { it.isDirectory }
+        .associate { it.name to getInputStream(it).use { stream -> stream.readBytes() } }
+
+    @Test
+    fun `test that a deep folder tree is zipped with its relative paths`() = runTest {
+        val source = newFolder()
+        val expected = mutableMapOf<String, ByteArray>()
+        var folder = source
+        repeat(5) { depth ->
+            folder = File(folder, "level$depth").apply { mkdirs() }
+            val name = "${folder.relativeTo(source).invariantSeparatorsPath}/file$depth.txt"
+            val content = "content $depth ".repeat(1000).toByteArray()
+            File(source, name).writeBytes(content)
+            expected[name] = content
+        }
+        File(source, "empty").mkdirs()
+        val zipFile = File(temporaryFolder, "folder.zip")
+
+        underTest.zipFolder(source, zipFile)
+
+        ZipFile(zipFile).use {
+            val entries = it.readEntries()
+            assertThat(entries.keys).containsExactlyElementsIn(expected.keys)
+            expected.forEach { (name, content) -> assertThat(entries[name]).isEqualTo(content) }
+            assertThat(it.getEntry("empty/")?.isDirectory).isTrue()
+        }
+    }
+
+    @Test
+    fun `test that compressed files are stored and other files are deflated`() = runTest {
+        val source = newFolder()
+        val image = File(source, "image.jpg").apply { writeBytes(Random.nextBytes(10_000)) }
+        val log = File(source, "app.log").apply { writeText("log line\n".repeat(10_000)) }
+        val zipFile = File(temporaryFolder, "files.zip")
+
+        underTest.zipFiles(listOf(image, log), zipFile)
+
+        ZipFile(zipFile).use {
+            assertThat(it.getEntry("image.jpg").method).isEqualTo(ZipEntry.STORED)
+            assertThat(it.getEntry("app.log").method).isEqualTo(ZipEntry.DEFLATED)
+            assertThat(it.readEntries()["image.jpg"]).isEqualTo(image.readBytes())
+            assertThat(it.readEntries()["app.log"]).isEqualTo(log.readBytes())
+        }
+    }
+
+    @Test
+    fun `test that random data is stored as it cannot be deflated`() = runTest {
+        val source = newFolder()
+        val data = File(source, "data.bin").apply { writeBytes(Random.nextBytes(10_000)) }
+        val zipFile = File(temporaryFolder, "random.zip")
+
+        underTest.zipFiles(listOf(data), zipFile)
+
+        ZipFile(zipFile).use {
+            assertThat(it.getEntry("data.bin").method).isEqualTo(ZipEntry.STORED)
+            assertThat(it.readEntries()["data.bin"]).isEqualTo(data.readBytes())
+        }
+    }
+
+    @Test
+    fun `test that big files are deflated without leaving temporary files`() = runTest {
+        val source = newFolder()
+        val log = File(source, "big.log").apply {
+            writeText("big log line\n".repeat(500_000))
+        }
+        val small = File(source, "small.log").apply { writeText("small log line\n".repeat(100)) }
+        val output = newFolder()
+        val zipFile = File(output, "big.zip")
+
+        underTest.zipFiles(listOf(log, small), zipFile)
+
+        ZipFile(zipFile).use {
+            assertThat(it.getEntry("big.log").method).isEqualTo(ZipEntry.DEFLATED)
+            assertThat(it.getEntry("big.log").compressedSize).isLessThan(log.length())
+            assertThat(it.readEntries()["big.log"]).isEqualTo(log.readBytes())
+            assertThat(it.readEntries()["small.log"]).isEqualTo(small.readBytes())
+        }
+        assertThat(output.list()).asList().containsExactly("big.zip")
+    }
+
+    @Test
+    fun `test that the progress is reported up to the end`() = runTest {
+        val source = newFolder()
+        val files = (1..4).map { File(source, "$it.txt").apply { writeText("$it".repeat(100)) } }
+        val progress = mutableListOf<Float>()
+
+        underTest.zipFiles(files, File(temporaryFolder, "progress.zip")) { progress.add(it) }
+
+        assertThat(progress).containsExactly(0.25f, 0.5f, 0.75f, 1f).inOrder()
+    }
+}
@@ -0,0 +1,85 @@
+package mega.privacy.android.data.logging
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.junit.jupiter.api.io.TempDir
+import java.io.File
+
+/**
+ * Test class for [ExportedLogFilesSelector]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ExportedLogFilesSelectorTest {
+
+    private val underTest = ExportedLogFilesSelector()
+
+    private fun File.logFile(name: String, size: Int, lastModified: Long) =
+        resolve(name).apply {
+            writeBytes(ByteArray(size))
+            setLastModified(lastModified)
+        }
+
+    @Test
+    fun `test that all the files are selected from the newest when they fit`(
+        @TempDir directory: File,
+    ) {
+        val old = directory.logFile("log.2023-07-01.0.zip", size = 10, lastModified = 1_000L)
+        val newest = directory.logFile("log.txt", size = 10, lastModified = 3_000L)
+        val recent = directory.logFile("log.2023-07-02.0.zip", size = 10, lastModified = 2_000L)
+
+        assertThat(underTest(directory, maxSize = 30)).containsExactly(newest, recent, old)
+            .inOrder()
+    }
+
+    @Test
+    fun `test that the selected files do not exceed the size cap`(@TempDir directory: File) {
+        val newest = directory.logFile("log.txt", size = 10, lastModified = 4_000L)
+        val recent = directory.logFile("log.2023-07-03.0.zip", size = 10, lastModified = 3_000L)
+        directory.logFile("log.2023-07-02.0.zip", size = 10, lastModified = 2_000L)
+        directory.logFile("log.2023-07-01.0.zip", size = 10, lastModified = 1_000L)
+
+        assertThat(underTest(directory, maxSize = 25)).containsExactly(newest, recent).inOrder()
+    }
+
+    @Test
+    fun `test that a file that does not fit is skipped and the older ones still selected`(
+        @TempDir directory: File,
+    ) {
+        val newest = directory.logFile("log.txt", size = 10, lastModified = 3_000L)
+        directory.logFile("log.2023-07-02.0.zip", size = 100, lastModified = 2_000L)
+        val old = directory.logFile("log.2023-07-01.0.zip", size = 10, lastModified = 1_000L)
+
+        assertThat(underTest(directory, maxSize = 50)).containsExactly(newest, old).inOrder()
+    }
+
+    @Test
+    fun `test that an oversized file is not selected`(@TempDir directory: File) {
+        directory.logFile("log.txt", size = 100, lastModified = 2_000L)
+        val chatLog = directory.logFile("logKarere.txt", size = 10, lastModified = 1_000L)
+
+        assertThat(underTest(directory, maxSize = 50)).containsExactly(chatLog)
+    }
+
+    @Test
+    fun `test that the newest file of every log family is selected first`(
+        @TempDir directory: File,
+    ) {
+        val sdkLog = directory.logFile("log.txt", size = 10, lastModified = 5_000L)
+        val rolledSdkLog =
+            directory.logFile("log.2023-07-02.0.zip", size = 10, lastModified = 4_000L)
+        directory.logFile("log.2023-07-01.0.zip", size = 10, lastModified = 3_000L)
+        val chatLog = directory.logFile("logKarere.txt", size = 10, lastModified = 2_000L)
+
+        assertThat(underTest(directory, maxSize = 30))
+            .containsExactly(sdkLog, rolledSdkLog, chatLog).inOrder()
+    }
+
+    @Test
+    fun `test that directories are not selected`(@TempDir directory: File) {
+        directory.resolve("folder").mkdir()
+        val log = directory.logFile("log.txt", size = 10, lastModified = 1_000L)
+
+        assertThat(underTest(directory, maxSize = 50)).containsExactly(log)
+    }
+}
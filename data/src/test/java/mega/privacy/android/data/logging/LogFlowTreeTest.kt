@@ -1,8 +1,12 @@
 package mega.privacy.android.data.logging
 
+import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.TestScope
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
+import mega.privacy.android.data.gateway.TimberChatLogger
 import mega.privacy.android.domain.entity.logging.LogEntry
 import mega.privacy.android.domain.usecase.CreateLogEntry
 import org.junit.Before
@@ -10,7 +14,9 @@ import org.junit.Test
 import org.mockito.kotlin.any
 import org.mockito.kotlin.argForWhich
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
 import org.mockito.kotlin.verifyBlocking
+import org.mockito.kotlin.verifyNoInteractions
 import timber.log.Timber
 
 @OptIn(ExperimentalCoroutinesApi::class)
@@ -30,8 +36,16 @@ class LogFlowTreeTest {
         )
     }
 
+    private fun runCollectedTest(testBody: suspend TestScope.() -> Unit) = runTest {
+        val collector = launch(UnconfinedTestDispatcher(testScheduler)) {
+            underTest.logFlow.collect {}
+        }
+        testBody()
+        collector.cancel()
+    }
+
     @Test
-    fun `test that correct ignored classes are passed to create entry`() = runTest {
+    fun `test that correct ignored classes are passed to create entry`() = runCollectedTest {
         val expected = listOf<String>(
             Timber::class.java.name,
             Timber::class.java.name,
@@ -44,4 +58,42 @@ class LogFlowTreeTest {
         verifyBlocking(createLogEntry) { invoke(argForWhich { loggingClasses.containsAll(expected) }) }
     }
 
+    @Test
+    fun `test that messages from the sdk loggers are flagged without a trace`() =
+        runCollectedTest {
+            LoggerCallSite.from(TimberChatLogger::class.java) {
+                underTest.d("Message")
+            }
+
+            verifyBlocking(createLogEntry) { invoke(argForWhich { isSdkLog && trace.isEmpty() }) }
+        }
+
+    @Test
+    fun `test that messages from the app are traced to the caller`() = runCollectedTest {
+        underTest.d("Message")
+
+        verifyBlocking(createLogEntry) {
+            invoke(argForWhich {
+                !isSdkLog && trace.any { it.className == LogFlowTreeTest::class.java.name }
+            })
+        }
+    }
+
+    @Test
+    fun `test that messages are not processed while the flow is not collected`() = runTest {
+        underTest.d("Message")
+
+        verifyNoInteractions(createLogEntry)
+        assertThat(underTest.metrics().queueDepth).isEqualTo(0)
+    }
+
+    @Test
+    fun `test that every message is processed`() = runCollectedTest {
+        repeat(10) { underTest.d("Message $it") }
+
+        verifyBlocking(createLogEntry, times(10)) { invoke(any()) }
+        assertThat(underTest.metrics().queueDepth).isEqualTo(0)
+        assertThat(underTest.metrics().droppedCount).isEqualTo(0)
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package mega.privacy.android.data.logging
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+/**
+ * Test class for [LogRingBuffer]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LogRingBufferTest {
+
+    private fun LogRingBuffer.offer(message: String) =
+        offer(
+            priority = 0,
+            tag = null,
+            message = message,
+            throwable = null,
+            isSdkLog = false,
+            trace = emptyList(),
+        )
+
+    private fun LogRingBuffer.pollMessage() = poll { _, _, message, _, _, _ -> message }
+
+    @Test
+    fun `test that messages are polled in the order they were offered`() {
+        val underTest = LogRingBuffer(capacity = 3)
+        listOf("a", "b", "c").forEach { underTest.offer(it) }
+
+        assertThat(underTest.pollMessage()).isEqualTo("a")
+        underTest.offer("d")
+
+        assertThat(generateSequence { underTest.pollMessage() }.toList())
+            .containsExactly("b", "c", "d").inOrder()
+    }
+
+    @Test
+    fun `test that only the first message of an empty buffer requests a wake up`() {
+        val underTest = LogRingBuffer(capacity = 3)
+
+        assertThat(underTest.offer("a")).isTrue()
+        assertThat(underTest.offer("b")).isFalse()
+        underTest.pollMessage()
+        underTest.pollMessage()
+        assertThat(underTest.offer("c")).isTrue()
+    }
+
+    @Test
+    fun `test that messages are dropped and counted when the buffer is full`() {
+        val underTest = LogRingBuffer(capacity = 2)
+
+        listOf("a", "b", "c", "d").forEach { underTest.offer(it) }
+
+        with(underTest.metrics()) {
+            assertThat(queueDepth).isEqualTo(2)
+            assertThat(maxQueueDepth).isEqualTo(2)
+            assertThat(droppedCount).isEqualTo(2)
+        }
+        assertThat(underTest.pollMessage()).isEqualTo("a")
+        assertThat(underTest.metrics().queueDepth).isEqualTo(1)
+    }
+
+    @Test
+    fun `test that polling an empty buffer returns null`() {
+        val underTest = LogRingBuffer(capacity = 1)
+
+        assertThat(underTest.pollMessage()).isNull()
+    }
+}
@@ -8,6 +8,7 @@ import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.mapper.node.FileNodeMapper
 import mega.privacy.android.data.mapper.node.FolderNodeMapper
 import mega.privacy.android.data.mapper.node.NodeMapper
+import mega.privacy.android.data.mapper.node.NodeMappingBatch
 import mega.privacy.android.data.model.node.DefaultFileNode
 import mega.privacy.android.data.model.node.DefaultFolderNode
 import mega.privacy.android.domain.entity.PdfFileTypeInfo
@@ -21,7 +22,11 @@ import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.stub
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import java.io.File
 
 @OptIn(ExperimentalCoroutinesApi::class)
 class NodeMapperTest {
@@ -122,6 +127,80 @@ class NodeMapperTest {
         assertThat(actualAsFolder.isPendingShare).isTrue()
     }
 
+    @Test
+    fun `test that the values of a batch are used instead of the gateways`() = runTest {
+        val folder = getMockNode(isFile = false)
+        val file = getMockNode(isFile = true)
+        val cacheFolder = File("cache")
+        val batch = NodeMappingBatch(
+            thumbnailCacheFolder = cacheFolder,
+            previewCacheFolder = cacheFolder,
+            fullSizeCacheFolder = null,
+            isInRubbish = true,
+        )
+
+        val actualFolder = underTest(megaNode = folder, batch = batch) as DefaultFolderNode
+        val actualFile = underTest(megaNode = file, batch = batch) as DefaultFileNode
+
+        assertThat(actualFolder.isInRubbishBin).isTrue()
+        verify(megaApiGateway, never()).isInRubbish(any())
+        assertThat(actualFile.thumbnailPath).startsWith("cache${File.separator}")
+        assertThat(actualFile.previewPath).startsWith("cache${File.separator}")
+        assertThat(actualFile.fullSizePath).isNull()
+    }
+
+    @Test
+    fun `test that nodes mapped in a batch do not load their attributes until read`() = runTest {
+        val batch = NodeMappingBatch(
+            thumbnailCacheFolder = null,
+            previewCacheFolder = null,
+            fullSizeCacheFolder = null,
+            isInRubbish = false,
+        )
+
+        underTest(megaNode = getMockNode(isFile = false), batch = batch)
+        underTest(megaNode = getMockNode(isFile = true), batch = batch)
+        underTest(megaNode = getMockNode(isFile = false), fromFolderLink = true, batch = batch)
+
+        verify(megaApiGateway, never()).hasVersion(any())
+        verify(megaApiGateway, never()).getNumChildFolders(any())
+        verify(megaApiGateway, never()).getNumChildFiles(any())
+        verify(megaApiGateway, never()).isPendingShare(any())
+        verify(megaApiFolderGateway, never()).getNumChildFolders(any())
+        verify(megaApiFolderGateway, never()).getNumChildFiles(any())
+    }
+
+    @Test
+    fun `test that the attributes of nodes mapped in a batch are loaded once when read`() =
+        runTest {
+            val node = getMockNode(isFile = false)
+            megaApiGateway.stub {
+                onBlocking { hasVersion(node) }.thenReturn(true)
+                onBlocking { getNumChildFolders(node) }.thenReturn(2)
+                onBlocking { getNumChildFiles(node) }.thenReturn(3)
+                onBlocking { isPendingShare(node) }.thenReturn(true)
+            }
+            val batch = NodeMappingBatch(
+                thumbnailCacheFolder = null,
+                previewCacheFolder = null,
+                fullSizeCacheFolder = null,
+                isInRubbish = false,
+            )
+
+            val actual = underTest(megaNode = node, batch = batch) as DefaultFolderNode
+
+            repeat(2) {
+                assertThat(actual.hasVersion).isTrue()
+                assertThat(actual.childFolderCount).isEqualTo(2)
+                assertThat(actual.childFileCount).isEqualTo(3)
+                assertThat(actual.isPendingShare).isTrue()
+            }
+            verify(megaApiGateway, times(1)).hasVersion(node)
+            verify(megaApiGateway, times(1)).getNumChildFolders(node)
+            verify(megaApiGateway, times(1)).getNumChildFiles(node)
+            verify(megaApiGateway, times(1)).isPendingShare(node)
+        }
+
     @Nested
     @DisplayName("Test that is exported data is correct")
     inner class Exported {
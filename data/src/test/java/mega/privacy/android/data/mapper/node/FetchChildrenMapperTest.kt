@@ -12,6 +12,9 @@ import mega.privacy.android.domain.entity.node.FileNode
 import nz.mega.sdk.MegaNode
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.stub
 import org.mockito.kotlin.whenever
@@ -49,7 +52,7 @@ internal class FetchChildrenMapperTest {
                 onBlocking { getChildren(megaNode, expectedOrder) }.thenReturn(listOf(child))
             }
             val expected = mock<FileNode>()
-            whenever(nodeMapper(child)).thenReturn(expected)
+            whenever(nodeMapper(eq(child), any(), anyOrNull())).thenReturn(expected)
 
 
             val func = underTest(megaNode)
@@ -4,10 +4,13 @@ import app.cash.turbine.test
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.emptyFlow
 import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.TestScope
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import kotlinx.coroutines.test.setMain
+import mega.privacy.android.data.cache.ScheduledMeetingOccurrenceCache
 import mega.privacy.android.data.gateway.api.MegaChatApiGateway
 import mega.privacy.android.data.listener.OptionalMegaChatRequestListenerInterface
 import mega.privacy.android.data.mapper.handles.HandleListMapper
@@ -25,6 +28,7 @@ import mega.privacy.android.data.mapper.meeting.MegaChatScheduledMeetingFlagsMap
 import mega.privacy.android.data.mapper.meeting.MegaChatScheduledMeetingRulesMapper
 import mega.privacy.android.data.model.meeting.ChatCallUpdate
 import mega.privacy.android.data.model.ScheduledMeetingUpdate
+import mega.privacy.android.data.repository.meeting.ScheduledMeetingRecurrence
 import mega.privacy.android.domain.entity.ChatRequest
 import mega.privacy.android.domain.entity.chat.ChatCall
 import mega.privacy.android.domain.entity.chat.ChatScheduledMeeting
@@ -130,7 +134,14 @@ class CallRepositoryImplTest {
             chatSessionMapper = chatSessionMapper,
             megaChatScheduledMeetingFlagsMapper = megaChatScheduledMeetingFlagsMapper,
             megaChatScheduledMeetingRulesMapper = megaChatScheduledMeetingRulesMapper,
-            megaChatPeerListMapper = megaChatPeerListMapper
+            megaChatPeerListMapper = megaChatPeerListMapper,
+            scheduledMeetingRecurrence = ScheduledMeetingRecurrence(),
+            scheduledMeetingOccurrenceCache = ScheduledMeetingOccurrenceCache(
+                megaChatApiGateway = mock {
+                    on { scheduledMeetingUpdates }.thenReturn(emptyFlow())
+                },
+                appScope = TestScope(testDispatcher),
+            ),
         )
 
         whenever(megaChatRoom.chatId).thenReturn(chatId)
@@ -391,6 +402,35 @@ class CallRepositoryImplTest {
         )
     }
 
+    @Test
+    fun `test that getNextScheduledMeetingOccurrence expands a local meeting and caches it`() =
+        runTest {
+            val start = Instant.now().plus(1L, ChronoUnit.DAYS).epochSecond
+            whenever(megaChatApiGateway.getChatInvalidHandle()).thenReturn(-1L)
+            whenever(megaChatApiGateway.getScheduledMeetingsByChat(chatId)).thenReturn(
+                megaChatScheduledMeetingList
+            )
+            whenever(chatScheduledMeetingMapper(megaChatScheduledMeeting)).thenReturn(
+                ChatScheduledMeeting(
+                    chatId = chatId,
+                    schedId = schedId,
+                    parentSchedId = -1L,
+                    startDateTime = start,
+                    endDateTime = start + 3600,
+                )
+            )
+
+            val first = underTest.getNextScheduledMeetingOccurrence(chatId = chatId)
+            val second = underTest.getNextScheduledMeetingOccurrence(chatId = chatId)
+
+            assertThat(first?.startDateTime).isEqualTo(start)
+            assertThat(second).isEqualTo(first)
+            verify(megaChatApiGateway).getScheduledMeetingsByChat(chatId)
+            verify(megaChatApiGateway, times(0)).fetchScheduledMeetingOccurrencesByChat(
+                any(), any(), any()
+            )
+        }
+
     @Test
     fun `test that chat call update is returned when OnChatCallUpdate is called with non null chat call value`() =
         runTest {
@@ -123,6 +123,7 @@ class DefaultCameraUploadRepositoryTest {
             ioDispatcher = UnconfinedTestDispatcher(),
             appEventGateway = appEventGateway,
             deviceGateway = deviceGateway,
+            cameraTimestampsPreferenceGateway = mock(),
             videoQualityIntMapper = ::videoQualityToInt,
             videoQualityMapper = ::toVideoQuality,
             syncStatusIntMapper = ::syncStatusToInt,
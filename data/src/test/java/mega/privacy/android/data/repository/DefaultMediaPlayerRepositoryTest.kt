@@ -9,6 +9,7 @@ import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.database.DatabaseHandler
 import mega.privacy.android.data.gateway.FileGateway
+import mega.privacy.android.data.gateway.MegaLocalRoomGateway
 import mega.privacy.android.data.gateway.api.MegaApiFolderGateway
 import mega.privacy.android.data.gateway.api.MegaApiGateway
 import mega.privacy.android.data.gateway.preferences.AppPreferencesGateway
@@ -21,7 +22,6 @@ import mega.privacy.android.domain.entity.mediaplayer.PlaybackInformation
 import mega.privacy.android.domain.entity.mediaplayer.RepeatToggleMode
 import mega.privacy.android.domain.repository.MediaPlayerRepository
 import nz.mega.sdk.MegaNode
-import org.junit.jupiter.api.BeforeAll
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.TestInstance
@@ -31,7 +31,10 @@ import org.junit.jupiter.params.provider.MethodSource
 import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.verifyNoInteractions
 import org.mockito.kotlin.whenever
 import java.util.stream.Stream
 
@@ -48,6 +51,7 @@ class DefaultMediaPlayerRepositoryTest {
     private val appPreferencesGateway = mock<AppPreferencesGateway>()
     private val subtitleFileInfoMapper = mock<SubtitleFileInfoMapper>()
     private val mediaPlayerPreferencesGateway = mock<MediaPlayerPreferencesGateway>()
+    private val megaLocalRoomGateway = mock<MegaLocalRoomGateway>()
 
     private val expectedHandle = 100L
     private val expectedMediaId: Long = 1234567
@@ -55,8 +59,7 @@ class DefaultMediaPlayerRepositoryTest {
     private val expectedCurrentPosition: Long = 16000
     private val nodeMapper = mock<NodeMapper>()
 
-    @BeforeAll
-    fun initialise() {
+    private fun initialise() {
         underTest = DefaultMediaPlayerRepository(
             megaApi = megaApi,
             megaApiFolder = megaApiFolder,
@@ -68,7 +71,8 @@ class DefaultMediaPlayerRepositoryTest {
             ioDispatcher = UnconfinedTestDispatcher(),
             subtitleFileInfoMapper = subtitleFileInfoMapper,
             mediaPlayerPreferencesGateway = mediaPlayerPreferencesGateway,
-            repeatToggleModeMapper = RepeatToggleModeMapper()
+            repeatToggleModeMapper = RepeatToggleModeMapper(),
+            megaLocalRoomGateway = megaLocalRoomGateway,
         )
     }
 
@@ -82,8 +86,11 @@ class DefaultMediaPlayerRepositoryTest {
             sortOrderIntMapper,
             appPreferencesGateway,
             subtitleFileInfoMapper,
-            mediaPlayerPreferencesGateway
+            mediaPlayerPreferencesGateway,
+            megaLocalRoomGateway,
         )
+        // A new instance for every test, as the legacy playback times are only moved once
+        initialise()
     }
 
     @Test
@@ -124,81 +131,87 @@ class DefaultMediaPlayerRepositoryTest {
     }
 
     @Test
-    fun `test that updatePlayback information that there is no local data`() = runTest {
-        val expectedPlaybackInfo = createPlaybackInformation()
+    fun `test that getPlaybackInformation returns the updated playback information not saved yet`() =
+        runTest {
+            val expectedPlaybackInfo = createPlaybackInformation()
 
-        underTest.updatePlaybackInformation(expectedPlaybackInfo)
-        whenever(
-            appPreferencesGateway.monitorString(
-                anyOrNull(),
-                anyOrNull()
-            )
-        ).thenReturn(flowOf("{}"))
-        val actual = underTest.monitorPlaybackTimes().firstOrNull()
+            underTest.updatePlaybackInformation(expectedPlaybackInfo)
+
+            assertThat(underTest.getPlaybackInformation(expectedMediaId))
+                .isEqualTo(expectedPlaybackInfo)
+            verifyNoInteractions(megaLocalRoomGateway)
+        }
 
-        assertThat(actual?.get(expectedMediaId)?.mediaId).isEqualTo(expectedMediaId)
-        assertThat(actual?.get(expectedMediaId)?.totalDuration).isEqualTo(expectedTotalDuration)
-        assertThat(actual?.get(expectedMediaId)?.currentPosition).isEqualTo(expectedCurrentPosition)
+    @Test
+    fun `test that getPlaybackInformation returns the saved playback information`() = runTest {
+        val expectedPlaybackInfo = createPlaybackInformation()
+        whenever(appPreferencesGateway.monitorString(anyOrNull(), anyOrNull()))
+            .thenReturn(flowOf(""))
+        whenever(megaLocalRoomGateway.getPlaybackInformation(expectedMediaId))
+            .thenReturn(expectedPlaybackInfo)
+
+        assertThat(underTest.getPlaybackInformation(expectedMediaId))
+            .isEqualTo(expectedPlaybackInfo)
     }
 
     @Test
-    fun `test that monitorPlaybackTimes`() = runTest {
+    fun `test that the legacy playback times are moved to the database and removed`() = runTest {
         val expectedPlaybackInfo = createPlaybackInformation()
+        whenever(appPreferencesGateway.monitorString(anyOrNull(), anyOrNull())).thenReturn(
+            flowOf(Gson().toJson(mapOf(expectedMediaId to expectedPlaybackInfo)))
+        )
 
-        whenever(
-            appPreferencesGateway.monitorString(
-                anyOrNull(),
-                anyOrNull()
-            )
-        ).thenReturn(
-            flowOf(
-                Gson().toJson(
-                    mapOf(
-                        Pair(
-                            expectedMediaId,
-                            expectedPlaybackInfo
-                        )
-                    )
-                )
-            )
+        underTest.getPlaybackInformation(expectedMediaId)
+        underTest.getPlaybackInformation(expectedMediaId)
+
+        verify(megaLocalRoomGateway).insertOrUpdatePlaybackInformation(
+            listOf(expectedPlaybackInfo),
+            DefaultMediaPlayerRepository.MAX_PLAYBACK_INFORMATION_COUNT
         )
-        val actual = underTest.monitorPlaybackTimes().firstOrNull()
+        verify(appPreferencesGateway).putString("PREFERENCE_KEY_VIDEO_EXIT_TIME", "")
+        verify(appPreferencesGateway).monitorString(anyOrNull(), anyOrNull())
+    }
+
+    @Test
+    fun `test that invalid legacy playback times are removed without being moved`() = runTest {
+        whenever(appPreferencesGateway.monitorString(anyOrNull(), anyOrNull()))
+            .thenReturn(flowOf("invalid"))
+
+        underTest.getPlaybackInformation(expectedMediaId)
 
-        assertThat(actual?.get(expectedMediaId)?.mediaId).isEqualTo(expectedMediaId)
-        assertThat(actual?.get(expectedMediaId)?.totalDuration).isEqualTo(expectedTotalDuration)
-        assertThat(actual?.get(expectedMediaId)?.currentPosition).isEqualTo(expectedCurrentPosition)
+        verify(megaLocalRoomGateway, never()).insertOrUpdatePlaybackInformation(any(), any())
+        verify(appPreferencesGateway).putString("PREFERENCE_KEY_VIDEO_EXIT_TIME", "")
     }
 
     @Test
-    fun `test that deletePlaybackInformation that playbackInfoMap doesn't include deleted item even local data includes it`() =
+    fun `test that savePlaybackTimes saves the updated playback information in the database`() =
         runTest {
             val expectedPlaybackInfo = createPlaybackInformation()
-            val expectedDeleteMediaId: Long = 7654321
-            val expectedDeleteTotalDuration: Long = 300000
-            val expectedDeleteCurrentPosition: Long = 20000
-            val expectedDeletePlaybackInfo = PlaybackInformation(
-                expectedDeleteMediaId,
-                expectedDeleteTotalDuration,
-                expectedDeleteCurrentPosition
-            )
-
-            val expectedPlaybackInfoMap = mapOf(
-                Pair(expectedMediaId, expectedPlaybackInfo),
-                Pair(expectedDeleteMediaId, expectedDeletePlaybackInfo)
-            )
+            whenever(appPreferencesGateway.monitorString(anyOrNull(), anyOrNull()))
+                .thenReturn(flowOf(null))
 
             underTest.updatePlaybackInformation(expectedPlaybackInfo)
-            underTest.updatePlaybackInformation(expectedDeletePlaybackInfo)
-            underTest.deletePlaybackInformation(expectedDeleteMediaId)
+            underTest.savePlaybackTimes()
+            underTest.getPlaybackInformation(expectedMediaId)
 
-            whenever(appPreferencesGateway.monitorString(anyOrNull(), anyOrNull())).thenReturn(
-                flowOf(
-                    Gson().toJson(expectedPlaybackInfoMap)
-                )
+            verify(megaLocalRoomGateway).insertOrUpdatePlaybackInformation(
+                listOf(expectedPlaybackInfo),
+                DefaultMediaPlayerRepository.MAX_PLAYBACK_INFORMATION_COUNT
             )
-            val actual = underTest.monitorPlaybackTimes().firstOrNull()
+            verify(megaLocalRoomGateway).getPlaybackInformation(expectedMediaId)
+        }
+
+    @Test
+    fun `test that deletePlaybackInformation deletes the playback information not saved and saved`() =
+        runTest {
+            whenever(appPreferencesGateway.monitorString(anyOrNull(), anyOrNull()))
+                .thenReturn(flowOf(null))
+
+            underTest.updatePlaybackInformation(createPlaybackInformation())
+            underTest.deletePlaybackInformation(expectedMediaId)
 
-            assertThat(actual?.containsKey(expectedDeleteMediaId)).isFalse()
+            assertThat(underTest.getPlaybackInformation(expectedMediaId)).isNull()
+            verify(megaLocalRoomGateway).deletePlaybackInformation(expectedMediaId)
         }
 
     @Test
@@ -26,6 +26,7 @@ import org.junit.Assert
 import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.whenever
 import kotlin.contracts.ExperimentalContracts
@@ -110,7 +111,7 @@ class FolderLinkRepositoryImplTest {
         val parentNode = mock<MegaNode>()
         whenever(megaApiFolderGateway.getMegaNodeByHandle(nodeId.longValue)).thenReturn(megaNode)
         whenever(megaApiFolderGateway.getParentNode(megaNode)).thenReturn(parentNode)
-        whenever(nodeMapper(any(), any())).thenReturn(untypedNode)
+        whenever(nodeMapper(any(), any(), anyOrNull())).thenReturn(untypedNode)
 
         assertThat(underTest.getParentNode(nodeId)).isEqualTo(untypedNode)
     }
@@ -134,7 +135,7 @@ class FolderLinkRepositoryImplTest {
         val megaNode = mock<MegaNode>()
         whenever(megaApiGateway.base64ToHandle(base64Handle)).thenReturn(handle)
         whenever(megaApiFolderGateway.getMegaNodeByHandle(handle)).thenReturn(megaNode)
-        whenever(nodeMapper(any(), any())).thenReturn(untypedNode)
+        whenever(nodeMapper(any(), any(), anyOrNull())).thenReturn(untypedNode)
 
         assertThat(underTest.getFolderLinkNode(base64Handle)).isEqualTo(untypedNode)
     }
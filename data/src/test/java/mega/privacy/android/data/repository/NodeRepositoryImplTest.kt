@@ -3,6 +3,7 @@ package mega.privacy.android.data.repository
 import android.content.Context
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.toList
 import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.data.gateway.CacheFolderGateway
@@ -60,6 +61,7 @@ import org.mockito.kotlin.any
 import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.reset
 import org.mockito.kotlin.stub
 import org.mockito.kotlin.times
@@ -505,6 +507,52 @@ class NodeRepositoryImplTest {
         assertThat(underTest.getNodeByHandle(handle)?.base64Id).isEqualTo("base64Handle")
     }
 
+    @Test
+    fun `test that getNodeChildrenInChunks emits the children mapped after every chunk`() =
+        runTest {
+            mockChildrenListing()
+
+            val emissions = underTest.getNodeChildrenInChunks(nodeId, null, chunkSize = 2).toList()
+
+            assertThat(emissions.map { it.size }).containsExactly(2, 3).inOrder()
+        }
+
+    @Test
+    fun `test that getNodeChildrenInChunks does not request the attributes of every child`() =
+        runTest {
+            val parent = mockChildrenListing()
+
+            underTest.getNodeChildrenInChunks(nodeId, null, chunkSize = 2).toList()
+
+            verify(megaApiGateway, times(1)).isInRubbish(any())
+            verify(megaApiGateway).isInRubbish(parent)
+            verify(megaApiGateway, never()).hasVersion(any())
+            verify(megaApiGateway, never()).getNumChildFolders(any())
+            verify(megaApiGateway, never()).getNumChildFiles(any())
+            verify(megaApiGateway, never()).isPendingShare(any())
+        }
+
+    @Test
+    fun `test that getNodeChildrenInChunks emits an empty list if the parent is not found`() =
+        runTest {
+            whenever(megaApiGateway.getMegaNodeByHandle(nodeHandle)).thenReturn(null)
+
+            val emissions = underTest.getNodeChildrenInChunks(nodeId, null, chunkSize = 2).toList()
+
+            assertThat(emissions).containsExactly(emptyList<Any>())
+        }
+
+    private suspend fun mockChildrenListing(): MegaNode {
+        val parent = mock<MegaNode>()
+        val folder = mockMegaNodeForConversion()
+        whenever(folder.isFolder).thenReturn(true)
+        whenever(fetChildrenMapper(any(), any())).thenReturn { emptyList() }
+        val children = listOf(folder, mockMegaNodeForConversion(), mockMegaNodeForConversion())
+        whenever(megaApiGateway.getMegaNodeByHandle(nodeHandle)).thenReturn(parent)
+        whenever(megaApiGateway.getChildrenByNode(parent, null)).thenReturn(children)
+        return parent
+    }
+
     private suspend fun mockFolderInfoResponse() {
         val fileNode: MegaNode = mock()
         whenever(folderNode.id).thenReturn(nodeId)
@@ -0,0 +1,241 @@
+package mega.privacy.android.data.repository.meeting
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.chat.ChatScheduledMeeting
+import mega.privacy.android.domain.entity.chat.ChatScheduledRules
+import mega.privacy.android.domain.entity.meeting.MonthWeekDayItem
+import mega.privacy.android.domain.entity.meeting.OccurrenceFrequencyType
+import mega.privacy.android.domain.entity.meeting.WeekOfMonth
+import mega.privacy.android.domain.entity.meeting.Weekday
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.time.LocalDateTime
+import java.time.ZoneId
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ScheduledMeetingRecurrenceTest {
+
+    private val underTest = ScheduledMeetingRecurrence()
+
+    private val madrid = ZoneId.of("Europe/Madrid")
+
+    private fun time(value: String, zone: ZoneId = madrid) =
+        LocalDateTime.parse(value).atZone(zone).toEpochSecond()
+
+    private fun meeting(
+        start: String,
+        rules: ChatScheduledRules?,
+        schedId: Long = 1L,
+        isCanceled: Boolean = false,
+    ) = ChatScheduledMeeting(
+        chatId = 10L,
+        schedId = schedId,
+        parentSchedId = -1L,
+        timezone = madrid.id,
+        startDateTime = time(start),
+        endDateTime = time(start) + HOUR,
+        rules = rules,
+        isCanceled = isCanceled,
+    )
+
+    private fun ChatScheduledMeeting.starts(count: Int, since: Long = 0L) =
+        underTest.getOccurrenceStarts(this, since).take(count).toList()
+
+    @Test
+    fun `test that a meeting without rules has a single occurrence`() {
+        val meeting = meeting("2023-05-10T10:00", rules = null)
+
+        assertThat(meeting.starts(5)).containsExactly(time("2023-05-10T10:00"))
+    }
+
+    @Test
+    fun `test that daily occurrences follow the interval`() {
+        val meeting = meeting(
+            "2023-05-10T10:00",
+            ChatScheduledRules(freq = OccurrenceFrequencyType.Daily, interval = 3)
+        )
+
+        assertThat(meeting.starts(3)).containsExactly(
+            time("2023-05-10T10:00"),
+            time("2023-05-13T10:00"),
+            time("2023-05-16T10:00"),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that occurrences keep the local time across a daylight saving change`() {
+        val meeting = meeting(
+            "2024-03-30T10:00",
+            ChatScheduledRules(freq = OccurrenceFrequencyType.Daily, interval = 1)
+        )
+
+        val starts = meeting.starts(2)
+
+        assertThat(starts).containsExactly(time("2024-03-30T10:00"), time("2024-03-31T10:00"))
+            .inOrder()
+        assertThat(starts[1] - starts[0]).isEqualTo(23 * HOUR)
+    }
+
+    @Test
+    fun `test that weekly occurrences happen on every week day of the rules`() {
+        val meeting = meeting(
+            "2023-05-10T10:00",
+            ChatScheduledRules(
+                freq = OccurrenceFrequencyType.Weekly,
+                interval = 2,
+                weekDayList = listOf(Weekday.Friday, Weekday.Monday),
+            )
+        )
+
+        assertThat(meeting.starts(4)).containsExactly(
+            time("2023-05-12T10:00"),
+            time("2023-05-22T10:00"),
+            time("2023-05-26T10:00"),
+            time("2023-06-05T10:00"),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that monthly occurrences skip the months without the day`() {
+        val meeting = meeting(
+            "2023-01-31T10:00",
+            ChatScheduledRules(freq = OccurrenceFrequencyType.Monthly, interval = 1)
+        )
+
+        assertThat(meeting.starts(3)).containsExactly(
+            time("2023-01-31T10:00"),
+            time("2023-03-31T10:00"),
+            time("2023-05-31T10:00"),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that the 29th of February only happens in leap years`() {
+        val meeting = meeting(
+            "2024-02-29T10:00",
+            ChatScheduledRules(
+                freq = OccurrenceFrequencyType.Monthly,
+                interval = 12,
+                monthDayList = listOf(29),
+            )
+        )
+
+        assertThat(meeting.starts(2)).containsExactly(
+            time("2024-02-29T10:00"),
+            time("2028-02-29T10:00"),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that monthly week days skip the months without a fifth one`() {
+        val meeting = meeting(
+            "2023-05-01T10:00",
+            ChatScheduledRules(
+                freq = OccurrenceFrequencyType.Monthly,
+                interval = 1,
+                monthWeekDayList = listOf(
+                    MonthWeekDayItem(WeekOfMonth.Fifth, listOf(Weekday.Monday))
+                ),
+            )
+        )
+
+        assertThat(meeting.starts(2)).containsExactly(
+            time("2023-05-29T10:00"),
+            time("2023-07-31T10:00"),
+        ).inOrder()
+    }
+
+    @Test
+    fun `test that there are no occurrences after until`() {
+        val meeting = meeting(
+            "2023-05-10T10:00",
+            ChatScheduledRules(
+                freq = OccurrenceFrequencyType.Daily,
+                interval = 1,
+                until = time("2023-05-12T10:00"),
+            )
+        )
+
+        assertThat(meeting.starts(10)).hasSize(3)
+    }
+
+    @Test
+    fun `test that old periods are skipped without losing the next occurrence`() {
+        val meeting = meeting(
+            "2020-01-01T10:00",
+            ChatScheduledRules(freq = OccurrenceFrequencyType.Weekly, interval = 1)
+        )
+        val now = time("2023-05-10T10:30")
+
+        val next = underTest.getNextOccurrence(meeting, emptyList(), now)
+
+        assertThat(next?.startDateTime).isEqualTo(time("2023-05-10T10:00"))
+    }
+
+    @Test
+    fun `test that the next occurrence skips cancelled overrides`() {
+        val meeting = meeting(
+            "2023-05-10T10:00",
+            ChatScheduledRules(freq = OccurrenceFrequencyType.Daily, interval = 1)
+        )
+        val cancelled = meeting.copy(
+            schedId = 2L,
+            parentSchedId = meeting.schedId,
+            overrides = time("2023-05-11T10:00"),
+            isCanceled = true,
+        )
+
+        val next = underTest.getNextOccurrence(meeting, listOf(cancelled), time("2023-05-10T12:00"))
+
+        assertThat(next?.startDateTime).isEqualTo(time("2023-05-12T10:00"))
+    }
+
+    @Test
+    fun `test that the next occurrence is the moved one of an override`() {
+        val meeting = meeting(
+            "2023-05-10T10:00",
+            ChatScheduledRules(freq = OccurrenceFrequencyType.Daily, interval = 1)
+        )
+        val moved = meeting.copy(
+            schedId = 2L,
+            parentSchedId = meeting.schedId,
+            overrides = time("2023-05-11T10:00"),
+            startDateTime = time("2023-05-11T08:00"),
+            endDateTime = time("2023-05-11T09:00"),
+        )
+
+        val next = underTest.getNextOccurrence(meeting, listOf(moved), time("2023-05-10T12:00"))
+
+        assertThat(next?.schedId).isEqualTo(2L)
+        assertThat(next?.startDateTime).isEqualTo(time("2023-05-11T08:00"))
+    }
+
+    @Test
+    fun `test that a cancelled meeting has no next occurrence`() {
+        val meeting = meeting(
+            "2023-05-10T10:00",
+            ChatScheduledRules(freq = OccurrenceFrequencyType.Daily, interval = 1),
+            isCanceled = true,
+        )
+
+        assertThat(underTest.getNextOccurrence(meeting, emptyList(), 0L)).isNull()
+    }
+
+    @Test
+    fun `test that a rule that never matches ends`() {
+        val meeting = meeting(
+            "2023-02-01T10:00",
+            ChatScheduledRules(
+                freq = OccurrenceFrequencyType.Monthly,
+                interval = 12,
+                monthDayList = listOf(30),
+            )
+        )
+
+        assertThat(underTest.getNextOccurrence(meeting, emptyList(), 0L)).isNull()
+    }
+
+    companion object {
+        private const val HOUR = 3600L
+    }
+}
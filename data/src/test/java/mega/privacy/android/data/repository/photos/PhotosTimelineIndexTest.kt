@@ -0,0 +1,130 @@
+package mega.privacy.android.data.repository.photos
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.StaticImageFileTypeInfo
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.photos.Photo
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import java.time.LocalDateTime
+
+/**
+ * Test class for [PhotosTimelineIndex]
+ */
+@ExperimentalCoroutinesApi
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PhotosTimelineIndexTest {
+    private lateinit var underTest: PhotosTimelineIndex
+
+    private val now = LocalDateTime.of(2023, 6, 1, 12, 0)
+
+    private fun photo(
+        id: Long,
+        minutesAgo: Long = id,
+        isFavourite: Boolean = false,
+    ) = Photo.Image(
+        id = id,
+        parentId = 0L,
+        name = "$id.jpg",
+        isFavourite = isFavourite,
+        creationTime = now,
+        modificationTime = now.minusMinutes(minutesAgo),
+        thumbnailFilePath = null,
+        previewFilePath = null,
+        fileTypeInfo = StaticImageFileTypeInfo(mimeType = "", extension = "jpg"),
+    )
+
+    @BeforeEach
+    fun resetIndex() {
+        underTest = PhotosTimelineIndex()
+    }
+
+    @Test
+    fun `test that photos are ordered by modification time newest first`() {
+        underTest.replaceAll(listOf(photo(3), photo(1), photo(2)))
+
+        assertThat(underTest.snapshot.value?.changes?.photos?.map { it.id })
+            .containsExactly(1L, 2L, 3L).inOrder()
+    }
+
+    @Test
+    fun `test that an empty load is published`() {
+        underTest.replaceAll(emptyList())
+
+        assertThat(underTest.isLoaded).isTrue()
+        assertThat(underTest.snapshot.value?.changes?.photos).isEmpty()
+    }
+
+    @Test
+    fun `test that changes are ignored until the index is loaded`() {
+        underTest.applyChanges(listOf(photo(1)), emptyList())
+
+        assertThat(underTest.isLoaded).isFalse()
+        assertThat(underTest[NodeId(1L)]).isNull()
+    }
+
+    @Test
+    fun `test that applied changes report only the touched photos`() {
+        underTest.replaceAll(listOf(photo(1), photo(2), photo(3)))
+
+        val moved = photo(3, minutesAgo = 0, isFavourite = true)
+        underTest.applyChanges(listOf(photo(4), moved), listOf(NodeId(2L)))
+
+        with(underTest.snapshot.value!!.changes) {
+            assertThat(photos.map { it.id }).containsExactly(3L, 1L, 4L).inOrder()
+            assertThat(added).containsExactly(photo(4))
+            assertThat(updated).containsExactly(moved)
+            assertThat(removed).containsExactly(NodeId(2L))
+        }
+        assertThat(underTest[NodeId(3L)]).isEqualTo(moved)
+        assertThat(underTest[NodeId(2L)]).isNull()
+    }
+
+    @Test
+    fun `test that changes without effect do not publish a new state`() {
+        underTest.replaceAll(listOf(photo(1)))
+        val snapshot = underTest.snapshot.value
+
+        underTest.applyChanges(listOf(photo(1)), listOf(NodeId(5L)))
+
+        assertThat(underTest.snapshot.value).isSameInstanceAs(snapshot)
+    }
+
+    @Test
+    fun `test that the first collected changes report every photo as added`() = runTest {
+        underTest.replaceAll(listOf(photo(1), photo(2)))
+        underTest.applyChanges(listOf(photo(3)), emptyList())
+
+        underTest.monitorChanges().test {
+            with(awaitItem()) {
+                assertThat(added).containsExactlyElementsIn(photos)
+                assertThat(photos.map { it.id }).containsExactly(1L, 2L, 3L).inOrder()
+                assertThat(removed).isEmpty()
+            }
+            cancelAndIgnoreRemainingEvents()
+        }
+    }
+
+    @Test
+    fun `test that conflated states are collected as the difference of the full states`() =
+        runTest {
+            underTest.replaceAll(listOf(photo(1), photo(2)))
+
+            underTest.monitorChanges().test {
+                awaitItem()
+                underTest.clear()
+                underTest.replaceAll(listOf(photo(2), photo(3)))
+
+                with(awaitItem()) {
+                    assertThat(added).containsExactly(photo(3))
+                    assertThat(updated).isEmpty()
+                    assertThat(removed).containsExactly(NodeId(1L))
+                }
+                cancelAndIgnoreRemainingEvents()
+            }
+        }
+}
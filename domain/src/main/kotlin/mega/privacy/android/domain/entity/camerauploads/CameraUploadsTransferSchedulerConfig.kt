@@ -0,0 +1,30 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Configuration of the Camera Uploads transfer scheduler
+ *
+ * @property maxConcurrentTransfers maximum number of transfers that can be in flight at once
+ * @property maxInFlightBytes maximum number of bytes that can be in flight at once. A single
+ * record bigger than this limit is still admitted when nothing else is in flight
+ */
+data class CameraUploadsTransferSchedulerConfig(
+    val maxConcurrentTransfers: Int = DEFAULT_MAX_CONCURRENT_TRANSFERS,
+    val maxInFlightBytes: Long = DEFAULT_MAX_IN_FLIGHT_BYTES,
+) {
+    init {
+        require(maxConcurrentTransfers > 0) { "maxConcurrentTransfers must be positive" }
+        require(maxInFlightBytes > 0) { "maxInFlightBytes must be positive" }
+    }
+
+    companion object {
+        /**
+         * Default maximum number of concurrent transfers
+         */
+        const val DEFAULT_MAX_CONCURRENT_TRANSFERS = 16
+
+        /**
+         * Default maximum number of in flight bytes (256 MB)
+         */
+        const val DEFAULT_MAX_IN_FLIGHT_BYTES = 256L * 1024 * 1024
+    }
+}
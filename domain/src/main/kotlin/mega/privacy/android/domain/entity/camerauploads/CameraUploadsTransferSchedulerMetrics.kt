@@ -0,0 +1,20 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Metrics collected by the Camera Uploads transfer scheduler
+ *
+ * @property inFlightCount number of transfers currently in flight
+ * @property inFlightBytes number of bytes currently in flight
+ * @property peakInFlightCount highest number of transfers that were in flight at once
+ * @property peakInFlightBytes highest number of bytes that were in flight at once
+ * @property completedCount number of transfers that have completed, successfully or not
+ * @property completedBytes number of bytes belonging to completed transfers
+ */
+data class CameraUploadsTransferSchedulerMetrics(
+    val inFlightCount: Int = 0,
+    val inFlightBytes: Long = 0L,
+    val peakInFlightCount: Int = 0,
+    val peakInFlightBytes: Long = 0L,
+    val completedCount: Int = 0,
+    val completedBytes: Long = 0L,
+)
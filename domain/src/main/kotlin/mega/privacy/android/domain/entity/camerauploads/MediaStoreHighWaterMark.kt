@@ -0,0 +1,21 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Position of the last media store scan of a media type in a Camera Uploads folder.
+ * Only the media added or modified after this position need to be scanned again
+ *
+ * @property mediaStoreVersion version of the media store volume the mark was taken on. The
+ * generation counters are only comparable within the same version
+ * @property generation highest media store generation seen, or null if not supported
+ * @property id highest media store row id seen
+ * @property modifiedTime highest modification time seen, in seconds
+ * @property syncTimestamp Camera Uploads sync timestamp at the time the mark was taken. A lower
+ * sync timestamp means that the timestamps have been reset and a full scan is required
+ */
+data class MediaStoreHighWaterMark(
+    val mediaStoreVersion: String?,
+    val generation: Long?,
+    val id: Long,
+    val modifiedTime: Long,
+    val syncTimestamp: Long = 0L,
+)
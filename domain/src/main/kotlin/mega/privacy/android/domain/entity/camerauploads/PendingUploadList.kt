@@ -0,0 +1,14 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+import mega.privacy.android.domain.entity.SyncRecord
+
+/**
+ * Sync records prepared by a single run of the pending upload list pipeline of Camera Uploads
+ *
+ * @property records the records to upload or copy, in the order of the media
+ * @property metrics metrics of the stages of this run
+ */
+data class PendingUploadList(
+    val records: List<SyncRecord>,
+    val metrics: PendingUploadListMetrics = PendingUploadListMetrics(),
+)
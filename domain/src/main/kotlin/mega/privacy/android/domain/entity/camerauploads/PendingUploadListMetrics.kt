@@ -0,0 +1,38 @@
+package mega.privacy.android.domain.entity.camerauploads
+
+/**
+ * Metrics of the stages run to build the pending upload list of Camera Uploads
+ *
+ * @property existenceCheck metrics of the bulk database existence check
+ * @property fingerprint metrics of the local fingerprint computation
+ * @property cloudLookup metrics of the cloud node lookups by fingerprint
+ * @property recordBuilding metrics of the sync record building
+ */
+data class PendingUploadListMetrics(
+    val existenceCheck: PendingUploadListStageMetrics = PendingUploadListStageMetrics(),
+    val fingerprint: PendingUploadListStageMetrics = PendingUploadListStageMetrics(),
+    val cloudLookup: PendingUploadListStageMetrics = PendingUploadListStageMetrics(),
+    val recordBuilding: PendingUploadListStageMetrics = PendingUploadListStageMetrics(),
+)
+
+/**
+ * Metrics of a single stage of the pending upload list pipeline
+ *
+ * @property inputCount number of items that entered the stage
+ * @property outputCount number of items that left the stage
+ * @property durationMillis time spent in the stage, in milliseconds
+ */
+data class PendingUploadListStageMetrics(
+    val inputCount: Int = 0,
+    val outputCount: Int = 0,
+    val durationMillis: Long = 0L,
+) {
+    /**
+     * Accumulate the metrics of another run of the same stage
+     */
+    operator fun plus(other: PendingUploadListStageMetrics) = PendingUploadListStageMetrics(
+        inputCount = inputCount + other.inputCount,
+        outputCount = outputCount + other.outputCount,
+        durationMillis = durationMillis + other.durationMillis,
+    )
+}
@@ -9,7 +9,7 @@ package mega.privacy.android.domain.entity.logging
  * @property throwable
  * @property trace
  * @property loggingClasses
- * @property sdkLoggers
+ * @property isSdkLog true if the message was forwarded by the SDK or chat loggers
  */
 data class CreateLogEntryRequest(
     val tag: String?,
@@ -18,5 +18,5 @@ data class CreateLogEntryRequest(
     val throwable: Throwable?,
     val trace: List<StackTraceElement>,
     val loggingClasses: List<String>,
-    val sdkLoggers: List<String>,
+    val isSdkLog: Boolean,
 )
\ No newline at end of file
@@ -0,0 +1,21 @@
+package mega.privacy.android.domain.entity.photos
+
+import mega.privacy.android.domain.entity.node.NodeId
+
+/**
+ * Changes of the Timeline photos since the previous emission
+ *
+ * Applying [added], [updated] and [removed] to the previously emitted [photos] gives the
+ * current [photos]. The first emission reports every photo as added.
+ *
+ * @property photos all the Timeline photos, ordered by modification time, newest first
+ * @property added photos that were not in the Timeline before
+ * @property updated photos already in the Timeline whose data changed
+ * @property removed ids of the photos no longer in the Timeline
+ */
+data class PhotosTimelineChanges(
+    val photos: List<Photo>,
+    val added: List<Photo>,
+    val updated: List<Photo>,
+    val removed: List<NodeId>,
+)
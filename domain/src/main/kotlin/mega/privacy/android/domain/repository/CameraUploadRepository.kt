@@ -15,6 +15,7 @@ import mega.privacy.android.domain.entity.VideoQuality
 import mega.privacy.android.domain.entity.backup.Backup
 import mega.privacy.android.domain.entity.camerauploads.CameraUploadFolderType
 import mega.privacy.android.domain.entity.camerauploads.HeartbeatStatus
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.settings.camerauploads.UploadOption
 import java.util.Queue
@@ -162,6 +163,13 @@ interface CameraUploadRepository {
      */
     suspend fun saveSyncRecord(record: SyncRecord)
 
+    /**
+     * Save sync records in a single transaction
+     *
+     * @param records the records to save
+     */
+    suspend fun saveSyncRecords(records: List<SyncRecord>)
+
     /**
      * Delete sync record by local path
      *
@@ -209,6 +217,17 @@ interface CameraUploadRepository {
         type: SyncRecordType,
     ): Boolean
 
+    /**
+     * Get the local paths, among the given ones, that exist in database
+     *
+     * @return the subset of [localPaths] for which [doesLocalPathExist] returns true
+     */
+    suspend fun getExistingLocalPaths(
+        localPaths: List<String>,
+        isSecondary: Boolean,
+        type: SyncRecordType,
+    ): Set<String>
+
     /**
      * Do user credentials exist
      *
@@ -464,6 +483,61 @@ interface CameraUploadRepository {
         selectionQuery: String?,
     ): Queue<CameraUploadMedia>
 
+    /**
+     * Streaming counterpart of [getMediaQueue]. The media store cursor is read row by row as the
+     * flow is collected, so memory usage does not depend on the number of media
+     *
+     * @param mediaStoreFileType different media store file type
+     * @param parentPath local path of camera upload
+     * @param isVideo if media is video
+     * @param selectionQuery db query
+     * @param highWaterMark if not null, only the media added or modified after it are streamed
+     *
+     * @return flow of camera upload media
+     */
+    fun getMediaFlow(
+        mediaStoreFileType: MediaStoreFileType,
+        parentPath: String?,
+        isVideo: Boolean,
+        selectionQuery: String?,
+        highWaterMark: MediaStoreHighWaterMark?,
+    ): Flow<CameraUploadMedia>
+
+    /**
+     * Get the current high water mark of the media store for a given media type
+     *
+     * @param mediaStoreFileType different media store file type
+     *
+     * @return the current [MediaStoreHighWaterMark], or null if incremental scans are not possible
+     */
+    suspend fun getCurrentMediaStoreHighWaterMark(mediaStoreFileType: MediaStoreFileType): MediaStoreHighWaterMark?
+
+    /**
+     * Get the high water mark saved after the last scan of a media type in a folder
+     *
+     * @param mediaStoreFileType different media store file type
+     * @param parentPath local path of camera upload
+     *
+     * @return the saved [MediaStoreHighWaterMark], or null if none
+     */
+    suspend fun getMediaStoreHighWaterMark(
+        mediaStoreFileType: MediaStoreFileType,
+        parentPath: String?,
+    ): MediaStoreHighWaterMark?
+
+    /**
+     * Save the high water mark of the last scan of a media type in a folder
+     *
+     * @param mediaStoreFileType different media store file type
+     * @param parentPath local path of camera upload
+     * @param highWaterMark [MediaStoreHighWaterMark]
+     */
+    suspend fun setMediaStoreHighWaterMark(
+        mediaStoreFileType: MediaStoreFileType,
+        parentPath: String?,
+        highWaterMark: MediaStoreHighWaterMark,
+    )
+
     /**
      * Update sync record status by local path
      *
@@ -275,11 +275,12 @@ interface MediaPlayerRepository {
     suspend fun updatePlaybackInformation(playbackInformation: PlaybackInformation)
 
     /**
-     * Monitor playback times
+     * Get the playback information of a media
      *
-     * @return Flow<Map<Long, PlaybackInformation>?>
+     * @param mediaId the media id
+     * @return the playback information, null if there is none
      */
-    fun monitorPlaybackTimes(): Flow<Map<Long, PlaybackInformation>?>
+    suspend fun getPlaybackInformation(mediaId: Long): PlaybackInformation?
 
     /**
      * Get file url by node handle
@@ -116,6 +116,20 @@ interface NodeRepository {
      */
     suspend fun getNodeChildren(nodeId: NodeId, order: SortOrder?): List<UnTypedNode>
 
+    /**
+     * Get node children in chunks, so the first ones can be shown before all of them are mapped
+     *
+     * @param nodeId [NodeId]
+     * @param order [SortOrder]
+     * @param chunkSize number of children mapped before every emission
+     * @return flow emitting the children mapped so far, ending with all of them
+     */
+    fun getNodeChildrenInChunks(
+        nodeId: NodeId,
+        order: SortOrder?,
+        chunkSize: Int,
+    ): Flow<List<UnTypedNode>>
+
     /**
      * Get the number of versions of the node, including the current version
      * @param handle the handle of the node
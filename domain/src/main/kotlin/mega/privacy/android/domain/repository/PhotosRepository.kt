@@ -4,6 +4,7 @@ import kotlinx.coroutines.flow.Flow
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.entity.photos.AlbumPhotoId
 import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotosTimelineChanges
 import java.io.File
 
 /**
@@ -15,6 +16,11 @@ interface PhotosRepository {
      */
     fun monitorPhotos(): Flow<List<Photo>>
 
+    /**
+     * Monitor the changes of the Timeline photos
+     */
+    fun monitorPhotosTimelineChanges(): Flow<PhotosTimelineChanges>
+
     /**
      * Refresh photos
      */
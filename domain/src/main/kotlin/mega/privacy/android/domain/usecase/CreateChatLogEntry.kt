@@ -18,7 +18,7 @@ internal class CreateChatLogEntry @Inject constructor(
             var megaTag: String? = null
             var stackTrace: String? = null
 
-            if (isNotSdkLog(request.trace, request.sdkLoggers)) {
+            if (!request.isSdkLog) {
                 megaTag = createClientAppTag(request.priority)
                 stackTrace = createTraceString(request.trace, request.loggingClasses)
             }
@@ -33,9 +33,6 @@ internal class CreateChatLogEntry @Inject constructor(
 
     private fun isChatLog(tag: String?) = tag == null
 
-    private fun isNotSdkLog(trace: List<StackTraceElement>, sdkLoggers: List<String>) =
-        trace.none { it.className in sdkLoggers }
-
     private suspend fun createClientAppTag(priority: LogPriority): String =
         "[${getFormattedTime()}][${priority.name}][clientApp]"
 
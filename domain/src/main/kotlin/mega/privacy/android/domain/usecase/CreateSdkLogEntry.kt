@@ -18,7 +18,7 @@ internal class CreateSdkLogEntry @Inject constructor(
                 null,
                 request.priority.intValue,
                 request.throwable)
-            isNotSdkLog(request.trace, request.sdkLoggers) -> LogEntry(
+            !request.isSdkLog -> LogEntry(
                 "[clientApp]",
                 request.message,
                 createTraceString(request.trace, request.loggingClasses),
@@ -31,7 +31,4 @@ internal class CreateSdkLogEntry @Inject constructor(
 
     private fun isSdkLog(tag: String?) = tag != null
 
-    private fun isNotSdkLog(trace: List<StackTraceElement>, sdkLoggers: List<String>) =
-        trace.none { it.className in sdkLoggers }
-
 }
\ No newline at end of file
@@ -15,9 +15,6 @@ class CreateTempFileAndRemoveCoordinatesUseCase @Inject constructor(private val
      * @param syncRecord
      * @return new created file path
      */
-    suspend operator fun invoke(root: String, syncRecord: SyncRecord): String {
-        return fileSystemRepository.createTempFile(root, syncRecord).apply {
-            fileSystemRepository.removeGPSCoordinates(this)
-        }
-    }
+    suspend operator fun invoke(root: String, syncRecord: SyncRecord): String =
+        fileSystemRepository.createTempFileWithoutGpsCoordinates(root, syncRecord)
 }
@@ -0,0 +1,131 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.combine
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.update
+import kotlinx.coroutines.launch
+import mega.privacy.android.domain.entity.SyncRecord
+import mega.privacy.android.domain.entity.SyncRecordType
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsTransferSchedulerConfig
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsTransferSchedulerMetrics
+
+/**
+ * Scheduler that dispatches Camera Uploads transfers through a bounded window
+ *
+ * Records are dispatched by priority (primary before secondary, photos before videos) and a
+ * new transfer is only started when both the count and the byte budget of
+ * [CameraUploadsTransferSchedulerConfig] allow it, so the number of live coroutines and
+ * transfer flows never exceeds the configured window regardless of the queue size.
+ *
+ * Dispatching can be paused and resumed at any time. Transfers already in flight are not
+ * affected by a pause.
+ *
+ * @property config the scheduler configuration
+ */
+class CameraUploadsTransferScheduler(
+    private val config: CameraUploadsTransferSchedulerConfig = CameraUploadsTransferSchedulerConfig(),
+) {
+
+    private val paused = MutableStateFlow(false)
+
+    private val _metrics = MutableStateFlow(CameraUploadsTransferSchedulerMetrics())
+
+    /**
+     * True if dispatching new transfers is paused
+     */
+    val isPaused: StateFlow<Boolean> = paused.asStateFlow()
+
+    /**
+     * Current metrics of the scheduler
+     */
+    val metrics: StateFlow<CameraUploadsTransferSchedulerMetrics> = _metrics.asStateFlow()
+
+    /**
+     * Stop dispatching new transfers until [resume] is called
+     */
+    fun pause() {
+        paused.value = true
+    }
+
+    /**
+     * Resume dispatching transfers
+     */
+    fun resume() {
+        paused.value = false
+    }
+
+    /**
+     * Dispatch the transfers of the given records and suspend until all of them complete
+     *
+     * @param records the records to transfer
+     * @param sizeOf returns the size in bytes of a record, used for the byte budget
+     * @param transfer performs the transfer of a single record. It should suspend until the
+     * transfer is finished
+     */
+    suspend fun schedule(
+        records: List<SyncRecord>,
+        sizeOf: (SyncRecord) -> Long,
+        transfer: suspend (SyncRecord) -> Unit,
+    ) = coroutineScope {
+        records.sortedWith(priorityComparator).forEach { record ->
+            val size = sizeOf(record).coerceAtLeast(0L)
+            acquire(size)
+            launch {
+                try {
+                    transfer(record)
+                } finally {
+                    release(size)
+                }
+            }
+        }
+    }
+
+    /**
+     * Suspend until the scheduler is not paused and the window can admit [size] bytes, then
+     * reserve a slot in it. Only the dispatching coroutine acquires slots, so the condition
+     * cannot be invalidated between the check and the reservation
+     */
+    private suspend fun acquire(size: Long) {
+        combine(paused, _metrics) { isPaused, metrics ->
+            !isPaused && canAdmit(metrics, size)
+        }.first { it }
+        _metrics.update {
+            val inFlightCount = it.inFlightCount + 1
+            val inFlightBytes = it.inFlightBytes + size
+            it.copy(
+                inFlightCount = inFlightCount,
+                inFlightBytes = inFlightBytes,
+                peakInFlightCount = maxOf(it.peakInFlightCount, inFlightCount),
+                peakInFlightBytes = maxOf(it.peakInFlightBytes, inFlightBytes),
+            )
+        }
+    }
+
+    private fun release(size: Long) {
+        _metrics.update {
+            it.copy(
+                inFlightCount = it.inFlightCount - 1,
+                inFlightBytes = it.inFlightBytes - size,
+                completedCount = it.completedCount + 1,
+                completedBytes = it.completedBytes + size,
+            )
+        }
+    }
+
+    private fun canAdmit(metrics: CameraUploadsTransferSchedulerMetrics, size: Long) =
+        metrics.inFlightCount < config.maxConcurrentTransfers &&
+                (metrics.inFlightCount == 0 || metrics.inFlightBytes + size <= config.maxInFlightBytes)
+
+    companion object {
+        /**
+         * Dispatch order of the records: primary before secondary, then photos before videos.
+         * The sort is stable, so records of the same priority keep their original order
+         */
+        val priorityComparator: Comparator<SyncRecord> =
+            compareBy<SyncRecord>({ it.isSecondary }, { it.type != SyncRecordType.TYPE_PHOTO })
+    }
+}
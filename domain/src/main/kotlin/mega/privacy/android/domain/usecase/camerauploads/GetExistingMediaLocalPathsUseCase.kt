@@ -0,0 +1,31 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import mega.privacy.android.domain.entity.SyncRecordType
+import mega.privacy.android.domain.repository.CameraUploadRepository
+import javax.inject.Inject
+
+/**
+ * Use case to check in a single pass which media local paths already exist in the sync records
+ */
+class GetExistingMediaLocalPathsUseCase @Inject constructor(
+    private val cameraUploadRepository: CameraUploadRepository,
+) {
+
+    /**
+     * Invoke
+     *
+     * @param localPaths the local paths to check
+     * @param isSecondary true if the paths belong to the secondary folder
+     * @return the subset of [localPaths] that already exist in the sync records
+     */
+    suspend operator fun invoke(localPaths: List<String>, isSecondary: Boolean): Set<String> =
+        if (localPaths.isEmpty()) {
+            emptySet()
+        } else {
+            cameraUploadRepository.getExistingLocalPaths(
+                localPaths,
+                isSecondary,
+                SyncRecordType.TYPE_ANY
+            )
+        }
+}
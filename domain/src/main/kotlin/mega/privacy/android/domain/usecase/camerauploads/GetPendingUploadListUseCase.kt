@@ -1,16 +1,27 @@
 package mega.privacy.android.domain.usecase.camerauploads
 
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import kotlinx.coroutines.yield
 import mega.privacy.android.domain.entity.CameraUploadMedia
 import mega.privacy.android.domain.entity.SyncRecord
 import mega.privacy.android.domain.entity.SyncRecordType
 import mega.privacy.android.domain.entity.SyncStatus
 import mega.privacy.android.domain.entity.SyncTimeStamp
+import mega.privacy.android.domain.entity.camerauploads.PendingUploadList
+import mega.privacy.android.domain.entity.camerauploads.PendingUploadListMetrics
+import mega.privacy.android.domain.entity.camerauploads.PendingUploadListStageMetrics
 import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedFileNode
+import mega.privacy.android.domain.qualifier.IoDispatcher
 import mega.privacy.android.domain.usecase.GetGPSCoordinates
 import mega.privacy.android.domain.usecase.GetParentNodeUseCase
 import mega.privacy.android.domain.usecase.IsNodeInRubbish
-import mega.privacy.android.domain.usecase.MediaLocalPathExists
 import mega.privacy.android.domain.usecase.ShouldCompressVideo
 import mega.privacy.android.domain.usecase.UpdateCameraUploadTimeStamp
 import java.io.File
@@ -19,6 +30,15 @@ import javax.inject.Inject
 
 /**
  * Use case to prepare sync record lists for camera upload
+ *
+ * The media are processed as a staged pipeline, batch by batch:
+ * 1. a bulk database check discards the media already recorded
+ * 2. the local fingerprints are computed in parallel on a bounded pool
+ * 3. the cloud nodes matching the fingerprints are looked up in parallel
+ * 4. the sync records are built in the original order of the media
+ *
+ * Every invocation returns the metrics of its own stages, as the photos and videos of the
+ * primary and secondary folders can be processed at the same time
  */
 class GetPendingUploadListUseCase @Inject constructor(
     private val getNodeFromCloudUseCase: GetNodeFromCloudUseCase,
@@ -27,94 +47,264 @@ class GetPendingUploadListUseCase @Inject constructor(
     private val getSecondarySyncHandleUseCase: GetSecondarySyncHandleUseCase,
     private val updateTimeStamp: UpdateCameraUploadTimeStamp,
     private val getFingerprintUseCase: GetFingerprintUseCase,
-    private val mediaLocalPathExists: MediaLocalPathExists,
+    private val getExistingMediaLocalPathsUseCase: GetExistingMediaLocalPathsUseCase,
     private val shouldCompressVideo: ShouldCompressVideo,
     private val getGPSCoordinates: GetGPSCoordinates,
     private val isNodeInRubbish: IsNodeInRubbish,
     private val getNodeGPSCoordinatesUseCase: GetNodeGPSCoordinatesUseCase,
+    @IoDispatcher private val ioDispatcher: CoroutineDispatcher,
 ) {
 
+    /**
+     * Invoke
+     *
+     * @param mediaList the media to process. The queue is drained
+     * @param isSecondary true if the media belong to the secondary folder
+     * @param isVideo true if the media are videos
+     * @return the [PendingUploadList] with the records to upload or copy
+     */
     suspend operator fun invoke(
         mediaList: Queue<CameraUploadMedia>,
         isSecondary: Boolean,
         isVideo: Boolean,
-    ): List<SyncRecord> {
+    ): PendingUploadList {
+        val pipeline = createPipeline(isSecondary, isVideo)
         val pendingList = mutableListOf<SyncRecord>()
-        val parentNodeHandle =
-            if (isSecondary) getSecondarySyncHandleUseCase() else getPrimarySyncHandleUseCase()
-        val type = if (isVideo) SyncRecordType.TYPE_VIDEO else SyncRecordType.TYPE_PHOTO
-
         while (mediaList.size > 0) {
             yield()
-            val media = mediaList.poll() ?: continue
-            if (media.filePath?.let { mediaLocalPathExists(it, isSecondary) } == true) {
-                continue
-            }
+            val batch = generateSequence { mediaList.poll() }.take(BATCH_SIZE).toList()
+            pendingList.addAll(processBatch(batch, pipeline))
+        }
+        return PendingUploadList(pendingList, pipeline.metrics)
+    }
 
-            val sourceFile = media.filePath?.let { File(it) }
-            val localFingerPrint = media.filePath?.let { getFingerprintUseCase(it) }
-            val nodeExists = localFingerPrint?.let { fingerprint ->
-                getNodeFromCloudUseCase(fingerprint, NodeId(parentNodeHandle))
+    /**
+     * Invoke with a stream of media, consumed batch by batch so that only one batch of media is
+     * held in memory at a time
+     *
+     * @param mediaFlow the media to process
+     * @param isSecondary true if the media belong to the secondary folder
+     * @param isVideo true if the media are videos
+     * @return the [PendingUploadList] with the records to upload or copy
+     */
+    suspend operator fun invoke(
+        mediaFlow: Flow<CameraUploadMedia>,
+        isSecondary: Boolean,
+        isVideo: Boolean,
+    ): PendingUploadList {
+        val pipeline = createPipeline(isSecondary, isVideo)
+        val pendingList = mutableListOf<SyncRecord>()
+        val batch = ArrayList<CameraUploadMedia>(BATCH_SIZE)
+        mediaFlow.collect { media ->
+            batch.add(media)
+            if (batch.size == BATCH_SIZE) {
+                pendingList.addAll(processBatch(batch.toList(), pipeline))
+                batch.clear()
             }
+        }
+        if (batch.isNotEmpty()) {
+            pendingList.addAll(processBatch(batch, pipeline))
+        }
+        return PendingUploadList(pendingList, pipeline.metrics)
+    }
+
+    private suspend fun createPipeline(isSecondary: Boolean, isVideo: Boolean): Pipeline =
+        Pipeline(
+            parentNodeHandle = if (isSecondary) {
+                getSecondarySyncHandleUseCase()
+            } else {
+                getPrimarySyncHandleUseCase()
+            },
+            type = if (isVideo) SyncRecordType.TYPE_VIDEO else SyncRecordType.TYPE_PHOTO,
+            isSecondary = isSecondary,
+            isVideo = isVideo,
+            semaphore = Semaphore(PARALLELISM),
+        )
 
-            if (nodeExists == null) {
-                val gpsData = sourceFile?.let {
-                    getGPSCoordinates(
-                        it.absolutePath,
-                        isVideo
-                    )
+    private suspend fun processBatch(
+        batch: List<CameraUploadMedia>,
+        pipeline: Pipeline,
+    ): List<SyncRecord> = coroutineScope {
+        val isSecondary = pipeline.isSecondary
+        val parentNodeHandle = pipeline.parentNodeHandle
+
+        // Stage 1: bulk existence check in the database
+        val (newMedia, existenceTime) = measured {
+            val existingPaths = getExistingMediaLocalPathsUseCase(
+                batch.mapNotNull { it.filePath }.distinct(),
+                isSecondary
+            )
+            batch.filter { it.filePath == null || it.filePath !in existingPaths }
+        }
+        pipeline.updateMetrics {
+            it.copy(existenceCheck = it.existenceCheck + stage(batch, newMedia, existenceTime))
+        }
+
+        // Stage 2: parallel fingerprint computation
+        val (fingerprints, fingerprintTime) = measured {
+            newMedia.map { media ->
+                async(ioDispatcher) {
+                    pipeline.semaphore.withPermit {
+                        media.filePath?.let { getFingerprintUseCase(it) }
+                    }
+                }
+            }.awaitAll()
+        }
+        pipeline.updateMetrics {
+            it.copy(
+                fingerprint = it.fingerprint +
+                        stage(newMedia, fingerprints.filterNotNull(), fingerprintTime)
+            )
+        }
+
+        // Stage 3: parallel cloud lookups by fingerprint
+        val (cloudNodes, cloudLookupTime) = measured {
+            fingerprints.map { fingerprint ->
+                async(ioDispatcher) {
+                    pipeline.semaphore.withPermit {
+                        fingerprint?.let {
+                            getNodeFromCloudUseCase(it, NodeId(parentNodeHandle))
+                        }
+                    }
                 }
+            }.awaitAll()
+        }
+        pipeline.updateMetrics {
+            it.copy(
+                cloudLookup = it.cloudLookup +
+                        stage(fingerprints, cloudNodes.filterNotNull(), cloudLookupTime)
+            )
+        }
+
+        // Stage 4: record building, in the original order of the media
+        val (records, recordBuildingTime) = measured {
+            newMedia.mapIndexedNotNull { index, media ->
+                buildRecord(
+                    media = media,
+                    localFingerPrint = fingerprints[index],
+                    nodeExists = cloudNodes[index],
+                    parentNodeHandle = parentNodeHandle,
+                    type = pipeline.type,
+                    isSecondary = isSecondary,
+                    isVideo = pipeline.isVideo,
+                )
+            }
+        }
+        pipeline.updateMetrics {
+            it.copy(
+                recordBuilding = it.recordBuilding + stage(newMedia, records, recordBuildingTime)
+            )
+        }
+        records
+    }
+
+    private suspend fun buildRecord(
+        media: CameraUploadMedia,
+        localFingerPrint: String?,
+        nodeExists: TypedFileNode?,
+        parentNodeHandle: Long,
+        type: SyncRecordType,
+        isSecondary: Boolean,
+        isVideo: Boolean,
+    ): SyncRecord? {
+        val sourceFile = media.filePath?.let { File(it) }
+        if (nodeExists == null) {
+            val gpsData = sourceFile?.let {
+                getGPSCoordinates(
+                    it.absolutePath,
+                    isVideo
+                )
+            }
+            val record = SyncRecord(
+                0,
+                sourceFile?.absolutePath,
+                null,
+                localFingerPrint,
+                null,
+                media.timestamp,
+                sourceFile?.name,
+                gpsData?.second,
+                gpsData?.first,
+                if (shouldCompressVideo() && type == SyncRecordType.TYPE_VIDEO)
+                    SyncStatus.STATUS_TO_COMPRESS.value
+                else
+                    SyncStatus.STATUS_PENDING.value,
+                type,
+                null,
+                false,
+                isSecondary
+            )
+            return record
+        } else {
+            if (!isNodeInRubbish(nodeExists.id.longValue) && getParentNodeUseCase(nodeExists.id)?.id?.longValue != parentNodeHandle) {
+                val (latitude, longitude) = getNodeGPSCoordinatesUseCase(nodeExists.id)
                 val record = SyncRecord(
                     0,
-                    sourceFile?.absolutePath,
-                    null,
-                    localFingerPrint,
+                    media.filePath,
                     null,
+                    nodeExists.originalFingerprint,
+                    nodeExists.fingerprint,
                     media.timestamp,
                     sourceFile?.name,
-                    gpsData?.second,
-                    gpsData?.first,
-                    if (shouldCompressVideo() && type == SyncRecordType.TYPE_VIDEO)
-                        SyncStatus.STATUS_TO_COMPRESS.value
-                    else
-                        SyncStatus.STATUS_PENDING.value,
+                    latitude.toFloat(),
+                    longitude.toFloat(),
+                    SyncStatus.STATUS_PENDING.value,
                     type,
-                    null,
-                    false,
+                    nodeExists.id.longValue,
+                    true,
                     isSecondary
                 )
-                pendingList.add(record)
+                return record
             } else {
-                if (!isNodeInRubbish(nodeExists.id.longValue) && getParentNodeUseCase(nodeExists.id)?.id?.longValue != parentNodeHandle) {
-                    val (latitude, longitude) = getNodeGPSCoordinatesUseCase(nodeExists.id)
-                    val record = SyncRecord(
-                        0,
-                        media.filePath,
-                        null,
-                        nodeExists.originalFingerprint,
-                        nodeExists.fingerprint,
-                        media.timestamp,
-                        sourceFile?.name,
-                        latitude.toFloat(),
-                        longitude.toFloat(),
-                        SyncStatus.STATUS_PENDING.value,
-                        type,
-                        nodeExists.id.longValue,
-                        true,
-                        isSecondary
-                    )
-                    pendingList.add(record)
+                if (isVideo) {
+                    updateTimeStamp(media.timestamp, SyncTimeStamp.PRIMARY_VIDEO)
+                    updateTimeStamp(media.timestamp, SyncTimeStamp.SECONDARY_VIDEO)
                 } else {
-                    if (isVideo) {
-                        updateTimeStamp(media.timestamp, SyncTimeStamp.PRIMARY_VIDEO)
-                        updateTimeStamp(media.timestamp, SyncTimeStamp.SECONDARY_VIDEO)
-                    } else {
-                        updateTimeStamp(media.timestamp, SyncTimeStamp.PRIMARY_PHOTO)
-                        updateTimeStamp(media.timestamp, SyncTimeStamp.SECONDARY_PHOTO)
-                    }
+                    updateTimeStamp(media.timestamp, SyncTimeStamp.PRIMARY_PHOTO)
+                    updateTimeStamp(media.timestamp, SyncTimeStamp.SECONDARY_PHOTO)
                 }
             }
         }
-        return pendingList
+        return null
+    }
+
+    private inline fun <T> measured(block: () -> T): Pair<T, Long> {
+        val start = System.currentTimeMillis()
+        val result = block()
+        return result to System.currentTimeMillis() - start
+    }
+
+    private fun stage(input: List<*>, output: List<*>, durationMillis: Long) =
+        PendingUploadListStageMetrics(input.size, output.size, durationMillis)
+
+    /**
+     * Parameters and metrics shared by all the batches of an invocation. The batches are
+     * processed one after the other, so the metrics are only updated by one coroutine at a time
+     */
+    private class Pipeline(
+        val parentNodeHandle: Long,
+        val type: SyncRecordType,
+        val isSecondary: Boolean,
+        val isVideo: Boolean,
+        val semaphore: Semaphore,
+    ) {
+        var metrics = PendingUploadListMetrics()
+            private set
+
+        fun updateMetrics(transform: (PendingUploadListMetrics) -> PendingUploadListMetrics) {
+            metrics = transform(metrics)
+        }
+    }
+
+    companion object {
+        /**
+         * Number of media processed per batch through the pipeline
+         */
+        private const val BATCH_SIZE = 200
+
+        /**
+         * Maximum number of fingerprint computations and cloud lookups running at once
+         */
+        private const val PARALLELISM = 8
     }
 }
@@ -3,11 +3,15 @@ package mega.privacy.android.domain.usecase.camerauploads
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.joinAll
 import kotlinx.coroutines.launch
 import mega.privacy.android.domain.entity.CameraUploadMedia
 import mega.privacy.android.domain.entity.MediaStoreFileType
+import mega.privacy.android.domain.entity.SyncRecord
 import mega.privacy.android.domain.entity.SyncTimeStamp
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
 import mega.privacy.android.domain.entity.node.NodeId
 import mega.privacy.android.domain.repository.CameraUploadRepository
 import mega.privacy.android.domain.usecase.IsSecondaryFolderEnabled
@@ -102,30 +106,20 @@ class ProcessMediaForUploadUseCase @Inject constructor(
         secondaryUploadNodeId: NodeId?,
         tempRoot: String?,
     ) = launch {
-        val primaryPhotos: Queue<CameraUploadMedia> = LinkedList()
-        for (type in types) {
-            if (type == MediaStoreFileType.IMAGES_INTERNAL || type == MediaStoreFileType.IMAGES_EXTERNAL) {
-                primaryPhotos.addAll(
-                    cameraUploadRepository.getMediaQueue(
-                        mediaStoreFileType = type,
-                        parentPath = getPrimaryFolderPathUseCase(),
-                        isVideo = false,
-                        selectionQuery = getCameraUploadSelectionQueryUseCase(SyncTimeStamp.PRIMARY_PHOTO),
-                    )
-                )
-            }
-        }
-        val pendingUploadsList = getPendingUploadListUseCase(
-            mediaList = primaryPhotos,
+        val scan = scanMedia(
+            types = types.filter { it in photoTypes },
+            parentPath = getPrimaryFolderPathUseCase(),
             isSecondary = false,
             isVideo = false,
+            syncTimeStamp = SyncTimeStamp.PRIMARY_PHOTO,
         )
         saveSyncRecordsToDBUseCase(
-            list = pendingUploadsList,
+            list = scan.pendingUploadsList,
             primaryUploadNodeId = primaryUploadNodeId,
             secondaryUploadNodeId = secondaryUploadNodeId,
             rootPath = tempRoot,
         )
+        saveHighWaterMarks(scan)
         updateTimeStamp(null, SyncTimeStamp.PRIMARY_PHOTO)
     }
 
@@ -135,30 +129,20 @@ class ProcessMediaForUploadUseCase @Inject constructor(
         secondaryUploadNodeId: NodeId?,
         tempRoot: String?,
     ) = launch {
-        val primaryVideos: Queue<CameraUploadMedia> = LinkedList()
-        for (type in types) {
-            if (type == MediaStoreFileType.VIDEO_INTERNAL || type == MediaStoreFileType.VIDEO_EXTERNAL) {
-                primaryVideos.addAll(
-                    cameraUploadRepository.getMediaQueue(
-                        mediaStoreFileType = type,
-                        parentPath = getPrimaryFolderPathUseCase(),
-                        isVideo = true,
-                        selectionQuery = getCameraUploadSelectionQueryUseCase(SyncTimeStamp.PRIMARY_VIDEO),
-                    )
-                )
-            }
-        }
-        val pendingVideoUploadsList = getPendingUploadListUseCase(
-            mediaList = primaryVideos,
+        val scan = scanMedia(
+            types = types.filter { it in videoTypes },
+            parentPath = getPrimaryFolderPathUseCase(),
             isSecondary = false,
             isVideo = true,
+            syncTimeStamp = SyncTimeStamp.PRIMARY_VIDEO,
         )
         saveSyncRecordsToDBUseCase(
-            list = pendingVideoUploadsList,
+            list = scan.pendingUploadsList,
             primaryUploadNodeId = primaryUploadNodeId,
             secondaryUploadNodeId = secondaryUploadNodeId,
             rootPath = tempRoot,
         )
+        saveHighWaterMarks(scan)
         updateTimeStamp(null, SyncTimeStamp.PRIMARY_VIDEO)
     }
 
@@ -169,30 +153,20 @@ class ProcessMediaForUploadUseCase @Inject constructor(
         tempRoot: String?, isSecondaryEnabled: Boolean,
     ) = launch {
         if (isSecondaryEnabled) {
-            val secondaryPhotos: Queue<CameraUploadMedia> = LinkedList()
-            for (type in types) {
-                if (type == MediaStoreFileType.IMAGES_INTERNAL || type == MediaStoreFileType.IMAGES_EXTERNAL) {
-                    secondaryPhotos.addAll(
-                        cameraUploadRepository.getMediaQueue(
-                            mediaStoreFileType = type,
-                            parentPath = getSecondaryFolderPathUseCase(),
-                            isVideo = false,
-                            selectionQuery = getCameraUploadSelectionQueryUseCase(SyncTimeStamp.SECONDARY_PHOTO),
-                        )
-                    )
-                }
-            }
-            val pendingUploadsListSecondary = getPendingUploadListUseCase(
-                mediaList = secondaryPhotos,
+            val scan = scanMedia(
+                types = types.filter { it in photoTypes },
+                parentPath = getSecondaryFolderPathUseCase(),
                 isSecondary = true,
                 isVideo = false,
+                syncTimeStamp = SyncTimeStamp.SECONDARY_PHOTO,
             )
             saveSyncRecordsToDBUseCase(
-                list = pendingUploadsListSecondary,
+                list = scan.pendingUploadsList,
                 primaryUploadNodeId = primaryUploadNodeId,
                 secondaryUploadNodeId = secondaryUploadNodeId,
                 rootPath = tempRoot,
             )
+            saveHighWaterMarks(scan)
             updateTimeStamp(null, SyncTimeStamp.SECONDARY_PHOTO)
         }
     }
@@ -204,32 +178,132 @@ class ProcessMediaForUploadUseCase @Inject constructor(
         tempRoot: String?, isSecondaryEnabled: Boolean,
     ) = launch {
         if (isSecondaryEnabled) {
-            val secondaryVideos: Queue<CameraUploadMedia> = LinkedList()
-            for (type in types) {
-                if (type == MediaStoreFileType.VIDEO_INTERNAL || type == MediaStoreFileType.VIDEO_EXTERNAL) {
-
-                    secondaryVideos.addAll(
-                        cameraUploadRepository.getMediaQueue(
-                            mediaStoreFileType = type,
-                            parentPath = getSecondaryFolderPathUseCase(),
-                            isVideo = true,
-                            selectionQuery = getCameraUploadSelectionQueryUseCase(SyncTimeStamp.SECONDARY_VIDEO),
-                        )
-                    )
-                }
-            }
-            val pendingVideoUploadsListSecondary = getPendingUploadListUseCase(
-                mediaList = secondaryVideos,
+            val scan = scanMedia(
+                types = types.filter { it in videoTypes },
+                parentPath = getSecondaryFolderPathUseCase(),
                 isSecondary = true,
                 isVideo = true,
+                syncTimeStamp = SyncTimeStamp.SECONDARY_VIDEO,
             )
             saveSyncRecordsToDBUseCase(
-                list = pendingVideoUploadsListSecondary,
+                list = scan.pendingUploadsList,
                 primaryUploadNodeId = primaryUploadNodeId,
                 secondaryUploadNodeId = secondaryUploadNodeId,
                 rootPath = tempRoot,
             )
+            saveHighWaterMarks(scan)
             updateTimeStamp(null, SyncTimeStamp.SECONDARY_VIDEO)
         }
     }
+
+    /**
+     * Scan the media store for the media of the given types in a folder
+     *
+     * When the media store provides a high water mark for every type, the media are streamed
+     * from the cursor and only the media added or modified since the last scan are read.
+     * Otherwise, the whole media queue is loaded as before
+     */
+    private suspend fun scanMedia(
+        types: List<MediaStoreFileType>,
+        parentPath: String?,
+        isSecondary: Boolean,
+        isVideo: Boolean,
+        syncTimeStamp: SyncTimeStamp,
+    ): MediaScan {
+        val selectionQuery = getCameraUploadSelectionQueryUseCase(syncTimeStamp)
+        val currentHighWaterMarks = types.associateWith {
+            cameraUploadRepository.getCurrentMediaStoreHighWaterMark(it)
+        }
+        if (types.isEmpty() || currentHighWaterMarks.values.any { it == null }) {
+            val mediaList: Queue<CameraUploadMedia> = LinkedList()
+            types.forEach { type ->
+                mediaList.addAll(
+                    cameraUploadRepository.getMediaQueue(
+                        mediaStoreFileType = type,
+                        parentPath = parentPath,
+                        isVideo = isVideo,
+                        selectionQuery = selectionQuery,
+                    )
+                )
+            }
+            return MediaScan(
+                pendingUploadsList = getPendingUploadListUseCase(
+                    mediaList = mediaList,
+                    isSecondary = isSecondary,
+                    isVideo = isVideo,
+                ).records,
+                parentPath = parentPath,
+                highWaterMarks = emptyMap(),
+            )
+        }
+
+        val currentSyncTimestamp = cameraUploadRepository.getSyncTimeStamp(syncTimeStamp) ?: 0L
+        val mediaFlow = flow {
+            types.forEach { type ->
+                val highWaterMark =
+                    cameraUploadRepository.getMediaStoreHighWaterMark(type, parentPath)
+                        ?.takeIf { it.isValidFor(currentHighWaterMarks[type], currentSyncTimestamp) }
+                emitAll(
+                    cameraUploadRepository.getMediaFlow(
+                        mediaStoreFileType = type,
+                        parentPath = parentPath,
+                        isVideo = isVideo,
+                        selectionQuery = selectionQuery,
+                        highWaterMark = highWaterMark,
+                    )
+                )
+            }
+        }
+        return MediaScan(
+            pendingUploadsList = getPendingUploadListUseCase(
+                mediaFlow = mediaFlow,
+                isSecondary = isSecondary,
+                isVideo = isVideo,
+            ).records,
+            parentPath = parentPath,
+            highWaterMarks = currentHighWaterMarks.mapNotNull { (type, highWaterMark) ->
+                highWaterMark?.let { type to it.copy(syncTimestamp = currentSyncTimestamp) }
+            }.toMap(),
+        )
+    }
+
+    /**
+     * A saved high water mark can only be used if it was taken on the same media store version
+     * and the sync timestamps have not been reset since
+     */
+    private fun MediaStoreHighWaterMark.isValidFor(
+        current: MediaStoreHighWaterMark?,
+        currentSyncTimestamp: Long,
+    ) = current != null && mediaStoreVersion == current.mediaStoreVersion &&
+            syncTimestamp <= currentSyncTimestamp
+
+    /**
+     * Save the high water marks of a scan once its records have been saved, so that an
+     * interrupted run scans the same media again
+     */
+    private suspend fun saveHighWaterMarks(scan: MediaScan) {
+        scan.highWaterMarks.forEach { (type, highWaterMark) ->
+            cameraUploadRepository.setMediaStoreHighWaterMark(type, scan.parentPath, highWaterMark)
+        }
+    }
+
+    /**
+     * Result of a media store scan
+     *
+     * @property pendingUploadsList the records to upload
+     * @property parentPath the scanned folder
+     * @property highWaterMarks the high water marks to save once the records are saved
+     */
+    private class MediaScan(
+        val pendingUploadsList: List<SyncRecord>,
+        val parentPath: String?,
+        val highWaterMarks: Map<MediaStoreFileType, MediaStoreHighWaterMark>,
+    )
+
+    companion object {
+        private val photoTypes =
+            listOf(MediaStoreFileType.IMAGES_INTERNAL, MediaStoreFileType.IMAGES_EXTERNAL)
+        private val videoTypes =
+            listOf(MediaStoreFileType.VIDEO_INTERNAL, MediaStoreFileType.VIDEO_EXTERNAL)
+    }
 }
@@ -1,5 +1,7 @@
 package mega.privacy.android.domain.usecase.camerauploads
 
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.withContext
 import kotlinx.coroutines.yield
 import mega.privacy.android.domain.entity.SyncRecord
 import mega.privacy.android.domain.entity.node.NodeId
@@ -7,7 +9,6 @@ import mega.privacy.android.domain.usecase.DeleteSyncRecordByLocalPath
 import mega.privacy.android.domain.usecase.FileNameExists
 import mega.privacy.android.domain.usecase.GetDeviceCurrentNanoTimeUseCase
 import mega.privacy.android.domain.usecase.GetSyncRecordByFingerprint
-import mega.privacy.android.domain.usecase.SaveSyncRecord
 import mega.privacy.android.domain.usecase.node.GetChildNodeUseCase
 import java.io.File
 import java.text.DateFormat
@@ -17,15 +18,18 @@ import java.util.Locale
 import javax.inject.Inject
 
 /**
- * Use case to save [SaveSyncRecord] to database
+ * Use case to save [SyncRecord] to database
  *
+ * The records are saved in batches of [BATCH_SIZE], each one in a single transaction. The
+ * records of the current batch that are not saved yet are taken into account for the
+ * duplicated fingerprint and file name checks, as if they were already in the database.
  *
  * @property getSyncRecordByFingerprint [GetSyncRecordByFingerprint]
  * @property deleteSyncRecordByLocalPath [DeleteSyncRecordByLocalPath]
  * @property areUploadFileNamesKeptUseCase [AreUploadFileNamesKeptUseCase]
  * @property getChildNodeUseCase [GetChildNodeUseCase]
  * @property fileNameExists [FileNameExists]
- * @property saveSyncRecord [SaveSyncRecord]
+ * @property saveSyncRecordsUseCase [SaveSyncRecordsUseCase]
  * @property getDeviceCurrentNanoTimeUseCase [GetDeviceCurrentNanoTimeUseCase]
  */
 class SaveSyncRecordsToDBUseCase @Inject constructor(
@@ -34,7 +38,7 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
     private val areUploadFileNamesKeptUseCase: AreUploadFileNamesKeptUseCase,
     private val getChildNodeUseCase: GetChildNodeUseCase,
     private val fileNameExists: FileNameExists,
-    private val saveSyncRecord: SaveSyncRecord,
+    private val saveSyncRecordsUseCase: SaveSyncRecordsUseCase,
     private val getDeviceCurrentNanoTimeUseCase: GetDeviceCurrentNanoTimeUseCase,
 ) {
 
@@ -51,6 +55,24 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
         primaryUploadNodeId: NodeId?,
         secondaryUploadNodeId: NodeId?,
         rootPath: String?,
+    ) {
+        val pending = mutableListOf<SyncRecord>()
+        try {
+            processRecords(list, pending, primaryUploadNodeId, secondaryUploadNodeId, rootPath)
+        } finally {
+            // Records already processed are kept even if the processing is cancelled
+            withContext(NonCancellable) {
+                saveSyncRecordsUseCase(pending.toList())
+            }
+        }
+    }
+
+    private suspend fun processRecords(
+        list: List<SyncRecord>,
+        pending: MutableList<SyncRecord>,
+        primaryUploadNodeId: NodeId?,
+        secondaryUploadNodeId: NodeId?,
+        rootPath: String?,
     ) {
         for (file in list) {
             run {
@@ -60,13 +82,18 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
                     file.originFingerprint,
                     file.isSecondary,
                     file.isCopyOnly
-                )
+                ) ?: pending.firstOrNull {
+                    it.originFingerprint != null
+                            && it.originFingerprint == file.originFingerprint
+                            && it.isSecondary == file.isSecondary
+                            && it.isCopyOnly == file.isCopyOnly
+                }
                 if (exist != null) {
                     exist.timestamp?.let { existTime ->
                         file.timestamp?.let { fileTime ->
                             if (existTime < fileTime) {
                                 exist.localPath?.let {
-                                    deleteSyncRecordByLocalPath(it, exist.isSecondary)
+                                    deleteRecordByLocalPath(it, exist.isSecondary, pending)
                                 }
                             } else {
                                 return@run
@@ -81,7 +108,7 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
                     val resFile = file.localPath?.let { File(it) }
                     if (resFile != null && !resFile.exists()) {
                         file.localPath?.let {
-                            deleteSyncRecordByLocalPath(it, isSecondary)
+                            deleteRecordByLocalPath(it, isSecondary, pending)
                         }
                         return@run
                     }
@@ -104,6 +131,7 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
                         ) != null
                         fileName?.let {
                             inDatabase = fileNameExists(it, isSecondary)
+                                    || isPendingFileName(it, isSecondary, pending)
                         }
                     } while (inCloud || inDatabase)
                 } else {
@@ -120,6 +148,7 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
                             fileName
                         ) != null
                         inDatabase = fileNameExists(fileName, isSecondary)
+                                || isPendingFileName(fileName, isSecondary, pending)
                     } while (inCloud || inDatabase)
                 }
 
@@ -133,11 +162,30 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
                 file.fileName = fileName
                 val newPath = "$rootPath${getDeviceCurrentNanoTimeUseCase()}.$extension"
                 file.newPath = newPath
-                saveSyncRecord(file)
+                pending.add(file)
+                if (pending.size >= BATCH_SIZE) {
+                    saveSyncRecordsUseCase(pending.toList())
+                    pending.clear()
+                }
             }
         }
     }
 
+    private suspend fun deleteRecordByLocalPath(
+        localPath: String,
+        isSecondary: Boolean,
+        pending: MutableList<SyncRecord>,
+    ) {
+        deleteSyncRecordByLocalPath(localPath, isSecondary)
+        pending.removeAll { it.localPath == localPath && it.isSecondary == isSecondary }
+    }
+
+    private fun isPendingFileName(
+        fileName: String,
+        isSecondary: Boolean,
+        pending: List<SyncRecord>,
+    ) = pending.any { it.fileName == fileName && it.isSecondary == isSecondary }
+
     private fun getLastModifiedTime(file: SyncRecord): Long {
         val source = file.localPath?.let { File(it) }
         return source?.lastModified() ?: 0
@@ -186,6 +234,7 @@ class SaveSyncRecordsToDBUseCase @Inject constructor(
 
     private companion object {
         const val DATE_AND_TIME_PATTERN = "yyyy-MM-dd HH.mm.ss"
+        const val BATCH_SIZE = 500
     }
 
 }
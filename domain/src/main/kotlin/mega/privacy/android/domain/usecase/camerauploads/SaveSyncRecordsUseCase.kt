@@ -0,0 +1,24 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import mega.privacy.android.domain.entity.SyncRecord
+import mega.privacy.android.domain.repository.CameraUploadRepository
+import javax.inject.Inject
+
+/**
+ * Use case to save a list of sync records in a single transaction
+ */
+class SaveSyncRecordsUseCase @Inject constructor(
+    private val cameraUploadRepository: CameraUploadRepository,
+) {
+
+    /**
+     * Invoke
+     *
+     * @param records the records to save
+     */
+    suspend operator fun invoke(records: List<SyncRecord>) {
+        if (records.isNotEmpty()) {
+            cameraUploadRepository.saveSyncRecords(records)
+        }
+    }
+}
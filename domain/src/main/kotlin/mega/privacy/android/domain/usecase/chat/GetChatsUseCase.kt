@@ -1,15 +1,18 @@
 package mega.privacy.android.domain.usecase.chat
 
-import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.conflate
 import kotlinx.coroutines.flow.emitAll
 import kotlinx.coroutines.flow.emptyFlow
 import kotlinx.coroutines.flow.filter
 import kotlinx.coroutines.flow.flow
-import kotlinx.coroutines.flow.mapLatest
 import kotlinx.coroutines.flow.mapNotNull
 import kotlinx.coroutines.flow.merge
+import kotlinx.coroutines.flow.transform
 import kotlinx.coroutines.sync.Mutex
 import kotlinx.coroutines.sync.withLock
 import mega.privacy.android.data.mapper.chat.ChatRoomItemMapper
@@ -40,7 +43,6 @@ import javax.inject.Inject
 /**
  * Use case to retrieve Chat Rooms.
  */
-@OptIn(ExperimentalCoroutinesApi::class)
 class GetChatsUseCase @Inject constructor(
     private val chatRepository: ChatRepository,
     private val pushesRepository: PushesRepository,
@@ -57,6 +59,18 @@ class GetChatsUseCase @Inject constructor(
     private val monitorScheduledMeetingOccurrencesUpdates: MonitorScheduledMeetingOccurrencesUpdates,
 ) {
 
+    companion object {
+        /**
+         * Time waited after an update for the rest of a burst of updates
+         */
+        private const val UPDATES_WINDOW_MILLIS = 100L
+
+        /**
+         * Number of chats whose fields are updated at the same time
+         */
+        private const val PARALLEL_UPDATES = 8
+    }
+
     /**
      * Chat room request type
      */
@@ -95,9 +109,16 @@ class GetChatsUseCase @Inject constructor(
     ): Flow<List<ChatRoomItem>> =
         flow {
             val mutex = Mutex()
-            val chats = mutableMapOf<Long, ChatRoomItem>()
+            val chats = ChatRoomItems()
+            val sortedChats = SortedChatRoomList(
+                comparator = chatRoomType.getComparator(),
+                headerTimeMapper = headerTimeMapper.takeIf {
+                    chatRoomType == ChatRoomType.MEETINGS
+                },
+            )
 
-            emit(chats.addChatRooms(chatRoomType))
+            chats.addChatRooms(chatRoomType)
+            emit(sortedChats.update(chats, chats.takeChangedIds()))
 
             emitAll(
                 merge(
@@ -119,15 +140,38 @@ class GetChatsUseCase @Inject constructor(
                         lastTimeMapper,
                         meetingTimeMapper
                     ),
-                ).mapLatest {
-                    it.sorted(chatRoomType).addHeaders(chatRoomType, headerTimeMapper)
+                ).conflate().transform {
+                    // Wait for the rest of a burst of updates, so they are emitted together
+                    delay(UPDATES_WINDOW_MILLIS)
+                    mutex.withLock {
+                        chats.takeChangedIds().takeIf { it.isNotEmpty() }?.let { changedIds ->
+                            sortedChats.update(chats, changedIds)
+                        }
+                    }?.let { emit(it) }
                 }
             )
         }
 
+    /**
+     * Chat rooms by chat id, keeping the ids of the ones changed until they are taken
+     */
+    private class ChatRoomItems : LinkedHashMap<Long, ChatRoomItem>() {
+        private val changedIds = HashSet<Long>()
+
+        override fun put(key: Long, value: ChatRoomItem): ChatRoomItem? {
+            changedIds.add(key)
+            return super.put(key, value)
+        }
+
+        override fun remove(key: Long): ChatRoomItem? =
+            super.remove(key)?.also { changedIds.add(key) }
+
+        fun takeChangedIds(): Set<Long> = changedIds.toSet().also { changedIds.clear() }
+    }
+
     private suspend fun MutableMap<Long, ChatRoomItem>.addChatRooms(
         chatRoomType: ChatRoomType,
-    ): List<ChatRoomItem> =
+    ) =
         when (chatRoomType) {
             ChatRoomType.MEETINGS -> chatRepository.getMeetingChatRooms()
             ChatRoomType.NON_MEETINGS -> chatRepository.getNonMeetingChatRooms()
@@ -140,7 +184,7 @@ class GetChatsUseCase @Inject constructor(
                 ) {
                     put(chatRoom.chatId, chatRoomItemMapper(chatRoom))
                 }
-            }.let { values.toList() }
+            }
 
     private fun MutableMap<Long, ChatRoomItem>.updateFields(
         mutex: Mutex,
@@ -148,26 +192,28 @@ class GetChatsUseCase @Inject constructor(
         getLastMessage: suspend (Long) -> String,
         lastTimeMapper: (Long) -> String,
         meetingTimeMapper: (Long, Long) -> String,
-    ): Flow<List<ChatRoomItem>> =
+    ): Flow<Unit> =
         flow {
-            values.toList().forEach { currentItem ->
-                val newItem = currentItem.updateChatFields(getLastMessage, lastTimeMapper)
-                if (currentItem != newItem) {
-                    mutex.withLock {
-                        put(currentItem.chatId, newItem)
-                    }
-                    emit(values.toList())
+            val currentItems = mutex.withLock { values.toList() }
+            // Several chats are updated at the same time, as each one needs several requests
+            currentItems.chunked(PARALLEL_UPDATES).forEach { chunk ->
+                val newItems = coroutineScope {
+                    chunk.map { currentItem ->
+                        async {
+                            currentItem.updateChatFields(getLastMessage, lastTimeMapper)
+                                .updateMeetingFields(chatRoomType, meetingTimeMapper)
+                        }
+                    }.awaitAll()
                 }
 
-                if (currentItem is MeetingChatRoomItem) {
-                    val meetingItem = newItem.updateMeetingFields(chatRoomType, meetingTimeMapper)
-                    if (newItem != meetingItem) {
-                        mutex.withLock {
-                            put(currentItem.chatId, meetingItem)
+                val changed = mutex.withLock {
+                    chunk.zip(newItems).count { (currentItem, newItem) ->
+                        (currentItem != newItem && containsKey(currentItem.chatId)).also {
+                            if (it) put(currentItem.chatId, newItem)
                         }
-                        emit(values.toList())
-                    }
+                    } > 0
                 }
+                if (changed) emit(Unit)
             }
         }
 
@@ -207,7 +253,7 @@ class GetChatsUseCase @Inject constructor(
     private fun MutableMap<Long, ChatRoomItem>.monitorMutedChats(
         mutex: Mutex,
         chatRoomType: ChatRoomType,
-    ): Flow<List<ChatRoomItem>> =
+    ): Flow<Unit> =
         if (chatRoomType != ChatRoomType.ARCHIVED_CHATS) {
             pushesRepository.monitorPushNotificationSettings().mapNotNull {
                 var listUpdated = false
@@ -226,14 +272,14 @@ class GetChatsUseCase @Inject constructor(
                         }
                     }
                 }
-                values.toList().takeIf { listUpdated }
+                Unit.takeIf { listUpdated }
             }
         } else emptyFlow()
 
     private fun MutableMap<Long, ChatRoomItem>.monitorChatCalls(
         mutex: Mutex,
         chatRoomType: ChatRoomType,
-    ): Flow<List<ChatRoomItem>> =
+    ): Flow<Unit> =
         if (chatRoomType != ChatRoomType.ARCHIVED_CHATS) {
             monitorChatCallUpdates()
                 .filter { containsKey(it.chatId) }
@@ -250,7 +296,7 @@ class GetChatsUseCase @Inject constructor(
                                 }
                             }
                         }
-                        values.toList()
+                        Unit
                     }
                 }
         } else emptyFlow()
@@ -259,7 +305,7 @@ class GetChatsUseCase @Inject constructor(
         mutex: Mutex,
         chatRoomType: ChatRoomType,
         meetingTimeMapper: (Long, Long) -> String,
-    ): Flow<List<ChatRoomItem>> =
+    ): Flow<Unit> =
         if (chatRoomType == ChatRoomType.MEETINGS) {
             merge(monitorScheduledMeetingUpdates(), monitorScheduledMeetingOccurrencesUpdates())
                 .mapNotNull { update ->
@@ -288,7 +334,7 @@ class GetChatsUseCase @Inject constructor(
                                 }
                             }
                         }
-                        values.toList()
+                        Unit
                     }
                 }
         } else emptyFlow()
@@ -299,7 +345,7 @@ class GetChatsUseCase @Inject constructor(
         getLastMessage: suspend (Long) -> String,
         lastTimeMapper: (Long) -> String,
         meetingTimeMapper: (Long, Long) -> String,
-    ): Flow<List<ChatRoomItem>> =
+    ): Flow<Unit> =
         chatRepository.monitorChatListItemUpdates().mapNotNull { chatListItem ->
             if (((chatRoomType == ChatRoomType.ARCHIVED_CHATS && !chatListItem.isArchived) ||
                         chatListItem.isArchived) || chatListItem.isDeleted || !chatListItem.isActive
@@ -307,7 +353,7 @@ class GetChatsUseCase @Inject constructor(
                 chatListItem.changes == ChatListItemChanges.Closed
             ) {
                 mutex.withLock { remove(chatListItem.chatId) }
-                return@mapNotNull values.toList()
+                return@mapNotNull Unit
             }
 
             delay(500) // Required to wait for new SDK values
@@ -326,14 +372,14 @@ class GetChatsUseCase @Inject constructor(
                             put(chatListItem.chatId, newItem)
                         }
                     }
-                    values.toList()
+                    Unit
                 }
         }
 
     private fun MutableMap<Long, ChatRoomItem>.monitorChatOnlineStatusUpdates(
         mutex: Mutex,
         chatRoomType: ChatRoomType,
-    ): Flow<List<ChatRoomItem>> =
+    ): Flow<Unit> =
         if (chatRoomType != ChatRoomType.ARCHIVED_CHATS) {
             contactsRepository.monitorChatOnlineStatusUpdates().mapNotNull { update ->
                 values.firstOrNull { item ->
@@ -350,14 +396,14 @@ class GetChatsUseCase @Inject constructor(
                             }
                         }
                     }
-                    values.toList()
+                    Unit
                 }
             }
         } else emptyFlow()
 
-    private fun List<ChatRoomItem>.sorted(chatRoomType: ChatRoomType): List<ChatRoomItem> =
-        if (chatRoomType == ChatRoomType.MEETINGS) {
-            sortedWith { firstItem, secondItem ->
+    private fun ChatRoomType.getComparator(): Comparator<ChatRoomItem> =
+        if (this == ChatRoomType.MEETINGS) {
+            Comparator { firstItem, secondItem ->
                 when {
                     firstItem.isPendingMeeting() && secondItem.isPendingMeeting() -> {
                         firstItem as MeetingChatRoomItem
@@ -384,24 +430,7 @@ class GetChatsUseCase @Inject constructor(
                 }
             }
         } else {
-            sortedByDescending(ChatRoomItem::lastTimestamp)
-        }
-
-    private fun List<ChatRoomItem>.addHeaders(
-        chatRoomType: ChatRoomType,
-        headerTimeMapper: (ChatRoomItem, ChatRoomItem?) -> String?,
-    ): List<ChatRoomItem> =
-        if (chatRoomType == ChatRoomType.MEETINGS) {
-            mapIndexed { index, item ->
-                val previousItem = getOrNull(index - 1)
-                headerTimeMapper(item, previousItem)?.let { header ->
-                    item.copyChatRoomItem(
-                        header = header
-                    )
-                } ?: item
-            }
-        } else {
-            this
+            compareByDescending(ChatRoomItem::lastTimestamp)
         }
 
     private suspend fun getParticipantsAvatar(chatId: Long): List<ChatAvatarItem>? =
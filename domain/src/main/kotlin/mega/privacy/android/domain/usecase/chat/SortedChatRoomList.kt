@@ -0,0 +1,95 @@
+package mega.privacy.android.domain.usecase.chat
+
+import mega.privacy.android.domain.entity.chat.ChatRoomItem
+
+/**
+ * Sorted list of chat rooms, updated incrementally.
+ *
+ * Only the changed chat rooms are moved to their new position with a binary search, instead of
+ * sorting the whole list on every update. Headers are only mapped again for the chat rooms whose
+ * item or previous item changed.
+ *
+ * @property comparator Order of the chat rooms
+ * @property headerTimeMapper Mapper of the header of a chat room given the previous one, if any
+ */
+internal class SortedChatRoomList(
+    private val comparator: Comparator<ChatRoomItem>,
+    private val headerTimeMapper: ((ChatRoomItem, ChatRoomItem?) -> String?)? = null,
+) {
+
+    private class Header(
+        val item: ChatRoomItem,
+        val previousItem: ChatRoomItem?,
+        val itemWithHeader: ChatRoomItem,
+    )
+
+    private val items = ArrayList<ChatRoomItem>()
+    private val itemsById = HashMap<Long, ChatRoomItem>()
+    private val headers = HashMap<Long, Header>()
+
+    /**
+     * Updates the position of the changed chat rooms
+     *
+     * @param chats         All the chat rooms, by chat id
+     * @param changedIds    Ids of the chat rooms added, changed or removed since the last update
+     * @return The sorted chat rooms, with their headers
+     */
+    fun update(chats: Map<Long, ChatRoomItem>, changedIds: Collection<Long>): List<ChatRoomItem> {
+        changedIds.forEach { chatId ->
+            itemsById.remove(chatId)?.let { items.removeAt(indexOf(it)) }
+            chats[chatId]?.let { item ->
+                items.add(insertionPoint(item), item)
+                itemsById[chatId] = item
+            } ?: headers.remove(chatId)
+        }
+
+        return if (headerTimeMapper == null) items.toList() else items.withHeaders(headerTimeMapper)
+    }
+
+    private fun List<ChatRoomItem>.withHeaders(
+        headerTimeMapper: (ChatRoomItem, ChatRoomItem?) -> String?,
+    ): List<ChatRoomItem> = mapIndexed { index, item ->
+        val previousItem = getOrNull(index - 1)
+        val header = headers[item.chatId]
+        if (header != null && header.item === item && header.previousItem === previousItem) {
+            header.itemWithHeader
+        } else {
+            val itemWithHeader = headerTimeMapper(item, previousItem)?.let { headerTime ->
+                item.copyChatRoomItem(header = headerTime)
+            } ?: item
+            headers[item.chatId] = Header(item, previousItem, itemWithHeader)
+            itemWithHeader
+        }
+    }
+
+    /**
+     * Index after the last item not greater than the given one
+     */
+    private fun insertionPoint(item: ChatRoomItem): Int {
+        var low = 0
+        var high = items.size
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (comparator.compare(items[middle], item) <= 0) low = middle + 1 else high = middle
+        }
+        return low
+    }
+
+    /**
+     * Index of an item in the list, searching among the items equal to it in the order
+     */
+    private fun indexOf(item: ChatRoomItem): Int {
+        var low = 0
+        var high = items.size
+        while (low < high) {
+            val middle = (low + high) ushr 1
+            if (comparator.compare(items[middle], item) < 0) low = middle + 1 else high = middle
+        }
+        while (low < items.size && comparator.compare(items[low], item) == 0) {
+            if (items[low].chatId == item.chatId) return low
+            low++
+        }
+        // Not expected, as the items do not change once added
+        return items.indexOfFirst { it.chatId == item.chatId }
+    }
+}
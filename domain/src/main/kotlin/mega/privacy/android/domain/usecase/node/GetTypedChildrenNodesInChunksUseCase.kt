@@ -0,0 +1,50 @@
+package mega.privacy.android.domain.usecase.node
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedNode
+import mega.privacy.android.domain.repository.NodeRepository
+import mega.privacy.android.domain.usecase.AddNodeType
+import javax.inject.Inject
+
+/**
+ * Use case to get typed node children for a given node in chunks, so big folders can be shown
+ * before all their children are mapped
+ */
+class GetTypedChildrenNodesInChunksUseCase @Inject constructor(
+    private val nodeRepository: NodeRepository,
+    private val addNodeTypeUseCase: AddNodeType,
+) {
+
+    /**
+     * Get children nodes of a parent node
+     *
+     * @param parentNodeId Parent [NodeId]
+     * @param order [SortOrder] for the returned list
+     * @param chunkSize Number of children mapped before every emission
+     * @return Flow emitting the children [TypedNode] of the parent node mapped so far
+     */
+    operator fun invoke(
+        parentNodeId: NodeId,
+        order: SortOrder,
+        chunkSize: Int = DEFAULT_CHUNK_SIZE,
+    ): Flow<List<TypedNode>> = flow {
+        val typedNodes = mutableListOf<TypedNode>()
+        nodeRepository.getNodeChildrenInChunks(parentNodeId, order, chunkSize)
+            .collect { children ->
+                // Only the children added since the previous emission need to be typed
+                children.subList(typedNodes.size, children.size)
+                    .mapTo(typedNodes) { addNodeTypeUseCase(it) }
+                emit(typedNodes.toList())
+            }
+    }
+
+    companion object {
+        /**
+         * Default number of children mapped before every emission, enough to fill a screen
+         */
+        const val DEFAULT_CHUNK_SIZE = 200
+    }
+}
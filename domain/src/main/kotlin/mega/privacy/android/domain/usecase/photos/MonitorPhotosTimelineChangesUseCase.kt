@@ -0,0 +1,22 @@
+package mega.privacy.android.domain.usecase.photos
+
+import kotlinx.coroutines.flow.Flow
+import mega.privacy.android.domain.entity.photos.PhotosTimelineChanges
+import mega.privacy.android.domain.repository.PhotosRepository
+import javax.inject.Inject
+
+/**
+ * The use case to monitor the changes of the Timeline photos
+ */
+class MonitorPhotosTimelineChangesUseCase @Inject constructor(
+    private val photosRepository: PhotosRepository,
+) {
+
+    /**
+     * Monitor the changes of the Timeline photos
+     *
+     * @return Flow<PhotosTimelineChanges>
+     */
+    operator fun invoke(): Flow<PhotosTimelineChanges> =
+        photosRepository.monitorPhotosTimelineChanges()
+}
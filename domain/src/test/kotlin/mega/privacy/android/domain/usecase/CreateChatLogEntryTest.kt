@@ -44,7 +44,7 @@ class CreateChatLogEntryTest {
             throwable = null,
             trace = emptyList(),
             loggingClasses = emptyList(),
-            sdkLoggers = emptyList()
+            isSdkLog = false
         )
         val actual = underTest(request)
         assertThat(actual).isNull()
@@ -60,7 +60,7 @@ class CreateChatLogEntryTest {
             throwable = null,
             trace = listOf(StackTraceElement(loggingClass, "", "", 1)),
             loggingClasses = emptyList(),
-            sdkLoggers = listOf(loggingClass),
+            isSdkLog = true,
         )
         val actual = underTest(request)
 
@@ -77,7 +77,7 @@ class CreateChatLogEntryTest {
             throwable = null,
             trace = listOf(StackTraceElement(loggingClass, "", "", 1)),
             loggingClasses = emptyList(),
-            sdkLoggers = listOf(loggingClass),
+            isSdkLog = true,
         )
         val actual = underTest(request)
 
@@ -95,7 +95,7 @@ class CreateChatLogEntryTest {
             throwable = null,
             trace = emptyList(),
             loggingClasses = emptyList(),
-            sdkLoggers = emptyList()
+            isSdkLog = false
         )
         val actual = underTest(request)
 
@@ -111,7 +111,7 @@ class CreateChatLogEntryTest {
             throwable = null,
             trace = emptyList(),
             loggingClasses = emptyList(),
-            sdkLoggers = emptyList()
+            isSdkLog = false
         )
         val actual = underTest(request)
 
@@ -136,7 +136,7 @@ class CreateChatLogEntryTest {
                 throwable = null,
                 trace = emptyList(),
                 loggingClasses = emptyList(),
-                sdkLoggers = emptyList()
+                isSdkLog = false
             )
             val actual = underTest(request)
 
@@ -153,7 +153,7 @@ class CreateChatLogEntryTest {
             throwable = null,
             trace = emptyList(),
             loggingClasses = emptyList(),
-            sdkLoggers = emptyList()
+            isSdkLog = false
         )
         val actual = underTest(request)
 
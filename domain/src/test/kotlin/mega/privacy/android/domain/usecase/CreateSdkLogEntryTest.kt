@@ -37,7 +37,7 @@ class CreateSdkLogEntryTest {
             throwable = null,
             trace = emptyList(),
             loggingClasses = emptyList(),
-            sdkLoggers = emptyList()
+            isSdkLog = false
         )
         val actual = underTest(request)
 
@@ -54,7 +54,7 @@ class CreateSdkLogEntryTest {
             throwable = null,
             trace = emptyList(),
             loggingClasses = emptyList(),
-            sdkLoggers = emptyList()
+            isSdkLog = false
         )
         val actual = underTest(request)
 
@@ -71,7 +71,7 @@ class CreateSdkLogEntryTest {
             throwable = null,
             trace = listOf(StackTraceElement(loggingClass, "", "", 1)),
             loggingClasses = emptyList(),
-            sdkLoggers = listOf(loggingClass),
+            isSdkLog = true,
         )
         val actual = underTest(request)
 
@@ -90,7 +90,7 @@ class CreateSdkLogEntryTest {
             throwable = throwable,
             trace = emptyList(),
             loggingClasses = emptyList(),
-            sdkLoggers = emptyList()
+            isSdkLog = false
         )
         val actual = underTest(request)
 
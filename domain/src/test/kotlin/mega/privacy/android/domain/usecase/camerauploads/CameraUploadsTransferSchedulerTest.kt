@@ -0,0 +1,147 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SyncRecord
+import mega.privacy.android.domain.entity.SyncRecordType
+import mega.privacy.android.domain.entity.SyncStatus
+import mega.privacy.android.domain.entity.camerauploads.CameraUploadsTransferSchedulerConfig
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+
+/**
+ * Test class for [CameraUploadsTransferScheduler]
+ */
+@ExperimentalCoroutinesApi
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CameraUploadsTransferSchedulerTest {
+
+    private fun record(
+        id: Int,
+        type: SyncRecordType = SyncRecordType.TYPE_PHOTO,
+        isSecondary: Boolean = false,
+    ) = SyncRecord(
+        id = id,
+        localPath = "/path/$id",
+        newPath = null,
+        originFingerprint = null,
+        newFingerprint = null,
+        timestamp = 0L,
+        fileName = "$id",
+        longitude = null,
+        latitude = null,
+        status = SyncStatus.STATUS_PENDING.value,
+        type = type,
+        nodeHandle = null,
+        isCopyOnly = false,
+        isSecondary = isSecondary,
+    )
+
+    @Test
+    fun `test that the number of transfers in flight never exceeds the configured window`() =
+        runTest {
+            val underTest = CameraUploadsTransferScheduler(
+                CameraUploadsTransferSchedulerConfig(maxConcurrentTransfers = 4)
+            )
+            val records = (1..1000).map { record(it) }
+            var inFlight = 0
+            var maxInFlight = 0
+
+            underTest.schedule(records, sizeOf = { 1L }) {
+                inFlight++
+                maxInFlight = maxOf(maxInFlight, inFlight)
+                delay(100)
+                inFlight--
+            }
+
+            assertThat(maxInFlight).isEqualTo(4)
+            assertThat(underTest.metrics.value.peakInFlightCount).isEqualTo(4)
+            assertThat(underTest.metrics.value.completedCount).isEqualTo(1000)
+            assertThat(underTest.metrics.value.inFlightCount).isEqualTo(0)
+        }
+
+    @Test
+    fun `test that the number of bytes in flight never exceeds the configured budget`() =
+        runTest {
+            val underTest = CameraUploadsTransferScheduler(
+                CameraUploadsTransferSchedulerConfig(
+                    maxConcurrentTransfers = 100,
+                    maxInFlightBytes = 1000L,
+                )
+            )
+            val records = (1..100).map { record(it) }
+
+            underTest.schedule(records, sizeOf = { 300L }) { delay(100) }
+
+            with(underTest.metrics.value) {
+                assertThat(peakInFlightCount).isEqualTo(3)
+                assertThat(peakInFlightBytes).isEqualTo(900L)
+                assertThat(completedBytes).isEqualTo(30000L)
+            }
+        }
+
+    @Test
+    fun `test that a record bigger than the byte budget is transferred alone`() = runTest {
+        val underTest = CameraUploadsTransferScheduler(
+            CameraUploadsTransferSchedulerConfig(maxInFlightBytes = 10L)
+        )
+        val records = (1..3).map { record(it) }
+
+        underTest.schedule(records, sizeOf = { 100L }) { delay(100) }
+
+        with(underTest.metrics.value) {
+            assertThat(peakInFlightCount).isEqualTo(1)
+            assertThat(completedCount).isEqualTo(3)
+        }
+    }
+
+    @Test
+    fun `test that primary photos are transferred before videos and secondary records`() =
+        runTest {
+            val underTest = CameraUploadsTransferScheduler(
+                CameraUploadsTransferSchedulerConfig(maxConcurrentTransfers = 1)
+            )
+            val secondaryVideo = record(1, SyncRecordType.TYPE_VIDEO, isSecondary = true)
+            val secondaryPhoto = record(2, SyncRecordType.TYPE_PHOTO, isSecondary = true)
+            val primaryVideo = record(3, SyncRecordType.TYPE_VIDEO)
+            val primaryPhoto = record(4, SyncRecordType.TYPE_PHOTO)
+            val otherPrimaryPhoto = record(5, SyncRecordType.TYPE_PHOTO)
+            val transferred = mutableListOf<SyncRecord>()
+
+            underTest.schedule(
+                listOf(secondaryVideo, secondaryPhoto, primaryVideo, primaryPhoto, otherPrimaryPhoto),
+                sizeOf = { 1L },
+            ) { transferred.add(it) }
+
+            assertThat(transferred).containsExactly(
+                primaryPhoto,
+                otherPrimaryPhoto,
+                primaryVideo,
+                secondaryPhoto,
+                secondaryVideo,
+            ).inOrder()
+        }
+
+    @Test
+    fun `test that no transfer is dispatched while the scheduler is paused`() = runTest {
+        val underTest = CameraUploadsTransferScheduler()
+        val records = (1..10).map { record(it) }
+        val transferred = mutableListOf<SyncRecord>()
+
+        underTest.pause()
+        val job = launch { underTest.schedule(records, sizeOf = { 1L }) { transferred.add(it) } }
+        runCurrent()
+        assertThat(transferred).isEmpty()
+        assertThat(underTest.isPaused.value).isTrue()
+
+        underTest.resume()
+        advanceUntilIdle()
+        assertThat(transferred).containsExactlyElementsIn(records).inOrder()
+        assertThat(job.isCompleted).isTrue()
+    }
+}
@@ -2,6 +2,9 @@ package mega.privacy.android.domain.usecase.camerauploads
 
 import com.google.common.truth.Truth.assertThat
 import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import kotlinx.coroutines.flow.asFlow
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
 import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.CameraUploadMedia
 import mega.privacy.android.domain.entity.SyncRecord
@@ -13,7 +16,6 @@ import mega.privacy.android.domain.entity.node.TypedFileNode
 import mega.privacy.android.domain.usecase.GetGPSCoordinates
 import mega.privacy.android.domain.usecase.GetParentNodeUseCase
 import mega.privacy.android.domain.usecase.IsNodeInRubbish
-import mega.privacy.android.domain.usecase.MediaLocalPathExists
 import mega.privacy.android.domain.usecase.ShouldCompressVideo
 import mega.privacy.android.domain.usecase.UpdateCameraUploadTimeStamp
 import org.junit.Before
@@ -35,7 +37,7 @@ class GetPendingUploadListUseCaseTest {
     private val getSecondarySyncHandleUseCase: GetSecondarySyncHandleUseCase = mock()
     private val updateTimeStamp: UpdateCameraUploadTimeStamp = mock()
     private val getFingerprintUseCase: GetFingerprintUseCase = mock()
-    private val mediaLocalPathExists: MediaLocalPathExists = mock()
+    private val getExistingMediaLocalPathsUseCase: GetExistingMediaLocalPathsUseCase = mock()
     private val shouldCompressVideo: ShouldCompressVideo = mock()
     private val getGPSCoordinates: GetGPSCoordinates = mock()
     private val isNodeInRubbishBin: IsNodeInRubbish = mock()
@@ -120,11 +122,12 @@ class GetPendingUploadListUseCaseTest {
             getSecondarySyncHandleUseCase,
             updateTimeStamp,
             getFingerprintUseCase,
-            mediaLocalPathExists,
+            getExistingMediaLocalPathsUseCase,
             shouldCompressVideo,
             getGPSCoordinates,
             isNodeInRubbishBin,
-            getNodeGPSCoordinatesUseCase
+            getNodeGPSCoordinatesUseCase,
+            UnconfinedTestDispatcher(),
         )
     }
 
@@ -136,12 +139,12 @@ class GetPendingUploadListUseCaseTest {
             whenever(getSecondarySyncHandleUseCase()).thenReturn(1L)
             whenever(shouldCompressVideo()).thenReturn(false)
             whenever(getNodeFromCloudUseCase("", NodeId(1L))).thenReturn(null)
-            whenever(mediaLocalPathExists(any(), any())).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
             whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
             whenever(getNodeGPSCoordinatesUseCase(NodeId(1L))).thenReturn(Pair(0.0, 0.0))
             val queue = LinkedList<CameraUploadMedia>()
             queue.add(uploadMedia)
-            assertThat(underTest(queue, isSecondary = false, isVideo = false)).isEqualTo(
+            assertThat(underTest(queue, isSecondary = false, isVideo = false).records).isEqualTo(
                 listOf(
                     primaryPhoto
                 )
@@ -161,12 +164,12 @@ class GetPendingUploadListUseCaseTest {
             whenever(shouldCompressVideo()).thenReturn(false)
             whenever(getNodeFromCloudUseCase("", NodeId(1L))).thenReturn(null)
             whenever(getParentNodeUseCase(NodeId(handle))).thenReturn(node)
-            whenever(mediaLocalPathExists(any(), any())).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
             whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
             whenever(getNodeGPSCoordinatesUseCase(NodeId(1L))).thenReturn(Pair(0.0, 0.0))
             val queue = LinkedList<CameraUploadMedia>()
             queue.add(uploadMedia)
-            assertThat(underTest(queue, isSecondary = true, isVideo = false)).isEqualTo(
+            assertThat(underTest(queue, isSecondary = true, isVideo = false).records).isEqualTo(
                 listOf(
                     secondaryPhoto
                 )
@@ -185,13 +188,13 @@ class GetPendingUploadListUseCaseTest {
             whenever(getSecondarySyncHandleUseCase()).thenReturn(1L)
             whenever(shouldCompressVideo()).thenReturn(true)
             whenever(getNodeFromCloudUseCase("", NodeId(1L))).thenReturn(null)
-            whenever(mediaLocalPathExists(any(), any())).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
             whenever(getParentNodeUseCase(NodeId(handle))).thenReturn(node)
             whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
             whenever(getNodeGPSCoordinatesUseCase(NodeId(1L))).thenReturn(Pair(0.0, 0.0))
             val queue = LinkedList<CameraUploadMedia>()
             queue.add(uploadMedia)
-            assertThat(underTest(queue, isSecondary = false, isVideo = true)).isEqualTo(
+            assertThat(underTest(queue, isSecondary = false, isVideo = true).records).isEqualTo(
                 listOf(
                     compressPrimaryVideo
                 )
@@ -206,12 +209,12 @@ class GetPendingUploadListUseCaseTest {
             whenever(getSecondarySyncHandleUseCase()).thenReturn(1L)
             whenever(shouldCompressVideo()).thenReturn(false)
             whenever(getNodeFromCloudUseCase("", NodeId(1L))).thenReturn(null)
-            whenever(mediaLocalPathExists(any(), any())).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
             whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
             whenever(getNodeGPSCoordinatesUseCase(NodeId(1L))).thenReturn(Pair(0.0, 0.0))
             val queue = LinkedList<CameraUploadMedia>()
             queue.add(uploadMedia)
-            assertThat(underTest(queue, isSecondary = true, isVideo = true)).isEqualTo(
+            assertThat(underTest(queue, isSecondary = true, isVideo = true).records).isEqualTo(
                 listOf(
                     secondaryVideo
                 )
@@ -230,13 +233,13 @@ class GetPendingUploadListUseCaseTest {
             whenever(getSecondarySyncHandleUseCase()).thenReturn(1L)
             whenever(shouldCompressVideo()).thenReturn(false)
             whenever(getNodeFromCloudUseCase("", NodeId(1L))).thenReturn(node)
-            whenever(mediaLocalPathExists(any(), any())).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
             whenever(getParentNodeUseCase(NodeId(handle))).thenReturn(node)
             whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
             whenever(isNodeInRubbishBin(any())).thenReturn(false)
             whenever(getNodeGPSCoordinatesUseCase(NodeId(1L))).thenReturn(Pair(0.0, 0.0))
             val queue = LinkedList<CameraUploadMedia>()
-            assertThat(underTest(queue, isSecondary = false, isVideo = false)).isEqualTo(
+            assertThat(underTest(queue, isSecondary = false, isVideo = false).records).isEqualTo(
                 emptyList<SyncRecord>()
             )
         }
@@ -253,14 +256,94 @@ class GetPendingUploadListUseCaseTest {
             whenever(getSecondarySyncHandleUseCase()).thenReturn(1L)
             whenever(shouldCompressVideo()).thenReturn(false)
             whenever(getNodeFromCloudUseCase("", NodeId(1L))).thenReturn(node)
-            whenever(mediaLocalPathExists(any(), any())).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
             whenever(getParentNodeUseCase(NodeId(handle))).thenReturn(node)
             whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
             whenever(getNodeGPSCoordinatesUseCase(NodeId(1L))).thenReturn(Pair(0.0, 0.0))
             whenever(isNodeInRubbishBin(any())).thenReturn(true)
             val queue = LinkedList<CameraUploadMedia>()
-            assertThat(underTest(queue, isSecondary = false, isVideo = false)).isEqualTo(
+            assertThat(underTest(queue, isSecondary = false, isVideo = false).records).isEqualTo(
                 emptyList<SyncRecord>()
             )
         }
+
+    @Test
+    fun `test that media whose local path already exists in database are skipped`() =
+        runTest {
+            val existingMedia = CameraUploadMedia("existing", 0)
+            whenever(getFingerprintUseCase(any())).thenReturn("local fingerprint")
+            whenever(getPrimarySyncHandleUseCase()).thenReturn(1L)
+            whenever(shouldCompressVideo()).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(setOf("existing"))
+            whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
+            val queue = LinkedList<CameraUploadMedia>()
+            queue.add(existingMedia)
+            queue.add(uploadMedia)
+            val actual = underTest(queue, isSecondary = false, isVideo = false)
+            assertThat(actual.records).isEqualTo(
+                listOf(
+                    primaryPhoto
+                )
+            )
+            assertThat(queue).isEmpty()
+            with(actual.metrics) {
+                assertThat(existenceCheck.inputCount).isEqualTo(2)
+                assertThat(existenceCheck.outputCount).isEqualTo(1)
+                assertThat(fingerprint.outputCount).isEqualTo(1)
+                assertThat(cloudLookup.outputCount).isEqualTo(0)
+                assertThat(recordBuilding.outputCount).isEqualTo(1)
+            }
+        }
+
+    @Test
+    fun `test that the records keep the order of the media when processed in several batches`() =
+        runTest {
+            whenever(getFingerprintUseCase(any())).thenReturn("local fingerprint")
+            whenever(getPrimarySyncHandleUseCase()).thenReturn(1L)
+            whenever(shouldCompressVideo()).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
+            whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
+            val queue = LinkedList<CameraUploadMedia>()
+            (1..1000L).forEach { queue.add(CameraUploadMedia("", it)) }
+            assertThat(
+                underTest(queue, isSecondary = false, isVideo = false).records.map { it.timestamp }
+            ).containsExactlyElementsIn(1..1000L).inOrder()
+        }
+
+    @Test
+    fun `test that streamed media produce the same records as the media queue`() =
+        runTest {
+            whenever(getFingerprintUseCase(any())).thenReturn("local fingerprint")
+            whenever(getPrimarySyncHandleUseCase()).thenReturn(1L)
+            whenever(shouldCompressVideo()).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
+            whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
+            val media = (1..450L).map { CameraUploadMedia("", it) }
+            val expected = underTest(LinkedList(media), isSecondary = false, isVideo = false)
+            assertThat(
+                underTest(media.asFlow(), isSecondary = false, isVideo = false).records
+            ).isEqualTo(expected.records)
+        }
+
+    @Test
+    fun `test that concurrent invocations return their own metrics`() =
+        runTest {
+            whenever(getFingerprintUseCase(any())).thenReturn("local fingerprint")
+            whenever(getPrimarySyncHandleUseCase()).thenReturn(1L)
+            whenever(shouldCompressVideo()).thenReturn(false)
+            whenever(getExistingMediaLocalPathsUseCase(any(), any())).thenReturn(emptySet())
+            whenever(getGPSCoordinates(any(), any())).thenReturn(Pair(0F, 1F))
+            val photos = (1..300L).map { CameraUploadMedia("", it) }
+            val videos = (1..50L).map { CameraUploadMedia("", it) }
+
+            val photoList = async {
+                underTest(photos.asFlow(), isSecondary = false, isVideo = false)
+            }
+            val videoList = async {
+                underTest(videos.asFlow(), isSecondary = false, isVideo = true)
+            }
+
+            assertThat(photoList.await().metrics.existenceCheck.inputCount).isEqualTo(300)
+            assertThat(videoList.await().metrics.existenceCheck.inputCount).isEqualTo(50)
+        }
 }
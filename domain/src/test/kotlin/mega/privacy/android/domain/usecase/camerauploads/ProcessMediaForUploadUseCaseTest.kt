@@ -5,6 +5,8 @@ import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.cancelAndJoin
 import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emptyFlow
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.test.advanceTimeBy
@@ -13,15 +15,19 @@ import kotlinx.coroutines.test.runTest
 import mega.privacy.android.domain.entity.CameraUploadMedia
 import mega.privacy.android.domain.entity.MediaStoreFileType
 import mega.privacy.android.domain.entity.SyncTimeStamp
+import mega.privacy.android.domain.entity.camerauploads.MediaStoreHighWaterMark
+import mega.privacy.android.domain.entity.camerauploads.PendingUploadList
 import mega.privacy.android.domain.repository.CameraUploadRepository
 import mega.privacy.android.domain.usecase.IsSecondaryFolderEnabled
 import mega.privacy.android.domain.usecase.UpdateCameraUploadTimeStamp
 import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
 import org.mockito.kotlin.doSuspendableAnswer
 import org.mockito.kotlin.eq
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
 import org.mockito.kotlin.stub
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyNoInteractions
@@ -66,6 +72,9 @@ class ProcessMediaForUploadUseCaseTest {
             SyncTimeStamp.values().forEach {
                 whenever(getCameraUploadSelectionQueryUseCase(it)).thenReturn("")
             }
+            whenever(
+                getPendingUploadListUseCase(any<Queue<CameraUploadMedia>>(), any(), any())
+            ).thenReturn(PendingUploadList(emptyList()))
             whenever(getPrimaryFolderPathUseCase()).thenReturn("")
             whenever(getSecondaryFolderPathUseCase()).thenReturn("")
             listOf(
@@ -178,9 +187,9 @@ class ProcessMediaForUploadUseCaseTest {
                     )
                 )
                 getPendingUploadListUseCase.stub {
-                    onBlocking { invoke(any(), any(), any()) }.doSuspendableAnswer {
+                    onBlocking { invoke(any<Queue<CameraUploadMedia>>(), any(), any()) }.doSuspendableAnswer {
                         delay(2000)
-                        return@doSuspendableAnswer emptyList()
+                        return@doSuspendableAnswer PendingUploadList(emptyList())
                     }
                 }
                 isSecondaryFolderEnabled.stub {
@@ -200,4 +209,97 @@ class ProcessMediaForUploadUseCaseTest {
             advanceTimeBy(3000)
             job.cancelAndJoin()
         }
+
+    @Test
+    fun `test that media are streamed from the saved high water mark when it is still valid`() =
+        runTest {
+            val current = MediaStoreHighWaterMark("version", 20L, 20L, 20L)
+            val saved = MediaStoreHighWaterMark("version", 10L, 10L, 10L, syncTimestamp = 5L)
+            stubIncrementalScan(current = current, saved = saved, currentSyncTimestamp = 6L)
+
+            underTest(null, null, null)
+
+            verify(cameraUploadRepository).getMediaFlow(
+                MediaStoreFileType.IMAGES_EXTERNAL, "", false, "", saved
+            )
+            verify(cameraUploadRepository, never()).getMediaQueue(any(), any(), any(), any())
+            verify(cameraUploadRepository).setMediaStoreHighWaterMark(
+                MediaStoreFileType.IMAGES_EXTERNAL, "", current.copy(syncTimestamp = 6L)
+            )
+        }
+
+    @Test
+    fun `test that all media are streamed when the sync timestamps have been reset`() =
+        runTest {
+            val current = MediaStoreHighWaterMark("version", 20L, 20L, 20L)
+            val saved = MediaStoreHighWaterMark("version", 10L, 10L, 10L, syncTimestamp = 5L)
+            stubIncrementalScan(current = current, saved = saved, currentSyncTimestamp = 0L)
+
+            underTest(null, null, null)
+
+            verify(cameraUploadRepository).getMediaFlow(
+                MediaStoreFileType.IMAGES_EXTERNAL, "", false, "", null
+            )
+        }
+
+    @Test
+    fun `test that all media are streamed when the media store version has changed`() =
+        runTest {
+            val current = MediaStoreHighWaterMark("new version", 20L, 20L, 20L)
+            val saved = MediaStoreHighWaterMark("version", 10L, 10L, 10L, syncTimestamp = 5L)
+            stubIncrementalScan(current = current, saved = saved, currentSyncTimestamp = 6L)
+
+            underTest(null, null, null)
+
+            verify(cameraUploadRepository).getMediaFlow(
+                MediaStoreFileType.IMAGES_EXTERNAL, "", false, "", null
+            )
+        }
+
+    @Test
+    fun `test that the media queue is used when the media store provides no high water mark`() =
+        runTest {
+            whenever(getMediaStoreFileTypesUseCase()).thenReturn(
+                listOf(MediaStoreFileType.IMAGES_EXTERNAL)
+            )
+            whenever(isSecondaryFolderEnabled()).thenReturn(false)
+            whenever(
+                cameraUploadRepository.getCurrentMediaStoreHighWaterMark(MediaStoreFileType.IMAGES_EXTERNAL)
+            ).thenReturn(null)
+
+            underTest(null, null, null)
+
+            verify(cameraUploadRepository).getMediaQueue(
+                MediaStoreFileType.IMAGES_EXTERNAL, "", false, ""
+            )
+            verify(cameraUploadRepository, never()).setMediaStoreHighWaterMark(any(), any(), any())
+        }
+
+    private suspend fun stubIncrementalScan(
+        current: MediaStoreHighWaterMark,
+        saved: MediaStoreHighWaterMark,
+        currentSyncTimestamp: Long,
+    ) {
+        whenever(getMediaStoreFileTypesUseCase()).thenReturn(
+            listOf(MediaStoreFileType.IMAGES_EXTERNAL)
+        )
+        whenever(isSecondaryFolderEnabled()).thenReturn(false)
+        whenever(
+            cameraUploadRepository.getCurrentMediaStoreHighWaterMark(MediaStoreFileType.IMAGES_EXTERNAL)
+        ).thenReturn(current)
+        whenever(
+            cameraUploadRepository.getMediaStoreHighWaterMark(MediaStoreFileType.IMAGES_EXTERNAL, "")
+        ).thenReturn(saved)
+        whenever(cameraUploadRepository.getSyncTimeStamp(SyncTimeStamp.PRIMARY_PHOTO))
+            .thenReturn(currentSyncTimestamp)
+        whenever(cameraUploadRepository.getMediaFlow(any(), any(), any(), any(), anyOrNull()))
+            .thenReturn(emptyFlow())
+        getPendingUploadListUseCase.stub {
+            onBlocking { invoke(any<Flow<CameraUploadMedia>>(), any(), any()) }.doSuspendableAnswer {
+                @Suppress("UNCHECKED_CAST")
+                (it.arguments[0] as Flow<CameraUploadMedia>).collect {}
+                return@doSuspendableAnswer PendingUploadList(emptyList())
+            }
+        }
+    }
 }
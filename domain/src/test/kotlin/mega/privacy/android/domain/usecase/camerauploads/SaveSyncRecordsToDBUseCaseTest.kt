@@ -0,0 +1,137 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SyncRecord
+import mega.privacy.android.domain.entity.SyncRecordType
+import mega.privacy.android.domain.entity.SyncStatus
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.usecase.DeleteSyncRecordByLocalPath
+import mega.privacy.android.domain.usecase.FileNameExists
+import mega.privacy.android.domain.usecase.GetDeviceCurrentNanoTimeUseCase
+import mega.privacy.android.domain.usecase.GetSyncRecordByFingerprint
+import mega.privacy.android.domain.usecase.node.GetChildNodeUseCase
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Test class for [SaveSyncRecordsToDBUseCase]
+ */
+@ExperimentalCoroutinesApi
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SaveSyncRecordsToDBUseCaseTest {
+
+    private lateinit var underTest: SaveSyncRecordsToDBUseCase
+
+    private val getSyncRecordByFingerprint = mock<GetSyncRecordByFingerprint>()
+    private val deleteSyncRecordByLocalPath = mock<DeleteSyncRecordByLocalPath>()
+    private val areUploadFileNamesKeptUseCase = mock<AreUploadFileNamesKeptUseCase>()
+    private val getChildNodeUseCase = mock<GetChildNodeUseCase>()
+    private val fileNameExists = mock<FileNameExists>()
+    private val saveSyncRecordsUseCase = mock<SaveSyncRecordsUseCase>()
+    private val getDeviceCurrentNanoTimeUseCase = mock<GetDeviceCurrentNanoTimeUseCase>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = SaveSyncRecordsToDBUseCase(
+            getSyncRecordByFingerprint = getSyncRecordByFingerprint,
+            deleteSyncRecordByLocalPath = deleteSyncRecordByLocalPath,
+            areUploadFileNamesKeptUseCase = areUploadFileNamesKeptUseCase,
+            getChildNodeUseCase = getChildNodeUseCase,
+            fileNameExists = fileNameExists,
+            saveSyncRecordsUseCase = saveSyncRecordsUseCase,
+            getDeviceCurrentNanoTimeUseCase = getDeviceCurrentNanoTimeUseCase,
+        )
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(
+            getSyncRecordByFingerprint,
+            deleteSyncRecordByLocalPath,
+            areUploadFileNamesKeptUseCase,
+            getChildNodeUseCase,
+            fileNameExists,
+            saveSyncRecordsUseCase,
+            getDeviceCurrentNanoTimeUseCase,
+        )
+    }
+
+    private fun record(
+        id: Int,
+        fileName: String = "$id.jpg",
+        fingerprint: String = "fingerprint$id",
+        timestamp: Long = 0L,
+    ) = SyncRecord(
+        id = id,
+        localPath = "/path/$id",
+        newPath = null,
+        originFingerprint = fingerprint,
+        newFingerprint = null,
+        timestamp = timestamp,
+        fileName = fileName,
+        longitude = null,
+        latitude = null,
+        status = SyncStatus.STATUS_PENDING.value,
+        type = SyncRecordType.TYPE_PHOTO,
+        nodeHandle = null,
+        isCopyOnly = true,
+        isSecondary = false,
+    )
+
+    private suspend fun stubDefaults() {
+        whenever(areUploadFileNamesKeptUseCase()).thenReturn(true)
+        whenever(getSyncRecordByFingerprint(anyOrNull(), any(), any())).thenReturn(null)
+        whenever(getChildNodeUseCase(anyOrNull(), anyOrNull())).thenReturn(null)
+        whenever(fileNameExists(any(), any())).thenReturn(false)
+        whenever(getDeviceCurrentNanoTimeUseCase()).thenReturn(1L)
+    }
+
+    @Test
+    fun `test that all the records are saved in a single batch`() = runTest {
+        stubDefaults()
+        val records = (1..10).map { record(it) }
+
+        underTest(records, NodeId(1L), NodeId(2L), "/root/")
+
+        verify(saveSyncRecordsUseCase, times(1)).invoke(records)
+    }
+
+    @Test
+    fun `test that a file name already used in the batch is not reused`() = runTest {
+        stubDefaults()
+        val first = record(1, fileName = "same.jpg")
+        val second = record(2, fileName = "same.jpg")
+
+        underTest(listOf(first, second), NodeId(1L), NodeId(2L), "/root/")
+
+        val captor = argumentCaptor<List<SyncRecord>>()
+        verify(saveSyncRecordsUseCase).invoke(captor.capture())
+        assertThat(captor.firstValue.map { it.fileName }).containsExactly("same.jpg", "same_1.jpg")
+    }
+
+    @Test
+    fun `test that an older record of the batch with the same fingerprint is replaced`() =
+        runTest {
+            stubDefaults()
+            val older = record(1, fingerprint = "same", timestamp = 1L)
+            val newer = record(2, fingerprint = "same", timestamp = 2L)
+
+            underTest(listOf(older, newer), NodeId(1L), NodeId(2L), "/root/")
+
+            val captor = argumentCaptor<List<SyncRecord>>()
+            verify(saveSyncRecordsUseCase).invoke(captor.capture())
+            assertThat(captor.firstValue).containsExactly(newer)
+        }
+}
@@ -0,0 +1,71 @@
+package mega.privacy.android.domain.usecase.camerauploads
+
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SyncRecord
+import mega.privacy.android.domain.entity.SyncRecordType
+import mega.privacy.android.domain.entity.SyncStatus
+import mega.privacy.android.domain.repository.CameraUploadRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.verify
+
+/**
+ * Test class for [SaveSyncRecordsUseCase]
+ */
+@ExperimentalCoroutinesApi
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SaveSyncRecordsUseCaseTest {
+
+    private lateinit var underTest: SaveSyncRecordsUseCase
+
+    private val cameraUploadRepository = mock<CameraUploadRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = SaveSyncRecordsUseCase(cameraUploadRepository = cameraUploadRepository)
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(cameraUploadRepository)
+    }
+
+    @Test
+    fun `test that the records are saved through the repository`() = runTest {
+        val records = (1..2).map {
+            SyncRecord(
+                localPath = "/path/$it",
+                newPath = null,
+                originFingerprint = null,
+                newFingerprint = null,
+                timestamp = null,
+                fileName = "$it.jpg",
+                longitude = null,
+                latitude = null,
+                status = SyncStatus.STATUS_PENDING.value,
+                type = SyncRecordType.TYPE_PHOTO,
+                nodeHandle = null,
+                isCopyOnly = false,
+                isSecondary = false,
+            )
+        }
+
+        underTest(records)
+
+        verify(cameraUploadRepository).saveSyncRecords(records)
+    }
+
+    @Test
+    fun `test that nothing is saved when the list is empty`() = runTest {
+        underTest(emptyList())
+
+        verify(cameraUploadRepository, never()).saveSyncRecords(any())
+    }
+}
@@ -0,0 +1,74 @@
+package mega.privacy.android.domain.usecase.chat
+
+import com.google.common.truth.Truth.assertThat
+import mega.privacy.android.domain.entity.chat.ChatRoomItem
+import mega.privacy.android.domain.entity.chat.ChatRoomItem.GroupChatRoomItem
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import kotlin.random.Random
+
+/**
+ * Test class for [SortedChatRoomList]
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SortedChatRoomListTest {
+
+    private val comparator = compareByDescending(ChatRoomItem::lastTimestamp)
+
+    private fun chat(chatId: Long, lastTimestamp: Long) =
+        GroupChatRoomItem(chatId = chatId, title = "$chatId", lastTimestamp = lastTimestamp)
+
+    @Test
+    fun `test that changed chats are moved to their sorted position`() {
+        val chats = (1L..5L).associateWith { chat(it, it) }.toMutableMap()
+        val underTest = SortedChatRoomList(comparator)
+        underTest.update(chats, chats.keys)
+
+        chats[1L] = chat(1L, 10L)
+        chats.remove(3L)
+        chats[6L] = chat(6L, 0L)
+        val result = underTest.update(chats, setOf(1L, 3L, 6L))
+
+        assertThat(result.map { it.chatId }).containsExactly(1L, 5L, 4L, 2L, 6L).inOrder()
+    }
+
+    @Test
+    fun `test that random updates keep the same order as sorting`() {
+        val random = Random(0)
+        val chats = (1L..200L).associateWith { chat(it, random.nextLong(50)) }.toMutableMap()
+        val underTest = SortedChatRoomList(comparator)
+        underTest.update(chats, chats.keys)
+
+        repeat(1000) {
+            val chatId = random.nextLong(1L, 250L)
+            if (random.nextInt(10) == 0) chats.remove(chatId)
+            else chats[chatId] = chat(chatId, random.nextLong(50))
+
+            val result = underTest.update(chats, setOf(chatId))
+
+            assertThat(result.map { it.lastTimestamp })
+                .isEqualTo(chats.values.sortedWith(comparator).map { it.lastTimestamp })
+            assertThat(result.map { it.chatId }).containsExactlyElementsIn(chats.keys)
+        }
+    }
+
+    @Test
+    fun `test that headers are only mapped for changed chats and their next ones`() {
+        val chats = (1L..5L).associateWith { chat(it, it) }.toMutableMap()
+        val mappedHeaders = mutableListOf<Long>()
+        val underTest = SortedChatRoomList(comparator) { item, _ ->
+            mappedHeaders.add(item.chatId)
+            "header ${item.chatId}"
+        }
+        underTest.update(chats, chats.keys)
+        mappedHeaders.clear()
+
+        chats[3L] = chat(3L, 3L).copy(title = "new")
+        val result = underTest.update(chats, setOf(3L))
+
+        assertThat(mappedHeaders).containsExactly(3L, 2L)
+        assertThat(result.map { it.header }).containsExactly(
+            "header 5", "header 4", "header 3", "header 2", "header 1"
+        ).inOrder()
+    }
+}
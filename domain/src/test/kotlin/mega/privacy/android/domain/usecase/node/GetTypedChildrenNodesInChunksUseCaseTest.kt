@@ -0,0 +1,70 @@
+package mega.privacy.android.domain.usecase.node
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.SortOrder
+import mega.privacy.android.domain.entity.node.FileNode
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.node.TypedFileNode
+import mega.privacy.android.domain.repository.NodeRepository
+import mega.privacy.android.domain.usecase.AddNodeType
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.any
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.reset
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
+
+/**
+ * Test class for [GetTypedChildrenNodesInChunksUseCase]
+ */
+@ExperimentalCoroutinesApi
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GetTypedChildrenNodesInChunksUseCaseTest {
+
+    private lateinit var underTest: GetTypedChildrenNodesInChunksUseCase
+
+    private val nodeRepository = mock<NodeRepository>()
+    private val addNodeTypeUseCase = mock<AddNodeType>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = GetTypedChildrenNodesInChunksUseCase(
+            nodeRepository = nodeRepository,
+            addNodeTypeUseCase = addNodeTypeUseCase
+        )
+    }
+
+    @BeforeEach
+    fun resetMocks() {
+        reset(nodeRepository, addNodeTypeUseCase)
+    }
+
+    @Test
+    fun `test that every chunk emits the children typed so far`() = runTest {
+        val untypedNodes = listOf<FileNode>(mock(), mock(), mock())
+        val typedNodes = listOf<TypedFileNode>(mock(), mock(), mock())
+        val parentNodeId = NodeId(123L)
+        val sortOrder = SortOrder.ORDER_DEFAULT_ASC
+        whenever(nodeRepository.getNodeChildrenInChunks(parentNodeId, sortOrder, 2)).thenReturn(
+            flowOf(untypedNodes.take(2), untypedNodes)
+        )
+        untypedNodes.forEachIndexed { index, unTypedNode ->
+            whenever(addNodeTypeUseCase.invoke(unTypedNode)).thenReturn(typedNodes[index])
+        }
+
+        underTest(parentNodeId, sortOrder, chunkSize = 2).test {
+            assertThat(awaitItem()).isEqualTo(typedNodes.take(2))
+            assertThat(awaitItem()).isEqualTo(typedNodes)
+            awaitComplete()
+        }
+        verify(addNodeTypeUseCase, times(3)).invoke(any())
+    }
+}
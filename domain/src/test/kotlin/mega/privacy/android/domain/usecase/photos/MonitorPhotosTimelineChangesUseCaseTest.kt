@@ -0,0 +1,49 @@
+package mega.privacy.android.domain.usecase.photos
+
+import app.cash.turbine.test
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.flowOf
+import kotlinx.coroutines.test.runTest
+import mega.privacy.android.domain.entity.node.NodeId
+import mega.privacy.android.domain.entity.photos.Photo
+import mega.privacy.android.domain.entity.photos.PhotosTimelineChanges
+import mega.privacy.android.domain.repository.PhotosRepository
+import org.junit.jupiter.api.BeforeAll
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.TestInstance
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+
+/**
+ * Test class for [MonitorPhotosTimelineChangesUseCase]
+ */
+@ExperimentalCoroutinesApi
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MonitorPhotosTimelineChangesUseCaseTest {
+    private lateinit var underTest: MonitorPhotosTimelineChangesUseCase
+
+    private val photosRepository = mock<PhotosRepository>()
+
+    @BeforeAll
+    fun setUp() {
+        underTest = MonitorPhotosTimelineChangesUseCase(photosRepository = photosRepository)
+    }
+
+    @Test
+    fun `test that the timeline changes of the repository are returned`() = runTest {
+        val photo = mock<Photo.Image>()
+        val expected = PhotosTimelineChanges(
+            photos = listOf(photo),
+            added = listOf(photo),
+            updated = emptyList(),
+            removed = listOf(NodeId(1L)),
+        )
+        whenever(photosRepository.monitorPhotosTimelineChanges()).thenReturn(flowOf(expected))
+
+        underTest().test {
+            assertThat(awaitItem()).isEqualTo(expected)
+            awaitComplete()
+        }
+    }
+}